@@ -0,0 +1,52 @@
+package it.polimi.ingsw.benchmark;
+
+import it.polimi.ingsw.controller.MainController;
+import it.polimi.ingsw.parsing.CardCatalog;
+import it.polimi.ingsw.parsing.Parser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the first use of the cards in a fresh JVM, as paid by the server and the clients at startup.
+ * Each measurement needs its own fork, so run it with many forks and a single iteration, e.g. {@code -f 20}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class CardCatalogColdStartBenchmark {
+    /**
+     * Loads the card catalog for the first time.
+     *
+     * @return the card catalog.
+     */
+    @Benchmark
+    public CardCatalog catalog() {
+        return CardCatalog.getInstance();
+    }
+
+    /**
+     * Creates the first game of the server, which loads the card catalog.
+     *
+     * @return the main controller.
+     */
+    @Benchmark
+    public MainController firstGame() {
+        MainController mainController = new MainController();
+        mainController.createGame("game", "player", 4);
+        return mainController;
+    }
+
+    /**
+     * Parses CardDB.json for the first time, the path taken when the generated catalog is missing.
+     *
+     * @return the parser.
+     */
+    @Benchmark
+    public Parser jsonParser() {
+        return new Parser();
+    }
+}
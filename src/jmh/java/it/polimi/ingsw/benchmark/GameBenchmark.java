@@ -0,0 +1,61 @@
+package it.polimi.ingsw.benchmark;
+
+import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.network.virtualView.GameView;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the work done on a whole game of four players: the view built for every update sent to the clients,
+ * and the end-of-game scoring of all the objectives.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GameBenchmark {
+    /**
+     * The number of cards on the board of each player.
+     */
+    @Param({"20", "40", "80"})
+    public int cards;
+
+    /**
+     * The game.
+     */
+    private Game game;
+
+    /**
+     * Builds the game.
+     */
+    @Setup
+    public void setup() {
+        game = SyntheticBoards.game(4, cards, 3);
+    }
+
+    /**
+     * Builds the view of the game.
+     *
+     * @return the view.
+     */
+    @Benchmark
+    public GameView virtualView() {
+        return game.getVirtualView();
+    }
+
+    /**
+     * Scores the objectives of every player and picks the winners.
+     * The score of the players keeps growing across invocations, which does not change the work done.
+     *
+     * @return the winners.
+     */
+    @Benchmark
+    public ArrayList<Player> calculateWinners() {
+        game.calculateWinners();
+        return game.getWinners();
+    }
+}
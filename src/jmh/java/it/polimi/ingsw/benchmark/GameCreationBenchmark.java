@@ -0,0 +1,59 @@
+package it.polimi.ingsw.benchmark;
+
+import it.polimi.ingsw.controller.MainController;
+import it.polimi.ingsw.model.GlobalBoard;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the creation of a game, which builds the decks of a new global board.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GameCreationBenchmark {
+    /**
+     * The number of games created so far, used to give each game a unique name.
+     */
+    private int createdGames;
+
+    /**
+     * Creates a new global board.
+     *
+     * @return the global board.
+     */
+    @Benchmark
+    public GlobalBoard globalBoard() {
+        return new GlobalBoard();
+    }
+
+    /**
+     * Creates a new game through the main controller, as the server does when a client asks for it.
+     * A new controller is used every thousand games, so that the benchmark does not measure a growing map of games.
+     *
+     * @param state the main controller.
+     * @return the main controller.
+     */
+    @Benchmark
+    public MainController createGame(ControllerState state) {
+        if (createdGames % 1000 == 0) {
+            state.mainController = new MainController();
+        }
+        state.mainController.createGame("game" + createdGames++, "player", 4);
+        return state.mainController;
+    }
+
+    /**
+     * Holds the main controller the games are created on.
+     */
+    @State(Scope.Thread)
+    public static class ControllerState {
+        /**
+         * The main controller.
+         */
+        public MainController mainController = new MainController();
+    }
+}
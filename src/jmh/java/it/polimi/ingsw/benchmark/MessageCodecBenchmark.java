@@ -0,0 +1,186 @@
+package it.polimi.ingsw.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import it.polimi.ingsw.controller.GameStatusEnum;
+import it.polimi.ingsw.controller.MainController;
+import it.polimi.ingsw.controller.gameController.GameControllerMiddleware;
+import it.polimi.ingsw.model.card.gameCard.GameCard;
+import it.polimi.ingsw.model.card.gameCard.SerializableBooleanProperty;
+import it.polimi.ingsw.model.card.gameCard.SideGameCard;
+import it.polimi.ingsw.model.card.objectiveCard.ObjectiveCard;
+import it.polimi.ingsw.model.player.PlayerColorEnum;
+import it.polimi.ingsw.model.utils.Coordinate;
+import it.polimi.ingsw.model.utils.store.GameItemStore;
+import it.polimi.ingsw.network.client.message.adapter.ServerToClientMessageAdapter;
+import it.polimi.ingsw.network.codec.BinaryMessageCodec;
+import it.polimi.ingsw.network.server.message.ServerToClientMessage;
+import it.polimi.ingsw.network.server.message.successMessage.UpdateViewServerToClientMessage;
+import it.polimi.ingsw.network.virtualView.GameControllerView;
+import it.polimi.ingsw.network.virtualView.PlayerView;
+import it.polimi.ingsw.parsing.adapters.GameItemStoreAdapter;
+import it.polimi.ingsw.parsing.adapters.ObjectiveCardAdapter;
+import it.polimi.ingsw.parsing.adapters.SerializableBooleanPropertyAdapter;
+import it.polimi.ingsw.parsing.adapters.SideGameCardAdapter;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the binary codec with the Gson path on the full view of a game, the largest message sent by the server.
+ * The game is played for a number of turns first, so that the boards and the payloads grow as they do in a real game.
+ * The payload sizes of both encodings are printed at the start of each trial.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MessageCodecBenchmark {
+    /**
+     * The number of turns played before the view is taken.
+     */
+    @Param({"0", "20", "60"})
+    public int turns;
+
+    /**
+     * Gson instance configured as the one of the server.
+     */
+    private final Gson serverGson = new GsonBuilder()
+            .enableComplexMapKeySerialization()
+            .registerTypeAdapter(SerializableBooleanProperty.class, new SerializableBooleanPropertyAdapter())
+            .registerTypeAdapter(SideGameCard.class, new SideGameCardAdapter())
+            .registerTypeAdapter(GameItemStore.class, new GameItemStoreAdapter())
+            .registerTypeAdapter(ObjectiveCard.class, new ObjectiveCardAdapter())
+            .create();
+
+    /**
+     * Gson instance configured as the one of the client.
+     */
+    private final Gson clientGson = new GsonBuilder()
+            .registerTypeAdapter(SerializableBooleanProperty.class, new SerializableBooleanPropertyAdapter())
+            .registerTypeAdapter(ServerToClientMessage.class, new ServerToClientMessageAdapter())
+            .registerTypeAdapter(SideGameCard.class, new SideGameCardAdapter())
+            .registerTypeAdapter(GameItemStore.class, new GameItemStoreAdapter())
+            .registerTypeAdapter(ObjectiveCard.class, new ObjectiveCardAdapter())
+            .create();
+
+    /**
+     * The message holding the view of the game.
+     */
+    private ServerToClientMessage message;
+
+    /**
+     * The JSON encoding of the message.
+     */
+    private byte[] jsonMessage;
+
+    /**
+     * The binary encoding of the message.
+     */
+    private byte[] binaryMessage;
+
+    /**
+     * Plays the game and encodes its view with both codecs.
+     */
+    @Setup
+    public void setup() {
+        message = new UpdateViewServerToClientMessage(playedGame(turns, 7), 1);
+        jsonMessage = serverGson.toJson(message).getBytes(StandardCharsets.UTF_8);
+        binaryMessage = BinaryMessageCodec.encode(message);
+        System.out.printf("%nPayload after %d turns: JSON %d bytes, binary %d bytes%n", turns, jsonMessage.length, binaryMessage.length);
+    }
+
+    /**
+     * Encodes the message as JSON, as the server does on the JSON path.
+     *
+     * @return the encoded message.
+     */
+    @Benchmark
+    public byte[] jsonEncode() {
+        return serverGson.toJson(message).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Encodes the message with the binary codec.
+     *
+     * @return the encoded message.
+     */
+    @Benchmark
+    public byte[] binaryEncode() {
+        return BinaryMessageCodec.encode(message);
+    }
+
+    /**
+     * Decodes the JSON message, as the client does on the JSON path.
+     *
+     * @return the decoded message.
+     */
+    @Benchmark
+    public ServerToClientMessage jsonDecode() {
+        return clientGson.fromJson(new String(jsonMessage, StandardCharsets.UTF_8), ServerToClientMessage.class);
+    }
+
+    /**
+     * Decodes the binary message.
+     *
+     * @return the decoded message.
+     */
+    @Benchmark
+    public ServerToClientMessage binaryDecode() {
+        return BinaryMessageCodec.decode(binaryMessage);
+    }
+
+    /**
+     * Plays a two-player game for the given number of turns, placing flipped cards on random available positions.
+     * A flipped card has no placement requirement, so every turn is valid.
+     *
+     * @param turns the number of turns to play.
+     * @param seed  the seed of the placement positions.
+     * @return the view of the game after the turns.
+     */
+    private static GameControllerView playedGame(int turns, long seed) {
+        Random random = new Random(seed);
+        MainController mainController = new MainController();
+        mainController.createGame("benchmark", "player1", 2);
+        mainController.joinGame("benchmark", "player2");
+        GameControllerMiddleware gameController = mainController.getGameController("benchmark");
+
+        for (PlayerColorEnum playerColor : List.of(PlayerColorEnum.RED, PlayerColorEnum.BLUE)) {
+            String playerName = mainController.getVirtualView("benchmark").gameView().currentPlayer();
+            PlayerView playerView = mainController.getVirtualView("benchmark").getPlayerViewByName(playerName);
+            gameController.placeCard(playerName, new Coordinate(0, 0), playerView.starterCard().getCardId());
+            gameController.choosePlayerColor(playerName, playerColor);
+            gameController.setPlayerObjective(playerName, playerView.choosableObjectives().getFirst().getCardId());
+        }
+
+        for (int turn = 0; turn < turns; turn++) {
+            GameControllerView view = mainController.getVirtualView("benchmark");
+            if (view.gameStatus() == GameStatusEnum.GAME_OVER) {
+                break;
+            }
+            String playerName = view.gameView().currentPlayer();
+            PlayerView playerView = view.getPlayerViewByName(playerName);
+            GameCard card = playerView.playerHandView().hand().getFirst();
+            if (!card.isFlipped()) {
+                gameController.switchCardSide(playerName, card.getCardId());
+            }
+            ArrayList<Coordinate> positions = new ArrayList<>(playerView.playerBoardView().availablePositions());
+            positions.sort(Comparator.comparingInt((Coordinate c) -> c.x).thenComparingInt(c -> c.y));
+            gameController.placeCard(playerName, positions.get(random.nextInt(positions.size())), card.getCardId());
+            if (mainController.getVirtualView("benchmark").gameStatus() == GameStatusEnum.DRAW_CARD) {
+                if (mainController.getVirtualView("benchmark").gameView().globalBoardView().resourceFirstCard() != null) {
+                    gameController.drawCardFromResourceDeck(playerName);
+                } else {
+                    gameController.drawCardFromGoldDeck(playerName);
+                }
+            }
+        }
+        return mainController.getVirtualView("benchmark");
+    }
+}
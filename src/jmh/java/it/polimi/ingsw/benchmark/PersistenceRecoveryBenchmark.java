@@ -0,0 +1,204 @@
+package it.polimi.ingsw.benchmark;
+
+import it.polimi.ingsw.controller.MainController;
+import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.card.gameCard.GameCard;
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.model.player.PlayerColorEnum;
+import it.polimi.ingsw.model.utils.Coordinate;
+import it.polimi.ingsw.network.server.ServerMessageHandler;
+import it.polimi.ingsw.network.server.ServerNetworkControllerMapper;
+import it.polimi.ingsw.network.server.message.ServerToClientMessage;
+import it.polimi.ingsw.network.server.persistence.FsyncPolicy;
+import it.polimi.ingsw.network.server.persistence.Persistence;
+import it.polimi.ingsw.network.server.persistence.PersistenceOptions;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures the recovery of the server after a crash: all the saved games are indexed, restored from their snapshot
+ * and brought up to date by replaying their journal, as {@link Persistence#loadAll()} does at startup.
+ * Each invocation restores the same {@value #GAMES} synthetic saved games on a new server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class PersistenceRecoveryBenchmark {
+    /**
+     * The number of saved games.
+     */
+    public static final int GAMES = 1000;
+
+    /**
+     * The number of turns played in each saved game, after the players have chosen their starter card side, color and objective.
+     */
+    private static final int TURNS = 4;
+
+    /**
+     * The number of threads restoring the saved games, 0 to restore them on the thread calling loadAll.
+     */
+    @Param({"0", "4"})
+    public int restoreThreads;
+
+    /**
+     * The directory of the saved games.
+     */
+    private Path saveDirectory;
+
+    /**
+     * The persistence of the server restored by the last invocation.
+     */
+    private Persistence persistence;
+
+    /**
+     * Saves the synthetic games, each as a snapshot followed by the journal of its last actions.
+     *
+     * @throws IOException          if the directory of the saved games cannot be created.
+     * @throws InterruptedException if the thread is interrupted while the games are written.
+     */
+    @Setup(Level.Trial)
+    public void saveGames() throws IOException, InterruptedException {
+        saveDirectory = Files.createTempDirectory("recovery-benchmark");
+        MainController mainController = new MainController();
+        ServerNetworkControllerMapper mapper = new ServerNetworkControllerMapper(mainController);
+        Persistence savingPersistence = new Persistence(mainController, mapper, options(0));
+        mapper.addPropertyChangeListener(savingPersistence);
+        for (int i = 0; i < GAMES; i++) {
+            playGame(mainController, mapper, "game" + i);
+        }
+        savingPersistence.close();
+    }
+
+    /**
+     * Restores all the saved games on a new server and waits for them to be restored.
+     *
+     * @return the main controller of the new server.
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    @Benchmark
+    public MainController restoreAll() throws InterruptedException {
+        MainController mainController = new MainController();
+        persistence = new Persistence(mainController, new ServerNetworkControllerMapper(mainController), options(restoreThreads));
+        persistence.loadAll();
+        if (!persistence.awaitRestores(1, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("The saved games have not been restored in time");
+        }
+        return mainController;
+    }
+
+    /**
+     * Closes the persistence of the restored server, so the games it deletes when their players do not reconnect stay saved.
+     *
+     * @throws InterruptedException if the thread is interrupted while closing.
+     */
+    @TearDown(Level.Invocation)
+    public void closePersistence() throws InterruptedException {
+        persistence.close();
+    }
+
+    /**
+     * Deletes the saved games.
+     *
+     * @throws IOException if a file cannot be deleted.
+     */
+    @TearDown(Level.Trial)
+    public void deleteSavedGames() throws IOException {
+        try (Stream<Path> files = Files.walk(saveDirectory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * Returns the settings of the persistence of the benchmark.
+     *
+     * @param threads the number of threads restoring the saved games.
+     * @return the settings.
+     */
+    private PersistenceOptions options(int threads) {
+        return new PersistenceOptions(FsyncPolicy.NEVER, PersistenceOptions.DEFAULT_SNAPSHOT_INTERVAL, PersistenceOptions.DEFAULT_IO_THREADS,
+                PersistenceOptions.DEFAULT_DEBOUNCE_MILLIS, threads, false, false, saveDirectory);
+    }
+
+    /**
+     * Plays the first turns of a game of two players through the mapper, as the clients would.
+     *
+     * @param mainController the main controller.
+     * @param mapper         the mapper.
+     * @param gameName       the name of the game.
+     */
+    private static void playGame(MainController mainController, ServerNetworkControllerMapper mapper, String gameName) {
+        mapper.createGame(new DiscardingMessageHandler(), gameName, "first", 2);
+        mapper.joinGame(new DiscardingMessageHandler(), gameName, "second");
+        Game game = mainController.getGameController(gameName).getGame();
+        for (int i = 0; i < game.getPlayers().size(); i++) {
+            Player player = game.getPlayers().get(i);
+            mapper.placeCard(gameName, player.getPlayerName(), new Coordinate(0, 0), player.getPlayerBoard().getStarterCard().getCardId(), i == 0);
+            mapper.choosePlayerColor(gameName, player.getPlayerName(), PlayerColorEnum.values()[i]);
+            mapper.setPlayerObjective(gameName, player.getPlayerName(), player.getChoosableObjectives().getFirst().getCardId());
+        }
+        for (int turn = 0; turn < TURNS; turn++) {
+            Player player = game.getCurrentPlayer();
+            GameCard card = player.getPlayerHand().getCards().getFirst();
+            Coordinate coordinate = player.getPlayerBoard().getAvailablePositions().iterator().next();
+            mapper.placeCard(gameName, player.getPlayerName(), coordinate, card.getCardId(), true);
+            mapper.drawCardFromResourceDeck(gameName, player.getPlayerName());
+        }
+    }
+
+    /**
+     * A connection of a player that discards the messages of the server.
+     */
+    private static final class DiscardingMessageHandler implements ServerMessageHandler {
+        /**
+         * The name of the player.
+         */
+        private String playerName;
+
+        /**
+         * The name of the game.
+         */
+        private String gameName;
+
+        @Override
+        public void sendMessage(ServerToClientMessage message) {
+        }
+
+        @Override
+        public String getPlayerName() {
+            return playerName;
+        }
+
+        @Override
+        public void setPlayerName(String playerName) {
+            this.playerName = playerName;
+        }
+
+        @Override
+        public String getGameName() {
+            return gameName;
+        }
+
+        @Override
+        public void setGameName(String gameName) {
+            this.gameName = gameName;
+        }
+
+        @Override
+        public void connectionSaved(boolean hasBeenSaved) {
+        }
+
+        @Override
+        public void closeConnection() {
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package it.polimi.ingsw.benchmark;
+
+import it.polimi.ingsw.model.card.corner.CornerPosition;
+import it.polimi.ingsw.model.card.gameCard.GameCard;
+import it.polimi.ingsw.model.player.PlayerBoard;
+import it.polimi.ingsw.model.utils.Coordinate;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the packed coordinate index of {@link PlayerBoard} with the previous HashMap of Coordinate layout
+ * on boards of realistic sizes.
+ * The HashMap variants replay the lookups the board used to perform, allocating a Coordinate for every probe.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PlayerBoardBenchmark {
+    /**
+     * The X offsets of the four diagonal neighbours of a position.
+     */
+    private static final int[] ADJACENT_X_OFFSETS = {-1, 1, -1, 1};
+
+    /**
+     * The Y offsets of the four diagonal neighbours of a position.
+     */
+    private static final int[] ADJACENT_Y_OFFSETS = {1, 1, -1, -1};
+
+    /**
+     * The corners of the neighbouring cards intersecting the center position.
+     */
+    private static final CornerPosition[] ADJACENT_CORNERS = {CornerPosition.BOTTOM_RIGHT, CornerPosition.BOTTOM_LEFT, CornerPosition.TOP_RIGHT, CornerPosition.TOP_LEFT};
+
+    /**
+     * The number of cards on the board.
+     */
+    @Param({"20", "40", "60", "80"})
+    public int cards;
+
+    /**
+     * The board backed by the packed coordinate index.
+     */
+    private PlayerBoard playerBoard;
+
+    /**
+     * The same board laid out as a HashMap of Coordinate.
+     */
+    private HashMap<Coordinate, GameCard> hashMapBoard;
+
+    /**
+     * The coordinates of the placed cards.
+     */
+    private ArrayList<Coordinate> placedCoordinates;
+
+    /**
+     * Builds the boards.
+     */
+    @Setup
+    public void setup() {
+        playerBoard = SyntheticBoards.board(cards, 42);
+        hashMapBoard = playerBoard.getVirtualView().playerBoard();
+        placedCoordinates = new ArrayList<>(hashMapBoard.keySet());
+    }
+
+    /**
+     * Probes the four neighbours of every placed card through the packed index.
+     *
+     * @return the number of occupied neighbours.
+     */
+    @Benchmark
+    public int packedNeighbourLookups() {
+        int occupied = 0;
+        for (Coordinate coordinate : placedCoordinates) {
+            for (int i = 0; i < ADJACENT_X_OFFSETS.length; i++) {
+                if (playerBoard.isOccupied(coordinate.x + ADJACENT_X_OFFSETS[i], coordinate.y + ADJACENT_Y_OFFSETS[i])) {
+                    occupied++;
+                }
+            }
+        }
+        return occupied;
+    }
+
+    /**
+     * Probes the four neighbours of every placed card through a HashMap of Coordinate.
+     *
+     * @return the number of occupied neighbours.
+     */
+    @Benchmark
+    public int hashMapNeighbourLookups() {
+        int occupied = 0;
+        for (Coordinate coordinate : placedCoordinates) {
+            for (int i = 0; i < ADJACENT_X_OFFSETS.length; i++) {
+                if (hashMapBoard.containsKey(new Coordinate(coordinate.x + ADJACENT_X_OFFSETS[i], coordinate.y + ADJACENT_Y_OFFSETS[i]))) {
+                    occupied++;
+                }
+            }
+        }
+        return occupied;
+    }
+
+    /**
+     * Computes the available positions through the packed index.
+     *
+     * @return the available positions.
+     */
+    @Benchmark
+    public Object packedAvailablePositions() {
+        return playerBoard.getAvailablePositions();
+    }
+
+    /**
+     * Computes the available positions through a HashMap of Coordinate.
+     *
+     * @return the available positions.
+     */
+    @Benchmark
+    public Object hashMapAvailablePositions() {
+        HashSet<Coordinate> availablePositions = new HashSet<>();
+        for (Coordinate coordinate : hashMapBoard.keySet()) {
+            for (int i = 0; i < ADJACENT_X_OFFSETS.length; i++) {
+                Coordinate adjacent = new Coordinate(coordinate.x + ADJACENT_X_OFFSETS[i], coordinate.y + ADJACENT_Y_OFFSETS[i]);
+                if (!hashMapBoard.containsKey(adjacent) && isCompatible(adjacent)) {
+                    availablePositions.add(adjacent);
+                }
+            }
+        }
+        return availablePositions;
+    }
+
+    /**
+     * Builds a whole board of the given size, placing the cards through the packed index.
+     *
+     * @param blackhole the blackhole consuming the board.
+     */
+    @Benchmark
+    public void packedBoardBuild(Blackhole blackhole) {
+        blackhole.consume(SyntheticBoards.board(cards, 42));
+    }
+
+    /**
+     * Checks if a position is compatible with its neighbours in the HashMap layout.
+     *
+     * @param coordinate the position to check.
+     * @return true if the position is compatible, false otherwise.
+     */
+    private boolean isCompatible(Coordinate coordinate) {
+        for (int i = 0; i < ADJACENT_X_OFFSETS.length; i++) {
+            GameCard card = hashMapBoard.get(new Coordinate(coordinate.x + ADJACENT_X_OFFSETS[i], coordinate.y + ADJACENT_Y_OFFSETS[i]));
+            if (card != null && card.getCorner(ADJACENT_CORNERS[i]).isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
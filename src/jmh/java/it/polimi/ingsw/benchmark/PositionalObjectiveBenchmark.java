@@ -0,0 +1,143 @@
+package it.polimi.ingsw.benchmark;
+
+import it.polimi.ingsw.model.card.CardColorEnum;
+import it.polimi.ingsw.model.card.gameCard.GameCard;
+import it.polimi.ingsw.model.card.objectiveCard.ObjectiveCard;
+import it.polimi.ingsw.model.card.objectiveCard.PositionalData;
+import it.polimi.ingsw.model.card.objectiveCard.PositionalObjectiveCard;
+import it.polimi.ingsw.model.player.PlayerBoard;
+import it.polimi.ingsw.model.utils.Coordinate;
+import it.polimi.ingsw.parsing.Parser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the end-of-game scoring of the positional objective cards on large synthetic boards.
+ * The indexed variant scores off the color buckets of the board, the legacy variant replays the previous algorithm,
+ * which looked up the position of every candidate card with a linear scan of the board.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PositionalObjectiveBenchmark {
+    /**
+     * The number of cards on the board.
+     */
+    @Param({"100", "400", "1000"})
+    public int cards;
+
+    /**
+     * The board to score.
+     */
+    private PlayerBoard playerBoard;
+
+    /**
+     * The same board laid out as a HashMap of Coordinate, as the legacy algorithm saw it.
+     */
+    private HashMap<Coordinate, GameCard> hashMapBoard;
+
+    /**
+     * The positional objective cards of the card database.
+     */
+    private ArrayList<PositionalObjectiveCard> objectives;
+
+    /**
+     * Builds the board and loads the objective cards.
+     */
+    @Setup
+    public void setup() {
+        playerBoard = SyntheticBoards.board(cards, 7);
+        hashMapBoard = playerBoard.getVirtualView().playerBoard();
+        objectives = new ArrayList<>();
+        for (ObjectiveCard objectiveCard : new Parser().getObjectiveDeck().getCards()) {
+            if (objectiveCard.isPositionalObjectiveCard()) {
+                objectives.add((PositionalObjectiveCard) objectiveCard);
+            }
+        }
+    }
+
+    /**
+     * Scores every positional objective through the color buckets of the board.
+     *
+     * @return the total points.
+     */
+    @Benchmark
+    public int indexedScoring() {
+        int points = 0;
+        for (PositionalObjectiveCard objective : objectives) {
+            points += objective.getPoints(playerBoard);
+        }
+        return points;
+    }
+
+    /**
+     * Scores every positional objective with the previous quadratic algorithm.
+     *
+     * @return the total points.
+     */
+    @Benchmark
+    public int legacyScoring() {
+        int points = 0;
+        for (PositionalObjectiveCard objective : objectives) {
+            points += legacyPoints(objective);
+        }
+        return points;
+    }
+
+    /**
+     * Replays the previous scoring algorithm of PositionalObjectiveCard.
+     *
+     * @param objective the objective to score.
+     * @return the points won.
+     */
+    private int legacyPoints(PositionalObjectiveCard objective) {
+        ArrayList<PositionalData> positionalData = objective.getPositionalData();
+        CardColorEnum firstColor = positionalData.getFirst().cardColorEnum();
+        ArrayList<Coordinate> coordinatesCanMatch = new ArrayList<>();
+        for (GameCard gameCard : hashMapBoard.values()) {
+            if (gameCard.getCardColor() == firstColor) {
+                coordinatesCanMatch.add(linearPositionOf(gameCard));
+            }
+        }
+        int numOfMatch = 0;
+        HashSet<Coordinate> coordinatesAlreadyUsed = new HashSet<>();
+        for (Coordinate coordinate : coordinatesCanMatch) {
+            ArrayList<Coordinate> coordinatesMaybeUsed = new ArrayList<>();
+            for (PositionalData position : positionalData) {
+                Coordinate temp = new Coordinate(coordinate.x + position.coordinate().x, coordinate.y + position.coordinate().y);
+                GameCard gameCard = hashMapBoard.get(temp);
+                if (coordinatesAlreadyUsed.contains(temp) || gameCard == null || gameCard.getCardColor() != position.cardColorEnum()) {
+                    break;
+                }
+                coordinatesMaybeUsed.add(temp);
+            }
+            if (coordinatesMaybeUsed.size() == positionalData.size()) {
+                coordinatesAlreadyUsed.addAll(coordinatesMaybeUsed);
+                numOfMatch++;
+            }
+        }
+        return numOfMatch * objective.getPointsWon();
+    }
+
+    /**
+     * Finds the position of a card with a linear scan of the board, as the previous getGameCardPosition did.
+     *
+     * @param gameCard the card to find.
+     * @return the position of the card.
+     */
+    private Coordinate linearPositionOf(GameCard gameCard) {
+        for (Map.Entry<Coordinate, GameCard> entry : hashMapBoard.entrySet()) {
+            if (entry.getValue().equals(gameCard)) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Card not on the board");
+    }
+}
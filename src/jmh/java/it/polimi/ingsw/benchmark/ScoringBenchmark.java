@@ -0,0 +1,96 @@
+package it.polimi.ingsw.benchmark;
+
+import it.polimi.ingsw.model.card.GameItemEnum;
+import it.polimi.ingsw.model.card.corner.Corner;
+import it.polimi.ingsw.model.card.gameCard.front.goldCard.FrontPositionalGoldGameCard;
+import it.polimi.ingsw.model.card.objectiveCard.ItemObjectiveCard;
+import it.polimi.ingsw.model.card.objectiveCard.ObjectiveCard;
+import it.polimi.ingsw.model.player.PlayerBoard;
+import it.polimi.ingsw.model.utils.Coordinate;
+import it.polimi.ingsw.model.utils.store.GameItemStore;
+import it.polimi.ingsw.parsing.CardCatalog;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the scoring that depends on the board of a player: the item objectives, scored at the end of the game,
+ * and the positional gold cards, scored whenever one is placed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ScoringBenchmark {
+    /**
+     * The number of cards on the board.
+     */
+    @Param({"20", "80", "320"})
+    public int cards;
+
+    /**
+     * The board to score.
+     */
+    private PlayerBoard playerBoard;
+
+    /**
+     * The coordinates of the placed cards, where the positional gold card is scored as if it were placed there.
+     */
+    private Coordinate[] placedCoordinates;
+
+    /**
+     * The item objective cards of the card database.
+     */
+    private ArrayList<ItemObjectiveCard> objectives;
+
+    /**
+     * The front of a positional gold card, worth two points per covered corner.
+     */
+    private FrontPositionalGoldGameCard positionalGoldFront;
+
+    /**
+     * Builds the board and loads the objective cards.
+     */
+    @Setup
+    public void setup() {
+        playerBoard = SyntheticBoards.board(cards, 11);
+        placedCoordinates = playerBoard.getVirtualView().playerBoard().keySet().toArray(Coordinate[]::new);
+        objectives = new ArrayList<>();
+        for (ObjectiveCard objectiveCard : CardCatalog.getInstance().getObjectiveDeck().getCards()) {
+            if (objectiveCard instanceof ItemObjectiveCard itemObjectiveCard) {
+                objectives.add(itemObjectiveCard);
+            }
+        }
+        positionalGoldFront = new FrontPositionalGoldGameCard(new Corner(GameItemEnum.NONE), new Corner(GameItemEnum.NONE), new Corner(GameItemEnum.NONE), new Corner(GameItemEnum.NONE), 2, new GameItemStore());
+    }
+
+    /**
+     * Scores every item objective on the board.
+     *
+     * @return the total points.
+     */
+    @Benchmark
+    public int itemObjectives() {
+        int points = 0;
+        for (ItemObjectiveCard objective : objectives) {
+            points += objective.getPoints(playerBoard);
+        }
+        return points;
+    }
+
+    /**
+     * Scores the positional gold card at every position of the board.
+     *
+     * @return the total points.
+     */
+    @Benchmark
+    public int positionalGoldCard() {
+        int points = 0;
+        for (Coordinate coordinate : placedCoordinates) {
+            points += positionalGoldFront.calculatePoints(coordinate, playerBoard);
+        }
+        return points;
+    }
+}
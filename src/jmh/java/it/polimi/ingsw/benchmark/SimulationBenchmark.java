@@ -0,0 +1,60 @@
+package it.polimi.ingsw.benchmark;
+
+import it.polimi.ingsw.simulation.GameResult;
+import it.polimi.ingsw.simulation.GameSimulator;
+import it.polimi.ingsw.simulation.PolicyEnum;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the simulation of a whole game, from the shuffling of the decks to the calculation of the winners,
+ * for each policy and number of players. The inverse of the average time is the number of games per second of a core.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SimulationBenchmark {
+    /**
+     * The policy of all the players.
+     */
+    @Param({"RANDOM", "GREEDY"})
+    public PolicyEnum policy;
+
+    /**
+     * The number of players.
+     */
+    @Param({"2", "4"})
+    public int players;
+
+    /**
+     * The simulator.
+     */
+    private GameSimulator simulator;
+
+    /**
+     * The seed of the next game, so that each invocation plays a different game.
+     */
+    private long nextGame;
+
+    /**
+     * Creates the simulator.
+     */
+    @Setup
+    public void setUp() {
+        simulator = new GameSimulator(Collections.nCopies(players, policy.getPolicy()));
+    }
+
+    /**
+     * Plays a game.
+     *
+     * @return the outcome of the game.
+     */
+    @Benchmark
+    public GameResult playGame() {
+        return simulator.play(GameSimulator.gameSeed(0, nextGame++));
+    }
+}
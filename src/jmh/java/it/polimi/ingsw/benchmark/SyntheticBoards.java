@@ -0,0 +1,113 @@
+package it.polimi.ingsw.benchmark;
+
+import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.card.CardColorEnum;
+import it.polimi.ingsw.model.card.GameItemEnum;
+import it.polimi.ingsw.model.card.corner.Corner;
+import it.polimi.ingsw.model.card.gameCard.BackGameCard;
+import it.polimi.ingsw.model.card.gameCard.GameCard;
+import it.polimi.ingsw.model.card.gameCard.front.FrontGameCard;
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.model.player.PlayerBoard;
+import it.polimi.ingsw.model.utils.Coordinate;
+import it.polimi.ingsw.model.utils.store.GameItemStore;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Random;
+
+/**
+ * Builds seeded synthetic player boards and games used by the benchmarks.
+ * Every card has all four corners, so boards can grow to any size while staying valid.
+ */
+public final class SyntheticBoards {
+    /**
+     * The items randomly assigned to the corners of the synthetic cards.
+     */
+    private static final GameItemEnum[] CORNER_ITEMS = {GameItemEnum.PLANT, GameItemEnum.ANIMAL, GameItemEnum.FUNGI, GameItemEnum.INSECT, GameItemEnum.NONE};
+
+    /**
+     * The colors randomly assigned to the synthetic cards.
+     */
+    private static final CardColorEnum[] COLORS = {CardColorEnum.RED, CardColorEnum.CYAN, CardColorEnum.GREEN, CardColorEnum.PURPLE};
+
+    private SyntheticBoards() {
+    }
+
+    /**
+     * Creates a card with four corners holding random items and a random color.
+     *
+     * @param cardId the id of the card.
+     * @param random the random generator.
+     * @return the new card.
+     */
+    public static GameCard card(int cardId, Random random) {
+        FrontGameCard front = new FrontGameCard(corner(random), corner(random), corner(random), corner(random), random.nextInt(2));
+        BackGameCard back = new BackGameCard(corner(random), corner(random), corner(random), corner(random), new GameItemStore());
+        return new GameCard(cardId, front, back, COLORS[random.nextInt(COLORS.length)]);
+    }
+
+    /**
+     * Creates a player board holding the given number of cards, placed one after the other on random available positions.
+     *
+     * @param cards the number of cards to place, starter card included.
+     * @param seed  the seed of the random generator.
+     * @return the new player board.
+     */
+    public static PlayerBoard board(int cards, long seed) {
+        Random random = new Random(seed);
+        PlayerBoard playerBoard = new PlayerBoard(card(0, random));
+        playerBoard.placeGameCard(new Coordinate(0, 0), playerBoard.getStarterCard());
+        for (int cardId = 1; cardId < cards; cardId++) {
+            playerBoard.placeGameCard(randomAvailablePosition(playerBoard, random), card(cardId, random));
+        }
+        return playerBoard;
+    }
+
+    /**
+     * Creates a game whose players have chosen their objective and hold a synthetic board of the given size.
+     * The boards are installed as a restored game installs them, so the game items of each board match its cards.
+     *
+     * @param players the number of players, between 2 and 4.
+     * @param cards   the number of cards on the board of each player, starter card included.
+     * @param seed    the seed of the random generator of the first board; the next boards use the following seeds.
+     * @return the new game.
+     */
+    public static Game game(int players, int cards, long seed) {
+        Game game = new Game("benchmark", players, "player0");
+        for (int i = 1; i < players; i++) {
+            game.addPlayer("player" + i);
+        }
+        for (int i = 0; i < players; i++) {
+            Player player = game.getPlayers().get(i);
+            player.setPlayerObjective(player.getChoosableObjectives().getFirst().getCardId());
+            PlayerBoard syntheticBoard = board(cards, seed + i);
+            player.getPlayerBoard().setPlayerBoard(syntheticBoard.getVirtualView().playerBoard());
+            player.getPlayerBoard().setGameItems(syntheticBoard.getGameItems());
+        }
+        return game;
+    }
+
+    /**
+     * Picks a random available position of the board. Positions are sorted first, so the pick only depends on the seed.
+     *
+     * @param playerBoard the player board.
+     * @param random      the random generator.
+     * @return a random available position.
+     */
+    public static Coordinate randomAvailablePosition(PlayerBoard playerBoard, Random random) {
+        ArrayList<Coordinate> positions = new ArrayList<>(playerBoard.getAvailablePositions());
+        positions.sort(Comparator.comparingInt((Coordinate c) -> c.x).thenComparingInt(c -> c.y));
+        return positions.get(random.nextInt(positions.size()));
+    }
+
+    /**
+     * Creates a corner holding a random item.
+     *
+     * @param random the random generator.
+     * @return the new corner.
+     */
+    private static Corner corner(Random random) {
+        return new Corner(CORNER_ITEMS[random.nextInt(CORNER_ITEMS.length)]);
+    }
+}
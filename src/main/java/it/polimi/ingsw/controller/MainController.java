@@ -6,8 +6,9 @@ import it.polimi.ingsw.network.server.message.successMessage.GameRecord;
 import it.polimi.ingsw.network.virtualView.GameControllerView;
 
 import java.util.ArrayList;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Class that represents the main controller, which is responsible for creating, deleting and managing games.
@@ -15,15 +16,27 @@ import java.util.stream.Collectors;
 public class MainController {
 
     /**
-     * Represents the list of game controller middlewares of games currently in progress.
+     * Represents the game controller middlewares of games currently in progress, indexed by game name.
      */
-    private final ArrayList<GameControllerMiddleware> gameControllerMiddlewares;
+    private final ConcurrentHashMap<String, GameControllerMiddleware> gameControllerMiddlewares;
 
     /**
-     * Constructor for MainController. Initializes an empty list of gameControllerMiddlewares.
+     * Lock used to serialize the updates of the game records.
+     */
+    private final Object gameRecordsLock = new Object();
+
+    /**
+     * The game records of the games in progress, in creation order.
+     * The list is never modified: each update replaces it with an updated copy, so it can be read without locking.
+     */
+    private volatile List<GameRecord> gameRecords;
+
+    /**
+     * Constructor for MainController. Initializes an empty registry of gameControllerMiddlewares.
      */
     public MainController() {
-        gameControllerMiddlewares = new ArrayList<>();
+        gameControllerMiddlewares = new ConcurrentHashMap<>();
+        gameRecords = List.of();
     }
 
     /**
@@ -32,16 +45,19 @@ public class MainController {
      * @return ArrayList of Game objects.
      */
     public ArrayList<Game> getGames() {
-        return gameControllerMiddlewares.stream().map(GameControllerMiddleware::getGame).collect(Collectors.toCollection(ArrayList::new));
+        ArrayList<Game> games = new ArrayList<>(gameControllerMiddlewares.size());
+        gameControllerMiddlewares.values().forEach(gameControllerMiddleware -> games.add(gameControllerMiddleware.getGame()));
+        return games;
     }
 
     /**
      * Returns the list of game records of the games managed by the MainController.
+     * The records are kept up to date when games are created, joined or deleted, so no game is visited here.
      *
      * @return ArrayList of GameRecord objects.
      */
     public ArrayList<GameRecord> getGameRecords() {
-        return gameControllerMiddlewares.stream().map(GameControllerMiddleware::getGame).map(Game::getGameRecord).collect(Collectors.toCollection(ArrayList::new));
+        return new ArrayList<>(gameRecords);
     }
 
     /**
@@ -51,10 +67,7 @@ public class MainController {
      * @return Game the game with the specified name.
      */
     public GameControllerMiddleware getGameController(String gameName) {
-        Optional<GameControllerMiddleware> chosenGameControllerMiddleware = findGame(gameName);
-        if (chosenGameControllerMiddleware.isEmpty())
-            throw new IllegalArgumentException("A game with the name \"" + gameName + "\" doesn't exists");
-        return chosenGameControllerMiddleware.get();
+        return findGame(gameName);
     }
 
     /**
@@ -65,10 +78,7 @@ public class MainController {
      * @throws IllegalArgumentException if a game with the specified name does not exist.
      */
     public GameControllerView getVirtualView(String gameName) {
-        Optional<GameControllerMiddleware> chosenGameControllerMiddleware = findGame(gameName);
-        if (chosenGameControllerMiddleware.isEmpty())
-            throw new IllegalArgumentException("A game with the name \"" + gameName + "\" doesn't exists");
-        return chosenGameControllerMiddleware.get().getVirtualView();
+        return findGame(gameName).getVirtualView();
     }
 
     /**
@@ -81,10 +91,28 @@ public class MainController {
      * @throws IllegalArgumentException if a game with the same name already exists.
      */
     public Game createGame(String gameName, String playerName, int nPlayers) {
-        if (findGame(gameName).isPresent())
+        return createGame(gameName, playerName, nPlayers, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Creates a new gameControllerMiddleware with the specified parameters and adds it to the list of games.
+     * The decks of the game are shuffled with the given seed, as they were in a saved game being restored.
+     *
+     * @param gameName   The name of the game to be created.
+     * @param playerName The name of the player creating the game, it will also be his nickname
+     * @param nPlayers   The max number of players that will be in the game
+     * @param seed       The seed the decks of the game are shuffled with
+     * @return The created Game object.
+     * @throws IllegalArgumentException if a game with the same name already exists.
+     */
+    public Game createGame(String gameName, String playerName, int nPlayers, long seed) {
+        if (gameControllerMiddlewares.containsKey(gameName))
+            throw new IllegalArgumentException("A game with the name \"" + gameName + "\" already exists");
+        GameControllerMiddleware gameControllerMiddleware = new GameControllerMiddleware(gameName, nPlayers, playerName, seed);
+        // Another game with the same name could have been created while this one was being built.
+        if (gameControllerMiddlewares.putIfAbsent(gameName, gameControllerMiddleware) != null)
             throw new IllegalArgumentException("A game with the name \"" + gameName + "\" already exists");
-        GameControllerMiddleware gameControllerMiddleware = new GameControllerMiddleware(gameName, nPlayers, playerName);
-        gameControllerMiddlewares.add(gameControllerMiddleware);
+        updateGameRecord(gameControllerMiddleware);
         return gameControllerMiddleware.getGame();
     }
 
@@ -96,14 +124,11 @@ public class MainController {
      * @throws IllegalArgumentException if a game with the specified name does not exist.
      */
     public void deleteGame(String gameName, String playerName) {
-        Optional<GameControllerMiddleware> chosenGameControllerMiddleware = findGame(gameName);
-        if (chosenGameControllerMiddleware.isEmpty())
-            throw new IllegalArgumentException("A game with the name \"" + gameName + "\" doesn't exists");
-        GameControllerMiddleware gameControllerMiddleware = chosenGameControllerMiddleware.get();
+        GameControllerMiddleware gameControllerMiddleware = findGame(gameName);
         if (!gameControllerMiddleware.isCreator(playerName)) {
             throw new IllegalArgumentException("Only the creator of the game can delete it");
         }
-        gameControllerMiddlewares.remove(gameControllerMiddleware);
+        removeGame(gameName, gameControllerMiddleware);
     }
 
     /**
@@ -114,10 +139,7 @@ public class MainController {
      * @throws IllegalArgumentException if the game cannot be deleted.
      */
     public void isGameDeletable(String gameName, String playerName) {
-        Optional<GameControllerMiddleware> chosenGameControllerMiddleware = findGame(gameName);
-        if (chosenGameControllerMiddleware.isEmpty())
-            throw new IllegalArgumentException("A game with the name \"" + gameName + "\" doesn't exists");
-        GameControllerMiddleware gameControllerMiddleware = chosenGameControllerMiddleware.get();
+        GameControllerMiddleware gameControllerMiddleware = findGame(gameName);
         if (!gameControllerMiddleware.isCreator(playerName)) {
             throw new IllegalArgumentException("Only the creator of the game can delete it");
         }
@@ -130,11 +152,7 @@ public class MainController {
      * @throws IllegalArgumentException if a game with the specified name does not exist.
      */
     public void deleteGame(String gameName) {
-        Optional<GameControllerMiddleware> chosenGameControllerMiddleware = findGame(gameName);
-        if (chosenGameControllerMiddleware.isEmpty())
-            throw new IllegalArgumentException("A game with the name \"" + gameName + "\" doesn't exists");
-        GameControllerMiddleware gameControllerMiddleware = chosenGameControllerMiddleware.get();
-        gameControllerMiddlewares.remove(gameControllerMiddleware);
+        removeGame(gameName, findGame(gameName));
     }
 
     /**
@@ -145,20 +163,115 @@ public class MainController {
      * @throws IllegalArgumentException if a game with the specified name does not exist or a player with the same name already exists in the game.
      */
     public void joinGame(String gameName, String playerName) {
-        Optional<GameControllerMiddleware> chosenGameControllerMiddleware = findGame(gameName);
-        if (chosenGameControllerMiddleware.isEmpty())
-            throw new IllegalArgumentException("A game with the name \"" + gameName + "\" doesn't exists");
+        GameControllerMiddleware gameControllerMiddleware = findGame(gameName);
+        gameControllerMiddleware.joinGame(playerName);
+        updateGameRecord(gameControllerMiddleware);
+    }
 
-        chosenGameControllerMiddleware.get().joinGame(playerName);
+    /**
+     * Refreshes the record of a game after its players changed outside of {@link #joinGame}, for instance because
+     * a player left the game before it started. Nothing happens if the game does not exist.
+     *
+     * @param gameName The name of the game.
+     */
+    public void refreshGameRecord(String gameName) {
+        GameControllerMiddleware gameControllerMiddleware = gameControllerMiddlewares.get(gameName);
+        if (gameControllerMiddleware != null) {
+            updateGameRecord(gameControllerMiddleware);
+        }
     }
 
     /**
      * Finds a gameControllerMiddleware with the specified name.
      *
      * @param gameName The name of the game to find.
-     * @return An Optional<gameControllerMiddleware> that contains the game if it exists, or is empty if it does not.
+     * @return The gameControllerMiddleware of the game.
+     * @throws IllegalArgumentException if a game with the specified name does not exist.
+     */
+    private GameControllerMiddleware findGame(String gameName) {
+        GameControllerMiddleware gameControllerMiddleware = gameControllerMiddlewares.get(gameName);
+        if (gameControllerMiddleware == null)
+            throw new IllegalArgumentException("A game with the name \"" + gameName + "\" doesn't exists");
+        return gameControllerMiddleware;
+    }
+
+    /**
+     * Removes the specified gameControllerMiddleware from the registry and its record from the game records.
+     *
+     * @param gameName                 The name of the game to be removed.
+     * @param gameControllerMiddleware The gameControllerMiddleware to be removed.
+     * @throws IllegalArgumentException if the game has already been removed.
+     */
+    private void removeGame(String gameName, GameControllerMiddleware gameControllerMiddleware) {
+        if (!gameControllerMiddlewares.remove(gameName, gameControllerMiddleware))
+            throw new IllegalArgumentException("A game with the name \"" + gameName + "\" doesn't exists");
+        synchronized (gameRecordsLock) {
+            List<GameRecord> updatedGameRecords = new ArrayList<>(gameRecords);
+            updatedGameRecords.removeIf(gameRecord -> gameRecord.gameName().equals(gameName));
+            gameRecords = List.copyOf(updatedGameRecords);
+        }
+    }
+
+    /**
+     * Lists a saved game that is still being restored, so the players can find it before it is restored.
+     * The record is replaced by the record of the game once the game is restored.
+     *
+     * @param gameRecord The record of the saved game.
+     */
+    public void addSavedGameRecord(GameRecord gameRecord) {
+        synchronized (gameRecordsLock) {
+            if (gameControllerMiddlewares.containsKey(gameRecord.gameName())) {
+                return;
+            }
+            List<GameRecord> updatedGameRecords = new ArrayList<>(gameRecords);
+            updatedGameRecords.removeIf(record -> record.gameName().equals(gameRecord.gameName()));
+            updatedGameRecords.add(gameRecord);
+            gameRecords = List.copyOf(updatedGameRecords);
+        }
+    }
+
+    /**
+     * Removes the record of a saved game that could not be restored.
+     * Nothing is removed if the game has been created.
+     *
+     * @param gameName The name of the saved game.
+     * @return true if the record was removed, false if the game has been created.
      */
-    private Optional<GameControllerMiddleware> findGame(String gameName) {
-        return gameControllerMiddlewares.stream().filter(gcm -> gcm.getGame().getGameName().equals(gameName)).findFirst();
+    public boolean removeSavedGameRecord(String gameName) {
+        synchronized (gameRecordsLock) {
+            if (gameControllerMiddlewares.containsKey(gameName)) {
+                return false;
+            }
+            List<GameRecord> updatedGameRecords = new ArrayList<>(gameRecords);
+            updatedGameRecords.removeIf(gameRecord -> gameRecord.gameName().equals(gameName));
+            gameRecords = List.copyOf(updatedGameRecords);
+            return true;
+        }
+    }
+
+    /**
+     * Updates the record of the specified game, adding it at the end of the game records if it is not present.
+     * The game is skipped if it has been removed from the registry in the meantime.
+     *
+     * @param gameControllerMiddleware The gameControllerMiddleware of the game to update.
+     */
+    private void updateGameRecord(GameControllerMiddleware gameControllerMiddleware) {
+        synchronized (gameRecordsLock) {
+            GameRecord gameRecord = gameControllerMiddleware.getGame().getGameRecord();
+            if (gameControllerMiddlewares.get(gameRecord.gameName()) != gameControllerMiddleware) {
+                return;
+            }
+            List<GameRecord> updatedGameRecords = new ArrayList<>(gameRecords);
+            int index = 0;
+            while (index < updatedGameRecords.size() && !updatedGameRecords.get(index).gameName().equals(gameRecord.gameName())) {
+                index++;
+            }
+            if (index < updatedGameRecords.size()) {
+                updatedGameRecords.set(index, gameRecord);
+            } else {
+                updatedGameRecords.add(gameRecord);
+            }
+            gameRecords = List.copyOf(updatedGameRecords);
+        }
     }
 }
@@ -2,6 +2,7 @@ package it.polimi.ingsw.controller.gameController;
 
 import it.polimi.ingsw.model.Game;
 import it.polimi.ingsw.model.card.gameCard.GameCard;
+import it.polimi.ingsw.model.player.PlayerBoard;
 import it.polimi.ingsw.model.player.PlayerColorEnum;
 import it.polimi.ingsw.model.utils.Coordinate;
 
@@ -28,6 +29,19 @@ public class GameController implements PlayerActions {
         this.game = new Game(gameName, nPlayers, playerName);
     }
 
+    /**
+     * Constructor for GameController.
+     * Initializes the GameController with the given game name, number of players, player name and seed of the game.
+     *
+     * @param gameName   the name of the game.
+     * @param nPlayers   the number of players in the game.
+     * @param playerName the name of the player.
+     * @param seed       the seed the decks of the game are shuffled with.
+     */
+    public GameController(String gameName, int nPlayers, String playerName, long seed) {
+        this.game = new Game(gameName, nPlayers, playerName, seed);
+    }
+
     /**
      * Gets the current game instance.
      *
@@ -112,8 +126,13 @@ public class GameController implements PlayerActions {
             return;
         }
 
-        GameCard starterCard = game.getPlayer(playerName).getPlayerBoard().getStarterCard();
+        PlayerBoard playerBoard = game.getPlayer(playerName).getPlayerBoard();
+        GameCard starterCard = playerBoard.getStarterCard();
         if (starterCard.getCardId() == cardId) {
+            // The starter card is always placed in the center of the board. Once placed, its side is fixed.
+            if (playerBoard.isOccupied(0, 0)) {
+                throw new IllegalArgumentException("Card cannot be switched. The starter card has already been placed");
+            }
             starterCard.switchSide();
             return;
         }
@@ -9,11 +9,12 @@ import it.polimi.ingsw.model.utils.Coordinate;
 import it.polimi.ingsw.network.virtualView.GameControllerView;
 import it.polimi.ingsw.network.virtualView.VirtualViewable;
 import it.polimi.ingsw.utils.PropertyChangeNotifier;
+import it.polimi.ingsw.utils.SchedulerService;
 
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This class represents the middleware between the GameController and the PlayerActions interface.
@@ -57,7 +58,7 @@ public class GameControllerMiddleware implements PlayerActions, VirtualViewable<
     /**
      * The timer that defines how much time the game waits for players to reconnect.
      */
-    private Timer reconnectTimer;
+    private SchedulerService.ScheduledTask reconnectTimer;
 
     /**
      * The PropertyChangeSupport that manages the listeners.
@@ -79,6 +80,22 @@ public class GameControllerMiddleware implements PlayerActions, VirtualViewable<
         this.listeners = new PropertyChangeSupport(this);
     }
 
+    /**
+     * Constructor for GameControllerMiddleware.
+     * Initializes the GameController with the given game name, number of players, player name and seed of the game.
+     *
+     * @param gameName   the name of the game.
+     * @param nPlayers   the number of players in the game.
+     * @param playerName the name of the player.
+     * @param seed       the seed the decks of the game are shuffled with.
+     */
+    public GameControllerMiddleware(String gameName, int nPlayers, String playerName, long seed) {
+        this.gameController = new GameController(gameName, nPlayers, playerName, seed);
+        this.game = this.gameController.getGame();
+        this.gameStatus = GameStatusEnum.WAIT_FOR_PLAYERS;
+        this.listeners = new PropertyChangeSupport(this);
+    }
+
     /**
      * Constructor for GameControllerMiddleware.
      * Initializes the GameController with the given game controller and game.
@@ -252,6 +269,29 @@ public class GameControllerMiddleware implements PlayerActions, VirtualViewable<
         }
     }
 
+    /**
+     * Places a card on the game field, switching its side first if requested.
+     * If the card cannot be placed, its side is switched back, so a rejected placement leaves the card as it was.
+     *
+     * @param playerName the name of the player who is placing the card.
+     * @param coordinate the coordinate where the card should be placed.
+     * @param cardId     the card to be placed.
+     * @param switchSide whether the side of the card is switched before placing it.
+     */
+    public void placeCard(String playerName, Coordinate coordinate, int cardId, boolean switchSide) {
+        if (!switchSide) {
+            placeCard(playerName, coordinate, cardId);
+            return;
+        }
+        switchCardSide(playerName, cardId);
+        try {
+            placeCard(playerName, coordinate, cardId);
+        } catch (RuntimeException e) {
+            gameController.switchCardSide(playerName, cardId);
+            throw e;
+        }
+    }
+
     /**
      * Places a card on the game field.
      *
@@ -526,24 +566,27 @@ public class GameControllerMiddleware implements PlayerActions, VirtualViewable<
      * The timer is set to 2 minutes.
      * If the game has at least 2 connected players, the game status is set to the saved game status and the game is resumed.
      * If the game has less than 2 connected players, the game is deleted.
+     * The check is run by the given executor, which must run it with the other actions of the game.
+     *
+     * @param executor the executor that runs the check when the timer expires.
      */
-    public void startReconnectTimer() {
-        reconnectTimer = new Timer();
-        reconnectTimer.schedule(new TimerTask() {
-            @Override
-            public void run() {
-                if (game.getConnectedPlayers().size() >= 2) {
-                    gameStatus = savedGameStatus;
-                    loadedFromDisk = false;
-                    while (!game.getCurrentPlayer().isConnected()) {
-                        game.setNextPlayer();
-                    }
-                    listeners.firePropertyChange("START_GAME", null, getVirtualView());
-                } else {
-                    listeners.firePropertyChange("DELETE", null, game.getGameName());
+    public void startReconnectTimer(Executor executor) {
+        reconnectTimer = SchedulerService.schedule(() -> executor.execute(() -> {
+            // All the players may have reconnected while the check was waiting to be run
+            if (!loadedFromDisk) {
+                return;
+            }
+            if (game.getConnectedPlayers().size() >= 2) {
+                gameStatus = savedGameStatus;
+                loadedFromDisk = false;
+                while (!game.getCurrentPlayer().isConnected()) {
+                    game.setNextPlayer();
                 }
+                listeners.firePropertyChange("START_GAME", null, getVirtualView());
+            } else {
+                listeners.firePropertyChange("DELETE", null, game.getGameName());
             }
-        }, 120000);
+        }), 120000, TimeUnit.MILLISECONDS);
     }
 
     private boolean canDrawCard() {
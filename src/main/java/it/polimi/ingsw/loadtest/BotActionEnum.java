@@ -0,0 +1,43 @@
+package it.polimi.ingsw.loadtest;
+
+/**
+ * The actions a bot player sends to the server, whose round trip is measured by the load generator.
+ */
+public enum BotActionEnum {
+    /**
+     * Creates a new game, as the first player of its table.
+     */
+    CREATE_GAME,
+    /**
+     * Joins the game created by the first player of its table.
+     */
+    JOIN_GAME,
+    /**
+     * Places the starter card in the center of the board.
+     */
+    PLACE_STARTER_CARD,
+    /**
+     * Chooses one of the available colors.
+     */
+    CHOOSE_PLAYER_COLOR,
+    /**
+     * Chooses one of the two objectives dealt to the player.
+     */
+    CHOOSE_OBJECTIVE,
+    /**
+     * Places a card of the hand on one of the available positions of the board.
+     */
+    PLACE_CARD,
+    /**
+     * Draws a card from one of the decks or from the field.
+     */
+    DRAW_CARD,
+    /**
+     * Sends a chat message to all the players of the game, measured until the server sends it back.
+     */
+    CHAT,
+    /**
+     * Closes the connection and joins the game again, measured until the player is back in the game.
+     */
+    RECONNECT
+}
@@ -0,0 +1,500 @@
+package it.polimi.ingsw.loadtest;
+
+import it.polimi.ingsw.controller.GameStatusEnum;
+import it.polimi.ingsw.model.card.gameCard.GameCard;
+import it.polimi.ingsw.model.player.PlayerColorEnum;
+import it.polimi.ingsw.model.utils.Coordinate;
+import it.polimi.ingsw.model.utils.store.GameItemStore;
+import it.polimi.ingsw.network.client.ClientNetworkControllerMapper;
+import it.polimi.ingsw.network.client.connection.Connection;
+import it.polimi.ingsw.network.client.connection.RMIConnection;
+import it.polimi.ingsw.network.client.connection.TCPConnection;
+import it.polimi.ingsw.network.client.message.ChatClientToServerMessage;
+import it.polimi.ingsw.network.server.message.ChatServerToClientMessage;
+import it.polimi.ingsw.network.virtualView.GameControllerView;
+import it.polimi.ingsw.network.virtualView.GlobalBoardView;
+import it.polimi.ingsw.network.virtualView.PlayerView;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The BotPlayer class is a headless player that connects to the server through its own {@link ClientNetworkControllerMapper},
+ * with TCP or RMI as a real client does, and plays legal moves chosen at random.
+ *
+ * <p>Every think time the bot may send a chat message or close its connection and join its game again;
+ * otherwise, if it is its turn, it places its starter card, chooses its color and objective,
+ * places a card of its hand on one of the {@link it.polimi.ingsw.network.virtualView.PlayerBoardView#availablePositions()}
+ * and draws a card. A gold card is placed on its front only if the player owns the items it needs.
+ *
+ * <p>The round trip of an action is measured from the moment it is sent to the next view or error received from the server,
+ * and the round trip of a chat message until the server sends it back. The bot sends no other action while waiting for a response.
+ * Since the players of a game act one at a time, the next view is the response to the action, except when another player
+ * joins or reconnects in the meantime.
+ */
+public class BotPlayer implements PropertyChangeListener {
+    /**
+     * The logger.
+     */
+    private static final Logger logger = LogManager.getLogger(BotPlayer.class);
+
+    /**
+     * The name of the player.
+     */
+    private final String playerName;
+
+    /**
+     * The table of the bot.
+     */
+    private final BotTable table;
+
+    /**
+     * Whether the bot creates the games of its table.
+     */
+    private final boolean createsGames;
+
+    /**
+     * The settings of the run.
+     */
+    private final LoadTestOptions options;
+
+    /**
+     * The statistics of the run.
+     */
+    private final LoadStatistics statistics;
+
+    /**
+     * The random choices of the bot.
+     */
+    private final Random random;
+
+    /**
+     * The scheduler running the actions of all the bots.
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * The mapper of the bot, not shared with other bots.
+     */
+    private final ClientNetworkControllerMapper mapper;
+
+    /**
+     * The chat messages sent and not yet received back, with the time they have been sent.
+     */
+    private final Map<String, Long> pendingChats = new ConcurrentHashMap<>();
+
+    /**
+     * The last view of the game received from the server.
+     */
+    private volatile GameControllerView view;
+
+    /**
+     * The round of the table the bot is playing.
+     */
+    private int round;
+
+    /**
+     * Whether the bot has created or joined the game of its round.
+     */
+    private boolean inGame;
+
+    /**
+     * Whether the bot is connected to the server.
+     */
+    private boolean connected;
+
+    /**
+     * The action waiting for the response of the server, or null.
+     */
+    private BotActionEnum pendingAction;
+
+    /**
+     * The time the pending action has been sent, from {@link System#nanoTime()}.
+     */
+    private long pendingSince;
+
+    /**
+     * The number of chat messages sent, used to tell them apart.
+     */
+    private int sentChats;
+
+    /**
+     * The task running the bot every think time.
+     */
+    private ScheduledFuture<?> ticks;
+
+    /**
+     * Whether the bot has been stopped.
+     */
+    private boolean stopped;
+
+    /**
+     * Creates a bot and its connection to the server.
+     *
+     * @param index        the index of the bot in the run, which decides the protocol it connects with.
+     * @param playerName   the name of the player.
+     * @param table        the table of the bot.
+     * @param createsGames whether the bot creates the games of its table.
+     * @param options      the settings of the run.
+     * @param statistics   the statistics of the run.
+     * @param scheduler    the scheduler running the actions of all the bots.
+     */
+    public BotPlayer(int index, String playerName, BotTable table, boolean createsGames, LoadTestOptions options,
+                     LoadStatistics statistics, ScheduledExecutorService scheduler) {
+        this.playerName = playerName;
+        this.table = table;
+        this.createsGames = createsGames;
+        this.options = options;
+        this.statistics = statistics;
+        this.scheduler = scheduler;
+        this.random = new Random(options.seed() + index);
+        this.mapper = new ClientNetworkControllerMapper();
+        this.mapper.addPropertyChangeListener(this);
+        Connection connection;
+        if (options.protocol().usesRMI(index)) {
+            connection = new RMIConnection(mapper, options.serverIp(), options.rmiPort(), options.serverIp(), options.clientPort());
+        } else {
+            connection = new TCPConnection(mapper, options.serverIp(), options.tcpPort(), options.useBinaryCodec());
+        }
+        this.mapper.setConnection(connection);
+    }
+
+    /**
+     * Connects to the server and starts playing.
+     */
+    public synchronized void start() {
+        mapper.connect();
+        ticks = scheduler.scheduleWithFixedDelay(this::tick, random.nextLong(options.thinkMillis()), options.thinkMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops playing. The connection is left open, so the games are not ended by the bots leaving them.
+     */
+    public synchronized void stop() {
+        stopped = true;
+        if (ticks != null) {
+            ticks.cancel(false);
+        }
+    }
+
+    /**
+     * Handles the events of the mapper, received on the threads of the connection.
+     *
+     * @param evt the event.
+     */
+    @Override
+    public void propertyChange(PropertyChangeEvent evt) {
+        switch (evt.getPropertyName()) {
+            case "CONNECTION_ESTABLISHED" -> scheduler.execute(this::connectionEstablished);
+            case "CONNECTION_FAILED" -> statistics.recordConnectionFailure();
+            case "UPDATE_VIEW" -> {
+                view = (GameControllerView) evt.getNewValue();
+                responseReceived(false);
+            }
+            case "ERROR" -> {
+                logger.debug("{} received an error: {}", playerName, evt.getNewValue());
+                responseReceived(true);
+            }
+            case "CHAT_MESSAGE" -> chatReceived((ChatServerToClientMessage) evt.getNewValue());
+            default -> logger.debug("{} ignored the event {}", playerName, evt.getPropertyName());
+        }
+    }
+
+    /**
+     * Enters the game of the current round once connected, or joins again the game left by a lost connection.
+     */
+    private synchronized void connectionEstablished() {
+        connected = true;
+        if (stopped) {
+            return;
+        }
+        if (inGame) {
+            // The connection was lost, or closed on purpose: a RECONNECT is already pending in that case.
+            if (pendingAction == null) {
+                begin(BotActionEnum.JOIN_GAME);
+            }
+            mapper.joinGame(table.getGameName(round), playerName);
+        } else if (createsGames) {
+            begin(BotActionEnum.CREATE_GAME);
+            mapper.createGame(table.getGameName(round), playerName, table.getPlayers());
+        } else {
+            int joiningRound = round;
+            table.created(joiningRound).thenRunAsync(() -> joinGame(joiningRound), scheduler);
+        }
+    }
+
+    /**
+     * Joins the game of a round, once the first bot of the table has created it.
+     *
+     * @param joiningRound the round.
+     */
+    private synchronized void joinGame(int joiningRound) {
+        if (stopped || !connected || inGame || round != joiningRound || pendingAction != null) {
+            return;
+        }
+        begin(BotActionEnum.JOIN_GAME);
+        mapper.joinGame(table.getGameName(round), playerName);
+    }
+
+    /**
+     * Records the round trip of the pending action, answered by a view or an error.
+     * When the bot could not enter a game, it moves to the game of the next round.
+     *
+     * @param isError whether the server answered with an error.
+     */
+    private synchronized void responseReceived(boolean isError) {
+        if (pendingAction == null) {
+            return;
+        }
+        BotActionEnum action = pendingAction;
+        if (isError && action == BotActionEnum.RECONNECT) {
+            // The server may handle the new connection before the disconnection of the old one: the bot tries again until the timeout.
+            statistics.recordError(action);
+            scheduler.schedule(this::rejoinGame, options.thinkMillis(), TimeUnit.MILLISECONDS);
+            return;
+        }
+        pendingAction = null;
+        statistics.recordLatency(action, System.nanoTime() - pendingSince);
+        if (isError) {
+            statistics.recordError(action);
+        }
+        if (action == BotActionEnum.CREATE_GAME || action == BotActionEnum.JOIN_GAME) {
+            if (isError) {
+                inGame = false;
+                round++;
+                scheduler.execute(this::connectionEstablished);
+            } else {
+                inGame = true;
+                if (action == BotActionEnum.CREATE_GAME) {
+                    table.gameCreated(round);
+                }
+            }
+        }
+    }
+
+    /**
+     * Joins again the game left on purpose, after the server refused the previous attempt.
+     */
+    private synchronized void rejoinGame() {
+        if (stopped || !connected || pendingAction != BotActionEnum.RECONNECT) {
+            return;
+        }
+        mapper.joinGame(table.getGameName(round), playerName);
+    }
+
+    /**
+     * Records the round trip of a chat message sent by the bot, when the server sends it back.
+     *
+     * @param message the chat message.
+     */
+    private void chatReceived(ChatServerToClientMessage message) {
+        if (!playerName.equals(message.getPlayerName())) {
+            return;
+        }
+        Long sentAt = pendingChats.remove(message.getChatMessage());
+        if (sentAt != null) {
+            statistics.recordLatency(BotActionEnum.CHAT, System.nanoTime() - sentAt);
+        }
+    }
+
+    /**
+     * Runs the bot every think time: gives up on the responses not received in time, and then acts.
+     */
+    private synchronized void tick() {
+        if (stopped || !connected) {
+            return;
+        }
+        expireChats();
+        if (pendingAction != null) {
+            if (System.nanoTime() - pendingSince < TimeUnit.MILLISECONDS.toNanos(options.responseTimeoutMillis())) {
+                return;
+            }
+            BotActionEnum action = pendingAction;
+            pendingAction = null;
+            statistics.recordTimeout(action);
+            logger.warn("{} got no response to {} in time", playerName, action);
+            if (action == BotActionEnum.CREATE_GAME || action == BotActionEnum.JOIN_GAME || action == BotActionEnum.RECONNECT) {
+                leaveGame();
+                return;
+            }
+        }
+        GameControllerView currentView = view;
+        if (!inGame || currentView == null) {
+            return;
+        }
+        if (currentView.gameStatus() == GameStatusEnum.GAME_OVER) {
+            if (createsGames) {
+                statistics.recordCompletedGame();
+            }
+            leaveGame();
+            return;
+        }
+        double choice = random.nextDouble();
+        if (choice < options.reconnectProbability()) {
+            // A game left by its last connected player is deleted, so the bot only leaves it to the others.
+            if (currentView.gameStatus() != GameStatusEnum.WAIT_FOR_PLAYERS && currentView.getConnectedPlayers().size() > 1) {
+                reconnect();
+            }
+        } else if (choice < options.reconnectProbability() + options.chatProbability()) {
+            chat();
+        } else if (currentView.isMyTurn(playerName)) {
+            play(currentView);
+        }
+    }
+
+    /**
+     * Counts as timed out the chat messages not received back in time.
+     */
+    private void expireChats() {
+        long expiredBefore = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(options.responseTimeoutMillis());
+        pendingChats.values().removeIf(sentAt -> {
+            if (sentAt < expiredBefore) {
+                statistics.recordTimeout(BotActionEnum.CHAT);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Leaves the current game and enters the game of the next round, closing the connection as a real client does.
+     * The connection reconnects by itself.
+     */
+    private void leaveGame() {
+        inGame = false;
+        round++;
+        closeConnection();
+    }
+
+    /**
+     * Closes the connection and joins the current game again once reconnected.
+     */
+    private void reconnect() {
+        begin(BotActionEnum.RECONNECT);
+        closeConnection();
+    }
+
+    /**
+     * Closes the connection. The connection reconnects by itself and notifies the bot once reconnected.
+     */
+    private void closeConnection() {
+        connected = false;
+        view = null;
+        mapper.closeConnection();
+    }
+
+    /**
+     * Sends a chat message to all the players of the game.
+     */
+    private void chat() {
+        String message = playerName + " #" + sentChats++;
+        pendingChats.put(message, System.nanoTime());
+        mapper.sendChatMessage(new ChatClientToServerMessage(table.getGameName(round), playerName, message, "global", false));
+    }
+
+    /**
+     * Plays the turn of the bot, according to the status of the game.
+     *
+     * @param currentView the current view of the game.
+     */
+    private void play(GameControllerView currentView) {
+        PlayerView playerView = currentView.getPlayerViewByName(playerName);
+        switch (currentView.gameStatus()) {
+            case INIT_PLACE_STARTER_CARD -> {
+                begin(BotActionEnum.PLACE_STARTER_CARD);
+                mapper.placeCard(new Coordinate(0, 0), playerView.starterCard().getCardId(), random.nextBoolean());
+            }
+            case INIT_CHOOSE_PLAYER_COLOR -> {
+                List<PlayerColorEnum> colors = currentView.gameView().availablePlayerColors();
+                begin(BotActionEnum.CHOOSE_PLAYER_COLOR);
+                mapper.choosePlayerColor(colors.get(random.nextInt(colors.size())));
+            }
+            case INIT_CHOOSE_OBJECTIVE_CARD -> {
+                int objective = random.nextInt(playerView.choosableObjectives().size());
+                begin(BotActionEnum.CHOOSE_OBJECTIVE);
+                mapper.setPlayerObjective(playerView.choosableObjectives().get(objective).getCardId());
+            }
+            case PLACE_CARD -> placeCard(playerView);
+            case DRAW_CARD -> drawCard(currentView.gameView().globalBoardView());
+            default -> {
+                // Nothing to do while waiting for the players or while the game is paused.
+            }
+        }
+    }
+
+    /**
+     * Places a card of the hand on a random available position.
+     * The first card, in random order, whose front can be afforded is placed on its front, otherwise a card is placed on its back.
+     *
+     * @param playerView the view of the bot.
+     */
+    private void placeCard(PlayerView playerView) {
+        List<GameCard> hand = new ArrayList<>(playerView.playerHandView().hand());
+        List<Coordinate> positions = new ArrayList<>(playerView.playerBoardView().availablePositions());
+        if (hand.isEmpty() || positions.isEmpty()) {
+            return;
+        }
+        Collections.shuffle(hand, random);
+        GameItemStore items = playerView.playerBoardView().gameItemStore();
+        GameCard card = hand.getFirst();
+        boolean onBack = true;
+        for (GameCard handCard : hand) {
+            if (!handCard.isFlipped() && items.dominates(handCard.getNeededItemStore())) {
+                card = handCard;
+                onBack = false;
+                break;
+            }
+        }
+        Coordinate position = positions.get(random.nextInt(positions.size()));
+        begin(BotActionEnum.PLACE_CARD);
+        // The server switches the side of the card when asked to flip it.
+        mapper.placeCard(position, card.getCardId(), onBack != card.isFlipped());
+    }
+
+    /**
+     * Draws a card from a random non-empty deck, or from the field.
+     *
+     * @param globalBoardView the view of the global board.
+     */
+    private void drawCard(GlobalBoardView globalBoardView) {
+        List<Runnable> draws = new ArrayList<>();
+        if (globalBoardView.resourceFirstCard() != null) {
+            draws.add(mapper::drawCardFromResourceDeck);
+        }
+        if (globalBoardView.goldFirstCard() != null) {
+            draws.add(mapper::drawCardFromGoldDeck);
+        }
+        List<GameCard> fieldCards = new ArrayList<>(globalBoardView.fieldResourceCards());
+        fieldCards.addAll(globalBoardView.fieldGoldCards());
+        if (!fieldCards.isEmpty()) {
+            int cardId = fieldCards.get(random.nextInt(fieldCards.size())).getCardId();
+            draws.add(() -> mapper.drawCardFromField(cardId));
+        }
+        if (draws.isEmpty()) {
+            return;
+        }
+        begin(BotActionEnum.DRAW_CARD);
+        draws.get(random.nextInt(draws.size())).run();
+    }
+
+    /**
+     * Marks an action as waiting for the response of the server.
+     *
+     * @param action the action.
+     */
+    private void begin(BotActionEnum action) {
+        pendingAction = action;
+        pendingSince = System.nanoTime();
+    }
+}
@@ -0,0 +1,76 @@
+package it.polimi.ingsw.loadtest;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The BotTable class groups the bot players that play their games together.
+ * The first bot of the table creates a game for each round, and the others join it once it has been created.
+ * A new round starts when a game is over or has been deleted.
+ */
+public class BotTable {
+    /**
+     * The prefix of the names of the games of the table, unique in the run.
+     */
+    private final String name;
+
+    /**
+     * The number of players of the games of the table.
+     */
+    private final int players;
+
+    /**
+     * The games created so far, completed when the first bot has created the game of the round.
+     */
+    private final ConcurrentMap<Integer, CompletableFuture<Void>> createdGames = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a table.
+     *
+     * @param name    the prefix of the names of the games of the table.
+     * @param players the number of players of the games of the table.
+     */
+    public BotTable(String name, int players) {
+        this.name = name;
+        this.players = players;
+    }
+
+    /**
+     * Returns the number of players of the games of the table.
+     *
+     * @return the number of players.
+     */
+    public int getPlayers() {
+        return players;
+    }
+
+    /**
+     * Returns the name of the game of a round.
+     *
+     * @param round the round.
+     * @return the name of the game.
+     */
+    public String getGameName(int round) {
+        return name + "-r" + round;
+    }
+
+    /**
+     * Marks the game of a round as created, so the other bots of the table can join it.
+     *
+     * @param round the round.
+     */
+    public void gameCreated(int round) {
+        created(round).complete(null);
+    }
+
+    /**
+     * Returns a future completed when the game of a round has been created.
+     *
+     * @param round the round.
+     * @return the future.
+     */
+    public CompletableFuture<Void> created(int round) {
+        return createdGames.computeIfAbsent(round, r -> new CompletableFuture<>());
+    }
+}
@@ -0,0 +1,287 @@
+package it.polimi.ingsw.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The LoadStatistics class collects the round trips of the actions of all the bot players of a run,
+ * and summarizes them as latency percentiles, throughput and error counts.
+ * Every round trip is kept, so the percentiles are exact. It is safe to use from many threads.
+ */
+public class LoadStatistics {
+    /**
+     * The percentiles reported for each action.
+     */
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+
+    /**
+     * The round trips of each action.
+     */
+    private final Map<BotActionEnum, Samples> samples = new EnumMap<>(BotActionEnum.class);
+
+    /**
+     * The number of errors sent by the server in response to each action.
+     */
+    private final Map<BotActionEnum, AtomicLong> errors = new EnumMap<>(BotActionEnum.class);
+
+    /**
+     * The number of actions of each kind that got no response in time.
+     */
+    private final Map<BotActionEnum, AtomicLong> timeouts = new EnumMap<>(BotActionEnum.class);
+
+    /**
+     * The number of failed attempts to connect to the server.
+     */
+    private final AtomicLong connectionFailures = new AtomicLong();
+
+    /**
+     * The number of games played until the end.
+     */
+    private final AtomicLong completedGames = new AtomicLong();
+
+    /**
+     * Creates empty statistics.
+     */
+    public LoadStatistics() {
+        for (BotActionEnum action : BotActionEnum.values()) {
+            samples.put(action, new Samples());
+            errors.put(action, new AtomicLong());
+            timeouts.put(action, new AtomicLong());
+        }
+    }
+
+    /**
+     * Records the round trip of an action answered by the server.
+     *
+     * @param action       the action.
+     * @param latencyNanos the time between sending the action and receiving the response, in nanoseconds.
+     */
+    public void recordLatency(BotActionEnum action, long latencyNanos) {
+        samples.get(action).add(latencyNanos);
+    }
+
+    /**
+     * Records an action the server answered with an error.
+     *
+     * @param action the action.
+     */
+    public void recordError(BotActionEnum action) {
+        errors.get(action).incrementAndGet();
+    }
+
+    /**
+     * Records an action that got no response in time.
+     *
+     * @param action the action.
+     */
+    public void recordTimeout(BotActionEnum action) {
+        timeouts.get(action).incrementAndGet();
+    }
+
+    /**
+     * Records a failed attempt to connect to the server.
+     */
+    public void recordConnectionFailure() {
+        connectionFailures.incrementAndGet();
+    }
+
+    /**
+     * Records a game played until the end.
+     */
+    public void recordCompletedGame() {
+        completedGames.incrementAndGet();
+    }
+
+    /**
+     * Returns the number of round trips recorded for an action, including the ones answered with an error.
+     * The round trip of a reconnection spans all its attempts, so the refused attempts are only counted as errors.
+     *
+     * @param action the action.
+     * @return the number of round trips.
+     */
+    public long getCount(BotActionEnum action) {
+        return samples.get(action).size();
+    }
+
+    /**
+     * Returns the number of round trips recorded for all the actions.
+     *
+     * @return the number of round trips.
+     */
+    public long getTotalCount() {
+        long count = 0;
+        for (Samples actionSamples : samples.values()) {
+            count += actionSamples.size();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of errors sent by the server in response to an action.
+     *
+     * @param action the action.
+     * @return the number of errors.
+     */
+    public long getErrors(BotActionEnum action) {
+        return errors.get(action).get();
+    }
+
+    /**
+     * Returns the number of actions of a kind that got no response in time.
+     *
+     * @param action the action.
+     * @return the number of timeouts.
+     */
+    public long getTimeouts(BotActionEnum action) {
+        return timeouts.get(action).get();
+    }
+
+    /**
+     * Returns the latency of an action at the given percentile, with the nearest-rank method.
+     *
+     * @param action     the action.
+     * @param percentile the percentile, between 0 excluded and 1 included.
+     * @return the latency in nanoseconds, or 0 if no round trip has been recorded.
+     * @throws IllegalArgumentException if the percentile is out of range.
+     */
+    public long getPercentile(BotActionEnum action, double percentile) {
+        if (percentile <= 0 || percentile > 1) {
+            throw new IllegalArgumentException("The percentile must be in (0, 1]");
+        }
+        return percentile(samples.get(action).sorted(), percentile);
+    }
+
+    /**
+     * Summarizes the statistics as a table, with a row for each action and one for all of them.
+     *
+     * @param elapsed the duration of the run, used for the throughput.
+     * @return the table.
+     */
+    public String report(Duration elapsed) {
+        double seconds = Math.max(elapsed.toNanos(), 1) / 1e9;
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-20s %9s %10s %7s %8s %9s %9s %9s %9s %9s%n",
+                "action", "count", "ops/s", "errors", "timeouts", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        long[] all = new long[0];
+        long totalErrors = 0;
+        long totalTimeouts = 0;
+        for (BotActionEnum action : BotActionEnum.values()) {
+            long[] sorted = samples.get(action).sorted();
+            appendRow(report, action.name(), sorted, getErrors(action), getTimeouts(action), seconds);
+            all = merge(all, sorted);
+            totalErrors += getErrors(action);
+            totalTimeouts += getTimeouts(action);
+        }
+        appendRow(report, "TOTAL", all, totalErrors, totalTimeouts, seconds);
+        report.append(String.format("Completed games: %d, failed connection attempts: %d, elapsed: %.1f s%n",
+                completedGames.get(), connectionFailures.get(), seconds));
+        return report.toString();
+    }
+
+    /**
+     * Appends a row of the report.
+     *
+     * @param report   the report.
+     * @param name     the name of the row.
+     * @param sorted   the sorted round trips of the row, in nanoseconds.
+     * @param errors   the number of errors of the row.
+     * @param timeouts the number of timeouts of the row.
+     * @param seconds  the duration of the run, in seconds.
+     */
+    private static void appendRow(StringBuilder report, String name, long[] sorted, long errors, long timeouts, double seconds) {
+        report.append(String.format("%-20s %9d %10.1f %7d %8d", name, sorted.length, sorted.length / seconds, errors, timeouts));
+        for (double percentile : PERCENTILES) {
+            report.append(String.format(" %9.2f", percentile(sorted, percentile) / 1e6));
+        }
+        report.append(String.format(" %9.2f%n", (sorted.length == 0 ? 0 : sorted[sorted.length - 1]) / 1e6));
+    }
+
+    /**
+     * Returns the value at the given percentile of sorted values, with the nearest-rank method.
+     *
+     * @param sorted     the sorted values.
+     * @param percentile the percentile.
+     * @return the value, or 0 if there are no values.
+     */
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    /**
+     * Merges two sorted arrays.
+     *
+     * @param first  the first array.
+     * @param second the second array.
+     * @return the sorted array with the values of both.
+     */
+    private static long[] merge(long[] first, long[] second) {
+        long[] merged = new long[first.length + second.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < first.length && j < second.length) {
+            merged[k++] = first[i] <= second[j] ? first[i++] : second[j++];
+        }
+        while (i < first.length) {
+            merged[k++] = first[i++];
+        }
+        while (j < second.length) {
+            merged[k++] = second[j++];
+        }
+        return merged;
+    }
+
+    /**
+     * A growing array of the round trips of an action.
+     */
+    private static final class Samples {
+        /**
+         * The round trips, in nanoseconds, valid up to {@link #size}.
+         */
+        private long[] values = new long[1024];
+
+        /**
+         * The number of round trips.
+         */
+        private int size;
+
+        /**
+         * Adds a round trip.
+         *
+         * @param value the round trip, in nanoseconds.
+         */
+        synchronized void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        /**
+         * Returns the number of round trips.
+         *
+         * @return the number of round trips.
+         */
+        synchronized int size() {
+            return size;
+        }
+
+        /**
+         * Returns a sorted copy of the round trips.
+         *
+         * @return the sorted round trips.
+         */
+        synchronized long[] sorted() {
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package it.polimi.ingsw.loadtest;
+
+import it.polimi.ingsw.network.utils.RMITimeoutSetter;
+import org.apache.commons.cli.*;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.config.Configurator;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The LoadTest class is a headless load generator for the server.
+ * It runs many {@link BotPlayer}s in the same process, each with its own TCP or RMI connection, grouped in tables playing games together,
+ * and prints the round-trip latency percentiles, throughput and error counts of their actions when the run is over.
+ */
+public class LoadTest {
+    /**
+     * The logger.
+     */
+    private static final Logger logger = LogManager.getLogger(LoadTest.class);
+
+    /**
+     * How often the progress of the run is logged, in seconds.
+     */
+    private static final long PROGRESS_INTERVAL_SECONDS = 10;
+
+    /**
+     * The main method of the LoadTest class.
+     * It runs the bots against the server for the requested duration, prints the report and exits.
+     *
+     * @param args the command line arguments. These can be used to specify the server, the protocol, the number of bots and how they play.
+     */
+    public static void main(String[] args) {
+        CommandLine cmd = parseCommandLineArgs(args);
+        LoadTestOptions options;
+        try {
+            options = createOptions(cmd);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid option: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        if (!cmd.hasOption("debug")) {
+            // Thousands of messages per second, and a warning for every reconnection, would be logged otherwise.
+            Configurator.setAllLevels(LogManager.getRootLogger().getName(), Level.ERROR);
+            Configurator.setLevel(LoadTest.class.getName(), Level.INFO);
+        }
+        if (options.protocol() != ProtocolEnum.TCP) {
+            System.setProperty("java.rmi.server.hostname", options.serverIp());
+            RMITimeoutSetter.setRMITimeout(5000);
+        }
+        LoadStatistics statistics = run(options);
+        System.out.print(statistics.report(options.duration()));
+        // The connections of the bots keep their threads alive.
+        System.exit(0);
+    }
+
+    /**
+     * Runs the bots against the server for the duration of the run.
+     *
+     * @param options the settings of the run.
+     * @return the statistics of the run.
+     */
+    public static LoadStatistics run(LoadTestOptions options) {
+        LoadStatistics statistics = new LoadStatistics();
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(options.threads());
+        List<BotPlayer> bots = createBots(options, statistics, scheduler);
+        logger.info("Starting {} bots over {} against {}", bots.size(), options.protocol(), options.serverIp());
+        long start = System.nanoTime();
+        bots.forEach(BotPlayer::start);
+        try {
+            long end = start + options.duration().toNanos();
+            long now;
+            while ((now = System.nanoTime()) < end) {
+                TimeUnit.NANOSECONDS.sleep(Math.min(end - now, TimeUnit.SECONDS.toNanos(PROGRESS_INTERVAL_SECONDS)));
+                logger.info("{} s: {} round trips", TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start), statistics.getTotalCount());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        bots.forEach(BotPlayer::stop);
+        scheduler.shutdownNow();
+        return statistics;
+    }
+
+    /**
+     * Creates the bots, grouped in tables of the requested number of players. The last table gets the bots left over.
+     *
+     * @param options    the settings of the run.
+     * @param statistics the statistics of the run.
+     * @param scheduler  the scheduler running the actions of all the bots.
+     * @return the bots.
+     */
+    private static List<BotPlayer> createBots(LoadTestOptions options, LoadStatistics statistics, ScheduledExecutorService scheduler) {
+        // Runs against a server that has not been restarted do not collide with the games of the previous ones.
+        String runName = "load" + Long.toString(System.currentTimeMillis() % 1_000_000, 36);
+        List<BotPlayer> bots = new ArrayList<>(options.bots());
+        for (int first = 0; first < options.bots(); first += options.playersPerGame()) {
+            int players = Math.min(options.playersPerGame(), options.bots() - first);
+            BotTable table = new BotTable(runName + "-t" + first / options.playersPerGame(), players);
+            for (int i = first; i < first + players; i++) {
+                bots.add(new BotPlayer(i, "bot" + i, table, i == first, options, statistics, scheduler));
+            }
+        }
+        return bots;
+    }
+
+    /**
+     * Creates the settings of the run from the command line arguments.
+     *
+     * @param cmd the parsed command line arguments.
+     * @return the settings of the run.
+     * @throws IllegalArgumentException if an option is not valid.
+     */
+    private static LoadTestOptions createOptions(CommandLine cmd) {
+        int rmiPort = Integer.parseInt(cmd.getOptionValue("rp", "1099"));
+        return new LoadTestOptions(
+                cmd.getOptionValue("s", "localhost"),
+                Integer.parseInt(cmd.getOptionValue("tp", "12345")),
+                rmiPort,
+                Integer.parseInt(cmd.getOptionValue("cp", Integer.toString(rmiPort + 1))),
+                ProtocolEnum.fromString(cmd.getOptionValue("protocol", "tcp")),
+                cmd.hasOption("bc"),
+                Integer.parseInt(cmd.getOptionValue("b", String.valueOf(LoadTestOptions.DEFAULT_BOTS))),
+                Integer.parseInt(cmd.getOptionValue("p", String.valueOf(LoadTestOptions.DEFAULT_PLAYERS_PER_GAME))),
+                Duration.ofSeconds(Long.parseLong(cmd.getOptionValue("d", String.valueOf(LoadTestOptions.DEFAULT_DURATION_SECONDS)))),
+                Long.parseLong(cmd.getOptionValue("think", String.valueOf(LoadTestOptions.DEFAULT_THINK_MILLIS))),
+                Double.parseDouble(cmd.getOptionValue("chat", String.valueOf(LoadTestOptions.DEFAULT_CHAT_PROBABILITY))),
+                Double.parseDouble(cmd.getOptionValue("reconnect", String.valueOf(LoadTestOptions.DEFAULT_RECONNECT_PROBABILITY))),
+                Long.parseLong(cmd.getOptionValue("timeout", String.valueOf(LoadTestOptions.DEFAULT_RESPONSE_TIMEOUT_MILLIS))),
+                Integer.parseInt(cmd.getOptionValue("threads", String.valueOf(LoadTestOptions.DEFAULT_THREADS))),
+                Long.parseLong(cmd.getOptionValue("seed", "0")));
+    }
+
+    /**
+     * Parses the command line arguments and returns a CommandLine object.
+     *
+     * @param args the command line arguments.
+     * @return a CommandLine object that can be used to query the command line arguments.
+     */
+    private static CommandLine parseCommandLineArgs(String[] args) {
+        Options options = getOptions();
+        HelpFormatter formatter = new HelpFormatter();
+        CommandLine cmd = null;
+        try {
+            cmd = new DefaultParser().parse(options, args);
+        } catch (ParseException e) {
+            System.err.println("Parsing failed. Reason: " + e.getMessage());
+            formatter.printHelp("LoadTest", options);
+            System.exit(1);
+        }
+        if (cmd.hasOption("h")) {
+            formatter.printHelp("LoadTest", options);
+            System.exit(0);
+        }
+        return cmd;
+    }
+
+    private static Options getOptions() {
+        Options options = new Options();
+        options.addOption("s", "server_ip", true, "Server IP address (default is localhost).");
+        options.addOption("tp", "tcp_port", true, "TCP server port number (default is 12345).");
+        options.addOption("rp", "rmi_port", true, "RMI server port number (default is 1099).");
+        options.addOption("cp", true, "Port the bots connected with RMI listen on (default is the RMI server port number + 1).");
+        options.addOption("protocol", true, "Protocol of the bots: tcp, rmi or mixed (default is tcp).");
+        options.addOption("bc", "binary_codec", false, "Receive the messages of the TCP connections with the binary codec instead of JSON.");
+        options.addOption("b", "bots", true, "Number of bots (default is " + LoadTestOptions.DEFAULT_BOTS + ").");
+        options.addOption("p", "players", true, "Number of players of each game (default is " + LoadTestOptions.DEFAULT_PLAYERS_PER_GAME + ").");
+        options.addOption("d", "duration", true, "Duration of the run in seconds (default is " + LoadTestOptions.DEFAULT_DURATION_SECONDS + ").");
+        options.addOption("think", true, "Milliseconds a bot waits between two actions (default is " + LoadTestOptions.DEFAULT_THINK_MILLIS + ").");
+        options.addOption("chat", true, "Probability of sending a chat message at each think time (default is " + LoadTestOptions.DEFAULT_CHAT_PROBABILITY + ").");
+        options.addOption("reconnect", true, "Probability of closing the connection and joining the game again at each think time (default is " + LoadTestOptions.DEFAULT_RECONNECT_PROBABILITY + ").");
+        options.addOption("timeout", true, "Milliseconds a bot waits for a response before counting it as timed out (default is " + LoadTestOptions.DEFAULT_RESPONSE_TIMEOUT_MILLIS + ").");
+        options.addOption("threads", true, "Number of threads running the actions of the bots (default is " + LoadTestOptions.DEFAULT_THREADS + ").");
+        options.addOption("seed", true, "Seed of the choices of the bots (default is 0).");
+        options.addOption("debug", "Log the messages of the bots and of their connections.");
+        options.addOption("h", "help", false, "Print this message.");
+        return options;
+    }
+}
@@ -0,0 +1,105 @@
+package it.polimi.ingsw.loadtest;
+
+import java.time.Duration;
+
+/**
+ * The LoadTestOptions record holds the settings of a run of the {@link LoadTest}.
+ *
+ * @param serverIp              the IP address of the server.
+ * @param tcpPort               the TCP port of the server.
+ * @param rmiPort               the RMI port of the server.
+ * @param clientPort            the port the bots connected with RMI listen on for the messages of the server.
+ * @param protocol              the protocol the bots connect with.
+ * @param useBinaryCodec        whether the bots connected with TCP receive the messages with the binary codec instead of JSON.
+ * @param bots                  the number of bots.
+ * @param playersPerGame        the number of players of each game, the last game gets the bots left over.
+ * @param duration              how long the bots play.
+ * @param thinkMillis           how long a bot waits between two actions, in milliseconds.
+ * @param chatProbability       the probability that a bot sends a chat message instead of waiting for its turn.
+ * @param reconnectProbability  the probability that a bot closes its connection and joins its game again instead of waiting for its turn.
+ * @param responseTimeoutMillis how long a bot waits for the response of the server before counting the action as timed out, in milliseconds.
+ * @param threads               the number of threads running the actions of all the bots.
+ * @param seed                  the seed of the choices of the bots.
+ */
+public record LoadTestOptions(String serverIp, int tcpPort, int rmiPort, int clientPort, ProtocolEnum protocol,
+                              boolean useBinaryCodec, int bots, int playersPerGame, Duration duration, long thinkMillis,
+                              double chatProbability, double reconnectProbability, long responseTimeoutMillis,
+                              int threads, long seed) {
+    /**
+     * The default number of bots.
+     */
+    public static final int DEFAULT_BOTS = 8;
+
+    /**
+     * The default number of players of each game.
+     */
+    public static final int DEFAULT_PLAYERS_PER_GAME = 2;
+
+    /**
+     * The default duration of a run, in seconds.
+     */
+    public static final long DEFAULT_DURATION_SECONDS = 60;
+
+    /**
+     * The default time a bot waits between two actions, in milliseconds.
+     */
+    public static final long DEFAULT_THINK_MILLIS = 100;
+
+    /**
+     * The default probability of sending a chat message.
+     */
+    public static final double DEFAULT_CHAT_PROBABILITY = 0.05;
+
+    /**
+     * The default probability of closing the connection and joining the game again.
+     */
+    public static final double DEFAULT_RECONNECT_PROBABILITY = 0.005;
+
+    /**
+     * The default time a bot waits for the response of the server, in milliseconds.
+     */
+    public static final long DEFAULT_RESPONSE_TIMEOUT_MILLIS = 10000;
+
+    /**
+     * The default number of threads running the actions of the bots.
+     */
+    public static final int DEFAULT_THREADS = 4;
+
+    /**
+     * Validates the settings.
+     *
+     * @throws IllegalArgumentException if a setting is out of range.
+     */
+    public LoadTestOptions {
+        if (serverIp == null) {
+            throw new IllegalArgumentException("The IP address of the server cannot be null");
+        }
+        if (protocol == null) {
+            throw new IllegalArgumentException("The protocol cannot be null");
+        }
+        if (playersPerGame < 2 || playersPerGame > 4) {
+            throw new IllegalArgumentException("A game has from 2 to 4 players");
+        }
+        if (bots < 2) {
+            throw new IllegalArgumentException("At least two bots are needed to play a game");
+        }
+        if (bots % playersPerGame == 1) {
+            throw new IllegalArgumentException("The bots left over after filling the games of " + playersPerGame + " players would play alone");
+        }
+        if (duration == null || duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("The duration must be positive");
+        }
+        if (thinkMillis < 1) {
+            throw new IllegalArgumentException("The think time must be at least one millisecond");
+        }
+        if (chatProbability < 0 || chatProbability > 1 || reconnectProbability < 0 || reconnectProbability > 1) {
+            throw new IllegalArgumentException("The probabilities must be between 0 and 1");
+        }
+        if (responseTimeoutMillis < 1) {
+            throw new IllegalArgumentException("The response timeout must be at least one millisecond");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is needed to run the bots");
+        }
+    }
+}
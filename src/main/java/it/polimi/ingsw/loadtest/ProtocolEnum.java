@@ -0,0 +1,45 @@
+package it.polimi.ingsw.loadtest;
+
+/**
+ * The protocols the bot players of the load generator use to connect to the server.
+ */
+public enum ProtocolEnum {
+    /**
+     * Every bot connects with TCP.
+     */
+    TCP,
+    /**
+     * Every bot connects with RMI.
+     */
+    RMI,
+    /**
+     * Half of the bots connect with TCP and the other half with RMI.
+     */
+    MIXED;
+
+    /**
+     * Returns the protocol with the given name, ignoring the case.
+     *
+     * @param name the name of the protocol.
+     * @return the protocol.
+     * @throws IllegalArgumentException if no protocol has the given name.
+     */
+    public static ProtocolEnum fromString(String name) {
+        for (ProtocolEnum protocol : values()) {
+            if (protocol.name().equalsIgnoreCase(name)) {
+                return protocol;
+            }
+        }
+        throw new IllegalArgumentException("Unknown protocol: " + name + ". Use tcp, rmi or mixed");
+    }
+
+    /**
+     * Returns whether the bot with the given index connects with RMI.
+     *
+     * @param botIndex the index of the bot.
+     * @return true if the bot connects with RMI, false if it connects with TCP.
+     */
+    public boolean usesRMI(int botIndex) {
+        return this == RMI || (this == MIXED && botIndex % 2 == 1);
+    }
+}
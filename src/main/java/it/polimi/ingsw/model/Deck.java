@@ -5,6 +5,8 @@ import it.polimi.ingsw.model.card.gameCard.GameCard;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Objects;
+import java.util.Set;
+import java.util.random.RandomGenerator;
 
 /**
  * This class represents a deck of cards in the game.
@@ -33,6 +35,19 @@ public class Deck<T> {
         Collections.shuffle(deck);
     }
 
+    /**
+     * Constructor for Deck. Initializes the deck with the specified cards, shuffled with the given random generator,
+     * so that the same generator state always produces the same order.
+     *
+     * @param cards  The list of cards to initialize the deck with. This cannot be null.
+     * @param random The random generator used to shuffle the deck. This cannot be null.
+     * @throws NullPointerException if the cards list or the random generator is null.
+     */
+    public Deck(ArrayList<T> cards, RandomGenerator random) {
+        this.deck = new ArrayList<>(Objects.requireNonNull(cards));
+        Collections.shuffle(deck, Objects.requireNonNull(random));
+    }
+
     /**
      * Checks if the deck is empty.
      *
@@ -84,6 +99,15 @@ public class Deck<T> {
         deck.stream().filter(card -> ((GameCard) card).getCardId() == cardID).findFirst().ifPresent(deck::remove);
     }
 
+    /**
+     * Removes from the deck the game cards with the given IDs, scanning the deck once.
+     *
+     * @param cardIds The IDs of the cards to remove.
+     */
+    public void removeCards(Set<Integer> cardIds) {
+        deck.removeIf(card -> cardIds.contains(((GameCard) card).getCardId()));
+    }
+
     /**
      * Adds a new card to the deck.
      * This method first checks if the new card is null, throwing a NullPointerException if it is.
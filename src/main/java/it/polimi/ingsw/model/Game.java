@@ -11,6 +11,7 @@ import it.polimi.ingsw.network.virtualView.GameView;
 import it.polimi.ingsw.network.virtualView.VirtualViewable;
 
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 
@@ -41,6 +42,12 @@ public class Game implements VirtualViewable<GameView> {
      * This is a GlobalBoard object that contains all the global elements of the game, such as the decks and objectives.
      */
     private final GlobalBoard globalBoard;
+    /**
+     * Represents the seed of the game.
+     * The decks of the game are shuffled with a generator created from it, so the same seed always deals the same cards.
+     * It is null if the decks of the game were given instead.
+     */
+    private final Long seed;
     /**
      * Represents the winners of the game.
      * This is an ArrayList that contains the Player objects who won the game.
@@ -52,6 +59,11 @@ public class Game implements VirtualViewable<GameView> {
      * This is a Player object that represents the player whose turn it is to play.
      */
     private Player currentPlayer;
+    /**
+     * Represents whether a player has been removed from the game.
+     * The cards dealt to a removed player are put back at the bottom of the decks, so the game can no longer be dealt again from its seed alone.
+     */
+    private boolean playerRemoved;
 
     /**
      * Constructor for Game. Initializes a new game with the specified parameters.
@@ -62,6 +74,20 @@ public class Game implements VirtualViewable<GameView> {
      * @throws IllegalArgumentException if the number of players is not between 2 and 4 and if the game name is invalid
      */
     public Game(String gameName, int maxAllowedPlayers, String playerName) {
+        this(gameName, maxAllowedPlayers, playerName, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Constructor for Game. Initializes a new game with the specified parameters, shuffling the decks with the given seed.
+     * Two games with the same seed deal the same cards, so a recorded game can be played again exactly.
+     *
+     * @param gameName          The name of the game.
+     * @param maxAllowedPlayers The maximum number of players in the game.
+     * @param playerName        The name of the player creating the game, he will also be the first player.
+     * @param seed              The seed of the game.
+     * @throws IllegalArgumentException if the number of players is not between 2 and 4 and if the game name is invalid
+     */
+    public Game(String gameName, int maxAllowedPlayers, String playerName, long seed) {
         if (gameName == null || gameName.isBlank()) {
             throw new IllegalArgumentException("Game name cannot be null or empty");
         }
@@ -70,7 +96,8 @@ public class Game implements VirtualViewable<GameView> {
             throw new IllegalArgumentException("Players must be between 2-4");
         this.maxAllowedPlayers = maxAllowedPlayers;
         this.players = new ArrayList<>();
-        this.globalBoard = new GlobalBoard();
+        this.seed = seed;
+        this.globalBoard = new GlobalBoard(new SplittableRandom(seed));
         this.players.add(instanceNewPlayer(playerName));
         this.currentPlayer = players.getFirst();
         this.winners = new ArrayList<>();
@@ -78,7 +105,7 @@ public class Game implements VirtualViewable<GameView> {
 
     /**
      * This is a constructor for the Game class. It initializes a new game with the specified parameters.
-     * It is only used for testing purpose.
+     * It is used for testing purpose. The decks are given, so the game has no seed.
      *
      * @param gameName          The name of the game.
      * @param maxAllowedPlayers The maximum number of players in the game.
@@ -95,6 +122,7 @@ public class Game implements VirtualViewable<GameView> {
             throw new IllegalArgumentException("Players must be between 2-4");
         this.maxAllowedPlayers = maxAllowedPlayers;
         this.players = new ArrayList<>();
+        this.seed = null;
         this.globalBoard = globalBoard;
         this.players.add(instanceNewPlayer(playerName));
         this.currentPlayer = players.getFirst();
@@ -132,6 +160,24 @@ public class Game implements VirtualViewable<GameView> {
         return gameName;
     }
 
+    /**
+     * Returns the seed the decks of the game were shuffled with.
+     *
+     * @return The seed of the game, or null if the decks of the game were given.
+     */
+    public Long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Checks if the decks of the game were shuffled with a seed, so the game can be dealt again from it.
+     *
+     * @return true if the game has a seed, false if its decks were given.
+     */
+    public boolean isSeeded() {
+        return seed != null;
+    }
+
     /**
      * Returns the list of players in the game.
      *
@@ -420,11 +466,21 @@ public class Game implements VirtualViewable<GameView> {
         player.getChoosableObjectives().forEach(objectiveCard -> globalBoard.getObjectiveDeck().addCard(objectiveCard));
         globalBoard.getStarterDeck().addCard(player.getPlayerBoard().getStarterCard());
         players.remove(player);
+        playerRemoved = true;
         if (!players.isEmpty() && player.equals(currentPlayer)) {
             setNextPlayer();
         }
     }
 
+    /**
+     * Returns whether a player has been removed from the game, putting the cards dealt to them back in the decks.
+     *
+     * @return true if a player has been removed, false otherwise.
+     */
+    public boolean hasRemovedPlayers() {
+        return playerRemoved;
+    }
+
     /**
      * Returns the game record of the game.
      * It contains all the details needed by the lobby to display the game.
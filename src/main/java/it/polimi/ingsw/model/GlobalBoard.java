@@ -4,11 +4,11 @@ import it.polimi.ingsw.model.card.gameCard.GameCard;
 import it.polimi.ingsw.model.card.objectiveCard.ObjectiveCard;
 import it.polimi.ingsw.network.virtualView.GlobalBoardView;
 import it.polimi.ingsw.network.virtualView.VirtualViewable;
-import it.polimi.ingsw.parsing.Parser;
+import it.polimi.ingsw.parsing.CardCatalog;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.random.RandomGenerator;
 
 /**
  * Class that represents the global board of the game.
@@ -61,22 +61,35 @@ public class GlobalBoard implements VirtualViewable<GlobalBoardView> {
 
     /**
      * Constructor for GlobalBoard. Initializes the decks and draws cards for the field and for the objectives.
+     * The decks are copied from the card catalog, so the card database is not parsed again for each game.
      */
     public GlobalBoard() {
-        Parser parser = new Parser();
-        this.goldDeck = parser.getGoldDeck();
-        this.resourceDeck = parser.getResourceDeck();
-        this.objectiveDeck = parser.getObjectiveDeck();
-        this.starterDeck = parser.getStarterDeck();
+        CardCatalog cardCatalog = CardCatalog.getInstance();
+        this.goldDeck = cardCatalog.getGoldDeck();
+        this.resourceDeck = cardCatalog.getResourceDeck();
+        this.objectiveDeck = cardCatalog.getObjectiveDeck();
+        this.starterDeck = cardCatalog.getStarterDeck();
         this.globalObjectives = new ArrayList<>(List.of(this.objectiveDeck.draw(), this.objectiveDeck.draw()));
         this.fieldGoldCards = new ArrayList<>(List.of(this.goldDeck.draw(), this.goldDeck.draw()));
         this.fieldResourceCards = new ArrayList<>(List.of(this.resourceDeck.draw(), this.resourceDeck.draw()));
     }
 
+    /**
+     * Constructor for GlobalBoard. Initializes the decks, shuffled with the given random generator,
+     * and draws cards for the field and for the objectives.
+     * The same generator state always deals the same cards, so a game can be played again from its seed.
+     *
+     * @param random The random generator used to shuffle the decks.
+     */
+    public GlobalBoard(RandomGenerator random) {
+        this(CardCatalog.getInstance().getGoldDeck(random), CardCatalog.getInstance().getResourceDeck(random),
+                CardCatalog.getInstance().getObjectiveDeck(random), CardCatalog.getInstance().getStarterDeck(random));
+    }
+
     /**
      * This constructor is used to create a new instance of GlobalBoard with the provided decks.
      * It initializes the decks with the provided ones and draws cards for the field and for the objectives.
-     * It is only used for testing purpose.
+     * It is used for testing purpose.
      *
      * @param goldDeck      The deck of gold cards to be used in the game.
      * @param resourceDeck  The deck of resource cards to be used in the game.
@@ -192,23 +205,35 @@ public class GlobalBoard implements VirtualViewable<GlobalBoardView> {
      * @throws IllegalArgumentException if the card is not present on the field.
      */
     public GameCard drawCardFromField(int cardId) {
-        Optional<GameCard> cardToRemove = fieldGoldCards.stream().filter(c -> c.getCardId() == cardId).findFirst();
-        if (cardToRemove.isPresent()) {
-            fieldGoldCards.remove(cardToRemove.get());
-            if (!goldDeck.isEmpty())
-                fieldGoldCards.add(goldDeck.draw());
-            return cardToRemove.get();
+        GameCard drawnCard = drawCardFromField(cardId, fieldGoldCards, goldDeck);
+        if (drawnCard == null) {
+            drawnCard = drawCardFromField(cardId, fieldResourceCards, resourceDeck);
         }
-
-        cardToRemove = fieldResourceCards.stream().filter(c -> c.getCardId() == cardId).findFirst();
-        if (cardToRemove.isPresent()) {
-            fieldResourceCards.remove(cardToRemove.get());
-            if (!resourceDeck.isEmpty())
-                fieldResourceCards.add(resourceDeck.draw());
-            return cardToRemove.get();
+        if (drawnCard == null) {
+            throw new IllegalArgumentException("This card is not present on the field");
         }
+        return drawnCard;
+    }
 
-        throw new IllegalArgumentException("This card is not present on the field");
+    /**
+     * Removes a card from one of the fields, if it is there, and replaces it with a new card drawn from the matching deck.
+     *
+     * @param cardId The id of the card to draw.
+     * @param field  The field of gold or resource cards.
+     * @param deck   The deck refilling the field.
+     * @return The card that has been drawn, or null if it is not in the field.
+     */
+    private static GameCard drawCardFromField(int cardId, ArrayList<GameCard> field, Deck<GameCard> deck) {
+        for (int i = 0; i < field.size(); i++) {
+            GameCard card = field.get(i);
+            if (card.getCardId() == cardId) {
+                field.remove(i);
+                if (!deck.isEmpty())
+                    field.add(deck.draw());
+                return card;
+            }
+        }
+        return null;
     }
 
     /**
@@ -69,6 +69,15 @@ public class Corner implements Serializable {
         return this.isCovered;
     }
 
+    /**
+     * Returns a new corner with the same game item and covered status.
+     *
+     * @return a copy of the corner
+     */
+    public Corner copy() {
+        return new Corner(this.isCovered, this.gameItem);
+    }
+
     /**
      * Overrides the equals method for the Corner class.
      * Checks if all attributes are equals.
@@ -1,6 +1,7 @@
 package it.polimi.ingsw.model.card.gameCard;
 
 import it.polimi.ingsw.model.card.corner.Corner;
+import it.polimi.ingsw.model.card.corner.CornerPosition;
 import it.polimi.ingsw.model.utils.store.GameItemStore;
 
 import java.util.Objects;
@@ -15,6 +16,11 @@ public class BackGameCard extends SideGameCard {
      */
     protected final GameItemStore resources;
 
+    /**
+     * The immutable copy of the resources, created on first access.
+     */
+    private transient GameItemStore immutableResources;
+
     /**
      * Constructs a new BackGameCard object with the specified resources and corners.
      *
@@ -31,18 +37,25 @@ public class BackGameCard extends SideGameCard {
         this.resources = resources;
     }
 
+    /**
+     * Returns a copy of this back side with copies of its corners. The resources are shared with the copy.
+     *
+     * @return a copy of this back side
+     */
+    @Override
+    public BackGameCard copy() {
+        return new BackGameCard(copyCorner(CornerPosition.TOP_RIGHT), copyCorner(CornerPosition.TOP_LEFT), copyCorner(CornerPosition.BOTTOM_LEFT), copyCorner(CornerPosition.BOTTOM_RIGHT), resources);
+    }
+
     /**
      * Returns a GameItemStore representing the items on the corners and in the center of the card.
      *
      * @return all the items in the side of this card
      */
     @Override
-    public GameItemStore getGameItemStore() {
+    protected GameItemStore computeGameItemStore() {
         GameItemStore gameItemStore = getCornersItems();
-        resources.getNonEmptyKeys().forEach(key ->
-                // Increment the corresponding value in the gameItemStore object by the value associated with the key in the resources object
-                gameItemStore.increment(key, resources.get(key))
-        );
+        gameItemStore.addStore(resources);
         return gameItemStore;
     }
 
@@ -53,7 +66,12 @@ public class BackGameCard extends SideGameCard {
      */
     @Override
     public GameItemStore getBackItemStore() {
-        return resources;
+        GameItemStore cached = immutableResources;
+        if (cached == null) {
+            cached = resources.asImmutable();
+            immutableResources = cached;
+        }
+        return cached;
     }
 
     /**
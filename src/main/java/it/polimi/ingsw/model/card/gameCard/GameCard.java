@@ -78,6 +78,19 @@ public class GameCard implements Card, Serializable {
         return cardId;
     }
 
+    /**
+     * Returns a copy of the card, with the same side facing up and the same placement index.
+     * The sides are copied, so covering a corner of the copy does not affect this card.
+     *
+     * @return a copy of the card
+     */
+    public GameCard copy() {
+        GameCard copy = new GameCard(cardId, currentSideGameCard.copy(), otherSideGameCard.copy(), cardColorEnum);
+        copy.isFlipped.set(isFlipped.get());
+        copy.placementIndex = placementIndex;
+        return copy;
+    }
+
     /**
      * Gets the current side of the card.
      *
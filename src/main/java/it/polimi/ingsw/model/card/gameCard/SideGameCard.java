@@ -10,7 +10,6 @@ import it.polimi.ingsw.model.utils.store.GameItemStore;
 import java.io.Serializable;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Stream;
 
 /**
  * Represents a side of a game card.
@@ -33,6 +32,11 @@ public abstract class SideGameCard implements Serializable {
      * The bottom right corner of the game card.
      */
     private final Corner bottomRight;
+    /**
+     * The immutable game item store of the side, computed on first access and reset when a corner is covered.
+     * It is transient, so it is neither serialized nor sent over the network.
+     */
+    private transient GameItemStore gameItemStore;
 
     /**
      * Constructs a SideGameCard with the specified corners.
@@ -67,14 +71,44 @@ public abstract class SideGameCard implements Serializable {
      * @return an Optional containing the corner if it exists, otherwise an empty Optional
      */
     public Optional<Corner> getCorner(CornerPosition position) {
+        return Optional.ofNullable(cornerAt(position));
+    }
+
+    /**
+     * Returns the corner at the specified position, without wrapping it.
+     *
+     * @param position the position of the corner
+     * @return the corner if it exists, otherwise null
+     */
+    private Corner cornerAt(CornerPosition position) {
         return switch (position) {
-            case TOP_RIGHT -> Optional.ofNullable(topRight);
-            case TOP_LEFT -> Optional.ofNullable(topLeft);
-            case BOTTOM_LEFT -> Optional.ofNullable(bottomLeft);
-            case BOTTOM_RIGHT -> Optional.ofNullable(bottomRight);
+            case TOP_RIGHT -> topRight;
+            case TOP_LEFT -> topLeft;
+            case BOTTOM_LEFT -> bottomLeft;
+            case BOTTOM_RIGHT -> bottomRight;
         };
     }
 
+    /**
+     * Returns a copy of the corner at the specified position, to be used when copying the side.
+     *
+     * @param position the position of the corner
+     * @return a copy of the corner if it exists, otherwise null
+     */
+    protected Corner copyCorner(CornerPosition position) {
+        // Every game copies all the cards of the decks, so no Optional is allocated here.
+        Corner corner = cornerAt(position);
+        return corner == null ? null : corner.copy();
+    }
+
+    /**
+     * Returns a copy of the side with copies of its corners, so covering a corner of the copy does not affect this side.
+     * The other attributes are never modified after parsing, so they are shared with the copy.
+     *
+     * @return a copy of the side
+     */
+    public abstract SideGameCard copy();
+
     /**
      * Sets the corner at the specified position as covered.
      *
@@ -83,15 +117,32 @@ public abstract class SideGameCard implements Serializable {
      */
     public GameItemEnum setCornerCovered(CornerPosition position) {
         Optional<Corner> corner = this.getCorner(position);
+        // The covered corner no longer contributes to the items of the side.
+        gameItemStore = null;
         return corner.map(Corner::setCovered).orElse(GameItemEnum.NONE);
     }
 
     /**
      * Returns the game item store of the side.
+     * The store is immutable and it is computed only once until a corner of the side is covered.
+     *
+     * @return the game item store
+     */
+    public GameItemStore getGameItemStore() {
+        GameItemStore cached = gameItemStore;
+        if (cached == null) {
+            cached = computeGameItemStore().asImmutable();
+            gameItemStore = cached;
+        }
+        return cached;
+    }
+
+    /**
+     * Computes the game item store of the side. It is called by {@link #getGameItemStore()} when the cached store is missing.
      *
      * @return the game item store
      */
-    public abstract GameItemStore getGameItemStore();
+    protected abstract GameItemStore computeGameItemStore();
 
     /**
      * Returns the game item store of the side. It defaults to an empty game item store. It will be overridden by subclasses.
@@ -99,7 +150,7 @@ public abstract class SideGameCard implements Serializable {
      * @return the game item store
      */
     public GameItemStore getBackItemStore() {
-        return new GameItemStore();
+        return GameItemStore.EMPTY;
     }
 
     /**
@@ -128,7 +179,7 @@ public abstract class SideGameCard implements Serializable {
      * @return the needed game item store
      */
     public GameItemStore getNeededItemStore() {
-        return new GameItemStore();
+        return GameItemStore.EMPTY;
     }
 
     /**
@@ -155,12 +206,13 @@ public abstract class SideGameCard implements Serializable {
      * @return the game item store of the corners
      */
     protected GameItemStore getCornersItems() {
-        GameItemStore gameItemStore = new GameItemStore();
-        Stream.of(topRight, topLeft, bottomRight, bottomLeft)
-                .filter(Objects::nonNull)
-                .map(Corner::getGameItem)
-                .forEach(gameItem -> gameItemStore.increment(gameItem, 1));
-        return gameItemStore;
+        GameItemStore cornersItems = new GameItemStore();
+        for (Corner corner : new Corner[]{topRight, topLeft, bottomRight, bottomLeft}) {
+            if (corner != null) {
+                cornersItems.increment(corner.getGameItem(), 1);
+            }
+        }
+        return cornersItems;
     }
 
     /**
@@ -1,6 +1,7 @@
 package it.polimi.ingsw.model.card.gameCard.front;
 
 import it.polimi.ingsw.model.card.corner.Corner;
+import it.polimi.ingsw.model.card.corner.CornerPosition;
 import it.polimi.ingsw.model.card.gameCard.SideGameCard;
 import it.polimi.ingsw.model.player.PlayerBoard;
 import it.polimi.ingsw.model.utils.Coordinate;
@@ -32,13 +33,23 @@ public class FrontGameCard extends SideGameCard {
     }
 
     /**
-     * Overrides the getGameItemStore method from the SideGameCard class.
+     * Returns a copy of this front side with copies of its corners.
+     *
+     * @return a copy of this front side
+     */
+    @Override
+    public FrontGameCard copy() {
+        return new FrontGameCard(copyCorner(CornerPosition.TOP_RIGHT), copyCorner(CornerPosition.TOP_LEFT), copyCorner(CornerPosition.BOTTOM_LEFT), copyCorner(CornerPosition.BOTTOM_RIGHT), points);
+    }
+
+    /**
+     * Overrides the computeGameItemStore method from the SideGameCard class.
      * This implementation aggregates game items from all corners of this front side into a GameItemStore.
      *
      * @return A GameItemStore containing game items from all corners of this front side.
      */
     @Override
-    public GameItemStore getGameItemStore() {
+    protected GameItemStore computeGameItemStore() {
         return getCornersItems();
     }
 
@@ -1,6 +1,7 @@
 package it.polimi.ingsw.model.card.gameCard.front.goldCard;
 
 import it.polimi.ingsw.model.card.corner.Corner;
+import it.polimi.ingsw.model.card.corner.CornerPosition;
 import it.polimi.ingsw.model.card.gameCard.front.FrontGameCard;
 import it.polimi.ingsw.model.utils.store.GameItemStore;
 
@@ -16,7 +17,12 @@ public class FrontGoldGameCard extends FrontGameCard {
     /**
      * Store for the needed items specific to this FrontGoldGameCard.
      */
-    private final GameItemStore neededItems;
+    protected final GameItemStore neededItems;
+
+    /**
+     * The immutable copy of the needed items, created on first access.
+     */
+    private transient GameItemStore immutableNeededItems;
 
     /**
      * Constructs a FrontGoldGameCard with specified corners, points, and needed items.
@@ -33,6 +39,16 @@ public class FrontGoldGameCard extends FrontGameCard {
         this.neededItems = neededItems;
     }
 
+    /**
+     * Returns a copy of this front side with copies of its corners. The needed items are shared with the copy.
+     *
+     * @return a copy of this front side
+     */
+    @Override
+    public FrontGoldGameCard copy() {
+        return new FrontGoldGameCard(copyCorner(CornerPosition.TOP_RIGHT), copyCorner(CornerPosition.TOP_LEFT), copyCorner(CornerPosition.BOTTOM_LEFT), copyCorner(CornerPosition.BOTTOM_RIGHT), points, neededItems);
+    }
+
     /**
      * Overrides the getNeededItemStore method from the FrontGameCard class.
      * Returns the needed items specific to this FrontGoldGameCard.
@@ -41,7 +57,12 @@ public class FrontGoldGameCard extends FrontGameCard {
      */
     @Override
     public GameItemStore getNeededItemStore() {
-        return neededItems;
+        GameItemStore cached = immutableNeededItems;
+        if (cached == null) {
+            cached = neededItems == null ? GameItemStore.EMPTY : neededItems.asImmutable();
+            immutableNeededItems = cached;
+        }
+        return cached;
     }
 
     /**
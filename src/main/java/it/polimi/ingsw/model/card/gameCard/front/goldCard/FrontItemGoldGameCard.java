@@ -2,6 +2,7 @@ package it.polimi.ingsw.model.card.gameCard.front.goldCard;
 
 import it.polimi.ingsw.model.card.GameItemEnum;
 import it.polimi.ingsw.model.card.corner.Corner;
+import it.polimi.ingsw.model.card.corner.CornerPosition;
 import it.polimi.ingsw.model.player.PlayerBoard;
 import it.polimi.ingsw.model.utils.Coordinate;
 import it.polimi.ingsw.model.utils.store.GameItemStore;
@@ -34,6 +35,16 @@ public class FrontItemGoldGameCard extends FrontGoldGameCard {
         this.multiplier = multiplier;
     }
 
+    /**
+     * Returns a copy of this front side with copies of its corners. The needed items are shared with the copy.
+     *
+     * @return a copy of this front side
+     */
+    @Override
+    public FrontItemGoldGameCard copy() {
+        return new FrontItemGoldGameCard(copyCorner(CornerPosition.TOP_RIGHT), copyCorner(CornerPosition.TOP_LEFT), copyCorner(CornerPosition.BOTTOM_LEFT), copyCorner(CornerPosition.BOTTOM_RIGHT), points, neededItems, multiplier);
+    }
+
     /**
      * Calculates and returns the points for this FrontItemGoldGameCard based on the quantity
      * of a specific game item on the player's board.
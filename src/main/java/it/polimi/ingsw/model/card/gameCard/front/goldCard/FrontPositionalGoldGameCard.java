@@ -2,6 +2,7 @@ package it.polimi.ingsw.model.card.gameCard.front.goldCard;
 
 
 import it.polimi.ingsw.model.card.corner.Corner;
+import it.polimi.ingsw.model.card.corner.CornerPosition;
 import it.polimi.ingsw.model.player.PlayerBoard;
 import it.polimi.ingsw.model.utils.Coordinate;
 import it.polimi.ingsw.model.utils.store.GameItemStore;
@@ -26,6 +27,16 @@ public class FrontPositionalGoldGameCard extends FrontGoldGameCard {
         super(topRight, topLeft, bottomLeft, bottomRight, points, neededItems);
     }
 
+    /**
+     * Returns a copy of this front side with copies of its corners. The needed items are shared with the copy.
+     *
+     * @return a copy of this front side
+     */
+    @Override
+    public FrontPositionalGoldGameCard copy() {
+        return new FrontPositionalGoldGameCard(copyCorner(CornerPosition.TOP_RIGHT), copyCorner(CornerPosition.TOP_LEFT), copyCorner(CornerPosition.BOTTOM_LEFT), copyCorner(CornerPosition.BOTTOM_RIGHT), points, neededItems);
+    }
+
     /**
      * Returns true, overriding the upper method.
      *
@@ -1,13 +1,13 @@
 package it.polimi.ingsw.model.card.objectiveCard;
 
-import it.polimi.ingsw.model.card.CardColorEnum;
+import it.polimi.ingsw.model.card.gameCard.GameCard;
 import it.polimi.ingsw.model.player.PlayerBoard;
 import it.polimi.ingsw.model.utils.Coordinate;
+import it.polimi.ingsw.model.utils.PackedCoordinateMap;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Comparator;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * This class extends the ObjectiveCard class and represents an objective card that rewards points based on the positions of the player's game cards.
@@ -55,6 +55,9 @@ public class PositionalObjectiveCard extends ObjectiveCard {
     /**
      * This method calculates and returns the points won by the player.
      * It checks if the player's game cards match the positional data required by the objective card.
+     * Only the cards of the color required in the first position can start a match, so they are read from the color bucket of the board.
+     * The candidates are scanned along the direction of the pattern: a chain longer than the pattern is matched from its start,
+     * and each card is used at most once.
      *
      * @param playerboard The player's game board.
      * @return The number of points won by the player.
@@ -62,39 +65,30 @@ public class PositionalObjectiveCard extends ObjectiveCard {
     @Override
     public int getPoints(PlayerBoard playerboard) {
         int numOfMatch = 0;                          //variable to count how many times player made the configuration
-        CardColorEnum firstColor = positionalData.getFirst().cardColorEnum();
-        ArrayList<Coordinate> coordinatesCanMatch = playerboard.getGameCards().stream()                  //Create a stream of GameCards
-                .filter(x -> x.getCardColor() == firstColor)                                             //Filtering by the color that I want
-                .map(x -> playerboard.getGameCardPosition(x).get())                                      //and at the end obtain the coordinate of this card
-                .collect(Collectors.toCollection(ArrayList::new));
+        Coordinate direction = positionalData.getLast().coordinate();
+        ArrayList<Coordinate> coordinatesCanMatch = new ArrayList<>(playerboard.getCoordinatesByColor(positionalData.getFirst().cardColorEnum()));
+        coordinatesCanMatch.sort(Comparator.comparingInt((Coordinate c) -> c.x * direction.x + c.y * direction.y)
+                .thenComparingInt(c -> c.x)
+                .thenComparingInt(c -> c.y));
 
-        HashSet<Coordinate> coordinatesAlreadyUsed = new HashSet<>();           //List of coordinates that are used for a match
-        for (Coordinate coordinate : coordinatesCanMatch) {                     //For every possible coordinate that is found, try to follow the
-            ArrayList<Coordinate> coordinatesMaybeUsed = new ArrayList<>();     //coordinate of Hashmap in positionRequired
-            //coordinatesMaybeUsed is an ArrayList that contains the coordinates which, if correct,
-            // will be recorded in coordinatesAlreadyUsed
-            Coordinate temp = new Coordinate(0, 0);
-            //Support variable
+        PackedCoordinateMap<Boolean> coordinatesAlreadyUsed = new PackedCoordinateMap<>();  //Coordinates that are used for a match
+        for (Coordinate coordinate : coordinatesCanMatch) {                 //For every possible coordinate, try to follow the positional data
+            int matchedCards = 0;
             for (PositionalData position : positionalData) {
-                temp.x = coordinate.x + position.coordinate().x;
-                temp.y = coordinate.y + position.coordinate().y;
-                //Move according to the coordinates marked on the hashmap
-                if (coordinatesAlreadyUsed.contains(temp)) {
+                int x = coordinate.x + position.coordinate().x;
+                int y = coordinate.y + position.coordinate().y;
+                GameCard gameCard = playerboard.getGameCardAt(x, y);
+                if (gameCard == null || gameCard.getCardColor() != position.cardColorEnum() || coordinatesAlreadyUsed.containsKey(x, y)) {
                     break;
                 }
-                if (playerboard.getGameCard(temp).isEmpty()) {
-                    break;
-                }
-                if (playerboard.getGameCard(temp).get().getCardColor() != position.cardColorEnum()) {
-                    break;
-                }
-                coordinatesMaybeUsed.add(new Coordinate(temp.x, temp.y));
+                matchedCards++;
             }
-            if (coordinatesMaybeUsed.size() == 3) {
-                coordinatesAlreadyUsed.addAll(coordinatesMaybeUsed);
+            if (matchedCards == positionalData.size()) {
+                for (PositionalData position : positionalData) {
+                    coordinatesAlreadyUsed.put(coordinate.x + position.coordinate().x, coordinate.y + position.coordinate().y, Boolean.TRUE);
+                }
                 numOfMatch++;
             }
-            //Respect to coordinates I must move by positionRequired.get(1).
         }
         return numOfMatch * this.pointsWon;
     }
@@ -1,10 +1,11 @@
 package it.polimi.ingsw.model.player;
 
+import it.polimi.ingsw.model.card.CardColorEnum;
 import it.polimi.ingsw.model.card.GameItemEnum;
 import it.polimi.ingsw.model.card.corner.CornerPosition;
 import it.polimi.ingsw.model.card.gameCard.GameCard;
 import it.polimi.ingsw.model.utils.Coordinate;
-import it.polimi.ingsw.model.utils.PointCornerPositionPair;
+import it.polimi.ingsw.model.utils.PackedCoordinateMap;
 import it.polimi.ingsw.model.utils.store.GameItemStore;
 import it.polimi.ingsw.network.virtualView.PlayerBoardView;
 import it.polimi.ingsw.network.virtualView.VirtualViewable;
@@ -19,9 +20,55 @@ import java.util.*;
  */
 public class PlayerBoard implements VirtualViewable<PlayerBoardView> {
     /**
-     * A map from points to game cards, representing the layout of the game cards on the board.
+     * The X offsets of the four diagonal neighbours of a position: top-left, top-right, bottom-left, bottom-right.
      */
-    private HashMap<Coordinate, GameCard> playerBoard;
+    private static final int[] ADJACENT_X_OFFSETS = {-1, 1, -1, 1};
+
+    /**
+     * The Y offsets of the four diagonal neighbours of a position: top-left, top-right, bottom-left, bottom-right.
+     */
+    private static final int[] ADJACENT_Y_OFFSETS = {1, 1, -1, -1};
+
+    /**
+     * For each diagonal neighbour, the corner of the neighbouring card that intersects the card placed in the center position.
+     */
+    private static final CornerPosition[] ADJACENT_CORNERS = {CornerPosition.BOTTOM_RIGHT, CornerPosition.BOTTOM_LEFT, CornerPosition.TOP_RIGHT, CornerPosition.TOP_LEFT};
+
+    /**
+     * For each diagonal neighbour, the corner of the card placed in the center position that faces the neighbour.
+     */
+    private static final CornerPosition[] FACING_CORNERS = {CornerPosition.TOP_LEFT, CornerPosition.TOP_RIGHT, CornerPosition.BOTTOM_LEFT, CornerPosition.BOTTOM_RIGHT};
+
+    /**
+     * A map from packed coordinates to game cards, representing the layout of the game cards on the board.
+     */
+    private PackedCoordinateMap<GameCard> playerBoard;
+
+    /**
+     * The position of each placed card, keyed on the card identity.
+     */
+    private IdentityHashMap<GameCard, Coordinate> cardPositions;
+
+    /**
+     * The positions of the placed cards grouped by card color, in placement order.
+     */
+    private EnumMap<CardColorEnum, ArrayList<Coordinate>> colorBuckets;
+
+    /**
+     * The frontier of the board: the empty positions adjacent to a placed card and not blocked by a missing corner.
+     * It is updated on each placement, so it always holds the positions where a card can be placed.
+     */
+    private PackedCoordinateMap<Coordinate> frontier;
+
+    /**
+     * The empty positions facing a missing corner of a placed card. A card can never be placed there.
+     */
+    private PackedCoordinateMap<Boolean> blockedPositions;
+
+    /**
+     * The immutable snapshot of the frontier returned by {@link #getAvailablePositions()}, or null if the frontier changed since it was taken.
+     */
+    private Set<Coordinate> availablePositions;
 
     /**
      * The items the player has collected.
@@ -43,7 +90,11 @@ public class PlayerBoard implements VirtualViewable<PlayerBoardView> {
      */
     public PlayerBoard(GameCard starterCard) {
         this.starterCard = Objects.requireNonNull(starterCard, "Starter card cannot be null");
-        playerBoard = new HashMap<>();
+        playerBoard = new PackedCoordinateMap<>();
+        cardPositions = new IdentityHashMap<>();
+        colorBuckets = new EnumMap<>(CardColorEnum.class);
+        frontier = new PackedCoordinateMap<>();
+        blockedPositions = new PackedCoordinateMap<>();
         gameItems = new GameItemStore();
     }
 
@@ -53,7 +104,17 @@ public class PlayerBoard implements VirtualViewable<PlayerBoardView> {
      * @param playerBoard This is the player board to set.
      */
     public void setPlayerBoard(HashMap<Coordinate, GameCard> playerBoard) {
-        this.playerBoard = playerBoard;
+        this.playerBoard = PackedCoordinateMap.fromMap(playerBoard);
+        cardPositions = new IdentityHashMap<>();
+        colorBuckets = new EnumMap<>(CardColorEnum.class);
+        // The indexes only depend on the placed cards, so they can be rebuilt regardless of the placement order.
+        frontier = new PackedCoordinateMap<>();
+        blockedPositions = new PackedCoordinateMap<>();
+        availablePositions = null;
+        this.playerBoard.forEach((x, y, gameCard) -> {
+            updateCardIndexes(x, y, gameCard);
+            updateFrontier(x, y, gameCard, getNeighbours(x, y));
+        });
     }
 
     /**
@@ -83,6 +144,40 @@ public class PlayerBoard implements VirtualViewable<PlayerBoardView> {
         return Optional.ofNullable(playerBoard.get(coordinate));
     }
 
+    /**
+     * This method is used to check if a card is placed in the player board at a specific position.
+     * Unlike {@link #getGameCard(Coordinate)}, it does not allocate any object.
+     *
+     * @param x The X coordinate of the position.
+     * @param y The Y coordinate of the position.
+     * @return true if a card is placed at the position, false otherwise.
+     */
+    public boolean isOccupied(int x, int y) {
+        return playerBoard.containsKey(x, y);
+    }
+
+    /**
+     * This method is used to get the card in the player board at a specific position without allocating any object.
+     *
+     * @param x The X coordinate of the position.
+     * @param y The Y coordinate of the position.
+     * @return GameCard This returns the card at the position, or null if the position is empty.
+     */
+    public GameCard getGameCardAt(int x, int y) {
+        return playerBoard.get(x, y);
+    }
+
+    /**
+     * This method is used to get the positions of the cards of a specific color, in placement order.
+     *
+     * @param cardColor This is the color of the cards.
+     * @return an unmodifiable List of Coordinate. This returns the positions of the cards of the given color.
+     */
+    public List<Coordinate> getCoordinatesByColor(CardColorEnum cardColor) {
+        ArrayList<Coordinate> coordinates = colorBuckets.get(cardColor);
+        return coordinates == null ? List.of() : Collections.unmodifiableList(coordinates);
+    }
+
     /**
      * This method is used to get the starter card of the player board.
      *
@@ -103,17 +198,13 @@ public class PlayerBoard implements VirtualViewable<PlayerBoardView> {
 
     /**
      * This method is used to get the position of a card in the player board.
+     * The lookup is based on the card identity, as every placed card is a distinct object.
      *
      * @param gameCard This is the card to find.
      * @return Optional of Coordinate This returns the position of the card, if present.
      */
     public Optional<Coordinate> getGameCardPosition(GameCard gameCard) {
-        for (Coordinate coordinate : playerBoard.keySet()) {
-            if (playerBoard.get(coordinate).equals(gameCard)) {
-                return Optional.of(coordinate);
-            }
-        }
-        return Optional.empty();
+        return Optional.ofNullable(cardPositions.get(gameCard));
     }
 
     /**
@@ -122,7 +213,7 @@ public class PlayerBoard implements VirtualViewable<PlayerBoardView> {
      * @return ArrayList of GameCard This returns the list of cards in the player board.
      */
     public ArrayList<GameCard> getGameCards() {
-        return new ArrayList<>(playerBoard.values());
+        return playerBoard.values();
     }
 
     /**
@@ -135,30 +226,6 @@ public class PlayerBoard implements VirtualViewable<PlayerBoardView> {
         return gameItems.get(gameItem);
     }
 
-    /**
-     * This method is used to get a list of pairs of each coordinate and corner position that will intersect the card placed in the center coordinate.
-     *
-     * @param centerPoint This is the coordinate of the card to intersect.
-     * @return ArrayList<PointCornerPositionPair> This returns the list of pairs of each coordinate and corner position.
-     */
-    private ArrayList<PointCornerPositionPair> getAdjacentPointCornersPair(Coordinate centerPoint) {
-        // Get the adjacent points
-        Coordinate topLeftPoint = new Coordinate(centerPoint.x - 1, centerPoint.y + 1);
-        Coordinate topRightPoint = new Coordinate(centerPoint.x + 1, centerPoint.y + 1);
-        Coordinate bottomLeftPoint = new Coordinate(centerPoint.x - 1, centerPoint.y - 1);
-        Coordinate bottomRightPoint = new Coordinate(centerPoint.x + 1, centerPoint.y - 1);
-
-        ArrayList<PointCornerPositionPair> pairList = new ArrayList<>();
-
-        // For each coordinate add the corner position that will intersect the card placed in the center coordinate.
-        pairList.add(new PointCornerPositionPair(topLeftPoint, CornerPosition.BOTTOM_RIGHT));
-        pairList.add(new PointCornerPositionPair(topRightPoint, CornerPosition.BOTTOM_LEFT));
-        pairList.add(new PointCornerPositionPair(bottomLeftPoint, CornerPosition.TOP_RIGHT));
-        pairList.add(new PointCornerPositionPair(bottomRightPoint, CornerPosition.TOP_LEFT));
-
-        return pairList;
-    }
-
     /**
      * This method is used to place a GameCard in the player board.
      *
@@ -171,22 +238,41 @@ public class PlayerBoard implements VirtualViewable<PlayerBoardView> {
      * @throws IllegalArgumentException This is thrown if there are not enough resources.
      */
     public int placeGameCard(Coordinate coordinate, GameCard gameCard) {
-        validatePlacement(coordinate, gameCard);
-        updateGameItems(gameCard, coordinate);
-        playerBoard.put(coordinate, gameCard);
+        // The neighbours are looked up once, and shared by the validation and by the updates of the items and of the frontier.
+        GameCard[] neighbours = getNeighbours(coordinate.x, coordinate.y);
+        validatePlacement(coordinate, gameCard, neighbours);
+        updateGameItems(gameCard, neighbours);
+        playerBoard.put(coordinate.x, coordinate.y, gameCard);
+        updateCardIndexes(coordinate.x, coordinate.y, gameCard);
+        updateFrontier(coordinate.x, coordinate.y, gameCard, neighbours);
         return gameCard.calculatePoints(coordinate, this);
     }
 
-    private void validatePlacement(Coordinate coordinate, GameCard gameCard) {
-        if (playerBoard.containsKey(coordinate)) {
+    /**
+     * This method is used to get the cards placed on the 4 diagonal neighbours of a position.
+     *
+     * @param x The X coordinate of the position.
+     * @param y The Y coordinate of the position.
+     * @return an array with the card at each adjacent offset, or null where there is none.
+     */
+    private GameCard[] getNeighbours(int x, int y) {
+        GameCard[] neighbours = new GameCard[ADJACENT_CORNERS.length];
+        for (int i = 0; i < ADJACENT_CORNERS.length; i++) {
+            neighbours[i] = playerBoard.get(x + ADJACENT_X_OFFSETS[i], y + ADJACENT_Y_OFFSETS[i]);
+        }
+        return neighbours;
+    }
+
+    private void validatePlacement(Coordinate coordinate, GameCard gameCard, GameCard[] neighbours) {
+        if (playerBoard.containsKey(coordinate.x, coordinate.y)) {
             throw new IllegalArgumentException("You're trying to place the card in an already occupied position.");
         }
 
-        if (!isPositionAdjacent(coordinate)) {
+        if (!isPositionAdjacent(coordinate.x, coordinate.y, neighbours)) {
             throw new IllegalArgumentException("Position not adjacent to any other card");
         }
 
-        if (!isPlacementCompatible(coordinate)) {
+        if (!isPlacementCompatible(neighbours)) {
             throw new IllegalArgumentException("Position not compatible with adjacent cards");
         }
 
@@ -199,41 +285,40 @@ public class PlayerBoard implements VirtualViewable<PlayerBoardView> {
      * This method is used to check if a position is adjacent to any other card in the player board.
      * If the position is the center of the board, the method will return true as the starter card does not require any adjacent card.
      *
-     * @param coordinate The coordinate to check.
+     * @param x          The X coordinate to check.
+     * @param y          The Y coordinate to check.
+     * @param neighbours The cards on the diagonal neighbours of the position.
      * @return true if the position is adjacent to any other card or the coordinate is the center of the board, false otherwise.
      */
-    private boolean isPositionAdjacent(Coordinate coordinate) {
-        return getAdjacentPointCornersPair(coordinate).stream()
-                .anyMatch(pair -> (coordinate.getX() == 0 && coordinate.getY() == 0) || playerBoard.containsKey(pair.coordinate()));
+    private boolean isPositionAdjacent(int x, int y, GameCard[] neighbours) {
+        if (x == 0 && y == 0) {
+            return true;
+        }
+        for (GameCard neighbour : neighbours) {
+            if (neighbour != null) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
      * This method is used to check if the placement of a card is compatible with the adjacent cards.
      * A placement is compatible if there isn't any adjacent card that has an empty intersecting corner with the card to place.
      *
-     * @param coordinate The coordinate where the placement is being performed.
+     * @param neighbours The cards on the diagonal neighbours of the position where the placement is being performed.
      * @return true if the placement is compatible, false otherwise.
      */
-    private boolean isPlacementCompatible(Coordinate coordinate) {
-        return getAdjacentPointCornersPair(coordinate).stream()
-                .noneMatch(pair -> {
-
-                    /*
-                    Since the check is performed inside noneMatch, for each adjacent card we will return:
-                        - true if the placement is not compatible with the card;
-                        - false if the placement is compatible with the card.
-                     */
-                    Optional<GameCard> card = getGameCard(pair.coordinate());
-
-                    // If the board place is empty, the placement is compatible.
-                    if (card.isEmpty()) {
-                        return false;
-                    }
-
-                    // In the game there are cards that do not have some corners, so the placement is compatible if the card has a corner in the position intersecting the card.
-                    // getCorner() returns an Optional, if it is present the card has the corner in the given position.
-                    return card.get().getCorner(pair.cornerPosition()).isEmpty();
-                });
+    private boolean isPlacementCompatible(GameCard[] neighbours) {
+        for (int i = 0; i < ADJACENT_CORNERS.length; i++) {
+            GameCard card = neighbours[i];
+            // If the board place is empty, the placement is compatible.
+            // In the game there are cards that do not have some corners, so the placement is compatible if the card has a corner in the position intersecting the card.
+            if (card != null && card.getCorner(ADJACENT_CORNERS[i]).isEmpty()) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -243,62 +328,101 @@ public class PlayerBoard implements VirtualViewable<PlayerBoardView> {
      * @return true if the player has enough resources, false otherwise.
      */
     private boolean hasEnoughResources(GameCard gameCard) {
-        GameItemStore neededItems = gameCard.getNeededItemStore();
-        // Check if all the items needed by the card (neededItems) <= items owned by the player (gameItems)
-        // As we are using noneMatch we need to negate the condition
-        return neededItems.keySet().stream().noneMatch(gameItem -> neededItems.get(gameItem) > gameItems.get(gameItem));
+        // Check if all the items needed by the card <= items owned by the player (gameItems)
+        return gameItems.dominates(gameCard.getNeededItemStore());
     }
 
     /**
      * This method is used to update the player's items after placing a card.
      *
      * @param gameCard   The card placed.
-     * @param coordinate The coordinate where the card was placed.
+     * @param neighbours The cards on the diagonal neighbours of the position where the card was placed.
      */
-    private void updateGameItems(GameCard gameCard, Coordinate coordinate) {
+    private void updateGameItems(GameCard gameCard, GameCard[] neighbours) {
         // Add the items of the card to the player's items
         gameItems.addStore(gameCard.getGameItemStore());
 
         // Cover the corners of already present cards that will be covered by the card placed in the coordinate.
         // Remove from the player's items the items of the corners covered by the card.
-        getAdjacentPointCornersPair(coordinate).forEach(pair -> {
-            Optional<GameCard> card = getGameCard(pair.coordinate());
-            if (card.isPresent()) {
+        for (int i = 0; i < ADJACENT_CORNERS.length; i++) {
+            GameCard card = neighbours[i];
+            if (card != null) {
                 // setCornerCovered() returns the item of the corner covered by the card.
-                GameItemEnum coveredItem = card.get().setCornerCovered(pair.cornerPosition());
+                GameItemEnum coveredItem = card.setCornerCovered(ADJACENT_CORNERS[i]);
                 gameItems.decrement(coveredItem, 1);
             }
-        });
+        }
     }
 
     /**
-     * This method is used to get the available positions where the player can place a card.
+     * This method is used to record a placed card in the card-to-position index and in the bucket of its color.
      *
-     * @return HashSet of Coordinate. This returns the available positions.
+     * @param x        The X coordinate where the card was placed.
+     * @param y        The Y coordinate where the card was placed.
+     * @param gameCard The card placed.
      */
-    public HashSet<Coordinate> getAvailablePositions() {
-        HashSet<Coordinate> availablePositions = new HashSet<>();
-        Set<Coordinate> playerBoardCoordinates = playerBoard.keySet();
+    private void updateCardIndexes(int x, int y, GameCard gameCard) {
+        Coordinate coordinate = new Coordinate(x, y);
+        cardPositions.put(gameCard, coordinate);
+        colorBuckets.computeIfAbsent(gameCard.getCardColor(), color -> new ArrayList<>()).add(coordinate);
+    }
 
-        // If no card is placed, the only available position is the center of the board.
-        if (playerBoardCoordinates.isEmpty()) {
-            availablePositions.add(new Coordinate(0, 0));
-            return availablePositions;
+    /**
+     * This method is used to update the frontier after a card has been placed.
+     * The placed position leaves the frontier, each empty neighbour facing a missing corner of the card gets blocked,
+     * and each other empty neighbour joins the frontier unless it was already blocked by another card.
+     *
+     * @param x          The X coordinate where the card was placed.
+     * @param y          The Y coordinate where the card was placed.
+     * @param gameCard   The card placed.
+     * @param neighbours The cards on the diagonal neighbours of the position where the card was placed.
+     */
+    private void updateFrontier(int x, int y, GameCard gameCard, GameCard[] neighbours) {
+        frontier.remove(x, y);
+        for (int i = 0; i < FACING_CORNERS.length; i++) {
+            if (neighbours[i] != null) {
+                continue;
+            }
+            int adjacentX = x + ADJACENT_X_OFFSETS[i];
+            int adjacentY = y + ADJACENT_Y_OFFSETS[i];
+            if (gameCard.getCorner(FACING_CORNERS[i]).isEmpty()) {
+                blockedPositions.put(adjacentX, adjacentY, Boolean.TRUE);
+                frontier.remove(adjacentX, adjacentY);
+            } else if (!blockedPositions.containsKey(adjacentX, adjacentY) && !frontier.containsKey(adjacentX, adjacentY)) {
+                frontier.put(adjacentX, adjacentY, new Coordinate(adjacentX, adjacentY));
+            }
         }
+        availablePositions = null;
+    }
 
-        // For each card in the player board, check the adjacent positions.
-        playerBoardCoordinates.forEach(coord ->
-                getAdjacentPointCornersPair(coord).forEach(pair -> {
-                    Coordinate adjacentCoordinate = pair.coordinate();
-                    // If the position is not occupied and the placement is compatible, add it to the available positions.
-                    if (!playerBoard.containsKey(adjacentCoordinate) && isPlacementCompatible(adjacentCoordinate)) {
-                        availablePositions.add(adjacentCoordinate);
-                    }
-                })
-        );
+    /**
+     * This method is used to get the available positions where the player can place a card.
+     * The positions are served from the frontier maintained on each placement, so the cost does not depend on the board size.
+     *
+     * @return an immutable Set of Coordinate. This returns the available positions.
+     */
+    public Set<Coordinate> getAvailablePositions() {
+        if (availablePositions == null) {
+            // If no card is placed, the only available position is the center of the board.
+            availablePositions = playerBoard.isEmpty() ? Set.of(new Coordinate(0, 0)) : Set.copyOf(frontier.values());
+        }
         return availablePositions;
     }
 
+    /**
+     * This method is used to get the available positions as a new list, in the order of the frontier.
+     * Unlike {@link #getAvailablePositions()}, nothing is hashed, and the order only depends on the placements,
+     * so it is the same in every run of the JVM.
+     *
+     * @return a new List of Coordinate. This returns the available positions.
+     */
+    public List<Coordinate> getAvailablePositionList() {
+        if (playerBoard.isEmpty()) {
+            return new ArrayList<>(List.of(new Coordinate(0, 0)));
+        }
+        return frontier.values();
+    }
+
     /**
      * This method is used to get the virtual view of the player's board.
      *
@@ -306,6 +430,6 @@ public class PlayerBoard implements VirtualViewable<PlayerBoardView> {
      */
     @Override
     public PlayerBoardView getVirtualView() {
-        return new PlayerBoardView(playerBoard, gameItems, getAvailablePositions());
+        return new PlayerBoardView(playerBoard.toHashMap(), gameItems, getAvailablePositions());
     }
 }
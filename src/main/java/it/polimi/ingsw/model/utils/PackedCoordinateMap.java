@@ -0,0 +1,356 @@
+package it.polimi.ingsw.model.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class represents a map from board coordinates to values.
+ * Each coordinate is packed into a single long ((x &lt;&lt; 32) | y) and stored in an open-addressing table with linear probing,
+ * so lookups by (x, y) do not allocate any Coordinate object nor box any key.
+ * Null values are not allowed, as a null slot marks an empty position of the table.
+ *
+ * @param <V> the type of the values stored in the map
+ */
+public class PackedCoordinateMap<V> {
+    /**
+     * The number of entries a map built with the default constructor can hold without resizing.
+     */
+    private static final int DEFAULT_EXPECTED_SIZE = 32;
+
+    /**
+     * The packed coordinates stored in the table.
+     */
+    private long[] keys;
+
+    /**
+     * The values stored in the table. A null value marks an empty slot.
+     */
+    private Object[] values;
+
+    /**
+     * The number of entries stored in the map.
+     */
+    private int size;
+
+    /**
+     * Constructs an empty PackedCoordinateMap with the default capacity.
+     */
+    public PackedCoordinateMap() {
+        this(DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Constructs an empty PackedCoordinateMap able to hold the specified number of entries without resizing.
+     *
+     * @param expectedSize the number of entries the map is expected to hold.
+     * @throws IllegalArgumentException if expectedSize is negative.
+     */
+    public PackedCoordinateMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative");
+        }
+        int capacity = Integer.highestOneBit(Math.max(expectedSize * 2, 2) - 1) << 1;
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+    }
+
+    /**
+     * Packs the given coordinates into a single long.
+     *
+     * @param x the X coordinate.
+     * @param y the Y coordinate.
+     * @return the packed coordinate.
+     */
+    public static long pack(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Extracts the X coordinate from a packed coordinate.
+     *
+     * @param packedCoordinate the packed coordinate.
+     * @return the X coordinate.
+     */
+    public static int unpackX(long packedCoordinate) {
+        return (int) (packedCoordinate >> 32);
+    }
+
+    /**
+     * Extracts the Y coordinate from a packed coordinate.
+     *
+     * @param packedCoordinate the packed coordinate.
+     * @return the Y coordinate.
+     */
+    public static int unpackY(long packedCoordinate) {
+        return (int) packedCoordinate;
+    }
+
+    /**
+     * Returns the value stored at the given coordinates.
+     *
+     * @param x the X coordinate.
+     * @param y the Y coordinate.
+     * @return the value stored at the coordinates, or null if there is none.
+     */
+    public V get(int x, int y) {
+        return valueAt(indexOf(pack(x, y)));
+    }
+
+    /**
+     * Returns the value stored at the given coordinate.
+     *
+     * @param coordinate the coordinate.
+     * @return the value stored at the coordinate, or null if there is none.
+     */
+    public V get(Coordinate coordinate) {
+        return get(coordinate.x, coordinate.y);
+    }
+
+    /**
+     * Checks if a value is stored at the given coordinates.
+     *
+     * @param x the X coordinate.
+     * @param y the Y coordinate.
+     * @return true if a value is stored at the coordinates, false otherwise.
+     */
+    public boolean containsKey(int x, int y) {
+        return indexOf(pack(x, y)) >= 0;
+    }
+
+    /**
+     * Stores a value at the given coordinates, replacing the previous one if present.
+     *
+     * @param x     the X coordinate.
+     * @param y     the Y coordinate.
+     * @param value the value to store. Cannot be null.
+     * @return the value previously stored at the coordinates, or null if there was none.
+     * @throws NullPointerException if value is null.
+     */
+    public V put(int x, int y, V value) {
+        if (value == null) {
+            throw new NullPointerException("value cannot be null");
+        }
+        long key = pack(x, y);
+        int mask = keys.length - 1;
+        int index = slot(key, mask);
+        while (values[index] != null) {
+            if (keys[index] == key) {
+                V previous = valueAt(index);
+                values[index] = value;
+                return previous;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value;
+        if (++size * 2 > keys.length) {
+            resize(keys.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Stores a value at the given coordinate, replacing the previous one if present.
+     *
+     * @param coordinate the coordinate.
+     * @param value      the value to store. Cannot be null.
+     * @return the value previously stored at the coordinate, or null if there was none.
+     * @throws NullPointerException if value is null.
+     */
+    public V put(Coordinate coordinate, V value) {
+        return put(coordinate.x, coordinate.y, value);
+    }
+
+    /**
+     * Removes the value stored at the given coordinates.
+     * The entries following the removed one in its probe sequence are shifted back, so no tombstone is left in the table.
+     *
+     * @param x the X coordinate.
+     * @param y the Y coordinate.
+     * @return the value previously stored at the coordinates, or null if there was none.
+     */
+    public V remove(int x, int y) {
+        int index = indexOf(pack(x, y));
+        if (index < 0) {
+            return null;
+        }
+        V previous = valueAt(index);
+        int mask = keys.length - 1;
+        int hole = index;
+        int next = (hole + 1) & mask;
+        while (values[next] != null) {
+            // The entry can fill the hole only if the hole lies between its home slot and its current slot.
+            int home = slot(keys[next], mask);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        values[hole] = null;
+        size--;
+        return previous;
+    }
+
+    /**
+     * Returns the number of entries stored in the map.
+     *
+     * @return the number of entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the map is empty.
+     *
+     * @return true if the map contains no entries, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all the entries from the map.
+     */
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Performs the given action for each entry of the map.
+     *
+     * @param action the action to perform.
+     */
+    public void forEach(EntryConsumer<? super V> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != null) {
+                action.accept(unpackX(keys[i]), unpackY(keys[i]), valueAt(i));
+            }
+        }
+    }
+
+    /**
+     * Returns a list containing all the values of the map.
+     *
+     * @return a new list of the values.
+     */
+    public ArrayList<V> values() {
+        ArrayList<V> result = new ArrayList<>(size);
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != null) {
+                result.add(valueAt(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a HashMap with the same entries of this map, keyed on Coordinate.
+     *
+     * @return a new HashMap of the entries.
+     */
+    public HashMap<Coordinate, V> toHashMap() {
+        HashMap<Coordinate, V> result = new HashMap<>((int) (size / 0.75f) + 1);
+        forEach((x, y, value) -> result.put(new Coordinate(x, y), value));
+        return result;
+    }
+
+    /**
+     * Builds a PackedCoordinateMap with the same entries of the given map.
+     *
+     * @param map the map to copy.
+     * @param <V> the type of the values.
+     * @return a new PackedCoordinateMap with the entries of the given map.
+     */
+    public static <V> PackedCoordinateMap<V> fromMap(Map<Coordinate, V> map) {
+        PackedCoordinateMap<V> result = new PackedCoordinateMap<>(Math.max(map.size(), DEFAULT_EXPECTED_SIZE));
+        map.forEach(result::put);
+        return result;
+    }
+
+    /**
+     * Returns the index of the slot holding the given key.
+     *
+     * @param key the packed coordinate.
+     * @return the index of the slot, or -1 if the key is not present.
+     */
+    private int indexOf(long key) {
+        int mask = keys.length - 1;
+        int index = slot(key, mask);
+        while (values[index] != null) {
+            if (keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the value stored in the given slot.
+     *
+     * @param index the index of the slot, or -1.
+     * @return the value stored in the slot, or null if the index is -1.
+     */
+    @SuppressWarnings("unchecked")
+    private V valueAt(int index) {
+        return index < 0 ? null : (V) values[index];
+    }
+
+    /**
+     * Computes the home slot of a key. The key is mixed so that neighbouring coordinates spread over the table.
+     *
+     * @param key  the packed coordinate.
+     * @param mask the mask of the table.
+     * @return the home slot of the key.
+     */
+    private static int slot(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    /**
+     * Rehashes all the entries into a table with the given capacity.
+     *
+     * @param capacity the new capacity. It must be a power of two.
+     */
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[capacity];
+        values = new Object[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                int index = slot(oldKeys[i], mask);
+                while (values[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Represents an operation that accepts an entry of the map.
+     *
+     * @param <V> the type of the values.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        /**
+         * Performs this operation on the given entry.
+         *
+         * @param x     the X coordinate of the entry.
+         * @param y     the Y coordinate of the entry.
+         * @param value the value of the entry.
+         */
+        void accept(int x, int y, V value);
+    }
+}
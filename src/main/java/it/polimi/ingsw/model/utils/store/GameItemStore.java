@@ -2,24 +2,48 @@ package it.polimi.ingsw.model.utils.store;
 
 import it.polimi.ingsw.model.card.GameItemEnum;
 
-import java.util.HashMap;
+import java.io.Serializable;
+import java.util.*;
 
 /**
- * GameItemStore class is a subclass of Store that represents the store of game items.
+ * GameItemStore class represents the store of game items.
  * It is used to keep track of the amount of each game item in the game.
+ * The amounts are kept in an int array indexed by {@link GameItemEnum#ordinal()}, so the arithmetic does not box any value.
  * The store is initialized with all the game items set to 0.
+ * A store can be made immutable with {@link #asImmutable()}, in which case every mutating method throws an exception.
  */
-public class GameItemStore extends Store<GameItemEnum> {
+public class GameItemStore implements Serializable {
+    /**
+     * The game items, cached to avoid cloning the values array on each access.
+     */
+    private static final GameItemEnum[] GAME_ITEMS = GameItemEnum.values();
+
+    /**
+     * All the keys of the store.
+     */
+    private static final Set<GameItemEnum> KEYS = Collections.unmodifiableSet(EnumSet.allOf(GameItemEnum.class));
+
+    /**
+     * An immutable store with all the game items set to 0.
+     */
+    public static final GameItemStore EMPTY = new GameItemStore().asImmutable();
+
+    /**
+     * The amount of each game item, indexed by the ordinal of the item.
+     */
+    private final int[] amounts;
+
+    /**
+     * Whether the store is immutable.
+     */
+    private final boolean immutable;
 
     /**
      * Default constructor for GameItemStore.
-     * Initializes a new HashMap with the size equal to the number of different GameItems.
      * Each GameItem in the store is initially set to 0.
      */
     public GameItemStore() {
-        super(new HashMap<>(GameItemEnum.values().length));
-        // We assign the amount 0 to each game item in order to have the store initialized with all the game items set to 0.
-        GameItemEnum.stream().forEach(gameItem -> this.store.put(gameItem, 0));
+        this(new int[GAME_ITEMS.length], false);
     }
 
     /**
@@ -29,19 +53,181 @@ public class GameItemStore extends Store<GameItemEnum> {
      * @throws IllegalArgumentException if the size of the provided map does not match the number of different GameItems
      */
     public GameItemStore(HashMap<GameItemEnum, Integer> gameItemStore) {
-        super(gameItemStore);
-        if (gameItemStore.size() != GameItemEnum.values().length) {
+        this();
+        if (gameItemStore.size() != GAME_ITEMS.length) {
             throw new IllegalArgumentException("Missing game items");
         }
+        gameItemStore.forEach((gameItem, amount) -> amounts[gameItem.ordinal()] = amount);
     }
 
-    @Override
-    public void set(GameItemEnum gameItem, Integer amount) {
-        // The NONE item is a placeholder for null values, so we don't want to set it to a specific amount.
-        // Allowing this would lead to inconsistencies in the equality checks.
-        if (gameItem.equals(GameItemEnum.NONE)) {
+    /**
+     * Constructs a new GameItemStore backed by the given array.
+     *
+     * @param amounts   the amounts of the game items, indexed by ordinal
+     * @param immutable whether the store is immutable
+     */
+    private GameItemStore(int[] amounts, boolean immutable) {
+        this.amounts = amounts;
+        this.immutable = immutable;
+    }
+
+    /**
+     * Gets the amount of a specific game item in the store.
+     *
+     * @param gameItem the game item to get the amount of
+     * @return the amount of the game item in the store
+     */
+    public int get(GameItemEnum gameItem) {
+        return amounts[gameItem.ordinal()];
+    }
+
+    /**
+     * Sets the amount of a specific game item in the store.
+     * The NONE item is a placeholder for null values, so its amount is never changed.
+     *
+     * @param gameItem the game item to set the amount of
+     * @param amount   the amount to set
+     * @throws UnsupportedOperationException if the store is immutable
+     */
+    public void set(GameItemEnum gameItem, int amount) {
+        checkMutable();
+        // Allowing NONE to change would lead to inconsistencies in the equality checks.
+        if (gameItem == GameItemEnum.NONE) {
             return;
         }
-        store.put(gameItem, amount);
+        amounts[gameItem.ordinal()] = amount;
+    }
+
+    /**
+     * Increment the amount of a specific game item in the store.
+     *
+     * @param gameItem the game item to increase the amount of
+     * @param amount   the amount to add
+     * @throws UnsupportedOperationException if the store is immutable
+     */
+    public void increment(GameItemEnum gameItem, int amount) {
+        set(gameItem, amounts[gameItem.ordinal()] + amount);
+    }
+
+    /**
+     * Decrement the amount of a specific game item in the store.
+     *
+     * @param gameItem the game item to decrease the amount of
+     * @param amount   the amount to remove
+     * @throws UnsupportedOperationException if the store is immutable
+     */
+    public void decrement(GameItemEnum gameItem, int amount) {
+        set(gameItem, amounts[gameItem.ordinal()] - amount);
+    }
+
+    /**
+     * Adds in place the amounts of the game items in another store to this store.
+     *
+     * @param other the store to add
+     * @throws UnsupportedOperationException if the store is immutable
+     */
+    public void addStore(GameItemStore other) {
+        Objects.requireNonNull(other, "store cannot be null");
+        checkMutable();
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] += other.amounts[i];
+        }
+        amounts[GameItemEnum.NONE.ordinal()] -= other.amounts[GameItemEnum.NONE.ordinal()];
+    }
+
+    /**
+     * Subtracts in place the amounts of the game items in another store from this store.
+     *
+     * @param other the store to subtract
+     * @throws UnsupportedOperationException if the store is immutable
+     */
+    public void subtractStore(GameItemStore other) {
+        Objects.requireNonNull(other, "store cannot be null");
+        checkMutable();
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] -= other.amounts[i];
+        }
+        amounts[GameItemEnum.NONE.ordinal()] += other.amounts[GameItemEnum.NONE.ordinal()];
+    }
+
+    /**
+     * Checks if this store holds at least the amount of every game item held by another store.
+     *
+     * @param other the store to compare with
+     * @return true if every amount of this store is greater than or equal to the one of the other store, false otherwise
+     */
+    public boolean dominates(GameItemStore other) {
+        Objects.requireNonNull(other, "store cannot be null");
+        for (int i = 0; i < amounts.length; i++) {
+            if (amounts[i] < other.amounts[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the game items with a positive amount in the store.
+     *
+     * @return the game items with a positive amount
+     */
+    public ArrayList<GameItemEnum> getNonEmptyKeys() {
+        ArrayList<GameItemEnum> nonEmptyKeys = new ArrayList<>();
+        for (GameItemEnum gameItem : GAME_ITEMS) {
+            if (amounts[gameItem.ordinal()] > 0) {
+                nonEmptyKeys.add(gameItem);
+            }
+        }
+        return nonEmptyKeys;
+    }
+
+    /**
+     * Gets all the game items of the store.
+     *
+     * @return an unmodifiable set of all the game items
+     */
+    public Set<GameItemEnum> keySet() {
+        return KEYS;
+    }
+
+    /**
+     * Returns an immutable copy of this store. If the store is already immutable, it is returned as is.
+     *
+     * @return an immutable store with the same amounts
+     */
+    public GameItemStore asImmutable() {
+        return immutable ? this : new GameItemStore(amounts.clone(), true);
+    }
+
+    /**
+     * Checks if the store is immutable.
+     *
+     * @return true if the store is immutable, false otherwise
+     */
+    public boolean isImmutable() {
+        return immutable;
+    }
+
+    /**
+     * Throws an exception if the store is immutable.
+     *
+     * @throws UnsupportedOperationException if the store is immutable
+     */
+    private void checkMutable() {
+        if (immutable) {
+            throw new UnsupportedOperationException("This GameItemStore is immutable");
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof GameItemStore that)) return false;
+        return Arrays.equals(amounts, that.amounts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(amounts);
     }
 }
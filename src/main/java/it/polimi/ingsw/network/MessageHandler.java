@@ -9,8 +9,9 @@ public interface MessageHandler<T> {
      * Sends a message to the client.
      *
      * @param message the message to be sent
+     * @return true if the message was sent, false if sending it failed
      */
-    void sendMessage(T message);
+    boolean sendMessage(T message);
 
     /**
      * Closes the connection to the client.
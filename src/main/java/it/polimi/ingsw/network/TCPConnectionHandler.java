@@ -1,6 +1,7 @@
 package it.polimi.ingsw.network;
 
 import it.polimi.ingsw.utils.PropertyChangeNotifier;
+import it.polimi.ingsw.utils.SchedulerService;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -9,67 +10,135 @@ import java.beans.PropertyChangeSupport;
 import java.io.*;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * This class is responsible for handling the connection with a client over TCP.
- * It extends Thread, meaning it can run concurrently with other threads.
+ * It implements Runnable, so the reading loop can run either on a dedicated platform thread or on a virtual thread.
+ * <p>
+ * Messages are sent as JSON lines, unless both ends agree to switch to length-prefixed frames:
+ * the client sends the line "codec?binary", the server replies "codec:binary" and the client confirms with "codec:binary".
+ * Each end switches its output to frames right after sending "codec:binary", and its input right after receiving it.
+ * A frame is made of its length as a varint, a tag byte and the payload: the tag is 'J' for a JSON message and 'B' for a binary one.
+ * A frame of length 0 is a heartbeat. If the server never confirms the request, the connection stays on JSON lines.
  */
-public class TCPConnectionHandler extends Thread implements PropertyChangeNotifier {
+public class TCPConnectionHandler implements Runnable, PropertyChangeNotifier {
     /**
      * The logger.
      */
     private static final Logger logger = LogManager.getLogger(TCPConnectionHandler.class);
+    /**
+     * The line sent by the client to request the switch to frames and to the binary codec.
+     */
+    private static final String CODEC_REQUEST = "codec?binary";
+    /**
+     * The line sent by both ends to confirm the switch to frames and to the binary codec.
+     */
+    private static final String CODEC_ACK = "codec:binary";
+    /**
+     * The tag of a frame holding a JSON message.
+     */
+    private static final int JSON_FRAME = 'J';
+    /**
+     * The tag of a frame holding a binary message.
+     */
+    private static final int BINARY_FRAME = 'B';
+    /**
+     * The maximum length of a frame, used to detect a corrupted stream.
+     */
+    private static final int MAX_FRAME_LENGTH = 16 * 1024 * 1024;
     /**
      * Socket object representing the connection to the client.
      */
     private final Socket socket;
     /**
-     * BufferedWriter object used to write to the socket.
+     * BufferedOutputStream object used to write to the socket.
+     * Messages are written as UTF-8 bytes, so a message encoded once can be sent to many connections.
      */
-    private final BufferedWriter out;
+    private final BufferedOutputStream out;
     /**
-     * BufferedReader object used to read from the socket.
+     * BufferedInputStream object used to read from the socket.
+     * Lines are decoded manually, so that no byte of the frames that follow a line is consumed by a reader.
      */
-    private final BufferedReader in;
+    private final BufferedInputStream in;
     /**
      * Boolean value indicating whether the connection is active.
      */
     private final AtomicBoolean isConnected;
     /**
-     * ExecutorService used to run tasks concurrently.
+     * Executor used to notify the listeners of the received messages.
      */
-    private final ExecutorService executor;
+    private final Executor executor;
     /**
      * Listeners that will be notified when a message is received.
      */
     private final PropertyChangeSupport listeners;
+    /**
+     * Lock used to prevent closing a connection while sending a message.
+     * A ReentrantLock is used instead of synchronized, so a virtual thread blocked on the socket does not pin its carrier thread.
+     */
+    private final ReentrantLock connectionLock;
+    /**
+     * The task sending the heartbeat to the client.
+     */
+    private volatile SchedulerService.ScheduledTask heartbeatTask;
+    /**
+     * Whether the client has requested the switch to frames.
+     */
+    private volatile boolean isBinaryCodecRequested;
+    /**
+     * Whether the messages are read as frames instead of lines. It is only accessed by the reading thread.
+     */
+    private boolean isFramedInput;
+    /**
+     * Whether the messages are written as frames instead of lines. It is only changed while holding the connection lock.
+     */
+    private volatile boolean isFramedOutput;
 
     /**
      * Constructor for the TCPConnectionHandler class.
+     * The received messages are notified, in order, on a dedicated thread.
      *
      * @param socket The socket connected to the client.
      */
     public TCPConnectionHandler(Socket socket) {
-        super("TCPConnectionHandler");
+        this(socket, Executors.newSingleThreadExecutor());
+    }
+
+    /**
+     * Constructor for the TCPConnectionHandler class.
+     * The received messages are notified using the specified executor. If it is an ExecutorService, it is shut down when the connection is closed.
+     *
+     * @param socket   The socket connected to the client.
+     * @param executor The executor used to notify the received messages. Use Runnable::run to notify them on the reading thread.
+     */
+    public TCPConnectionHandler(Socket socket, Executor executor) {
         this.socket = socket;
+        this.connectionLock = new ReentrantLock();
         this.listeners = new PropertyChangeSupport(this);
-        this.executor = Executors.newSingleThreadExecutor();
+        this.executor = executor;
         try {
-            // Initialize PrintWriter and BufferedReader for reading from and writing to the socket
-            this.out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream()));
-            this.in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+            // Initialize BufferedOutputStream and BufferedInputStream for reading from and writing to the socket
+            this.out = new BufferedOutputStream(socket.getOutputStream());
+            this.in = new BufferedInputStream(socket.getInputStream());
             this.isConnected = new AtomicBoolean(true);
 
             // Set the timeout to 5 seconds. If no message is received in this time, the socket will throw a SocketTimeoutException.
             // This is useful to detect when the client disconnects.
             this.socket.setSoTimeout(5000);
+            // Disable Nagle's algorithm: a message is flushed as soon as it is written, and holding back its last segment
+            // until the previous one is acknowledged would delay it by the delayed ACK timeout of the peer, about 40 ms.
+            this.socket.setTcpNoDelay(true);
             logger.debug("TCP connection established with {}:{}", socket.getInetAddress(), socket.getPort());
-            heartbeat();
+            this.heartbeatTask = heartbeat();
         } catch (IOException e) {
             logger.fatal("Error while getting streams from socket: {}", e.getMessage());
             throw new RuntimeException(e);
@@ -78,27 +147,41 @@ public class TCPConnectionHandler extends Thread implements PropertyChangeNotifi
 
     /**
      * Method to send a heartbeat message to the client every 2.5 seconds.
+     * The heartbeat is stopped when the connection is closed.
+     *
+     * @return the task sending the heartbeat
      */
-    private void heartbeat() {
-        new Timer().scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                if (!isConnected.get()) {
-                    cancel();
-                    return;
-                }
-                try {
-                    send("heartbeat");
-                } catch (IOException e) {
-                    logger.warn("TCP disconnected - detected when pinging");
-                    closeConnection();
-                    cancel();
-                }
+    private SchedulerService.ScheduledTask heartbeat() {
+        return SchedulerService.scheduleAtFixedRate(() -> {
+            if (!isConnected.get()) {
+                return;
+            }
+            try {
+                sendHeartbeat();
+            } catch (IOException e) {
+                logger.warn("TCP disconnected - detected when pinging");
+                closeConnection();
             }
-        }, 0, 2500);
+        }, 0, 2500, TimeUnit.MILLISECONDS);
     }
 
 
+    /**
+     * Starts reading from the socket on a new platform thread.
+     */
+    public void start() {
+        start(Thread.ofPlatform().name("TCPConnectionHandler").factory());
+    }
+
+    /**
+     * Starts reading from the socket on a new thread created by the specified factory.
+     *
+     * @param threadFactory the factory used to create the reading thread, e.g. a virtual thread factory.
+     */
+    public void start(ThreadFactory threadFactory) {
+        threadFactory.newThread(this).start();
+    }
+
     /**
      * The main method that will be run when the thread starts.
      * It reads from the socket and echoes back the input line until null (client disconnects).
@@ -107,10 +190,12 @@ public class TCPConnectionHandler extends Thread implements PropertyChangeNotifi
         // Read from socket and echo back the input line until null (client disconnects).
         while (this.isConnected.get()) { //while for next JSON
             try {
-                String receivedMessage;
-                if ((receivedMessage = in.readLine()) != null) {
-                    if (!"heartbeat".equals(receivedMessage)) {
-                        this.executor.submit(() -> this.listeners.firePropertyChange("MESSAGE_RECEIVED", null, receivedMessage));
+                if (this.isFramedInput) {
+                    readFrame();
+                } else {
+                    String receivedMessage;
+                    if ((receivedMessage = readLine()) != null) {
+                        receiveLine(receivedMessage);
                     }
                 }
             } catch (SocketTimeoutException e) {
@@ -123,33 +208,265 @@ public class TCPConnectionHandler extends Thread implements PropertyChangeNotifi
         }
     }
 
+    /**
+     * Reads a line from the socket, decoding it as UTF-8.
+     *
+     * @return the line without the line terminator, or null if the end of the stream has been reached.
+     * @throws IOException If an I/O error occurs.
+     */
+    private String readLine() throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = this.in.read()) != '\n') {
+            if (b == -1) {
+                return null;
+            }
+            line.write(b);
+        }
+        byte[] bytes = line.toByteArray();
+        int length = bytes.length > 0 && bytes[bytes.length - 1] == '\r' ? bytes.length - 1 : bytes.length;
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Handles a line received from the socket: heartbeats are dropped, the lines of the codec negotiation are handled
+     * and the other lines are notified as messages.
+     *
+     * @param line the received line.
+     * @throws IOException If an I/O error occurs while replying to the negotiation.
+     */
+    private void receiveLine(String line) throws IOException {
+        switch (line) {
+            case "heartbeat" -> {
+            }
+            case CODEC_REQUEST -> {
+                // The server accepts the request and switches its output right after the reply.
+                sendLineAndSwitchToFrames();
+                logger.debug("Binary codec accepted.");
+            }
+            case CODEC_ACK -> {
+                if (!this.isBinaryCodecRequested && !this.isFramedOutput) {
+                    logger.error("Unexpected binary codec confirmation.");
+                    return;
+                }
+                this.isFramedInput = true;
+                // The client confirms the switch, while the server has already switched its output.
+                if (!this.isFramedOutput) {
+                    sendLineAndSwitchToFrames();
+                    logger.debug("Binary codec enabled.");
+                }
+            }
+            default -> this.executor.execute(() -> this.listeners.firePropertyChange("MESSAGE_RECEIVED", null, line));
+        }
+    }
+
+    /**
+     * Sends the confirmation of the switch to frames and switches the output, without letting any other message in between.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    private void sendLineAndSwitchToFrames() throws IOException {
+        this.connectionLock.lock();
+        try {
+            this.out.write(CODEC_ACK.getBytes(StandardCharsets.UTF_8));
+            this.out.write('\n');
+            this.out.flush();
+            this.isFramedOutput = true;
+        } finally {
+            this.connectionLock.unlock();
+        }
+    }
+
+    /**
+     * Reads a frame from the socket and notifies its message.
+     * JSON messages are notified as MESSAGE_RECEIVED with a String, binary ones as FRAME_RECEIVED with a byte array.
+     *
+     * @throws IOException If an I/O error occurs, or the stream ends in the middle of a frame.
+     */
+    private void readFrame() throws IOException {
+        int length = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = this.in.read();
+            if (b == -1) {
+                throw new EOFException("Connection closed while reading a frame");
+            }
+            length |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+            if (shift >= 21) {
+                throw new IOException("Malformed frame length");
+            }
+        }
+        if (length == 0) {
+            // A heartbeat.
+            return;
+        }
+        if (length > MAX_FRAME_LENGTH) {
+            throw new IOException("Frame too long: " + length);
+        }
+        int tag = this.in.read();
+        byte[] payload = this.in.readNBytes(length - 1);
+        if (tag == -1 || payload.length != length - 1) {
+            throw new EOFException("Connection closed while reading a frame");
+        }
+        switch (tag) {
+            case JSON_FRAME -> {
+                String receivedMessage = new String(payload, StandardCharsets.UTF_8);
+                this.executor.execute(() -> this.listeners.firePropertyChange("MESSAGE_RECEIVED", null, receivedMessage));
+            }
+            case BINARY_FRAME ->
+                    this.executor.execute(() -> this.listeners.firePropertyChange("FRAME_RECEIVED", null, payload));
+            default -> logger.error("Invalid frame tag: {}", tag);
+        }
+    }
+
+    /**
+     * Requests the switch to frames and to the binary codec.
+     * The connection keeps using JSON lines until the server confirms the switch.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    public void requestBinaryCodec() throws IOException {
+        this.isBinaryCodecRequested = true;
+        send(CODEC_REQUEST);
+    }
+
+    /**
+     * Checks whether the messages are written as frames, so that binary messages can be sent.
+     * Once it returns true, it never returns false again.
+     *
+     * @return true if binary messages can be sent.
+     */
+    public boolean isBinaryCodecEnabled() {
+        return this.isFramedOutput;
+    }
+
+    /**
+     * Sends a heartbeat: an empty frame or a "heartbeat" line, depending on the format of the output.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    private void sendHeartbeat() throws IOException {
+        this.connectionLock.lock();
+        try {
+            if (this.isFramedOutput) {
+                this.out.write(0);
+            } else {
+                this.out.write("heartbeat\n".getBytes(StandardCharsets.UTF_8));
+            }
+            this.out.flush();
+        } finally {
+            this.connectionLock.unlock();
+        }
+    }
+
     /**
      * Sends a message to the client.
-     * It is synchronized to prevent closing a connection while sending a message.
+     * It holds the connection lock to prevent closing a connection while sending a message.
      *
      * @param message The message to be sent.
      * @throws IOException If an I/O error occurs.
      */
-    public synchronized void send(String message) throws IOException {
-        this.out.write(message);
-        this.out.newLine();
-        this.out.flush();
+    public void send(String message) throws IOException {
+        send(message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Sends a JSON message, already encoded as UTF-8, to the client.
+     * It is sent as a line, or as a JSON frame if the binary codec has been negotiated.
+     * The bytes are not modified, so the same array can be sent to many connections.
+     * It holds the connection lock to prevent closing a connection while sending a message.
+     *
+     * @param encodedMessage The UTF-8 bytes of the message to be sent, without the line terminator.
+     * @throws IOException If an I/O error occurs.
+     */
+    public void send(byte[] encodedMessage) throws IOException {
+        this.connectionLock.lock();
+        try {
+            if (this.isFramedOutput) {
+                writeFrame(JSON_FRAME, encodedMessage);
+            } else {
+                // The message and its terminator are written at once: a message larger than the buffer bypasses it,
+                // so writing the terminator on its own would send it in a segment of its own.
+                byte[] line = Arrays.copyOf(encodedMessage, encodedMessage.length + 1);
+                line[encodedMessage.length] = '\n';
+                this.out.write(line);
+            }
+            this.out.flush();
+        } finally {
+            this.connectionLock.unlock();
+        }
+    }
+
+    /**
+     * Sends a binary message as a frame.
+     * The bytes are not modified, so the same array can be sent to many connections.
+     *
+     * @param encodedMessage The binary encoding of the message.
+     * @throws IOException           If an I/O error occurs.
+     * @throws IllegalStateException If the binary codec has not been negotiated.
+     */
+    public void sendBinary(byte[] encodedMessage) throws IOException {
+        this.connectionLock.lock();
+        try {
+            if (!this.isFramedOutput) {
+                throw new IllegalStateException("The binary codec has not been negotiated");
+            }
+            writeFrame(BINARY_FRAME, encodedMessage);
+            this.out.flush();
+        } finally {
+            this.connectionLock.unlock();
+        }
+    }
+
+    /**
+     * Writes a frame: its length as a varint, its tag and its payload. The caller must hold the connection lock.
+     * The frame is written at once, so that a payload larger than the buffer is not sent apart from its length and its tag.
+     *
+     * @param tag     The tag of the frame.
+     * @param payload The payload of the frame.
+     * @throws IOException If an I/O error occurs.
+     */
+    private void writeFrame(int tag, byte[] payload) throws IOException {
+        int length = payload.length + 1;
+        byte[] frame = new byte[5 + length];
+        int position = 0;
+        while ((length & ~0x7F) != 0) {
+            frame[position++] = (byte) ((length & 0x7F) | 0x80);
+            length >>>= 7;
+        }
+        frame[position++] = (byte) length;
+        frame[position++] = (byte) tag;
+        System.arraycopy(payload, 0, frame, position, payload.length);
+        this.out.write(frame, 0, position + payload.length);
     }
 
     /**
      * Closes the connection with the client.
-     * It is synchronized to prevent closing a connection while sending a message.
+     * It holds the connection lock to prevent closing a connection while sending a message.
      */
-    public synchronized void closeConnection() {
-        if (!this.socket.isClosed()) {
-            try {
-                this.isConnected.set(false);
-                this.executor.shutdownNow();
-                this.socket.close();
-                this.listeners.firePropertyChange("CONNECTION_CLOSED", null, null);
-            } catch (IOException ignored) {
-                // This exception is ignored because we are closing the connection.
+    public void closeConnection() {
+        this.connectionLock.lock();
+        try {
+            if (!this.socket.isClosed()) {
+                try {
+                    this.isConnected.set(false);
+                    // The heartbeat may fail before its task has been assigned.
+                    if (this.heartbeatTask != null) {
+                        this.heartbeatTask.cancel();
+                    }
+                    if (this.executor instanceof ExecutorService executorService) {
+                        executorService.shutdownNow();
+                    }
+                    this.socket.close();
+                    this.listeners.firePropertyChange("CONNECTION_CLOSED", null, null);
+                } catch (IOException ignored) {
+                    // This exception is ignored because we are closing the connection.
+                }
             }
+        } finally {
+            this.connectionLock.unlock();
         }
     }
 
@@ -84,7 +84,7 @@ public class Client {
             connection = new RMIConnection(networkControllerMapper, serverIp, serverPort, clientIp, clientPort);
         } else {
             logger.info("Starting TCP connection with server. IP: {} on port: {}", serverIp, serverPort);
-            connection = new TCPConnection(networkControllerMapper, serverIp, serverPort);
+            connection = new TCPConnection(networkControllerMapper, serverIp, serverPort, cmd.hasOption("binary_codec"));
         }
         networkControllerMapper.setConnection(connection);
         if (cmd.hasOption(("tui"))) {
@@ -117,6 +117,7 @@ public class Client {
         options.addOption("lan", "lan", false, "Start the client in LAN mode.");
         options.addOption("l", "localhost", false, "Start the client in localhost mode");
         options.addOption("tui", "tui_mode", false, "Start the client in TUI mode.");
+        options.addOption("bc", "binary_codec", false, "Receive the messages of a TCP connection with the binary codec instead of JSON.");
         options.addOption("debug", "Start the client in debug mode.");
         options.addOption("h", "help", false, "Print this message.");
 
@@ -12,9 +12,10 @@ public interface ClientMessageHandler extends MessageHandler<ClientToServerMessa
      * Sends a message to the client.
      *
      * @param message the message to be sent
+     * @return true if the message was sent, false if sending it failed
      */
     @Override
-    void sendMessage(ClientToServerMessage message);
+    boolean sendMessage(ClientToServerMessage message);
 
     /**
      * Closes the connection to the client.
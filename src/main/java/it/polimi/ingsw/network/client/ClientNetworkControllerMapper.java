@@ -14,6 +14,7 @@ import it.polimi.ingsw.network.client.message.mainController.JoinGameClientToSer
 import it.polimi.ingsw.network.server.message.ChatServerToClientMessage;
 import it.polimi.ingsw.network.server.message.successMessage.GameRecord;
 import it.polimi.ingsw.network.virtualView.GameControllerView;
+import it.polimi.ingsw.network.virtualView.GameControllerViewDelta;
 import it.polimi.ingsw.utils.PropertyChangeNotifier;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -63,6 +64,14 @@ public class ClientNetworkControllerMapper implements ServerToClientActions, Pro
      * The view of the game controller, representing client's perspective of game state.
      */
     private GameControllerView view;
+    /**
+     * The version of the view, used to check that the changes received from the server can be applied to it.
+     */
+    private long viewVersion;
+    /**
+     * Whether the full view has been requested from the server, since the last view received.
+     */
+    private boolean isViewRequested;
     /**
      * The name of the game.
      */
@@ -76,8 +85,10 @@ public class ClientNetworkControllerMapper implements ServerToClientActions, Pro
     /**
      * Constructs a ClientNetworkControllerMapper instance.
      * Initializes necessary fields and sets up property change support.
+     * The user interface uses the singleton returned by {@link #getInstance()}, while clients running many players
+     * in the same process, such as the load generator, create a mapper for each of them.
      */
-    private ClientNetworkControllerMapper() {
+    public ClientNetworkControllerMapper() {
         listeners = new PropertyChangeSupport(this);
     }
 
@@ -278,6 +289,17 @@ public class ClientNetworkControllerMapper implements ServerToClientActions, Pro
         }
     }
 
+    /**
+     * Requests the full view of the game from the server, unless it has already been requested since the last view received.
+     * This method is private and used internally.
+     */
+    private void requestView() {
+        if (!isViewRequested && gameName != null && checkConnectionStatus()) {
+            isViewRequested = true;
+            messageHandler.sendMessage(new RequestViewClientToServerMessage(gameName, playerName));
+        }
+    }
+
     /**
      * Sends a disconnect message to the server.
      * This method is private and used internally.
@@ -327,11 +349,31 @@ public class ClientNetworkControllerMapper implements ServerToClientActions, Pro
      * Receives an updated view of the game from the server.
      *
      * @param updatedView The updated view of the game received from the server.
+     * @param version     The version of the updated view.
      */
     @Override
-    public void receiveUpdatedView(GameControllerView updatedView) {
+    public void receiveUpdatedView(GameControllerView updatedView, long version) {
         this.listeners.firePropertyChange("UPDATE_VIEW", this.view, updatedView);
         this.view = updatedView;
+        this.viewVersion = version;
+        this.isViewRequested = false;
+    }
+
+    /**
+     * Receives the changes of the view of the game since the previous version, and applies them to the current view.
+     * If they are not based on the current view, they are discarded and the full view is requested from the server,
+     * since all the changes that follow would be discarded as well.
+     *
+     * @param viewDelta The changes of the view received from the server.
+     */
+    @Override
+    public void receiveUpdatedViewDelta(GameControllerViewDelta viewDelta) {
+        if (this.view == null || viewDelta.baseVersion() != this.viewVersion) {
+            logger.warn("Received a view delta based on version {}, but the current view has version {}", viewDelta.baseVersion(), this.view == null ? null : this.viewVersion);
+            requestView();
+            return;
+        }
+        receiveUpdatedView(viewDelta.applyTo(this.view), viewDelta.version());
     }
 
     /**
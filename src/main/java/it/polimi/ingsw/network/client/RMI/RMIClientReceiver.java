@@ -6,6 +6,7 @@ import it.polimi.ingsw.network.client.actions.RMIServerToClientActions;
 import it.polimi.ingsw.network.server.message.ServerActionEnum;
 import it.polimi.ingsw.network.server.message.successMessage.GameRecord;
 import it.polimi.ingsw.network.virtualView.GameControllerView;
+import it.polimi.ingsw.network.virtualView.GameControllerViewDelta;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -82,12 +83,25 @@ public class RMIClientReceiver implements RMIServerToClientActions {
      * This method is called when the server receives an updated view message.
      *
      * @param updatedView The updated view message received from the client.
+     * @param version     The version of the updated view.
      */
     @Override
-    public void receiveUpdatedView(GameControllerView updatedView) throws RemoteException {
-        this.executor.submit(() -> clientNetworkControllerMapper.receiveUpdatedView(updatedView));
+    public void receiveUpdatedView(GameControllerView updatedView, long version) throws RemoteException {
+        this.executor.submit(() -> clientNetworkControllerMapper.receiveUpdatedView(updatedView, version));
         // Debug
-        printDebug(ServerActionEnum.UPDATE_VIEW, "view: " + updatedView.toString());
+        printDebug(ServerActionEnum.UPDATE_VIEW, "version: " + version + " view: " + updatedView.toString());
+    }
+
+    /**
+     * This method is called when the server receives the changes of the view since the previous version.
+     *
+     * @param viewDelta The changes of the view received from the client.
+     */
+    @Override
+    public void receiveUpdatedViewDelta(GameControllerViewDelta viewDelta) throws RemoteException {
+        this.executor.submit(() -> clientNetworkControllerMapper.receiveUpdatedViewDelta(viewDelta));
+        // Debug
+        printDebug(ServerActionEnum.UPDATE_VIEW_DELTA, "version: " + viewDelta.version() + " base version: " + viewDelta.baseVersion());
     }
 
     /**
@@ -60,8 +60,9 @@ public class RMIClientSender implements ClientMessageHandler, PropertyChangeNoti
      * Sends a message to the client.
      *
      * @param message the message to be sent
+     * @return true if the message was sent, false if the server could not be reached
      */
-    public void sendMessage(ClientToServerMessage message) {
+    public boolean sendMessage(ClientToServerMessage message) {
         PlayerActionEnum playerAction = message.getPlayerAction();
         try {
             switch (playerAction) {
@@ -89,13 +90,16 @@ public class RMIClientSender implements ClientMessageHandler, PropertyChangeNoti
                 case SEND_CHAT_MSG ->
                         serverStub.chatMessageSender(message.getGameName(), message.getPlayerName(), message.getMessage(), message.getRecipient(), message.getTimestamp(), message.isDirectMessage());
                 case DISCONNECT -> serverStub.disconnect(message.getGameName(), message.getPlayerName());
+                case REQUEST_VIEW -> serverStub.requestView(message.getGameName(), message.getPlayerName());
             }
         } catch (RemoteException e) {
             logger.error("RMI Server Unreachable - detected while sending message.");
             closeConnection();
+            return false;
         }
         // Debug
         logger.debug("RMI message sent: {}", message.getPlayerAction());
+        return true;
     }
 
     /**
@@ -6,13 +6,16 @@ import com.google.gson.JsonSyntaxException;
 import it.polimi.ingsw.model.card.gameCard.SerializableBooleanProperty;
 import it.polimi.ingsw.model.card.gameCard.SideGameCard;
 import it.polimi.ingsw.model.card.objectiveCard.ObjectiveCard;
+import it.polimi.ingsw.model.utils.store.GameItemStore;
 import it.polimi.ingsw.network.TCPConnectionHandler;
 import it.polimi.ingsw.network.client.ClientMessageHandler;
 import it.polimi.ingsw.network.client.ClientNetworkControllerMapper;
 import it.polimi.ingsw.network.client.message.ClientToServerMessage;
 import it.polimi.ingsw.network.client.message.adapter.ServerToClientMessageAdapter;
+import it.polimi.ingsw.network.codec.BinaryMessageCodec;
 import it.polimi.ingsw.network.server.message.ServerActionEnum;
 import it.polimi.ingsw.network.server.message.ServerToClientMessage;
+import it.polimi.ingsw.parsing.adapters.GameItemStoreAdapter;
 import it.polimi.ingsw.parsing.adapters.ObjectiveCardAdapter;
 import it.polimi.ingsw.parsing.adapters.SerializableBooleanPropertyAdapter;
 import it.polimi.ingsw.parsing.adapters.SideGameCardAdapter;
@@ -59,21 +62,42 @@ public class TCPClientAdapter implements ClientMessageHandler, PropertyChangeLis
             .registerTypeAdapter(SerializableBooleanProperty.class, new SerializableBooleanPropertyAdapter())
             .registerTypeAdapter(ServerToClientMessage.class, new ServerToClientMessageAdapter()) // Registering a type adapter for ServerToClientMessage class
             .registerTypeAdapter(SideGameCard.class, new SideGameCardAdapter()) // Registering a type adapter for SideGameCard class
+            .registerTypeAdapter(GameItemStore.class, new GameItemStoreAdapter())
             .registerTypeAdapter(ObjectiveCard.class, new ObjectiveCardAdapter()) // Registering a type adapter for ObjectiveCard class
             .create(); // Creating the Gson instance
 
     /**
      * Constructs a new TCPClientAdapter object with the specified socket and ClientNetworkControllerMapper.
+     * The messages are exchanged as JSON.
      *
      * @param socket                        the socket to be used by the TCPConnectionHandler
      * @param clientNetworkControllerMapper the clientNetworkControllerMapper to be used by the TCPClientAdapter
      */
     public TCPClientAdapter(Socket socket, ClientNetworkControllerMapper clientNetworkControllerMapper) {
+        this(socket, clientNetworkControllerMapper, false);
+    }
+
+    /**
+     * Constructs a new TCPClientAdapter object with the specified socket and ClientNetworkControllerMapper.
+     * If requested, the binary codec is negotiated with the server. Until the server accepts it, the messages are exchanged as JSON.
+     *
+     * @param socket                        the socket to be used by the TCPConnectionHandler
+     * @param clientNetworkControllerMapper the clientNetworkControllerMapper to be used by the TCPClientAdapter
+     * @param useBinaryCodec                whether to request the binary codec for the messages received from the server
+     */
+    public TCPClientAdapter(Socket socket, ClientNetworkControllerMapper clientNetworkControllerMapper, boolean useBinaryCodec) {
         this.clientNetworkControllerMapper = clientNetworkControllerMapper;
         this.serverConnectionHandler = new TCPConnectionHandler(socket);
         this.serverConnectionHandler.addPropertyChangeListener(this);
         this.serverConnectionHandler.start();
         listeners = new PropertyChangeSupport(this);
+        if (useBinaryCodec) {
+            try {
+                this.serverConnectionHandler.requestBinaryCodec();
+            } catch (IOException e) {
+                logger.error("Error requesting the binary codec: {}", e.getMessage());
+            }
+        }
     }
 
 
@@ -83,6 +107,7 @@ public class TCPClientAdapter implements ClientMessageHandler, PropertyChangeLis
      * The method handles the following property changes:
      * - "CONNECTION_CLOSED": Logs a warning that the connection with the server has been lost.
      * - "MESSAGE_RECEIVED": Calls the receiveMessage method with the new value of the property.
+     * - "FRAME_RECEIVED": Calls the receiveBinaryMessage method with the new value of the property.
      * Any other property change is considered invalid and an error is logged.
      *
      * @param evt A PropertyChangeEvent object describing the event source and the property that has changed.
@@ -96,58 +121,87 @@ public class TCPClientAdapter implements ClientMessageHandler, PropertyChangeLis
                 this.listeners.firePropertyChange("CONNECTION_CLOSED", null, null);
             }
             case "MESSAGE_RECEIVED" -> this.receiveMessage((String) evt.getNewValue());
+            case "FRAME_RECEIVED" -> this.receiveBinaryMessage((byte[]) evt.getNewValue());
             default -> logger.error("Invalid property change.");
         }
     }
 
     /**
-     * Receives a message from the server.
-     * The method deserializes the message and calls the appropriate method in the ClientNetworkControllerMapper.
-     * The method handles the following server actions:
-     * - UPDATE_VIEW: Calls the receiveUpdatedView method in the ClientNetworkControllerMapper with the view contained in the message.
-     * - DELETE_GAME: Calls the receiveGameDeleted method in the ClientNetworkControllerMapper with the successDeleteMessage contained in the message.
-     * - GET_GAMES: Calls the receiveGameList method in the ClientNetworkControllerMapper with the games contained in the message.
-     * - ERROR_MSG: Calls the receiveErrorMessage method in the ClientNetworkControllerMapper with the errorMessage contained in the message.
-     * - RECEIVE_CHAT_MSG: Calls the receiveChatMessage method in the ClientNetworkControllerMapper with the playerName, chatMessage, timestamp, and directMessage contained in the message.
-     * Any other server action is considered invalid and an error is logged.
+     * Receives a message from the server, encoded with the binary codec.
+     *
+     * @param encodedMessage the binary encoding of the message
+     */
+    private void receiveBinaryMessage(byte[] encodedMessage) {
+        logger.debug("Received binary message of {} bytes", encodedMessage.length);
+        try {
+            handleMessage(BinaryMessageCodec.decode(encodedMessage));
+        } catch (IllegalArgumentException e) {
+            logger.error("Error decoding message: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Receives a message from the server, encoded as JSON.
      *
      * @param message the message received from the server
      */
     private void receiveMessage(String message) {
         logger.debug("Received message: {}", message);
         try {
-            ServerToClientMessage receivedMessage = this.gson.fromJson(message, ServerToClientMessage.class);
-            ServerActionEnum serverAction = receivedMessage.getServerAction();
-            switch (serverAction) {
-                case UPDATE_VIEW -> clientNetworkControllerMapper.receiveUpdatedView(receivedMessage.getView());
-                case DELETE_GAME ->
-                        clientNetworkControllerMapper.receiveGameDeleted(receivedMessage.getSuccessDeleteMessage());
-                case GET_GAMES -> clientNetworkControllerMapper.receiveGameList(receivedMessage.getGames());
-                case ERROR_MSG -> clientNetworkControllerMapper.receiveErrorMessage(receivedMessage.getErrorMessage());
-                case RECEIVE_CHAT_MSG ->
-                        clientNetworkControllerMapper.receiveChatMessage(receivedMessage.getPlayerName(), receivedMessage.getChatMessage(), receivedMessage.getTimestamp(), receivedMessage.isDirectMessage());
-                default -> logger.error("Invalid action");
-            }
+            handleMessage(this.gson.fromJson(message, ServerToClientMessage.class));
         } catch (JsonSyntaxException e) {
             logger.error("Error parsing message: {}", e.getMessage());
         }
     }
 
+    /**
+     * Handles a message from the server, calling the appropriate method in the ClientNetworkControllerMapper.
+     * The method handles the following server actions:
+     * - UPDATE_VIEW: Calls the receiveUpdatedView method in the ClientNetworkControllerMapper with the view and the version contained in the message.
+     * - UPDATE_VIEW_DELTA: Calls the receiveUpdatedViewDelta method in the ClientNetworkControllerMapper with the changes contained in the message.
+     * - DELETE_GAME: Calls the receiveGameDeleted method in the ClientNetworkControllerMapper with the successDeleteMessage contained in the message.
+     * - GET_GAMES: Calls the receiveGameList method in the ClientNetworkControllerMapper with the games contained in the message.
+     * - ERROR_MSG: Calls the receiveErrorMessage method in the ClientNetworkControllerMapper with the errorMessage contained in the message.
+     * - RECEIVE_CHAT_MSG: Calls the receiveChatMessage method in the ClientNetworkControllerMapper with the playerName, chatMessage, timestamp, and directMessage contained in the message.
+     * Any other server action is considered invalid and an error is logged.
+     *
+     * @param receivedMessage the message received from the server
+     */
+    private void handleMessage(ServerToClientMessage receivedMessage) {
+        ServerActionEnum serverAction = receivedMessage.getServerAction();
+        switch (serverAction) {
+            case UPDATE_VIEW ->
+                    clientNetworkControllerMapper.receiveUpdatedView(receivedMessage.getView(), receivedMessage.getViewVersion());
+            case UPDATE_VIEW_DELTA ->
+                    clientNetworkControllerMapper.receiveUpdatedViewDelta(receivedMessage.getViewDelta());
+            case DELETE_GAME ->
+                    clientNetworkControllerMapper.receiveGameDeleted(receivedMessage.getSuccessDeleteMessage());
+            case GET_GAMES -> clientNetworkControllerMapper.receiveGameList(receivedMessage.getGames());
+            case ERROR_MSG -> clientNetworkControllerMapper.receiveErrorMessage(receivedMessage.getErrorMessage());
+            case RECEIVE_CHAT_MSG ->
+                    clientNetworkControllerMapper.receiveChatMessage(receivedMessage.getPlayerName(), receivedMessage.getChatMessage(), receivedMessage.getTimestamp(), receivedMessage.isDirectMessage());
+            default -> logger.error("Invalid action");
+        }
+    }
+
     /**
      * Sends a message to the server.
      *
      * @param message the message to be sent
+     * @return true if the message was sent, false if writing it to the connection failed
      */
     @Override
-    public void sendMessage(ClientToServerMessage message) {
+    public boolean sendMessage(ClientToServerMessage message) {
         String serializedMessage = this.gson.toJson(message);
         try {
             this.serverConnectionHandler.send(serializedMessage);
         } catch (IOException e) {
             logger.error("Error sending message: {}", e.getMessage());
+            return false;
         }
         // Debug
         logger.debug("Message sent: {}", serializedMessage);
+        return true;
     }
 
     /**
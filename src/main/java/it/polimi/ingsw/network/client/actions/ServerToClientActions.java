@@ -2,6 +2,7 @@ package it.polimi.ingsw.network.client.actions;
 
 import it.polimi.ingsw.network.server.message.successMessage.GameRecord;
 import it.polimi.ingsw.network.virtualView.GameControllerView;
+import it.polimi.ingsw.network.virtualView.GameControllerViewDelta;
 
 import java.rmi.Remote;
 import java.rmi.RemoteException;
@@ -32,8 +33,16 @@ public interface ServerToClientActions extends Remote {
      * This method is called when the server receives an updated view message.
      *
      * @param updatedView The updated view message received from the client.
+     * @param version     The version of the updated view.
      */
-    void receiveUpdatedView(GameControllerView updatedView) throws RemoteException;
+    void receiveUpdatedView(GameControllerView updatedView, long version) throws RemoteException;
+
+    /**
+     * This method is called when the server receives the changes of the view since the previous version.
+     *
+     * @param viewDelta The changes of the view received from the client.
+     */
+    void receiveUpdatedViewDelta(GameControllerViewDelta viewDelta) throws RemoteException;
 
     /**
      * This method is called when the server receives an error message.
@@ -19,6 +19,11 @@ import java.util.concurrent.TimeUnit;
  */
 public class TCPConnection extends Connection {
 
+    /**
+     * Whether to request the binary codec to the server.
+     */
+    private final boolean useBinaryCodec;
+
     /**
      * Constructor for the TCPConnection class.
      *
@@ -27,7 +32,20 @@ public class TCPConnection extends Connection {
      * @param serverPort              The port number of the server to connect to.
      */
     public TCPConnection(ClientNetworkControllerMapper networkControllerMapper, String serverIp, int serverPort) {
+        this(networkControllerMapper, serverIp, serverPort, false);
+    }
+
+    /**
+     * Constructor for the TCPConnection class.
+     *
+     * @param networkControllerMapper The ClientNetworkControllerMapper object that is used to map network controllers.
+     * @param serverIp                The IP address of the server to connect to.
+     * @param serverPort              The port number of the server to connect to.
+     * @param useBinaryCodec          Whether to request the binary codec to the server. JSON is used if the server does not accept it.
+     */
+    public TCPConnection(ClientNetworkControllerMapper networkControllerMapper, String serverIp, int serverPort, boolean useBinaryCodec) {
         super(networkControllerMapper, serverIp, serverPort);
+        this.useBinaryCodec = useBinaryCodec;
         logger = LogManager.getLogger(TCPConnection.class);
     }
 
@@ -54,7 +72,7 @@ public class TCPConnection extends Connection {
                 Socket serverSocket = new Socket();
                 serverSocket.connect(new InetSocketAddress(serverIp, serverPort), 5000);
                 // Pass the mapper to the TCPAdapter in order to be notified when messages arrive.
-                TCPClientAdapter clientAdapter = new TCPClientAdapter(serverSocket, networkControllerMapper);
+                TCPClientAdapter clientAdapter = new TCPClientAdapter(serverSocket, networkControllerMapper, useBinaryCodec);
                 clientAdapter.addPropertyChangeListener(this);
                 // Pass the TCPAdapter to the mapper in order to send messages
                 networkControllerMapper.setMessageHandler(clientAdapter);
@@ -66,5 +66,9 @@ public enum PlayerActionEnum {
     /**
      * Represents a request to disconnect this client from the server.
      */
-    DISCONNECT
+    DISCONNECT,
+    /**
+     * Represents a request for the full view of the game, when the client can no longer apply the changes it receives.
+     */
+    REQUEST_VIEW
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import it.polimi.ingsw.network.server.message.ErrorServerToClientMessage;
 import it.polimi.ingsw.network.server.message.ServerToClientMessage;
 import it.polimi.ingsw.network.server.message.successMessage.DeleteGameServerToClientMessage;
 import it.polimi.ingsw.network.server.message.successMessage.GetGamesServerToClientMessage;
+import it.polimi.ingsw.network.server.message.successMessage.UpdateViewDeltaServerToClientMessage;
 import it.polimi.ingsw.network.server.message.successMessage.UpdateViewServerToClientMessage;
 
 import java.lang.reflect.Type;
@@ -35,6 +36,7 @@ public class ServerToClientMessageAdapter implements JsonDeserializer<ServerToCl
         // We decide which is the class type of the side
         switch (serverMessageType) {
             case "UPDATE_VIEW" -> serverMessageTypeClass = UpdateViewServerToClientMessage.class;
+            case "UPDATE_VIEW_DELTA" -> serverMessageTypeClass = UpdateViewDeltaServerToClientMessage.class;
             case "DELETE_GAME" -> serverMessageTypeClass = DeleteGameServerToClientMessage.class;
             case "GET_GAMES" -> serverMessageTypeClass = GetGamesServerToClientMessage.class;
             case "ERROR_MSG" -> serverMessageTypeClass = ErrorServerToClientMessage.class;
@@ -0,0 +1,35 @@
+package it.polimi.ingsw.network.client.message.gameController;
+
+import it.polimi.ingsw.network.client.message.ClientToServerMessage;
+import it.polimi.ingsw.network.client.message.PlayerActionEnum;
+
+/**
+ * This class extends the GameControllerClientMessage class and represents a specific type of in-game client message: a request for the full view of the game.
+ * It is sent when the client receives changes of the view that are not based on its current view, so it can no longer apply them.
+ */
+public class RequestViewClientToServerMessage extends ClientToServerMessage {
+    /**
+     * Constructor for RequestViewClientToServerMessage.
+     * Initializes the player action with the REQUEST_VIEW value, and sets the game name and player name.
+     *
+     * @param gameName   The name of the game. This cannot be null.
+     * @param playerName The name of the player requesting the view. This cannot be null.
+     */
+    public RequestViewClientToServerMessage(String gameName, String playerName) {
+        super(PlayerActionEnum.REQUEST_VIEW, gameName, playerName);
+    }
+
+    /**
+     * Overrides the equals method from the Object class.
+     * Checks if the object passed as parameter is equal to the current instance.
+     *
+     * @param o The object to compare with the current instance.
+     * @return true if the objects are equal, false otherwise.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RequestViewClientToServerMessage)) return false;
+        return super.equals(o);
+    }
+}
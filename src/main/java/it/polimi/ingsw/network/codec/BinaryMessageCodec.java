@@ -0,0 +1,532 @@
+package it.polimi.ingsw.network.codec;
+
+import it.polimi.ingsw.controller.GameStatusEnum;
+import it.polimi.ingsw.model.card.GameItemEnum;
+import it.polimi.ingsw.model.card.corner.Corner;
+import it.polimi.ingsw.model.card.corner.CornerPosition;
+import it.polimi.ingsw.model.card.gameCard.GameCard;
+import it.polimi.ingsw.model.card.objectiveCard.ObjectiveCard;
+import it.polimi.ingsw.model.player.PlayerColorEnum;
+import it.polimi.ingsw.model.utils.Coordinate;
+import it.polimi.ingsw.model.utils.store.GameItemStore;
+import it.polimi.ingsw.network.server.message.ChatServerToClientMessage;
+import it.polimi.ingsw.network.server.message.ErrorServerToClientMessage;
+import it.polimi.ingsw.network.server.message.ServerActionEnum;
+import it.polimi.ingsw.network.server.message.ServerToClientMessage;
+import it.polimi.ingsw.network.server.message.successMessage.*;
+import it.polimi.ingsw.network.virtualView.*;
+import it.polimi.ingsw.parsing.CardCatalog;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * The BinaryMessageCodec class encodes the messages from the server to the client in a compact binary format.
+ * The static data of the cards is read from CardDB.json on both ends, so a card is sent as its id and its mutable state only:
+ * whether it is flipped, which corners of its current side are covered and its placement index.
+ * Objective cards have no mutable state, so they are sent as their id.
+ * Lists, maps and optional values are preceded by their size plus one, or by 0 if they are null.
+ */
+public final class BinaryMessageCodec {
+    /**
+     * The corner positions, in the order of their bits in the state of a card.
+     */
+    private static final CornerPosition[] CORNER_POSITIONS = CornerPosition.values();
+
+    /**
+     * The game items, in the order they are written in a store.
+     */
+    private static final GameItemEnum[] GAME_ITEMS = GameItemEnum.values();
+
+    /**
+     * This class is not meant to be instantiated.
+     */
+    private BinaryMessageCodec() {
+    }
+
+    /**
+     * Encodes a message from the server to the client.
+     *
+     * @param message the message to encode.
+     * @return the binary encoding of the message.
+     * @throws IllegalArgumentException if the action of the message is not supported.
+     */
+    public static byte[] encode(ServerToClientMessage message) {
+        BinaryWriter writer = new BinaryWriter();
+        ServerActionEnum serverAction = message.getServerAction();
+        writer.writeEnum(serverAction);
+        switch (serverAction) {
+            case UPDATE_VIEW -> {
+                writer.writeVarLong(message.getViewVersion());
+                writeGameControllerView(writer, message.getView());
+            }
+            case UPDATE_VIEW_DELTA -> writeGameControllerViewDelta(writer, message.getViewDelta());
+            case DELETE_GAME -> {
+                // The message of a deleted game is always the same, so it is not sent.
+            }
+            case GET_GAMES -> writeList(writer, message.getGames(), game -> {
+                writer.writeString(game.gameName());
+                writer.writeVarInt(game.joinedPlayers());
+                writer.writeVarInt(game.maxAllowedPlayers());
+            });
+            case ERROR_MSG -> writer.writeString(message.getErrorMessage());
+            case RECEIVE_CHAT_MSG -> {
+                writer.writeString(message.getPlayerName());
+                writer.writeString(message.getChatMessage());
+                writer.writeVarLong(message.getTimestamp());
+                writer.writeBoolean(message.isDirectMessage());
+            }
+            default -> throw new IllegalArgumentException("Unsupported server action: " + serverAction);
+        }
+        return writer.toByteArray();
+    }
+
+    /**
+     * Decodes a message from the server to the client.
+     *
+     * @param encodedMessage the binary encoding of the message.
+     * @return the decoded message.
+     * @throws IllegalArgumentException if the message is malformed.
+     */
+    public static ServerToClientMessage decode(byte[] encodedMessage) {
+        BinaryReader reader = new BinaryReader(encodedMessage);
+        ServerActionEnum serverAction = reader.readEnum(ServerActionEnum.values());
+        if (serverAction == null) {
+            throw new IllegalArgumentException("Missing server action");
+        }
+        ServerToClientMessage message = switch (serverAction) {
+            case UPDATE_VIEW -> {
+                long viewVersion = reader.readVarLong();
+                yield new UpdateViewServerToClientMessage(readGameControllerView(reader), viewVersion);
+            }
+            case UPDATE_VIEW_DELTA -> new UpdateViewDeltaServerToClientMessage(readGameControllerViewDelta(reader));
+            case DELETE_GAME -> new DeleteGameServerToClientMessage();
+            case GET_GAMES ->
+                    new GetGamesServerToClientMessage(readList(reader, () -> new GameRecord(reader.readString(), reader.readVarInt(), reader.readVarInt())));
+            case ERROR_MSG -> new ErrorServerToClientMessage(reader.readString());
+            case RECEIVE_CHAT_MSG ->
+                    new ChatServerToClientMessage(reader.readString(), reader.readString(), reader.readVarLong(), reader.readBoolean());
+        };
+        if (!reader.isFullyRead()) {
+            throw new IllegalArgumentException("Unexpected bytes after the message");
+        }
+        return message;
+    }
+
+    /*
+     * ***************************************
+     * VIEWS
+     * ***************************************/
+
+    /**
+     * Writes the view of a game controller.
+     *
+     * @param writer the writer.
+     * @param view   the view.
+     */
+    private static void writeGameControllerView(BinaryWriter writer, GameControllerView view) {
+        writeGameView(writer, view.gameView());
+        writer.writeEnum(view.gameStatus());
+        writer.writeBoolean(view.isLastRound());
+        writer.writeSignedVarInt(view.remainingRoundsToEndGame());
+    }
+
+    /**
+     * Reads the view of a game controller.
+     *
+     * @param reader the reader.
+     * @return the view.
+     */
+    private static GameControllerView readGameControllerView(BinaryReader reader) {
+        return new GameControllerView(readGameView(reader), reader.readEnum(GameStatusEnum.values()), reader.readBoolean(), reader.readSignedVarInt());
+    }
+
+    /**
+     * Writes the view of a game.
+     *
+     * @param writer   the writer.
+     * @param gameView the view of the game.
+     */
+    private static void writeGameView(BinaryWriter writer, GameView gameView) {
+        writer.writeString(gameView.gameName());
+        writer.writeString(gameView.currentPlayer());
+        writeOptional(writer, gameView.globalBoardView(), globalBoardView -> writeGlobalBoardView(writer, globalBoardView));
+        writeList(writer, gameView.playerViews(), playerView -> writePlayerView(writer, playerView));
+        writeList(writer, gameView.winners(), writer::writeString);
+        writeList(writer, gameView.availablePlayerColors(), writer::writeEnum);
+    }
+
+    /**
+     * Reads the view of a game.
+     *
+     * @param reader the reader.
+     * @return the view of the game.
+     */
+    private static GameView readGameView(BinaryReader reader) {
+        return new GameView(reader.readString(), reader.readString(),
+                readOptional(reader, () -> readGlobalBoardView(reader)),
+                readList(reader, () -> readPlayerView(reader)),
+                readList(reader, reader::readString),
+                readList(reader, () -> reader.readEnum(PlayerColorEnum.values())));
+    }
+
+    /**
+     * Writes the view of the global board.
+     *
+     * @param writer          the writer.
+     * @param globalBoardView the view of the global board.
+     */
+    private static void writeGlobalBoardView(BinaryWriter writer, GlobalBoardView globalBoardView) {
+        writeGameCard(writer, globalBoardView.goldFirstCard());
+        writeGameCard(writer, globalBoardView.resourceFirstCard());
+        writeList(writer, globalBoardView.fieldGoldCards(), card -> writeGameCard(writer, card));
+        writeList(writer, globalBoardView.fieldResourceCards(), card -> writeGameCard(writer, card));
+        writeList(writer, globalBoardView.globalObjectives(), card -> writeObjectiveCard(writer, card));
+    }
+
+    /**
+     * Reads the view of the global board.
+     *
+     * @param reader the reader.
+     * @return the view of the global board.
+     */
+    private static GlobalBoardView readGlobalBoardView(BinaryReader reader) {
+        return new GlobalBoardView(readGameCard(reader), readGameCard(reader),
+                readList(reader, () -> readGameCard(reader)),
+                readList(reader, () -> readGameCard(reader)),
+                readList(reader, () -> readObjectiveCard(reader)));
+    }
+
+    /**
+     * Writes the view of a player.
+     *
+     * @param writer     the writer.
+     * @param playerView the view of the player.
+     */
+    private static void writePlayerView(BinaryWriter writer, PlayerView playerView) {
+        writer.writeString(playerView.playerName());
+        writer.writeEnum(playerView.color());
+        writer.writeSignedVarInt(playerView.playerPos());
+        writeObjectiveCard(writer, playerView.objectiveCard());
+        writeList(writer, playerView.choosableObjectives(), card -> writeObjectiveCard(writer, card));
+        writer.writeBoolean(playerView.isConnected());
+        writeGameCard(writer, playerView.starterCard());
+        writeOptional(writer, playerView.playerHandView(), playerHandView -> writeList(writer, playerHandView.hand(), card -> writeGameCard(writer, card)));
+        writeOptional(writer, playerView.playerBoardView(), playerBoardView -> {
+            writePlayerBoard(writer, playerBoardView.playerBoard());
+            writeGameItemStore(writer, playerBoardView.gameItemStore());
+            writeCoordinates(writer, playerBoardView.availablePositions());
+        });
+    }
+
+    /**
+     * Reads the view of a player.
+     *
+     * @param reader the reader.
+     * @return the view of the player.
+     */
+    private static PlayerView readPlayerView(BinaryReader reader) {
+        return new PlayerView(reader.readString(), reader.readEnum(PlayerColorEnum.values()), reader.readSignedVarInt(),
+                readObjectiveCard(reader),
+                readList(reader, () -> readObjectiveCard(reader)),
+                reader.readBoolean(),
+                readGameCard(reader),
+                readOptional(reader, () -> new PlayerHandView(readList(reader, () -> readGameCard(reader)))),
+                readOptional(reader, () -> new PlayerBoardView(readPlayerBoard(reader), readGameItemStore(reader), readCoordinates(reader))));
+    }
+
+    /**
+     * Writes the changes of the view of a game controller.
+     *
+     * @param writer    the writer.
+     * @param viewDelta the changes of the view.
+     */
+    private static void writeGameControllerViewDelta(BinaryWriter writer, GameControllerViewDelta viewDelta) {
+        writer.writeVarLong(viewDelta.version());
+        writer.writeVarLong(viewDelta.baseVersion());
+        writer.writeEnum(viewDelta.gameStatus());
+        writer.writeBoolean(viewDelta.isLastRound());
+        writer.writeSignedVarInt(viewDelta.remainingRoundsToEndGame());
+        writer.writeString(viewDelta.currentPlayer());
+        writeList(writer, viewDelta.winners(), writer::writeString);
+        writeList(writer, viewDelta.availablePlayerColors(), writer::writeEnum);
+        writeOptional(writer, viewDelta.globalBoardView(), globalBoardView -> writeGlobalBoardView(writer, globalBoardView));
+        writeList(writer, viewDelta.playerViewDeltas(), playerViewDelta -> writePlayerViewDelta(writer, playerViewDelta));
+    }
+
+    /**
+     * Reads the changes of the view of a game controller.
+     *
+     * @param reader the reader.
+     * @return the changes of the view.
+     */
+    private static GameControllerViewDelta readGameControllerViewDelta(BinaryReader reader) {
+        return new GameControllerViewDelta(reader.readVarLong(), reader.readVarLong(), reader.readEnum(GameStatusEnum.values()),
+                reader.readBoolean(), reader.readSignedVarInt(), reader.readString(),
+                readList(reader, reader::readString),
+                readList(reader, () -> reader.readEnum(PlayerColorEnum.values())),
+                readOptional(reader, () -> readGlobalBoardView(reader)),
+                readList(reader, () -> readPlayerViewDelta(reader)));
+    }
+
+    /**
+     * Writes the changes of the view of a player.
+     *
+     * @param writer          the writer.
+     * @param playerViewDelta the changes of the view of the player.
+     */
+    private static void writePlayerViewDelta(BinaryWriter writer, PlayerViewDelta playerViewDelta) {
+        writer.writeString(playerViewDelta.playerName());
+        writer.writeEnum(playerViewDelta.color());
+        writer.writeSignedVarInt(playerViewDelta.playerPos());
+        writeObjectiveCard(writer, playerViewDelta.objectiveCard());
+        writeList(writer, playerViewDelta.choosableObjectives(), card -> writeObjectiveCard(writer, card));
+        writer.writeBoolean(playerViewDelta.isConnected());
+        writeGameCard(writer, playerViewDelta.starterCard());
+        writeOptional(writer, playerViewDelta.playerHandView(), playerHandView -> writeList(writer, playerHandView.hand(), card -> writeGameCard(writer, card)));
+        writeOptional(writer, playerViewDelta.placedCards(), placedCards -> writePlayerBoard(writer, placedCards));
+        writeOptional(writer, playerViewDelta.gameItemStore(), gameItemStore -> writeGameItemStore(writer, gameItemStore));
+        writeCoordinates(writer, playerViewDelta.availablePositions());
+    }
+
+    /**
+     * Reads the changes of the view of a player.
+     *
+     * @param reader the reader.
+     * @return the changes of the view of the player.
+     */
+    private static PlayerViewDelta readPlayerViewDelta(BinaryReader reader) {
+        return new PlayerViewDelta(reader.readString(), reader.readEnum(PlayerColorEnum.values()), reader.readSignedVarInt(),
+                readObjectiveCard(reader),
+                readList(reader, () -> readObjectiveCard(reader)),
+                reader.readBoolean(),
+                readGameCard(reader),
+                readOptional(reader, () -> new PlayerHandView(readList(reader, () -> readGameCard(reader)))),
+                readOptional(reader, () -> readPlayerBoard(reader)),
+                readOptional(reader, () -> readGameItemStore(reader)),
+                readCoordinates(reader));
+    }
+
+    /*
+     * ***************************************
+     * CARDS AND BOARDS
+     * ***************************************/
+
+    /**
+     * Writes a game card as its id followed by its mutable state.
+     * Placing a card only covers the corners of the current side of its neighbours, so the covered corners of the other side are not sent.
+     *
+     * @param writer the writer.
+     * @param card   the card, or null.
+     */
+    private static void writeGameCard(BinaryWriter writer, GameCard card) {
+        if (card == null) {
+            writer.writeVarInt(0);
+            return;
+        }
+        writer.writeVarInt(card.getCardId() + 1);
+        int state = card.isFlipped() ? 1 : 0;
+        for (int i = 0; i < CORNER_POSITIONS.length; i++) {
+            if (card.getCorner(CORNER_POSITIONS[i]).map(Corner::isCovered).orElse(false)) {
+                state |= 1 << (i + 1);
+            }
+        }
+        writer.writeVarInt(state);
+        writer.writeSignedVarInt(card.getPlacementIndex());
+    }
+
+    /**
+     * Reads a game card, copying its static data from the card catalog and then applying its mutable state.
+     *
+     * @param reader the reader.
+     * @return the card, or null.
+     */
+    private static GameCard readGameCard(BinaryReader reader) {
+        int cardId = reader.readVarInt() - 1;
+        if (cardId < 0) {
+            return null;
+        }
+        GameCard card = CardCatalog.getInstance().getGameCard(cardId);
+        int state = reader.readVarInt();
+        card.setFlipped((state & 1) != 0);
+        for (int i = 0; i < CORNER_POSITIONS.length; i++) {
+            if ((state & (1 << (i + 1))) != 0) {
+                card.setCornerCovered(CORNER_POSITIONS[i]);
+            }
+        }
+        card.setPlacementIndex(reader.readSignedVarInt());
+        return card;
+    }
+
+    /**
+     * Writes an objective card as its id.
+     *
+     * @param writer the writer.
+     * @param card   the card, or null.
+     */
+    private static void writeObjectiveCard(BinaryWriter writer, ObjectiveCard card) {
+        writer.writeVarInt(card == null ? 0 : card.getCardId() + 1);
+    }
+
+    /**
+     * Reads an objective card from the card catalog.
+     *
+     * @param reader the reader.
+     * @return the card, or null.
+     */
+    private static ObjectiveCard readObjectiveCard(BinaryReader reader) {
+        int cardId = reader.readVarInt() - 1;
+        return cardId < 0 ? null : CardCatalog.getInstance().getObjectiveCard(cardId);
+    }
+
+    /**
+     * Writes the cards of a board with their coordinates.
+     *
+     * @param writer      the writer.
+     * @param playerBoard the cards of the board.
+     */
+    private static void writePlayerBoard(BinaryWriter writer, Map<Coordinate, GameCard> playerBoard) {
+        writer.writeVarInt(playerBoard.size());
+        playerBoard.forEach((coordinate, card) -> {
+            writer.writeSignedVarInt(coordinate.x);
+            writer.writeSignedVarInt(coordinate.y);
+            writeGameCard(writer, card);
+        });
+    }
+
+    /**
+     * Reads the cards of a board with their coordinates.
+     *
+     * @param reader the reader.
+     * @return the cards of the board.
+     */
+    private static HashMap<Coordinate, GameCard> readPlayerBoard(BinaryReader reader) {
+        int size = reader.readVarInt();
+        HashMap<Coordinate, GameCard> playerBoard = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            Coordinate coordinate = new Coordinate(reader.readSignedVarInt(), reader.readSignedVarInt());
+            playerBoard.put(coordinate, readGameCard(reader));
+        }
+        return playerBoard;
+    }
+
+    /**
+     * Writes a set of coordinates.
+     *
+     * @param writer      the writer.
+     * @param coordinates the coordinates, or null.
+     */
+    private static void writeCoordinates(BinaryWriter writer, Set<Coordinate> coordinates) {
+        writeList(writer, coordinates, coordinate -> {
+            writer.writeSignedVarInt(coordinate.x);
+            writer.writeSignedVarInt(coordinate.y);
+        });
+    }
+
+    /**
+     * Reads a set of coordinates.
+     *
+     * @param reader the reader.
+     * @return the coordinates, or null.
+     */
+    private static HashSet<Coordinate> readCoordinates(BinaryReader reader) {
+        ArrayList<Coordinate> coordinates = readList(reader, () -> new Coordinate(reader.readSignedVarInt(), reader.readSignedVarInt()));
+        return coordinates == null ? null : new HashSet<>(coordinates);
+    }
+
+    /**
+     * Writes the amount of every game item of a store.
+     *
+     * @param writer        the writer.
+     * @param gameItemStore the store.
+     */
+    private static void writeGameItemStore(BinaryWriter writer, GameItemStore gameItemStore) {
+        for (GameItemEnum gameItem : GAME_ITEMS) {
+            writer.writeSignedVarInt(gameItemStore.get(gameItem));
+        }
+    }
+
+    /**
+     * Reads the amount of every game item of a store.
+     *
+     * @param reader the reader.
+     * @return the store.
+     */
+    private static GameItemStore readGameItemStore(BinaryReader reader) {
+        GameItemStore gameItemStore = new GameItemStore();
+        for (GameItemEnum gameItem : GAME_ITEMS) {
+            gameItemStore.set(gameItem, reader.readSignedVarInt());
+        }
+        return gameItemStore;
+    }
+
+    /*
+     * ***************************************
+     * CONTAINERS
+     * ***************************************/
+
+    /**
+     * Writes a collection as its size plus one followed by its elements, or 0 if it is null.
+     *
+     * @param writer        the writer.
+     * @param collection    the collection, or null.
+     * @param elementWriter the function writing an element.
+     * @param <T>           the type of the elements.
+     */
+    private static <T> void writeList(BinaryWriter writer, Collection<T> collection, Consumer<T> elementWriter) {
+        if (collection == null) {
+            writer.writeVarInt(0);
+            return;
+        }
+        writer.writeVarInt(collection.size() + 1);
+        collection.forEach(elementWriter);
+    }
+
+    /**
+     * Reads a collection written by writeList.
+     *
+     * @param reader        the reader.
+     * @param elementReader the function reading an element.
+     * @param <T>           the type of the elements.
+     * @return the elements, or null.
+     */
+    private static <T> ArrayList<T> readList(BinaryReader reader, Supplier<T> elementReader) {
+        int size = reader.readVarInt() - 1;
+        if (size < 0) {
+            return null;
+        }
+        ArrayList<T> list = new ArrayList<>(Math.min(size, 64));
+        for (int i = 0; i < size; i++) {
+            list.add(elementReader.get());
+        }
+        return list;
+    }
+
+    /**
+     * Writes a presence flag followed by the value if it is not null.
+     *
+     * @param writer      the writer.
+     * @param value       the value, or null.
+     * @param valueWriter the function writing the value.
+     * @param <T>         the type of the value.
+     */
+    private static <T> void writeOptional(BinaryWriter writer, T value, Consumer<T> valueWriter) {
+        writer.writeBoolean(value != null);
+        if (value != null) {
+            valueWriter.accept(value);
+        }
+    }
+
+    /**
+     * Reads a value written by writeOptional.
+     *
+     * @param reader      the reader.
+     * @param valueReader the function reading the value.
+     * @param <T>         the type of the value.
+     * @return the value, or null.
+     */
+    private static <T> T readOptional(BinaryReader reader, Supplier<T> valueReader) {
+        return reader.readBoolean() ? valueReader.get() : null;
+    }
+}
@@ -0,0 +1,137 @@
+package it.polimi.ingsw.network.codec;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The BinaryReader class reads the fields of a message written by a BinaryWriter.
+ * The fields must be read in the same order they were written.
+ */
+public class BinaryReader {
+    /**
+     * The bytes of the message.
+     */
+    private final byte[] buffer;
+
+    /**
+     * The position of the next byte to read.
+     */
+    private int position;
+
+    /**
+     * Constructs a new BinaryReader of the given bytes.
+     *
+     * @param buffer the bytes of the message.
+     */
+    public BinaryReader(byte[] buffer) {
+        this.buffer = buffer;
+        this.position = 0;
+    }
+
+    /**
+     * Reads a single byte.
+     *
+     * @return the byte read, between 0 and 255.
+     * @throws IllegalArgumentException if the message has ended.
+     */
+    public int readByte() {
+        if (position >= buffer.length) {
+            throw new IllegalArgumentException("Truncated message");
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    /**
+     * Reads a boolean written as a single byte.
+     *
+     * @return the boolean read.
+     */
+    public boolean readBoolean() {
+        return readByte() != 0;
+    }
+
+    /**
+     * Reads a non-negative integer written as a varint.
+     *
+     * @return the integer read.
+     * @throws IllegalArgumentException if the varint does not fit in a non-negative integer.
+     */
+    public int readVarInt() {
+        long value = readVarLong();
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Varint out of range: " + value);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Reads a signed integer written as a zigzag encoded varint.
+     *
+     * @return the integer read.
+     */
+    public int readSignedVarInt() {
+        int value = (int) readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Reads a long written as a varint.
+     *
+     * @return the long read.
+     * @throws IllegalArgumentException if the varint is longer than 10 bytes.
+     */
+    public long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    /**
+     * Reads a string written by BinaryWriter.writeString.
+     *
+     * @return the string read, or null.
+     * @throws IllegalArgumentException if the message has ended.
+     */
+    public String readString() {
+        if (!readBoolean()) {
+            return null;
+        }
+        int length = readVarInt();
+        if (length > buffer.length - position) {
+            throw new IllegalArgumentException("Truncated message");
+        }
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    /**
+     * Reads an enum constant written by BinaryWriter.writeEnum.
+     *
+     * @param values the constants of the enum, as returned by its values method.
+     * @param <E>    the type of the enum.
+     * @return the enum constant read, or null.
+     * @throws IllegalArgumentException if the ordinal is out of range.
+     */
+    public <E extends Enum<E>> E readEnum(E[] values) {
+        int ordinal = readVarInt();
+        if (ordinal > values.length) {
+            throw new IllegalArgumentException("Unknown enum ordinal: " + (ordinal - 1));
+        }
+        return ordinal == 0 ? null : values[ordinal - 1];
+    }
+
+    /**
+     * Checks whether the whole message has been read.
+     *
+     * @return true if there are no bytes left to read.
+     */
+    public boolean isFullyRead() {
+        return position == buffer.length;
+    }
+}
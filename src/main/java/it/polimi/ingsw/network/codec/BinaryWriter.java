@@ -0,0 +1,130 @@
+package it.polimi.ingsw.network.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The BinaryWriter class writes the fields of a message to a growable byte array.
+ * Integers are written as varints: 7 bits per byte, least significant group first, with the high bit set on all the bytes but the last.
+ * Signed integers are zigzag encoded first, so that small negative values are short too.
+ */
+public class BinaryWriter {
+    /**
+     * The written bytes. Only the first size bytes are valid.
+     */
+    private byte[] buffer;
+
+    /**
+     * The number of written bytes.
+     */
+    private int size;
+
+    /**
+     * Constructs a new BinaryWriter with an empty buffer.
+     */
+    public BinaryWriter() {
+        this.buffer = new byte[256];
+        this.size = 0;
+    }
+
+    /**
+     * Ensures that the buffer can hold the given number of additional bytes.
+     *
+     * @param additional the number of bytes that will be written.
+     */
+    private void ensureCapacity(int additional) {
+        if (size + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + additional));
+        }
+    }
+
+    /**
+     * Writes a single byte.
+     *
+     * @param value the byte to write.
+     */
+    public void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) value;
+    }
+
+    /**
+     * Writes a boolean as a single byte.
+     *
+     * @param value the boolean to write.
+     */
+    public void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+
+    /**
+     * Writes a non-negative integer as a varint.
+     *
+     * @param value the integer to write.
+     * @throws IllegalArgumentException if the integer is negative.
+     */
+    public void writeVarInt(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative varint: " + value);
+        }
+        writeVarLong(value);
+    }
+
+    /**
+     * Writes a signed integer as a zigzag encoded varint.
+     *
+     * @param value the integer to write.
+     */
+    public void writeSignedVarInt(int value) {
+        writeVarLong(Integer.toUnsignedLong((value << 1) ^ (value >> 31)));
+    }
+
+    /**
+     * Writes a long as a varint. Negative values are written as unsigned, so they take 10 bytes.
+     *
+     * @param value the long to write.
+     */
+    public void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+    }
+
+    /**
+     * Writes a string as a presence flag, followed by its length in bytes and its UTF-8 encoding if it is not null.
+     *
+     * @param value the string to write, or null.
+     */
+    public void writeString(String value) {
+        writeBoolean(value != null);
+        if (value == null) {
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    /**
+     * Writes an enum constant as its ordinal, or 0 if it is null.
+     *
+     * @param value the enum constant to write, or null.
+     */
+    public void writeEnum(Enum<?> value) {
+        writeVarInt(value == null ? 0 : value.ordinal() + 1);
+    }
+
+    /**
+     * Returns the written bytes.
+     *
+     * @return a new array with the written bytes.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+}
@@ -0,0 +1,107 @@
+package it.polimi.ingsw.network.server;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The GameActor class is the mailbox of a single game.
+ * Commands are enqueued without blocking and executed one at a time, in the order they were received, on a virtual thread.
+ * No thread is held while the mailbox is empty, so an idle game costs no thread at all and a busy game costs exactly one.
+ */
+public class GameActor implements Executor {
+
+    /**
+     * The logger.
+     */
+    private static final Logger logger = LogManager.getLogger(GameActor.class);
+
+    /**
+     * The executor used to run the mailboxes, shared by all the games. It starts a new virtual thread for each drain.
+     */
+    private static final ExecutorService mailboxExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("game-actor-", 0).factory());
+
+    /**
+     * The name of the game owning the actor.
+     */
+    private final String gameName;
+
+    /**
+     * The commands waiting to be executed.
+     */
+    private final ConcurrentLinkedQueue<Runnable> mailbox;
+
+    /**
+     * Whether a drain of the mailbox is scheduled or running.
+     */
+    private final AtomicBoolean scheduled;
+
+    /**
+     * Constructs a new GameActor for the specified game.
+     *
+     * @param gameName the name of the game
+     */
+    public GameActor(String gameName) {
+        this.gameName = gameName;
+        this.mailbox = new ConcurrentLinkedQueue<>();
+        this.scheduled = new AtomicBoolean(false);
+    }
+
+    /**
+     * Enqueues a command. It will be executed after all the commands enqueued before it.
+     *
+     * @param command the command to be executed
+     * @throws NullPointerException if command is null
+     */
+    @Override
+    public void execute(Runnable command) {
+        mailbox.add(Objects.requireNonNull(command, "command cannot be null"));
+        schedule();
+    }
+
+    /**
+     * Starts a drain of the mailbox if none is scheduled or running.
+     */
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                mailboxExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Executes the commands in the mailbox until it is empty.
+     * An exception thrown by a command is logged and does not prevent the next commands from being executed.
+     * An error thrown by a command ends the drain, but the next commands are executed by a new one.
+     */
+    private void drain() {
+        try {
+            Runnable command;
+            while ((command = mailbox.poll()) != null) {
+                try {
+                    command.run();
+                } catch (RuntimeException e) {
+                    logger.error("Error while executing a command of game {}: {}", gameName, e.getMessage(), e);
+                }
+            }
+        } finally {
+            scheduled.set(false);
+            // A command may have been enqueued after the last poll but before the flag was reset,
+            // or the drain may have been ended by an error with commands still in the mailbox.
+            if (!mailbox.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
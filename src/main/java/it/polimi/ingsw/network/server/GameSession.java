@@ -0,0 +1,207 @@
+package it.polimi.ingsw.network.server;
+
+import it.polimi.ingsw.utils.SchedulerService;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The GameSession class holds the network state of a single game: the connections of its players, the timer that deletes the game,
+ * the actor that executes the actions received for the game and the versions of the view sent to the players.
+ * Each session also holds the lock used to serialize the operations on its game, so actions on different games never contend.
+ * Since the actions of a game are executed one at a time by its actor, the lock is only contended by timers.
+ * It is a ReentrantLock rather than the monitor of the session: the actions send messages while holding it,
+ * and a virtual thread blocked on a socket or an RMI call inside a synchronized block would pin its carrier thread.
+ * The connections can be read without holding the lock, while they must be modified only while holding it.
+ */
+public class GameSession {
+
+    /**
+     * The name of the game.
+     */
+    private final String gameName;
+
+    /**
+     * A map that associates player names with their ServerMessageHandler.
+     */
+    private final ConcurrentHashMap<String, ServerMessageHandler> connections;
+
+    /**
+     * The actor that executes the actions received for the game.
+     */
+    private final GameActor actor;
+
+    /**
+     * The tracker of the versions of the view of the game.
+     */
+    private final ViewDeltaTracker viewDeltaTracker;
+
+    /**
+     * The lock serializing the operations on the game.
+     */
+    private final ReentrantLock lock;
+
+    /**
+     * The timer that will delete the game if there is only one player left in it, or null if there is none.
+     */
+    private SchedulerService.ScheduledTask deleteGameTimer;
+
+    /**
+     * Whether the session has been closed because its game was deleted.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Constructs a new GameSession for the specified game.
+     *
+     * @param gameName the name of the game
+     */
+    public GameSession(String gameName) {
+        this.gameName = gameName;
+        this.connections = new ConcurrentHashMap<>();
+        this.actor = new GameActor(gameName);
+        this.viewDeltaTracker = new ViewDeltaTracker();
+        this.lock = new ReentrantLock();
+    }
+
+    /**
+     * Acquires the lock of the game, waiting for it if another thread holds it. The lock is reentrant.
+     */
+    public void lock() {
+        lock.lock();
+    }
+
+    /**
+     * Releases the lock of the game.
+     *
+     * @throws IllegalMonitorStateException if the current thread does not hold the lock
+     */
+    public void unlock() {
+        lock.unlock();
+    }
+
+    /**
+     * Returns the name of the game.
+     *
+     * @return the name of the game
+     */
+    public String getGameName() {
+        return gameName;
+    }
+
+    /**
+     * Returns the actor that executes the actions received for the game.
+     *
+     * @return the actor of the game
+     */
+    public GameActor getActor() {
+        return actor;
+    }
+
+    /**
+     * Returns the tracker of the versions of the view of the game.
+     *
+     * @return the tracker of the versions of the view
+     */
+    public ViewDeltaTracker getViewDeltaTracker() {
+        return viewDeltaTracker;
+    }
+
+    /**
+     * Returns the connection of the specified player.
+     *
+     * @param playerName the name of the player
+     * @return the ServerMessageHandler of the player, or null if the player is not connected
+     */
+    public ServerMessageHandler getConnection(String playerName) {
+        return connections.get(playerName);
+    }
+
+    /**
+     * Returns a live view of the connections of the game.
+     *
+     * @return the ServerMessageHandlers of the connected players
+     */
+    public Collection<ServerMessageHandler> getConnections() {
+        return connections.values();
+    }
+
+    /**
+     * Adds the connection of a player, replacing the previous one if present.
+     * The new connection will receive the full view of the game with the next update.
+     *
+     * @param playerName     the name of the player
+     * @param messageHandler the ServerMessageHandler of the player
+     */
+    public void addConnection(String playerName, ServerMessageHandler messageHandler) {
+        ServerMessageHandler previousMessageHandler = connections.put(playerName, messageHandler);
+        if (previousMessageHandler != null) {
+            viewDeltaTracker.forget(previousMessageHandler);
+        }
+        viewDeltaTracker.forget(messageHandler);
+    }
+
+    /**
+     * Removes the connection of a player.
+     *
+     * @param playerName the name of the player
+     */
+    public void removeConnection(String playerName) {
+        ServerMessageHandler messageHandler = connections.remove(playerName);
+        if (messageHandler != null) {
+            viewDeltaTracker.forget(messageHandler);
+        }
+    }
+
+    /**
+     * Returns the number of connected players.
+     *
+     * @return the number of connected players
+     */
+    public int getConnectionsCount() {
+        return connections.size();
+    }
+
+    /**
+     * Sets the timer that will delete the game, cancelling the previous one if present.
+     *
+     * @param timer the timer that will delete the game
+     */
+    public void setDeleteGameTimer(SchedulerService.ScheduledTask timer) {
+        cancelDeleteGameTimer();
+        this.deleteGameTimer = timer;
+    }
+
+    /**
+     * Cancels the timer that would delete the game, if present.
+     *
+     * @return true if a timer was cancelled, false otherwise
+     */
+    public boolean cancelDeleteGameTimer() {
+        if (deleteGameTimer == null) {
+            return false;
+        }
+        deleteGameTimer.cancel();
+        deleteGameTimer = null;
+        return true;
+    }
+
+    /**
+     * Closes the session, cancelling its deletion timer.
+     * Any operation waiting for the lock of a closed session must be discarded.
+     */
+    public void close() {
+        closed = true;
+        cancelDeleteGameTimer();
+    }
+
+    /**
+     * Checks if the session has been closed.
+     *
+     * @return true if the session has been closed, false otherwise
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+}
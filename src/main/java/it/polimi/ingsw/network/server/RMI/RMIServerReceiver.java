@@ -8,17 +8,17 @@ import it.polimi.ingsw.network.server.Server;
 import it.polimi.ingsw.network.server.ServerMessageHandler;
 import it.polimi.ingsw.network.server.ServerNetworkControllerMapper;
 import it.polimi.ingsw.network.server.actions.RMIClientToServerActions;
+import it.polimi.ingsw.network.server.metrics.TransportEnum;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.rmi.RemoteException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * The RMIServerReceiver class is responsible for receiving client actions and notifying the server message handler.
+ * The actions are enqueued to the actor of their game, so the RMI threads are never blocked by the game.
  * It implements the RMIClientToServerActions interface, which defines the methods for handling client actions.
  * It also implements the Observer interface, which allows it to be notified when a change occurs in the ServerMessageHandler.
  */
@@ -38,11 +38,6 @@ public class RMIServerReceiver implements RMIClientToServerActions, PropertyChan
      * The ServerNetworkControllerMapper object used to map network commands to actions in the game.
      */
     private final ServerNetworkControllerMapper serverNetworkControllerMapper;
-    /**
-     * The executor service used to execute tasks in parallel.
-     */
-    private final ExecutorService executor;
-
     /**
      * Constructs a new RMIServerReceiver object with the specified ServerNetworkControllerMapper.
      *
@@ -50,7 +45,6 @@ public class RMIServerReceiver implements RMIClientToServerActions, PropertyChan
      */
     public RMIServerReceiver(ServerNetworkControllerMapper serverNetworkControllerMapper) {
         this.serverNetworkControllerMapper = serverNetworkControllerMapper;
-        this.executor = Executors.newFixedThreadPool(10);
         serverStrongReference = this;
     }
 
@@ -64,7 +58,8 @@ public class RMIServerReceiver implements RMIClientToServerActions, PropertyChan
         if (evt.getPropertyName().equals("CONNECTION_CLOSED")) {
             logger.warn("Connection lost");
             ServerMessageHandler serverMessageHandler = (ServerMessageHandler) evt.getSource();
-            this.executor.submit(() -> serverNetworkControllerMapper.handleDisconnection(serverMessageHandler.getGameName(), serverMessageHandler.getPlayerName()));
+            String gameName = serverMessageHandler.getGameName();
+            serverNetworkControllerMapper.execute(gameName, () -> serverNetworkControllerMapper.handleDisconnection(gameName, serverMessageHandler.getPlayerName()));
         } else {
             logger.error("Unknown property name: {}", evt.getPropertyName());
         }
@@ -77,7 +72,7 @@ public class RMIServerReceiver implements RMIClientToServerActions, PropertyChan
      */
     @Override
     public void getGames(RMIServerToClientActions stub) throws RemoteException {
-        this.executor.submit(() -> serverNetworkControllerMapper.getGames(instanceRMIServerAdapter(stub)));
+        execute(null, () -> serverNetworkControllerMapper.getGames(instanceRMIServerAdapter(stub)));
         // Debug
         printDebug(PlayerActionEnum.GET_GAMES, "");
     }
@@ -93,7 +88,7 @@ public class RMIServerReceiver implements RMIClientToServerActions, PropertyChan
      */
     @Override
     public void createGame(RMIServerToClientActions stub, String gameName, String playerName, int nPlayers) throws RemoteException {
-        this.executor.submit(() -> serverNetworkControllerMapper.createGame(instanceRMIServerAdapter(stub), gameName, playerName, nPlayers));
+        execute(gameName, () -> serverNetworkControllerMapper.createGame(instanceRMIServerAdapter(stub), gameName, playerName, nPlayers));
         // Debug
         printDebug(PlayerActionEnum.CREATE_GAME, "gameName: " + gameName + " playerName: " + playerName + " nPlayers: " + nPlayers);
     }
@@ -105,7 +100,7 @@ public class RMIServerReceiver implements RMIClientToServerActions, PropertyChan
      */
     @Override
     public void deleteGame(RMIServerToClientActions stub, String gameName, String playerName) throws RemoteException {
-        this.executor.submit(() -> serverNetworkControllerMapper.deleteGame(instanceRMIServerAdapter(stub), gameName, playerName));
+        execute(gameName, () -> serverNetworkControllerMapper.deleteGame(instanceRMIServerAdapter(stub), gameName, playerName));
         // Debug
         inGamePrintDebug(PlayerActionEnum.DELETE_GAME, gameName, playerName, "");
     }
@@ -118,7 +113,7 @@ public class RMIServerReceiver implements RMIClientToServerActions, PropertyChan
      */
     @Override
     public void joinGame(RMIServerToClientActions stub, String gameName, String playerName) throws RemoteException {
-        this.executor.submit(() -> serverNetworkControllerMapper.joinGame(instanceRMIServerAdapter(stub), gameName, playerName));
+        execute(gameName, () -> serverNetworkControllerMapper.joinGame(instanceRMIServerAdapter(stub), gameName, playerName));
         // Debug
         printDebug(PlayerActionEnum.JOIN_GAME, "gameName: " + gameName + " playerName: " + playerName);
     }
@@ -132,7 +127,7 @@ public class RMIServerReceiver implements RMIClientToServerActions, PropertyChan
      */
     @Override
     public void choosePlayerColor(String gameName, String playerName, PlayerColorEnum playerColor) throws RemoteException {
-        this.executor.submit(() -> serverNetworkControllerMapper.choosePlayerColor(gameName, playerName, playerColor));
+        execute(gameName, () -> serverNetworkControllerMapper.choosePlayerColor(gameName, playerName, playerColor));
         // Debug
         inGamePrintDebug(PlayerActionEnum.CHOOSE_PLAYER_COLOR, gameName, playerName, "playerColor: " + playerColor);
     }
@@ -146,7 +141,7 @@ public class RMIServerReceiver implements RMIClientToServerActions, PropertyChan
      */
     @Override
     public void setPlayerObjective(String gameName, String playerName, int cardId) throws RemoteException {
-        this.executor.submit(() -> serverNetworkControllerMapper.setPlayerObjective(gameName, playerName, cardId));
+        execute(gameName, () -> serverNetworkControllerMapper.setPlayerObjective(gameName, playerName, cardId));
         // Debug
         inGamePrintDebug(PlayerActionEnum.SET_PLAYER_OBJECTIVE, gameName, playerName, "cardId: " + cardId);
     }
@@ -162,7 +157,7 @@ public class RMIServerReceiver implements RMIClientToServerActions, PropertyChan
      */
     @Override
     public void placeCard(String gameName, String playerName, Coordinate coordinate, int cardId, boolean isFlipped) throws RemoteException {
-        this.executor.submit(() -> serverNetworkControllerMapper.placeCard(gameName, playerName, coordinate, cardId, isFlipped));
+        execute(gameName, () -> serverNetworkControllerMapper.placeCard(gameName, playerName, coordinate, cardId, isFlipped));
         // Debug
         inGamePrintDebug(PlayerActionEnum.PLACE_CARD, gameName, playerName, "coordinate: " + coordinate + " cardId: " + cardId + " isFlipped: " + isFlipped);
     }
@@ -176,7 +171,7 @@ public class RMIServerReceiver implements RMIClientToServerActions, PropertyChan
      */
     @Override
     public void drawCardFromField(String gameName, String playerName, int cardId) throws RemoteException {
-        this.executor.submit(() -> serverNetworkControllerMapper.drawCardFromField(gameName, playerName, cardId));
+        execute(gameName, () -> serverNetworkControllerMapper.drawCardFromField(gameName, playerName, cardId));
         // Debug
         inGamePrintDebug(PlayerActionEnum.DRAW_CARD_FROM_FIELD, gameName, playerName, "card: " + cardId);
     }
@@ -189,7 +184,7 @@ public class RMIServerReceiver implements RMIClientToServerActions, PropertyChan
      */
     @Override
     public void drawCardFromResourceDeck(String gameName, String playerName) throws RemoteException {
-        this.executor.submit(() -> serverNetworkControllerMapper.drawCardFromResourceDeck(gameName, playerName));
+        execute(gameName, () -> serverNetworkControllerMapper.drawCardFromResourceDeck(gameName, playerName));
         // Debug
         inGamePrintDebug(PlayerActionEnum.DRAW_CARD_FROM_RESOURCE_DECK, gameName, playerName, "");
     }
@@ -202,7 +197,7 @@ public class RMIServerReceiver implements RMIClientToServerActions, PropertyChan
      */
     @Override
     public void drawCardFromGoldDeck(String gameName, String playerName) throws RemoteException {
-        this.executor.submit(() -> serverNetworkControllerMapper.drawCardFromGoldDeck(gameName, playerName));
+        execute(gameName, () -> serverNetworkControllerMapper.drawCardFromGoldDeck(gameName, playerName));
         // Debug
         inGamePrintDebug(PlayerActionEnum.DRAW_CARD_FROM_GOLD_DECK, gameName, playerName, "");
     }
@@ -216,7 +211,7 @@ public class RMIServerReceiver implements RMIClientToServerActions, PropertyChan
      */
     @Override
     public void switchCardSide(String gameName, String playerName, int cardId) throws RemoteException {
-        this.executor.submit(() -> serverNetworkControllerMapper.switchCardSide(gameName, playerName, cardId));
+        execute(gameName, () -> serverNetworkControllerMapper.switchCardSide(gameName, playerName, cardId));
         // Debug
         inGamePrintDebug(PlayerActionEnum.SWITCH_CARD_SIDE, gameName, playerName, "cardId: " + cardId);
     }
@@ -235,7 +230,7 @@ public class RMIServerReceiver implements RMIClientToServerActions, PropertyChan
      */
     @Override
     public void chatMessageSender(String gameName, String playerName, String message, String receiver, long timestamp, boolean isDirectMessage) throws RemoteException {
-        this.executor.submit(() -> serverNetworkControllerMapper.sendChatMessage(gameName, playerName, message, receiver, timestamp, isDirectMessage));
+        execute(gameName, () -> serverNetworkControllerMapper.sendChatMessage(gameName, playerName, message, receiver, timestamp, isDirectMessage));
         // Debug
         inGamePrintDebug(PlayerActionEnum.SEND_CHAT_MSG, gameName, playerName, "message: " + message + " receiver: " + receiver + " timestamp: " + timestamp);
     }
@@ -261,11 +256,24 @@ public class RMIServerReceiver implements RMIClientToServerActions, PropertyChan
      */
     @Override
     public void disconnect(String gameName, String playerName) throws RemoteException {
-        this.executor.submit(() -> serverNetworkControllerMapper.disconnect(gameName, playerName));
+        execute(gameName, () -> serverNetworkControllerMapper.disconnect(gameName, playerName));
         // Debug
         inGamePrintDebug(PlayerActionEnum.DISCONNECT, gameName, playerName, "");
     }
 
+    /**
+     * Requests the full view of the game, when the client can no longer apply the changes of the view it receives.
+     *
+     * @param gameName   the name of the game.
+     * @param playerName the name of the player requesting the view.
+     */
+    @Override
+    public void requestView(String gameName, String playerName) throws RemoteException {
+        execute(gameName, () -> serverNetworkControllerMapper.requestView(gameName, playerName));
+        // Debug
+        inGamePrintDebug(PlayerActionEnum.REQUEST_VIEW, gameName, playerName, "");
+    }
+
     /**
      * This method creates an instance of RMIServerSender and adds the current object as an observer.
      * It is used to create a new connection to a client.
@@ -274,11 +282,22 @@ public class RMIServerReceiver implements RMIClientToServerActions, PropertyChan
      * @return an instance of RMIServerSender
      */
     private RMIServerSender instanceRMIServerAdapter(RMIServerToClientActions stub) {
-        RMIServerSender rmiServerSender = new RMIServerSender(stub);
+        RMIServerSender rmiServerSender = new RMIServerSender(stub, serverNetworkControllerMapper.getMetrics());
         rmiServerSender.addPropertyChangeListener(this);
         return rmiServerSender;
     }
 
+    /**
+     * Counts a message received from a client and enqueues its action, as {@link ServerNetworkControllerMapper#execute} does.
+     *
+     * @param gameName the name of the game, or null if the action does not belong to a game
+     * @param action   the action to be executed
+     */
+    private void execute(String gameName, Runnable action) {
+        serverNetworkControllerMapper.getMetrics().messageReceived(TransportEnum.RMI);
+        serverNetworkControllerMapper.execute(gameName, action);
+    }
+
     /**
      * Prints a debug message with the details of the message received.
      *
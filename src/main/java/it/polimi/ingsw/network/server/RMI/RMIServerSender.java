@@ -4,15 +4,17 @@ import it.polimi.ingsw.network.client.actions.RMIServerToClientActions;
 import it.polimi.ingsw.network.server.ServerMessageHandler;
 import it.polimi.ingsw.network.server.message.ServerActionEnum;
 import it.polimi.ingsw.network.server.message.ServerToClientMessage;
+import it.polimi.ingsw.network.server.metrics.ServerMetrics;
+import it.polimi.ingsw.network.server.metrics.TransportEnum;
 import it.polimi.ingsw.utils.PropertyChangeNotifier;
+import it.polimi.ingsw.utils.SchedulerService;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
 import java.rmi.RemoteException;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -29,6 +31,10 @@ public class RMIServerSender implements ServerMessageHandler, PropertyChangeNoti
      * The stub used to call methods on the client's remote object.
      */
     private final RMIServerToClientActions stub;
+    /**
+     * The metrics of the server, counting the messages sent.
+     */
+    private final ServerMetrics metrics;
     /**
      * The listeners that are notified when a change occurs.
      */
@@ -41,6 +47,10 @@ public class RMIServerSender implements ServerMessageHandler, PropertyChangeNoti
      * The name of the player associated with the connection.
      */
     private String playerName;
+    /**
+     * The heartbeat task, or null if the heartbeat has not been started.
+     */
+    private volatile SchedulerService.ScheduledTask heartbeatTask;
 
     // This variable is used to check if the connection has been saved by the ServerNetworkControllerMapper.
     // The heartbeat will start only after the connection has been saved.
@@ -54,10 +64,12 @@ public class RMIServerSender implements ServerMessageHandler, PropertyChangeNoti
     /**
      * Constructs a new RMIServerSender object with the specified stub.
      *
-     * @param stub the stub used to call methods on the client's remote object
+     * @param stub    the stub used to call methods on the client's remote object
+     * @param metrics the metrics of the server, counting the messages sent
      */
-    public RMIServerSender(RMIServerToClientActions stub) {
+    public RMIServerSender(RMIServerToClientActions stub, ServerMetrics metrics) {
         this.stub = stub;
+        this.metrics = metrics;
         this.listeners = new PropertyChangeSupport(this);
     }
 
@@ -67,50 +79,67 @@ public class RMIServerSender implements ServerMessageHandler, PropertyChangeNoti
      * If the client does not respond, it is considered disconnected.
      */
     private void heartbeat() {
-        new Timer().scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                if (!isConnectionSaved.get()) {
-                    cancel();
-                    return;
-                }
-                try {
-                    stub.heartbeat();
-                } catch (RemoteException e) {
-                    logger.warn("RMI Client: {} disconnected. Detected while pinging.", playerName);
-                    closeConnection();
-                    cancel();
-                }
+        SchedulerService.ScheduledTask previousHeartbeatTask = heartbeatTask;
+        if (previousHeartbeatTask != null) {
+            previousHeartbeatTask.cancel();
+        }
+        heartbeatTask = SchedulerService.scheduleAtFixedRate(() -> {
+            if (!isConnectionSaved.get()) {
+                cancelHeartbeat();
+                return;
             }
-        }, 0, 2500);
+            try {
+                stub.heartbeat();
+            } catch (RemoteException e) {
+                logger.warn("RMI Client: {} disconnected. Detected while pinging.", playerName);
+                closeConnection();
+            }
+        }, 0, 2500, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the heartbeat, if it has been started.
+     */
+    private void cancelHeartbeat() {
+        SchedulerService.ScheduledTask currentHeartbeatTask = heartbeatTask;
+        if (currentHeartbeatTask != null) {
+            currentHeartbeatTask.cancel();
+        }
     }
 
     /**
      * Sends a message to the client.
      *
      * @param message the message to be sent
+     * @return true if the message was sent, false if the client could not be reached or the message is invalid
      */
     @Override
-    public void sendMessage(ServerToClientMessage message) {
+    public boolean sendMessage(ServerToClientMessage message) {
         ServerActionEnum serverAction = message.getServerAction();
         try {
             switch (serverAction) {
-                case UPDATE_VIEW -> stub.receiveUpdatedView(message.getView());
+                case UPDATE_VIEW -> stub.receiveUpdatedView(message.getView(), message.getViewVersion());
+                case UPDATE_VIEW_DELTA -> stub.receiveUpdatedViewDelta(message.getViewDelta());
                 case DELETE_GAME -> stub.receiveGameDeleted(message.getSuccessDeleteMessage());
                 case GET_GAMES -> stub.receiveGameList(message.getGames());
                 case ERROR_MSG -> stub.receiveErrorMessage(message.getErrorMessage());
                 case RECEIVE_CHAT_MSG ->
                         stub.receiveChatMessage(message.getPlayerName(), message.getChatMessage(), message.getTimestamp(), message.isDirectMessage());
-                default -> logger.error("Invalid action");
+                default -> {
+                    logger.error("Invalid action");
+                    return false;
+                }
             }
+            metrics.messageSent(TransportEnum.RMI);
         } catch (RemoteException e) {
             logger.warn("RMI Client: {} disconnected. Detected while sending message", playerName);
             closeConnection();
-            return;
+            return false;
         }
 
         // Debug
         logger.debug("RMI message sent: {}", message.getServerAction());
+        return true;
     }
 
     /**
@@ -166,6 +195,7 @@ public class RMIServerSender implements ServerMessageHandler, PropertyChangeNoti
     @Override
     public void closeConnection() {
         if (isConnectionSaved.getAndSet(false)) {
+            cancelHeartbeat();
             this.listeners.firePropertyChange("CONNECTION_CLOSED", null, this);
         }
     }
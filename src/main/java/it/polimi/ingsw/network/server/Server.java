@@ -4,7 +4,10 @@ import it.polimi.ingsw.controller.MainController;
 import it.polimi.ingsw.network.server.RMI.RMIServerReceiver;
 import it.polimi.ingsw.network.server.TCP.TCPServerAdapter;
 import it.polimi.ingsw.network.server.actions.RMIClientToServerActions;
+import it.polimi.ingsw.network.server.metrics.MetricsHttpServer;
+import it.polimi.ingsw.network.server.persistence.FsyncPolicy;
 import it.polimi.ingsw.network.server.persistence.Persistence;
+import it.polimi.ingsw.network.server.persistence.PersistenceOptions;
 import it.polimi.ingsw.network.utils.HostIpAddressResolver;
 import it.polimi.ingsw.network.utils.RMITimeoutSetter;
 import it.polimi.ingsw.view.tui.utils.Utils;
@@ -14,13 +17,16 @@ import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
 import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
+import java.nio.file.Path;
 import java.rmi.AlreadyBoundException;
 import java.rmi.Remote;
 import java.rmi.RemoteException;
 import java.rmi.registry.LocateRegistry;
 import java.rmi.registry.Registry;
 import java.rmi.server.UnicastRemoteObject;
+import java.util.concurrent.ThreadFactory;
 
 import static it.polimi.ingsw.view.tui.utils.Utils.ANSI_PURPLE;
 import static it.polimi.ingsw.view.tui.utils.Utils.ANSI_RESET;
@@ -44,6 +50,15 @@ public class Server {
      * If true, the server will output additional debug information.
      */
     public static boolean IS_DEBUG = false;
+    /**
+     * A flag indicating whether each TCP connection is read on a virtual thread instead of a platform thread.
+     * Virtual threads allow the server to hold thousands of idle connections.
+     */
+    public static boolean USE_VIRTUAL_THREADS = false;
+    /**
+     * The address the metrics are served on by default. It is the loopback address, so the metrics are not exposed to the network.
+     */
+    public static final String DEFAULT_METRICS_HOST = "127.0.0.1";
 
     /**
      * The RMIServerReceiver class is responsible for receiving client actions and notifying the server message handler.
@@ -58,12 +73,12 @@ public class Server {
          * ***************************************/
         MainController mainController = new MainController();
         ServerNetworkControllerMapper serverNetworkControllerMapper = new ServerNetworkControllerMapper(mainController);
-        Persistence persistence = new Persistence(mainController, serverNetworkControllerMapper);
-        serverNetworkControllerMapper.addPropertyChangeListener(persistence);
         /* ***************************************
          * CLI ARGUMENTS PARSING
          * ***************************************/
         CommandLine cmd = parseCommandLineArgs(args);
+        Persistence persistence = createPersistence(cmd, mainController, serverNetworkControllerMapper);
+        serverNetworkControllerMapper.addPropertyChangeListener(persistence);
         if (cmd.hasOption("load")) {
             persistence.loadFromFile(cmd.getOptionValue("load"));
         } else {
@@ -82,9 +97,19 @@ public class Server {
             HEARTBEAT_TIMEOUT = 600000; //if debug, set the timeout to 10 minutes
             IS_DEBUG = true;
         }
+        if (cmd.hasOption("vt")) {
+            logger.info("TCP connections will be handled by virtual threads.");
+            USE_VIRTUAL_THREADS = true;
+        }
         String serverIp = HostIpAddressResolver.getCurrentHostIp(cmd);
 
         logger.info("Server IP: {}", serverIp);
+        /* ***************************************
+         * START METRICS ENDPOINT
+         * ***************************************/
+        if (cmd.hasOption("metrics")) {
+            MetricsServerStart(serverNetworkControllerMapper, cmd.getOptionValue("metrics_host", DEFAULT_METRICS_HOST), cmd.getOptionValue("metrics"));
+        }
         /* ***************************************
          * START RMI SERVER
          * ***************************************/
@@ -95,6 +120,40 @@ public class Server {
         TCPServerStart(serverNetworkControllerMapper, TCPPort);
     }
 
+    /**
+     * Creates the persistence of the games with the settings given on the command line,
+     * and registers a shutdown hook writing the saves still queued when the server is stopped.
+     *
+     * @param cmd                           the parsed command line arguments.
+     * @param mainController                the main controller.
+     * @param serverNetworkControllerMapper the server network controller mapper.
+     * @return the persistence of the games.
+     */
+    private static Persistence createPersistence(CommandLine cmd, MainController mainController, ServerNetworkControllerMapper serverNetworkControllerMapper) {
+        try {
+            FsyncPolicy fsyncPolicy = FsyncPolicy.fromString(cmd.getOptionValue("fsync", "batch"));
+            int snapshotInterval = Integer.parseInt(cmd.getOptionValue("si", String.valueOf(PersistenceOptions.DEFAULT_SNAPSHOT_INTERVAL)));
+            int ioThreads = Integer.parseInt(cmd.getOptionValue("save_threads", String.valueOf(PersistenceOptions.DEFAULT_IO_THREADS)));
+            long debounceMillis = Long.parseLong(cmd.getOptionValue("save_debounce", String.valueOf(PersistenceOptions.DEFAULT_DEBOUNCE_MILLIS)));
+            int restoreThreads = Integer.parseInt(cmd.getOptionValue("restore_threads", String.valueOf(PersistenceOptions.DEFAULT_RESTORE_THREADS)));
+            Path saveDirectory = cmd.hasOption("save_dir") ? Path.of(cmd.getOptionValue("save_dir")) : PersistenceOptions.DEFAULT_SAVE_DIRECTORY;
+            Persistence persistence = new Persistence(mainController, serverNetworkControllerMapper, new PersistenceOptions(fsyncPolicy, snapshotInterval, ioThreads, debounceMillis, restoreThreads, cmd.hasOption("compress"), cmd.hasOption("record"), saveDirectory));
+            // Write the saves still queued when the server is stopped
+            Runtime.getRuntime().addShutdownHook(Thread.ofPlatform().name("persistence-flush").unstarted(() -> {
+                try {
+                    persistence.close();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            return persistence;
+        } catch (IllegalArgumentException e) {
+            logger.fatal("Invalid persistence option: {}", e.getMessage());
+            System.exit(1);
+        }
+        return null;
+    }
+
     /**
      * Parses the command line arguments and returns a CommandLine object.
      *
@@ -128,11 +187,39 @@ public class Server {
         options.addOption("l", "localhost", false, "Start the server with his localhost ip address");
         options.addOption("lan", "Start the server with his lan ip address.");
         options.addOption("debug", "Start the Server in DEBUG mode.");
+        options.addOption("vt", "virtual_threads", false, "Handle each TCP connection with a virtual thread instead of a platform thread.");
         options.addOption("h", "help", false, "Print this message.");
+        options.addOption("fsync", true, "When the saved games are forced to disk: always, batch or never (default is batch).");
+        options.addOption("si", "snapshot_interval", true, "Number of actions journaled between two snapshots of a game (default is " + PersistenceOptions.DEFAULT_SNAPSHOT_INTERVAL + ").");
+        options.addOption("save_threads", true, "Number of threads writing the saved games (default is " + PersistenceOptions.DEFAULT_IO_THREADS + ").");
+        options.addOption("save_debounce", true, "Milliseconds the writes of a saved game are delayed to drop superseded snapshots (default is " + PersistenceOptions.DEFAULT_DEBOUNCE_MILLIS + ").");
+        options.addOption("compress", false, "Compress the snapshots of the saved games with gzip. Both compressed and plain snapshots are loaded.");
+        options.addOption("record", false, "Record each game from its start, so it can be replayed exactly by the Replay tool.");
+        options.addOption("restore_threads", true, "Number of threads restoring the saved games while the server starts listening, 0 to restore them first (default is " + PersistenceOptions.DEFAULT_RESTORE_THREADS + ").");
+        options.addOption("save_dir", true, "Directory of the saved games (default is " + PersistenceOptions.DEFAULT_SAVE_DIRECTORY + ").");
         options.addOption("load", true, "Load a game from the specified file. Previously saved games won't be loaded.");
+        options.addOption("metrics", true, "Serve the metrics of the server in the Prometheus text format at http://<metrics_host>:<port>" + MetricsHttpServer.PATH + ".");
+        options.addOption("metrics_host", true, "Address the metrics are served on (default is " + DEFAULT_METRICS_HOST + ").");
         return options;
     }
 
+    /**
+     * Starts serving the metrics of the server over HTTP.
+     *
+     * @param serverNetworkControllerMapper the server network controller mapper, which holds the metrics.
+     * @param host                          the address the metrics are served on.
+     * @param port                          the port the metrics are served on.
+     */
+    private static void MetricsServerStart(ServerNetworkControllerMapper serverNetworkControllerMapper, String host, String port) {
+        try {
+            MetricsHttpServer metricsHttpServer = new MetricsHttpServer(serverNetworkControllerMapper.getMetrics(), new InetSocketAddress(host, Integer.parseInt(port)));
+            metricsHttpServer.start();
+        } catch (IOException | IllegalArgumentException e) {
+            logger.fatal("Failed to serve the metrics on {}:{}: {}", host, port, e.getMessage());
+            System.exit(1);
+        }
+    }
+
     /**
      * Starts the RMI server.
      *
@@ -167,10 +254,13 @@ public class Server {
      * @param TCPPortNumber                 the TCP port number.
      */
     private static void TCPServerStart(ServerNetworkControllerMapper serverNetworkControllerMapper, Integer TCPPortNumber) {
+        ThreadFactory connectionThreadFactory = USE_VIRTUAL_THREADS
+                ? Thread.ofVirtual().name("TCPConnectionHandler-", 0).factory()
+                : Thread.ofPlatform().name("TCPConnectionHandler").factory();
         try (ServerSocket serverSocket = new ServerSocket(TCPPortNumber)) {
             logger.info("Codex Naturalis TCP Server ready on port: {}", TCPPortNumber);
             while (true) {
-                new TCPServerAdapter(serverSocket.accept(), serverNetworkControllerMapper);
+                new TCPServerAdapter(serverSocket.accept(), serverNetworkControllerMapper, connectionThreadFactory);
             }
         } catch (IOException e) {
             logger.fatal("Could not listen on port {}", TCPPortNumber);
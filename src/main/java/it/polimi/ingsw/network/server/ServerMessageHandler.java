@@ -12,9 +12,20 @@ public interface ServerMessageHandler extends MessageHandler<ServerToClientMessa
      * Sends a message to the client.
      *
      * @param message the message to be sent
+     * @return true if the message was sent, false if sending it failed
      */
     @Override
-    void sendMessage(ServerToClientMessage message);
+    boolean sendMessage(ServerToClientMessage message);
+
+    /**
+     * Encodes a message as it will be sent to the client, so that sending it only writes it.
+     * The encoding is kept by the message, so it is shared by all the connections using the same codec.
+     * By default, it does nothing: the message is encoded while it is sent.
+     *
+     * @param message the message to be encoded
+     */
+    default void encodeMessage(ServerToClientMessage message) {
+    }
 
     /**
      * Gets the name of the player associated with the connection.
@@ -2,27 +2,36 @@ package it.polimi.ingsw.network.server;
 
 import it.polimi.ingsw.controller.GameStatusEnum;
 import it.polimi.ingsw.controller.MainController;
-import it.polimi.ingsw.controller.gameController.GameControllerMiddleware;
 import it.polimi.ingsw.model.player.PlayerColorEnum;
 import it.polimi.ingsw.model.utils.Coordinate;
+import it.polimi.ingsw.network.client.message.ClientToServerMessage;
+import it.polimi.ingsw.network.client.message.PlayerActionEnum;
+import it.polimi.ingsw.network.client.message.gameController.*;
 import it.polimi.ingsw.network.server.actions.ClientToServerActions;
 import it.polimi.ingsw.network.server.message.ChatServerToClientMessage;
 import it.polimi.ingsw.network.server.message.ErrorServerToClientMessage;
 import it.polimi.ingsw.network.server.message.ServerToClientMessage;
 import it.polimi.ingsw.network.server.message.successMessage.DeleteGameServerToClientMessage;
 import it.polimi.ingsw.network.server.message.successMessage.GetGamesServerToClientMessage;
+import it.polimi.ingsw.network.server.message.successMessage.UpdateViewDeltaServerToClientMessage;
 import it.polimi.ingsw.network.server.message.successMessage.UpdateViewServerToClientMessage;
+import it.polimi.ingsw.network.server.metrics.ActionPhaseEnum;
+import it.polimi.ingsw.network.server.metrics.ActionTimer;
+import it.polimi.ingsw.network.server.metrics.ServerMetrics;
 import it.polimi.ingsw.network.virtualView.GameControllerView;
+import it.polimi.ingsw.network.virtualView.GameControllerViewDelta;
 import it.polimi.ingsw.utils.PropertyChangeNotifier;
+import it.polimi.ingsw.utils.SchedulerService;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * The ServerNetworkControllerMapper class is responsible for mapping network commands to actions in the game.
@@ -39,27 +48,39 @@ public class ServerNetworkControllerMapper implements ClientToServerActions, Pro
      */
     private final MainController mainController;
     /**
-     * A map that associates game names with sets of ServerMessageHandler objects.
-     * This is used to keep track of the connections for each game.
+     * A map that associates game names with their GameSession.
+     * This is used to keep track of the connections for each game. Each session also holds the lock of its game.
      */
-    private final HashMap<String, HashMap<String, ServerMessageHandler>> gameConnectionMapper;
+    private final ConcurrentHashMap<String, GameSession> gameSessions;
 
     /**
-     * A map that associates game names with timers that will delete the game if there is only one player left in it.
+     * Closed session used to synchronize game operations when the game is not found in the gameSessions.
+     * This is used to avoid null pointer exceptions.
      */
-    private final Map<String, Timer> deleteGameTimers = new HashMap<>();
+    private final GameSession missingGameSession;
 
     /**
-     * Object used to synchronize game operations when the game is not found in the gameConnectionMapper.
-     * This is used to avoid null pointer exceptions.
+     * The executor used for the actions that do not belong to an existing game, such as listing, creating or joining an unknown game.
+     * It starts a new virtual thread for each action.
      */
-    private final Object exceptionLock;
+    private final ExecutorService lobbyExecutor;
 
     /**
      * The PropertyChangeSupport object is used to manage property change listeners.
      */
     private final PropertyChangeSupport listeners;
 
+    /**
+     * The metrics of the server, which time the actions of the players and count the games and their connections.
+     */
+    private final ServerMetrics metrics;
+
+    /**
+     * The loader called before a player joins or deletes a game. By default, it does nothing.
+     */
+    private volatile Consumer<String> gameLoader = gameName -> {
+    };
+
     /**
      * Constructs a new ServerNetworkControllerMapper object with the specified MainController.
      *
@@ -67,9 +88,66 @@ public class ServerNetworkControllerMapper implements ClientToServerActions, Pro
      */
     public ServerNetworkControllerMapper(MainController mainController) {
         this.mainController = mainController;
-        this.gameConnectionMapper = new HashMap<>();
-        this.exceptionLock = new HashMap<>();
+        this.gameSessions = new ConcurrentHashMap<>();
+        this.missingGameSession = new GameSession("");
+        this.missingGameSession.close();
+        this.lobbyExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("lobby-", 0).factory());
         this.listeners = new PropertyChangeSupport(this);
+        this.metrics = new ServerMetrics();
+        this.metrics.registerGauge("codex_games", "Number of games, including the saved games not restored yet.", gameSessions::size);
+        this.metrics.registerGauge("codex_player_connections", "Number of players connected to a game.",
+                () -> gameSessions.values().stream().mapToLong(GameSession::getConnectionsCount).sum());
+    }
+
+    /**
+     * Gets the metrics of the server.
+     *
+     * @return the metrics of the server
+     */
+    public ServerMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Enqueues an action received for a game without blocking the caller.
+     * The actions of an existing game are executed one at a time, in the order they were received, by the actor of the game.
+     * The other actions are executed on a new virtual thread.
+     *
+     * @param gameName the name of the game, or null if the action does not belong to a game
+     * @param action   the action to be executed
+     */
+    public void execute(String gameName, Runnable action) {
+        GameSession gameSession = gameName == null ? null : gameSessions.get(gameName);
+        if (gameSession == null) {
+            lobbyExecutor.execute(action);
+        } else {
+            long enqueued = System.nanoTime();
+            gameSession.getActor().execute(() -> {
+                metrics.recordQueueWait(System.nanoTime() - enqueued);
+                action.run();
+            });
+        }
+    }
+
+    /**
+     * Enqueues an action of a game that does not come from a player, such as a timer of the game.
+     * The action is executed by the actor of the game while holding the lock of its session, unless the game has been deleted in the meantime.
+     *
+     * @param gameName the name of the game
+     * @param action   the action to be executed
+     */
+    public void executeLocked(String gameName, Runnable action) {
+        execute(gameName, () -> {
+            GameSession gameSession = getSession(gameName);
+            gameSession.lock();
+            try {
+                if (!gameSession.isClosed()) {
+                    action.run();
+                }
+            } finally {
+                gameSession.unlock();
+            }
+        });
     }
 
     /**
@@ -79,37 +157,58 @@ public class ServerNetworkControllerMapper implements ClientToServerActions, Pro
      * @param message  the message to be sent
      */
     public void broadcastMessage(String gameName, ServerToClientMessage message) {
-        for (ServerMessageHandler messageHandler : gameConnectionMapper.get(gameName).values()) {
-            messageHandler.sendMessage(message);
+        broadcastMessage(gameName, message, ActionTimer.UNTIMED);
+    }
+
+    /**
+     * Sends a message to all players in a game, timing its encoding and its sending as phases of an action.
+     *
+     * @param gameName the name of the game
+     * @param message  the message to be sent
+     * @param timer    the timer of the action
+     */
+    private void broadcastMessage(String gameName, ServerToClientMessage message, ActionTimer timer) {
+        for (ServerMessageHandler messageHandler : getSession(gameName).getConnections()) {
+            send(messageHandler, message, timer);
         }
     }
 
+    /**
+     * Sends a message to a player, timing its encoding and its sending as phases of an action.
+     *
+     * @param messageHandler the connection of the player
+     * @param message        the message to be sent
+     * @param timer          the timer of the action
+     * @return true if the message was sent, false if sending it failed
+     */
+    private static boolean send(ServerMessageHandler messageHandler, ServerToClientMessage message, ActionTimer timer) {
+        messageHandler.encodeMessage(message);
+        timer.mark(ActionPhaseEnum.SERIALIZATION);
+        boolean isSent = messageHandler.sendMessage(message);
+        timer.mark(ActionPhaseEnum.SEND);
+        return isSent;
+    }
+
     /**
      * Closes all connections for a game.
      *
      * @param gameName the name of the game
      */
     private void closeConnections(String gameName) {
-        for (ServerMessageHandler messageHandler : gameConnectionMapper.get(gameName).values()) {
+        for (ServerMessageHandler messageHandler : getSession(gameName).getConnections()) {
             messageHandler.closeConnection();
         }
     }
 
     /**
-     * Gets the lock for a game.
-     * This is used to synchronize operations on a game.
+     * Gets the session of a game, which holds its lock.
+     * This is used to synchronize operations on a game. The lookup does not take any global lock.
      *
      * @param gameName the name of the game
-     * @return the lock for the game
+     * @return the session of the game, or a closed session without connections if the game is not found
      */
-    private Object getLock(String gameName) {
-        synchronized (gameConnectionMapper) {
-            Object lock = gameConnectionMapper.get(gameName);
-            if (lock == null) {
-                lock = exceptionLock;
-            }
-            return lock;
-        }
+    private GameSession getSession(String gameName) {
+        return gameSessions.getOrDefault(gameName, missingGameSession);
     }
 
     /**
@@ -120,7 +219,7 @@ public class ServerNetworkControllerMapper implements ClientToServerActions, Pro
      * @return true if the player is connected, false otherwise
      */
     private boolean isConnected(String gameName, String playerName) {
-        if (gameConnectionMapper.get(gameName) == null || gameConnectionMapper.get(gameName).get(playerName) == null) {
+        if (getSession(gameName).getConnection(playerName) == null) {
             logger.warn("Received a request from an already disconnected player. Game: {}, Player: {}", gameName, playerName);
             return false;
         }
@@ -128,27 +227,112 @@ public class ServerNetworkControllerMapper implements ClientToServerActions, Pro
     }
 
     /**
-     * Adds a game to the gameConnectionMapper.
+     * Adds a game to the gameSessions, unless it already has a session.
      *
      * @param gameName the name of the game
      */
     public void addGameToMapper(String gameName) {
-        synchronized (gameConnectionMapper) {
-            gameConnectionMapper.put(gameName, new HashMap<>());
+        gameSessions.putIfAbsent(gameName, new GameSession(gameName));
+    }
+
+    /**
+     * Removes a game from the gameSessions, closing its session.
+     * It is used when a saved game could not be restored.
+     *
+     * @param gameName the name of the game
+     */
+    public void removeGameFromMapper(String gameName) {
+        GameSession gameSession = gameSessions.remove(gameName);
+        if (gameSession != null) {
+            gameSession.close();
         }
     }
 
     /**
-     * Gets the update view message for a game.
+     * Sets the loader called, while holding the lock of the game, before a player joins or deletes a game.
+     * It lets a saved game be restored lazily, when it is first needed.
+     *
+     * @param gameLoader the loader, called with the name of the game
+     */
+    public void setGameLoader(Consumer<String> gameLoader) {
+        this.gameLoader = gameLoader;
+    }
+
+    /**
+     * Notifies the persistence of an action that has been applied to a game, so that it can be journaled.
+     * It must be called after the action succeeded and before the updated view is broadcast.
+     *
+     * @param action the message describing the action
+     */
+    private void notifyAction(ClientToServerMessage action) {
+        this.listeners.firePropertyChange("ACTION", null, action);
+    }
+
+    /**
+     * Sends the updated view of a game to all its players.
      * It also notifies the persistence that the game should be saved.
      *
      * @param gameName the name of the game
-     * @return the update view message
+     * @param timer    the timer of the action that updated the game
      */
-    private UpdateViewServerToClientMessage getUpdateViewServerToClientMessage(String gameName) {
+    private void broadcastUpdatedView(String gameName, ActionTimer timer) {
         GameControllerView gameControllerView = mainController.getVirtualView(gameName);
+        timer.mark(ActionPhaseEnum.VIEW_BUILD);
         this.listeners.firePropertyChange("SAVE", null, gameControllerView);
-        return new UpdateViewServerToClientMessage(gameControllerView);
+        timer.mark(ActionPhaseEnum.PERSISTENCE);
+        broadcastUpdatedView(gameName, gameControllerView, timer);
+    }
+
+    /**
+     * Sends the updated view of a game to all its players.
+     * A player that received the previous version of the view only receives the changes since that version.
+     * A player that has just joined or reconnected, or any player when the players of the game have changed, receives the full view.
+     *
+     * @param gameName           the name of the game
+     * @param gameControllerView the updated view of the game
+     */
+    public void broadcastUpdatedView(String gameName, GameControllerView gameControllerView) {
+        broadcastUpdatedView(gameName, gameControllerView, ActionTimer.UNTIMED);
+    }
+
+    /**
+     * Sends the updated view of a game to all its players, timing the phases of the action that updated the game.
+     *
+     * @param gameName           the name of the game
+     * @param gameControllerView the updated view of the game
+     * @param timer              the timer of the action that updated the game
+     */
+    private void broadcastUpdatedView(String gameName, GameControllerView gameControllerView, ActionTimer timer) {
+        GameSession gameSession = getSession(gameName);
+        ViewDeltaTracker viewDeltaTracker = gameSession.getViewDeltaTracker();
+        // The view may also be broadcast by the reconnection timer of a restored game, so the lock is taken again here.
+        gameSession.lock();
+        try {
+            GameControllerViewDelta viewDelta = viewDeltaTracker.update(gameControllerView);
+            long version = viewDeltaTracker.getVersion();
+            ServerToClientMessage deltaMessage = viewDelta == null ? null : new UpdateViewDeltaServerToClientMessage(viewDelta);
+            ServerToClientMessage fullMessage = null;
+            timer.mark(ActionPhaseEnum.VIEW_BUILD);
+            for (ServerMessageHandler messageHandler : gameSession.getConnections()) {
+                boolean isSent;
+                if (deltaMessage != null && viewDeltaTracker.getSentVersion(messageHandler) == viewDelta.baseVersion()) {
+                    isSent = send(messageHandler, deltaMessage, timer);
+                } else {
+                    if (fullMessage == null) {
+                        fullMessage = new UpdateViewServerToClientMessage(gameControllerView, version);
+                    }
+                    isSent = send(messageHandler, fullMessage, timer);
+                }
+                // A view that may not have reached the client cannot be the base of the next delta, so the connection gets the full view next time.
+                if (isSent) {
+                    viewDeltaTracker.setSentVersion(messageHandler, version);
+                } else {
+                    viewDeltaTracker.forget(messageHandler);
+                }
+            }
+        } finally {
+            gameSession.unlock();
+        }
     }
 
     /**
@@ -158,13 +342,17 @@ public class ServerNetworkControllerMapper implements ClientToServerActions, Pro
      */
     @Override
     public void getGames(ServerMessageHandler messageHandler) {
-        synchronized (gameConnectionMapper) {
-            try {
-                messageHandler.sendMessage(new GetGamesServerToClientMessage(mainController.getGameRecords()));
-            } catch (Exception e) {
-                messageHandler.sendMessage(new ErrorServerToClientMessage(e.getMessage()));
-            }
+        ActionTimer timer = metrics.startAction(PlayerActionEnum.GET_GAMES);
+        // The game records are served from an immutable snapshot, so no lock is needed.
+        try {
+            ServerToClientMessage gamesMessage = new GetGamesServerToClientMessage(mainController.getGameRecords());
+            timer.mark(ActionPhaseEnum.CONTROLLER);
+            send(messageHandler, gamesMessage, timer);
+        } catch (Exception e) {
+            timer.fail();
+            messageHandler.sendMessage(new ErrorServerToClientMessage(e.getMessage()));
         }
+        timer.finish();
     }
 
     /**
@@ -177,21 +365,40 @@ public class ServerNetworkControllerMapper implements ClientToServerActions, Pro
      */
     @Override
     public void createGame(ServerMessageHandler messageHandler, String gameName, String playerName, int nPlayers) {
-        synchronized (gameConnectionMapper) {
+        ActionTimer timer = metrics.startAction(PlayerActionEnum.CREATE_GAME);
+        GameSession gameSession = new GameSession(gameName);
+        // The session is locked before being published, so no other operation can use it until the game is created.
+        gameSession.lock();
+        try {
+            timer.mark(ActionPhaseEnum.LOCK_WAIT);
             try {
-                mainController.createGame(gameName, playerName, nPlayers);
+                if (gameSessions.putIfAbsent(gameName, gameSession) != null) {
+                    throw new IllegalArgumentException("A game with the name \"" + gameName + "\" already exists");
+                }
+                try {
+                    mainController.createGame(gameName, playerName, nPlayers);
+                } catch (Exception e) {
+                    gameSessions.remove(gameName, gameSession);
+                    gameSession.close();
+                    throw e;
+                }
                 messageHandler.setGameName(gameName);
                 messageHandler.setPlayerName(playerName);
                 messageHandler.connectionSaved(true);
 
-                gameConnectionMapper.put(gameName, new HashMap<>());
-                gameConnectionMapper.get(gameName).put(playerName, messageHandler);
+                gameSession.addConnection(playerName, messageHandler);
+                metrics.playerConnected();
+                timer.mark(ActionPhaseEnum.CONTROLLER);
 
-                broadcastMessage(gameName, getUpdateViewServerToClientMessage(gameName));
+                broadcastUpdatedView(gameName, timer);
             } catch (Exception e) {
+                timer.fail();
                 messageHandler.sendMessage(new ErrorServerToClientMessage(e.getMessage()));
             }
+        } finally {
+            gameSession.unlock();
         }
+        timer.finish();
     }
 
     /**
@@ -203,8 +410,19 @@ public class ServerNetworkControllerMapper implements ClientToServerActions, Pro
      */
     @Override
     public void joinGame(ServerMessageHandler messageHandler, String gameName, String playerName) {
-        synchronized (getLock(gameName)) {
+        ActionTimer timer = metrics.startAction(PlayerActionEnum.JOIN_GAME);
+        GameSession gameSession = getSession(gameName);
+        gameSession.lock();
+        try {
+            timer.mark(ActionPhaseEnum.LOCK_WAIT);
             try {
+                // The game may still be being restored.
+                gameLoader.accept(gameName);
+                timer.mark(ActionPhaseEnum.PERSISTENCE);
+                // The game may have been deleted while waiting for the lock.
+                if (gameSession.isClosed()) {
+                    throw new IllegalArgumentException("A game with the name \"" + gameName + "\" doesn't exists");
+                }
                 mainController.joinGame(gameName, playerName);
 
                 messageHandler.setGameName(gameName);
@@ -212,17 +430,22 @@ public class ServerNetworkControllerMapper implements ClientToServerActions, Pro
                 messageHandler.connectionSaved(true);
 
                 // Clear the timer that would delete the game if the player did not reconnect.
-                if (deleteGameTimers.get(gameName) != null) {
+                if (gameSession.cancelDeleteGameTimer()) {
                     logger.debug("Cancelling deletion timer for game {}", gameName);
-                    deleteGameTimers.get(gameName).cancel();
                 }
 
-                gameConnectionMapper.get(gameName).put(playerName, messageHandler);
-                broadcastMessage(gameName, getUpdateViewServerToClientMessage(gameName));
+                gameSession.addConnection(playerName, messageHandler);
+                metrics.playerConnected();
+                timer.mark(ActionPhaseEnum.CONTROLLER);
+                broadcastUpdatedView(gameName, timer);
             } catch (Exception e) {
+                timer.fail();
                 messageHandler.sendMessage(new ErrorServerToClientMessage(e.getMessage()));
             }
+        } finally {
+            gameSession.unlock();
         }
+        timer.finish();
     }
 
     /**
@@ -234,16 +457,27 @@ public class ServerNetworkControllerMapper implements ClientToServerActions, Pro
      */
     @Override
     public void deleteGame(ServerMessageHandler messageHandler, String gameName, String playerName) {
-        synchronized (getLock(gameName)) {
+        ActionTimer timer = metrics.startAction(PlayerActionEnum.DELETE_GAME);
+        GameSession gameSession = getSession(gameName);
+        gameSession.lock();
+        try {
+            timer.mark(ActionPhaseEnum.LOCK_WAIT);
             try {
+                gameLoader.accept(gameName);
+                timer.mark(ActionPhaseEnum.PERSISTENCE);
                 mainController.isGameDeletable(gameName, playerName);
-                broadcastMessage(gameName, new DeleteGameServerToClientMessage());
+                timer.mark(ActionPhaseEnum.CONTROLLER);
+                broadcastMessage(gameName, new DeleteGameServerToClientMessage(), timer);
                 // We close the connections. This will trigger the handleDisconnection method and so the game deletion.
                 closeConnections(gameName);
             } catch (Exception e) {
+                timer.fail();
                 messageHandler.sendMessage(new ErrorServerToClientMessage(e.getMessage()));
             }
+        } finally {
+            gameSession.unlock();
         }
+        timer.finish();
     }
 
     /**
@@ -255,16 +489,29 @@ public class ServerNetworkControllerMapper implements ClientToServerActions, Pro
      */
     @Override
     public void choosePlayerColor(String gameName, String playerName, PlayerColorEnum playerColor) {
-        synchronized (getLock(gameName)) {
+        ActionTimer timer = metrics.startAction(PlayerActionEnum.CHOOSE_PLAYER_COLOR);
+        GameSession gameSession = getSession(gameName);
+        gameSession.lock();
+        try {
+            timer.mark(ActionPhaseEnum.LOCK_WAIT);
             if (isConnected(gameName, playerName)) {
                 try {
                     mainController.getGameController(gameName).choosePlayerColor(playerName, playerColor);
-                    broadcastMessage(gameName, getUpdateViewServerToClientMessage(gameName));
+                    timer.mark(ActionPhaseEnum.CONTROLLER);
+                    notifyAction(new ChoosePlayerColorClientToServerMessage(gameName, playerName, playerColor));
+                    timer.mark(ActionPhaseEnum.PERSISTENCE);
+                    broadcastUpdatedView(gameName, timer);
                 } catch (Exception e) {
-                    gameConnectionMapper.get(gameName).get(playerName).sendMessage(new ErrorServerToClientMessage(e.getMessage()));
+                    timer.fail();
+                    gameSession.getConnection(playerName).sendMessage(new ErrorServerToClientMessage(e.getMessage()));
                 }
+            } else {
+                timer.fail();
             }
+        } finally {
+            gameSession.unlock();
         }
+        timer.finish();
     }
 
     /**
@@ -276,16 +523,29 @@ public class ServerNetworkControllerMapper implements ClientToServerActions, Pro
      */
     @Override
     public void setPlayerObjective(String gameName, String playerName, int cardId) {
-        synchronized (getLock(gameName)) {
+        ActionTimer timer = metrics.startAction(PlayerActionEnum.SET_PLAYER_OBJECTIVE);
+        GameSession gameSession = getSession(gameName);
+        gameSession.lock();
+        try {
+            timer.mark(ActionPhaseEnum.LOCK_WAIT);
             if (isConnected(gameName, playerName)) {
                 try {
                     mainController.getGameController(gameName).setPlayerObjective(playerName, cardId);
-                    broadcastMessage(gameName, getUpdateViewServerToClientMessage(gameName));
+                    timer.mark(ActionPhaseEnum.CONTROLLER);
+                    notifyAction(new SetPlayerObjectiveClientToServerMessage(gameName, playerName, cardId));
+                    timer.mark(ActionPhaseEnum.PERSISTENCE);
+                    broadcastUpdatedView(gameName, timer);
                 } catch (Exception e) {
-                    gameConnectionMapper.get(gameName).get(playerName).sendMessage(new ErrorServerToClientMessage(e.getMessage()));
+                    timer.fail();
+                    gameSession.getConnection(playerName).sendMessage(new ErrorServerToClientMessage(e.getMessage()));
                 }
+            } else {
+                timer.fail();
             }
+        } finally {
+            gameSession.unlock();
         }
+        timer.finish();
     }
 
     /**
@@ -299,22 +559,29 @@ public class ServerNetworkControllerMapper implements ClientToServerActions, Pro
      */
     @Override
     public void placeCard(String gameName, String playerName, Coordinate coordinate, int cardId, boolean isFlipped) {
-        synchronized (getLock(gameName)) {
+        ActionTimer timer = metrics.startAction(PlayerActionEnum.PLACE_CARD);
+        GameSession gameSession = getSession(gameName);
+        gameSession.lock();
+        try {
+            timer.mark(ActionPhaseEnum.LOCK_WAIT);
             if (isConnected(gameName, playerName)) {
                 try {
-                    GameControllerMiddleware gameController = mainController.getGameController(gameName);
-                    if (isFlipped) {
-                        gameController.switchCardSide(playerName, cardId);
-                    }
-                    gameController.placeCard(playerName, coordinate, cardId);
-
-                    broadcastMessage(gameName, getUpdateViewServerToClientMessage(gameName));
-
+                    mainController.getGameController(gameName).placeCard(playerName, coordinate, cardId, isFlipped);
+                    timer.mark(ActionPhaseEnum.CONTROLLER);
+                    notifyAction(new PlaceCardClientToServerMessage(gameName, playerName, coordinate, cardId, isFlipped));
+                    timer.mark(ActionPhaseEnum.PERSISTENCE);
+                    broadcastUpdatedView(gameName, timer);
                 } catch (Exception e) {
-                    gameConnectionMapper.get(gameName).get(playerName).sendMessage(new ErrorServerToClientMessage(e.getMessage()));
+                    timer.fail();
+                    gameSession.getConnection(playerName).sendMessage(new ErrorServerToClientMessage(e.getMessage()));
                 }
+            } else {
+                timer.fail();
             }
+        } finally {
+            gameSession.unlock();
         }
+        timer.finish();
     }
 
     /**
@@ -326,16 +593,29 @@ public class ServerNetworkControllerMapper implements ClientToServerActions, Pro
      */
     @Override
     public void drawCardFromField(String gameName, String playerName, int cardId) {
-        synchronized (getLock(gameName)) {
+        ActionTimer timer = metrics.startAction(PlayerActionEnum.DRAW_CARD_FROM_FIELD);
+        GameSession gameSession = getSession(gameName);
+        gameSession.lock();
+        try {
+            timer.mark(ActionPhaseEnum.LOCK_WAIT);
             if (isConnected(gameName, playerName)) {
                 try {
                     mainController.getGameController(gameName).drawCardFromField(playerName, cardId);
-                    broadcastMessage(gameName, getUpdateViewServerToClientMessage(gameName));
+                    timer.mark(ActionPhaseEnum.CONTROLLER);
+                    notifyAction(new DrawCardFromFieldClientToServerMessage(gameName, playerName, cardId));
+                    timer.mark(ActionPhaseEnum.PERSISTENCE);
+                    broadcastUpdatedView(gameName, timer);
                 } catch (Exception e) {
-                    gameConnectionMapper.get(gameName).get(playerName).sendMessage(new ErrorServerToClientMessage(e.getMessage()));
+                    timer.fail();
+                    gameSession.getConnection(playerName).sendMessage(new ErrorServerToClientMessage(e.getMessage()));
                 }
+            } else {
+                timer.fail();
             }
+        } finally {
+            gameSession.unlock();
         }
+        timer.finish();
     }
 
     /**
@@ -346,16 +626,29 @@ public class ServerNetworkControllerMapper implements ClientToServerActions, Pro
      */
     @Override
     public void drawCardFromResourceDeck(String gameName, String playerName) {
-        synchronized (getLock(gameName)) {
+        ActionTimer timer = metrics.startAction(PlayerActionEnum.DRAW_CARD_FROM_RESOURCE_DECK);
+        GameSession gameSession = getSession(gameName);
+        gameSession.lock();
+        try {
+            timer.mark(ActionPhaseEnum.LOCK_WAIT);
             if (isConnected(gameName, playerName)) {
                 try {
                     mainController.getGameController(gameName).drawCardFromResourceDeck(playerName);
-                    broadcastMessage(gameName, getUpdateViewServerToClientMessage(gameName));
+                    timer.mark(ActionPhaseEnum.CONTROLLER);
+                    notifyAction(new DrawCardFromResourceDeckClientToServerMessage(gameName, playerName));
+                    timer.mark(ActionPhaseEnum.PERSISTENCE);
+                    broadcastUpdatedView(gameName, timer);
                 } catch (Exception e) {
-                    gameConnectionMapper.get(gameName).get(playerName).sendMessage(new ErrorServerToClientMessage(e.getMessage()));
+                    timer.fail();
+                    gameSession.getConnection(playerName).sendMessage(new ErrorServerToClientMessage(e.getMessage()));
                 }
+            } else {
+                timer.fail();
             }
+        } finally {
+            gameSession.unlock();
         }
+        timer.finish();
     }
 
     /**
@@ -366,16 +659,29 @@ public class ServerNetworkControllerMapper implements ClientToServerActions, Pro
      */
     @Override
     public void drawCardFromGoldDeck(String gameName, String playerName) {
-        synchronized (getLock(gameName)) {
+        ActionTimer timer = metrics.startAction(PlayerActionEnum.DRAW_CARD_FROM_GOLD_DECK);
+        GameSession gameSession = getSession(gameName);
+        gameSession.lock();
+        try {
+            timer.mark(ActionPhaseEnum.LOCK_WAIT);
             if (isConnected(gameName, playerName)) {
                 try {
                     mainController.getGameController(gameName).drawCardFromGoldDeck(playerName);
-                    broadcastMessage(gameName, getUpdateViewServerToClientMessage(gameName));
+                    timer.mark(ActionPhaseEnum.CONTROLLER);
+                    notifyAction(new DrawCardFromGoldDeckClientToServerMessage(gameName, playerName));
+                    timer.mark(ActionPhaseEnum.PERSISTENCE);
+                    broadcastUpdatedView(gameName, timer);
                 } catch (Exception e) {
-                    gameConnectionMapper.get(gameName).get(playerName).sendMessage(new ErrorServerToClientMessage(e.getMessage()));
+                    timer.fail();
+                    gameSession.getConnection(playerName).sendMessage(new ErrorServerToClientMessage(e.getMessage()));
                 }
+            } else {
+                timer.fail();
             }
+        } finally {
+            gameSession.unlock();
         }
+        timer.finish();
     }
 
     /**
@@ -387,16 +693,29 @@ public class ServerNetworkControllerMapper implements ClientToServerActions, Pro
      */
     @Override
     public void switchCardSide(String gameName, String playerName, int cardId) {
-        synchronized (getLock(gameName)) {
+        ActionTimer timer = metrics.startAction(PlayerActionEnum.SWITCH_CARD_SIDE);
+        GameSession gameSession = getSession(gameName);
+        gameSession.lock();
+        try {
+            timer.mark(ActionPhaseEnum.LOCK_WAIT);
             if (isConnected(gameName, playerName)) {
                 try {
                     mainController.getGameController(gameName).switchCardSide(playerName, cardId);
-                    broadcastMessage(gameName, getUpdateViewServerToClientMessage(gameName));
+                    timer.mark(ActionPhaseEnum.CONTROLLER);
+                    notifyAction(new SwitchCardSideClientToServerMessage(gameName, playerName, cardId));
+                    timer.mark(ActionPhaseEnum.PERSISTENCE);
+                    broadcastUpdatedView(gameName, timer);
                 } catch (Exception e) {
-                    gameConnectionMapper.get(gameName).get(playerName).sendMessage(new ErrorServerToClientMessage(e.getMessage()));
+                    timer.fail();
+                    gameSession.getConnection(playerName).sendMessage(new ErrorServerToClientMessage(e.getMessage()));
                 }
+            } else {
+                timer.fail();
             }
+        } finally {
+            gameSession.unlock();
         }
+        timer.finish();
     }
 
     /**
@@ -409,28 +728,38 @@ public class ServerNetworkControllerMapper implements ClientToServerActions, Pro
      */
     @Override
     public void sendChatMessage(String gameName, String playerName, String message, String receiver, long timestamp, boolean isDirectMessage) {
-        synchronized (getLock(gameName)) {
+        ActionTimer timer = metrics.startAction(PlayerActionEnum.SEND_CHAT_MSG);
+        GameSession gameSession = getSession(gameName);
+        gameSession.lock();
+        try {
+            timer.mark(ActionPhaseEnum.LOCK_WAIT);
             if (isConnected(gameName, playerName)) {
                 // The message is converted to a ChatServerToClientMessage and sent to all clients excluding the sender.
                 ChatServerToClientMessage convertedMessage = new ChatServerToClientMessage(playerName, message, timestamp, isDirectMessage);
 
                 if (convertedMessage.isDirectMessage()) {
                     //It is sent only to the receiver and the sender.
-                    ServerMessageHandler receiverHandler = gameConnectionMapper.get(gameName).get(receiver);
-                    ServerMessageHandler senderHandler = gameConnectionMapper.get(gameName).get(playerName);
+                    ServerMessageHandler receiverHandler = gameSession.getConnection(receiver);
+                    ServerMessageHandler senderHandler = gameSession.getConnection(playerName);
                     if (receiverHandler != null) {
-                        receiverHandler.sendMessage(convertedMessage);
+                        send(receiverHandler, convertedMessage, timer);
                         if (!receiver.equals(playerName))
-                            senderHandler.sendMessage(convertedMessage);
+                            send(senderHandler, convertedMessage, timer);
                     } else {
+                        timer.fail();
                         senderHandler.sendMessage(new ErrorServerToClientMessage("The player you are trying to send a message to is not in the game."));
                     }
                 } else {
                     //It is broadcast to any player of the game (even the sender) to avoid code redundancy client-side.
-                    broadcastMessage(gameName, convertedMessage);
+                    broadcastMessage(gameName, convertedMessage, timer);
                 }
+            } else {
+                timer.fail();
             }
+        } finally {
+            gameSession.unlock();
         }
+        timer.finish();
     }
 
     /**
@@ -441,11 +770,60 @@ public class ServerNetworkControllerMapper implements ClientToServerActions, Pro
      */
     @Override
     public void disconnect(String gameName, String playerName) {
-        synchronized (getLock(gameName)) {
+        ActionTimer timer = metrics.startAction(PlayerActionEnum.DISCONNECT);
+        GameSession gameSession = getSession(gameName);
+        gameSession.lock();
+        try {
+            timer.mark(ActionPhaseEnum.LOCK_WAIT);
+            if (isConnected(gameName, playerName)) {
+                gameSession.getConnection(playerName).closeConnection();
+                timer.mark(ActionPhaseEnum.SEND);
+            } else {
+                timer.fail();
+            }
+        } finally {
+            gameSession.unlock();
+        }
+        timer.finish();
+    }
+
+    /**
+     * Sends the full view of a game to a player, whose client can no longer apply the changes of the view it receives.
+     * The next changes are based on the version of the view sent.
+     *
+     * @param gameName   the name of the game.
+     * @param playerName the name of the player requesting the view.
+     */
+    @Override
+    public void requestView(String gameName, String playerName) {
+        ActionTimer timer = metrics.startAction(PlayerActionEnum.REQUEST_VIEW);
+        GameSession gameSession = getSession(gameName);
+        gameSession.lock();
+        try {
+            timer.mark(ActionPhaseEnum.LOCK_WAIT);
             if (isConnected(gameName, playerName)) {
-                gameConnectionMapper.get(gameName).get(playerName).closeConnection();
+                ServerMessageHandler messageHandler = gameSession.getConnection(playerName);
+                ViewDeltaTracker viewDeltaTracker = gameSession.getViewDeltaTracker();
+                try {
+                    // The view is rebuilt from the model, which has not changed since the last version was recorded, as the lock is held.
+                    ServerToClientMessage fullMessage = new UpdateViewServerToClientMessage(mainController.getVirtualView(gameName), viewDeltaTracker.getVersion());
+                    timer.mark(ActionPhaseEnum.VIEW_BUILD);
+                    if (send(messageHandler, fullMessage, timer)) {
+                        viewDeltaTracker.setSentVersion(messageHandler, viewDeltaTracker.getVersion());
+                    } else {
+                        viewDeltaTracker.forget(messageHandler);
+                    }
+                } catch (Exception e) {
+                    timer.fail();
+                    messageHandler.sendMessage(new ErrorServerToClientMessage(e.getMessage()));
+                }
+            } else {
+                timer.fail();
             }
+        } finally {
+            gameSession.unlock();
         }
+        timer.finish();
     }
 
     /**
@@ -456,51 +834,56 @@ public class ServerNetworkControllerMapper implements ClientToServerActions, Pro
      * @param playerName the name of the player who disconnected
      */
     public void handleDisconnection(String gameName, String playerName) {
-        synchronized (getLock(gameName)) {
+        GameSession gameSession = getSession(gameName);
+        gameSession.lock();
+        try {
             if (isConnected(gameName, playerName)) {
-                gameConnectionMapper.get(gameName).remove(playerName);
+                gameSession.removeConnection(playerName);
                 mainController.getGameController(gameName).setPlayerConnectionStatus(playerName, false);
+                // A player leaving a game that has not started yet is removed from it, so the lobby must list one player less.
+                mainController.refreshGameRecord(gameName);
 
-                logger.debug("Player {} disconnected from game {}. Remaining players: {}", playerName, gameName, gameConnectionMapper.get(gameName).size());
+                logger.debug("Player {} disconnected from game {}. Remaining players: {}", playerName, gameName, gameSession.getConnectionsCount());
 
-                if (!mainController.getGameController(gameName).getGameStatus().equals(GameStatusEnum.WAIT_FOR_PLAYERS) && gameConnectionMapper.get(gameName).size() == 1) {
+                if (!mainController.getGameController(gameName).getGameStatus().equals(GameStatusEnum.WAIT_FOR_PLAYERS) && gameSession.getConnectionsCount() == 1) {
                     // If there is only one player left in the game we start a timer that will delete the game if the player does not reconnect.
-                    startLastPlayerTimeout(gameName);
+                    startLastPlayerTimeout(gameSession);
                 }
                 // If the game is now empty we delete it.
-                if (gameConnectionMapper.get(gameName).isEmpty()) {
+                if (gameSession.getConnectionsCount() == 0) {
                     listeners.firePropertyChange("DELETE", null, gameName);
                     return;
                 }
                 // If the game was not deleted we update the view for the remaining players.
-                broadcastMessage(gameName, getUpdateViewServerToClientMessage(gameName));
+                broadcastUpdatedView(gameName, ActionTimer.UNTIMED);
             }
+        } finally {
+            gameSession.unlock();
         }
     }
 
     /**
      * Starts a timer that will delete the game if there is only one player left in it.
+     * It must be called while holding the lock of the session.
      *
-     * @param gameName the name of the game
+     * @param gameSession the session of the game
      */
-    private void startLastPlayerTimeout(String gameName) {
+    private void startLastPlayerTimeout(GameSession gameSession) {
+        String gameName = gameSession.getGameName();
         logger.debug("Starting deletion timer for game {}", gameName);
-        Timer timer = new Timer();
-        // Save the timer in a map so that we can cancel it if the player reconnects.
-        deleteGameTimers.put(gameName, timer);
-
-        timer.schedule(new TimerTask() {
-            @Override
-            public void run() {
+        // Save the timer in the session so that we can cancel it if the player reconnects.
+        gameSession.setDeleteGameTimer(SchedulerService.schedule(() ->
                 // If after 30 seconds there is still only one player in the game we close the connections and delete the game.
-                synchronized (getLock(gameName)) {
-                    HashMap<String, ServerMessageHandler> gameConnections = gameConnectionMapper.get(gameName);
-                    if (gameConnections != null && gameConnections.size() == 1) {
-                        deleteGame(gameName);
+                gameSession.getActor().execute(() -> {
+                    gameSession.lock();
+                    try {
+                        if (!gameSession.isClosed() && gameSession.getConnectionsCount() == 1) {
+                            deleteGame(gameName);
+                        }
+                    } finally {
+                        gameSession.unlock();
                     }
-                }
-            }
-        }, 30000); // Delay in milliseconds
+                }), 30000, TimeUnit.MILLISECONDS));
     }
 
     /**
@@ -509,25 +892,30 @@ public class ServerNetworkControllerMapper implements ClientToServerActions, Pro
      * @param gameName the name of the game to be deleted
      */
     public void deleteGame(String gameName) {
-        synchronized (getLock(gameName)) {
-            if (gameConnectionMapper.get(gameName).isEmpty()) {
-                synchronized (gameConnectionMapper) {
-                    // Delete the game
-                    mainController.deleteGame(gameName);
-                    gameConnectionMapper.remove(gameName);
-                    // Cancel any deletion timer that may be running.
-                    if (deleteGameTimers.get(gameName) != null) {
-                        deleteGameTimers.get(gameName).cancel();
-                        deleteGameTimers.remove(gameName);
-                    }
-                }
+        GameSession gameSession = getSession(gameName);
+        gameSession.lock();
+        try {
+            if (gameSession.isClosed()) {
+                logger.warn("Game {} has already been deleted.", gameName);
+                return;
+            }
+            if (gameSession.getConnectionsCount() == 0) {
+                // The session is removed first, so a game with the same name cannot be created before this one is deleted.
+                gameSessions.remove(gameName, gameSession);
+                // Close the session, cancelling any deletion timer that may be running.
+                gameSession.close();
+                // Delete the game
+                mainController.deleteGame(gameName);
                 logger.debug("Game {} deleted.", gameName);
             } else {
                 broadcastMessage(gameName, new DeleteGameServerToClientMessage());
                 closeConnections(gameName);
             }
+        } finally {
+            gameSession.unlock();
         }
     }
+
     /**
      * Adds a PropertyChangeListener to the listener list.
      * The listener will be notified of property changes.
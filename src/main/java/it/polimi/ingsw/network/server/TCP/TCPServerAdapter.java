@@ -6,6 +6,7 @@ import com.google.gson.JsonSyntaxException;
 import it.polimi.ingsw.model.card.gameCard.SerializableBooleanProperty;
 import it.polimi.ingsw.model.card.gameCard.SideGameCard;
 import it.polimi.ingsw.model.card.objectiveCard.ObjectiveCard;
+import it.polimi.ingsw.model.utils.store.GameItemStore;
 import it.polimi.ingsw.network.TCPConnectionHandler;
 import it.polimi.ingsw.network.client.message.ClientToServerMessage;
 import it.polimi.ingsw.network.client.message.PlayerActionEnum;
@@ -13,6 +14,7 @@ import it.polimi.ingsw.network.server.ServerMessageHandler;
 import it.polimi.ingsw.network.server.ServerNetworkControllerMapper;
 import it.polimi.ingsw.network.server.message.ServerToClientMessage;
 import it.polimi.ingsw.network.server.message.adapter.ClientToServerMessageAdapter;
+import it.polimi.ingsw.parsing.adapters.GameItemStoreAdapter;
 import it.polimi.ingsw.parsing.adapters.ObjectiveCardAdapter;
 import it.polimi.ingsw.parsing.adapters.SerializableBooleanPropertyAdapter;
 import it.polimi.ingsw.parsing.adapters.SideGameCardAdapter;
@@ -23,6 +25,8 @@ import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.io.IOException;
 import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadFactory;
 
 /**
  * The TCPServerAdapter class is responsible for handling TCP server operations.
@@ -49,11 +53,13 @@ public class TCPServerAdapter implements ServerMessageHandler, PropertyChangeLis
      * - Register a custom type adapter for SideGameCard objects.
      * - Register a custom type adapter for ObjectiveCard objects.
      * - Register a custom type adapter for ClientToServerMessage objects.
+     * It is shared by all the connections, so a message encoded for one connection can be sent as it is to the others.
      */
-    private final Gson gson = new GsonBuilder()
+    private static final Gson gson = new GsonBuilder()
             .enableComplexMapKeySerialization()
             .registerTypeAdapter(SerializableBooleanProperty.class, new SerializableBooleanPropertyAdapter())
             .registerTypeAdapter(SideGameCard.class, new SideGameCardAdapter())
+            .registerTypeAdapter(GameItemStore.class, new GameItemStoreAdapter())
             .registerTypeAdapter(ObjectiveCard.class, new ObjectiveCardAdapter())
             .registerTypeAdapter(ClientToServerMessage.class, new ClientToServerMessageAdapter())
             .create();
@@ -72,15 +78,29 @@ public class TCPServerAdapter implements ServerMessageHandler, PropertyChangeLis
 
     /**
      * Constructs a new TCPServerAdapter object with the specified socket and ServerNetworkControllerMapper.
+     * The connection is read on a dedicated platform thread.
      *
      * @param socket                        the socket to be used by the TCPConnectionHandler
      * @param serverNetworkControllerMapper the ServerNetworkControllerMapper to be used by the TCPServerAdapter
      */
     public TCPServerAdapter(Socket socket, ServerNetworkControllerMapper serverNetworkControllerMapper) {
+        this(socket, serverNetworkControllerMapper, Thread.ofPlatform().name("TCPConnectionHandler").factory());
+    }
+
+    /**
+     * Constructs a new TCPServerAdapter object with the specified socket and ServerNetworkControllerMapper.
+     * The connection is read on a thread created by the specified factory.
+     *
+     * @param socket                        the socket to be used by the TCPConnectionHandler
+     * @param serverNetworkControllerMapper the ServerNetworkControllerMapper to be used by the TCPServerAdapter
+     * @param threadFactory                 the factory used to create the thread reading the connection
+     */
+    public TCPServerAdapter(Socket socket, ServerNetworkControllerMapper serverNetworkControllerMapper, ThreadFactory threadFactory) {
         this.serverNetworkControllerMapper = serverNetworkControllerMapper;
-        this.clientConnectionHandler = new TCPConnectionHandler(socket);
+        // The messages are parsed on the reading thread and then enqueued to the actor of their game, so no executor is needed.
+        this.clientConnectionHandler = new TCPConnectionHandler(socket, Runnable::run);
         this.clientConnectionHandler.addPropertyChangeListener(this);
-        this.clientConnectionHandler.start();
+        this.clientConnectionHandler.start(threadFactory);
     }
 
     /**
@@ -95,7 +115,9 @@ public class TCPServerAdapter implements ServerMessageHandler, PropertyChangeLis
             case "CONNECTION_CLOSED" -> {
                 if (this.isConnectionSaved) {
                     this.isConnectionSaved = false;
-                    this.serverNetworkControllerMapper.handleDisconnection(gameName, playerName);
+                    String disconnectedGameName = gameName;
+                    String disconnectedPlayerName = playerName;
+                    this.serverNetworkControllerMapper.execute(disconnectedGameName, () -> this.serverNetworkControllerMapper.handleDisconnection(disconnectedGameName, disconnectedPlayerName));
                 }
                 logger.warn("Connection with client lost.");
             }
@@ -106,58 +128,122 @@ public class TCPServerAdapter implements ServerMessageHandler, PropertyChangeLis
 
     private void receiveMessage(String message) {
         logger.debug("Received TCP message: {}", message);
+        serverNetworkControllerMapper.getMetrics().tcpMessageReceived(utf8Length(message));
         try {
-            ClientToServerMessage receivedMessage = this.gson.fromJson(message, ClientToServerMessage.class);
-            PlayerActionEnum playerAction = receivedMessage.getPlayerAction();
-            // Thanks to polymorphism, the correct method is called based on the playerAction (ClientToServerMessage have all the methods of subclasses, so when we get the right message the methods was overridden)
-            switch (playerAction) {
-                case GET_GAMES -> serverNetworkControllerMapper.getGames(this);
-                case CREATE_GAME ->
-                        serverNetworkControllerMapper.createGame(this, receivedMessage.getGameName(), receivedMessage.getPlayerName(), receivedMessage.getNPlayers());
-                case DELETE_GAME ->
-                        serverNetworkControllerMapper.deleteGame(this, receivedMessage.getGameName(), receivedMessage.getPlayerName());
-                case JOIN_GAME ->
-                        serverNetworkControllerMapper.joinGame(this, receivedMessage.getGameName(), receivedMessage.getPlayerName());
-                case CHOOSE_PLAYER_COLOR ->
-                        serverNetworkControllerMapper.choosePlayerColor(receivedMessage.getGameName(), receivedMessage.getPlayerName(), receivedMessage.getPlayerColor());
-                case SET_PLAYER_OBJECTIVE ->
-                        serverNetworkControllerMapper.setPlayerObjective(receivedMessage.getGameName(), receivedMessage.getPlayerName(), receivedMessage.getObjectiveCardId());
-                case PLACE_CARD ->
-                        serverNetworkControllerMapper.placeCard(receivedMessage.getGameName(), receivedMessage.getPlayerName(), receivedMessage.getCoordinate(), receivedMessage.getGameCardId(), receivedMessage.isFlipped());
-                case DRAW_CARD_FROM_FIELD ->
-                        serverNetworkControllerMapper.drawCardFromField(receivedMessage.getGameName(), receivedMessage.getPlayerName(), receivedMessage.getGameCardId());
-                case DRAW_CARD_FROM_RESOURCE_DECK ->
-                        serverNetworkControllerMapper.drawCardFromResourceDeck(receivedMessage.getGameName(), receivedMessage.getPlayerName());
-                case DRAW_CARD_FROM_GOLD_DECK ->
-                        serverNetworkControllerMapper.drawCardFromGoldDeck(receivedMessage.getGameName(), receivedMessage.getPlayerName());
-                case SWITCH_CARD_SIDE ->
-                        serverNetworkControllerMapper.switchCardSide(receivedMessage.getGameName(), receivedMessage.getPlayerName(), receivedMessage.getGameCardId());
-                case SEND_CHAT_MSG ->
-                        serverNetworkControllerMapper.sendChatMessage(receivedMessage.getGameName(), receivedMessage.getPlayerName(), receivedMessage.getMessage(), receivedMessage.getRecipient(), receivedMessage.getTimestamp(), receivedMessage.isDirectMessage());
-                case DISCONNECT ->
-                        serverNetworkControllerMapper.disconnect(receivedMessage.getGameName(), receivedMessage.getPlayerName());
-                default -> logger.error("Invalid action");
-            }
+            ClientToServerMessage receivedMessage = gson.fromJson(message, ClientToServerMessage.class);
+            // The action is enqueued to the actor of its game, so the reading thread is never blocked by the game.
+            serverNetworkControllerMapper.execute(receivedMessage.getGameName(), () -> executeAction(receivedMessage));
         } catch (JsonSyntaxException e) {
             logger.error("Error parsing message: {}", message);
         }
     }
 
+    /**
+     * Executes the action of a received message.
+     *
+     * @param receivedMessage the message received from the client
+     */
+    private void executeAction(ClientToServerMessage receivedMessage) {
+        PlayerActionEnum playerAction = receivedMessage.getPlayerAction();
+        // Thanks to polymorphism, the correct method is called based on the playerAction (ClientToServerMessage have all the methods of subclasses, so when we get the right message the methods was overridden)
+        switch (playerAction) {
+            case GET_GAMES -> serverNetworkControllerMapper.getGames(this);
+            case CREATE_GAME ->
+                    serverNetworkControllerMapper.createGame(this, receivedMessage.getGameName(), receivedMessage.getPlayerName(), receivedMessage.getNPlayers());
+            case DELETE_GAME ->
+                    serverNetworkControllerMapper.deleteGame(this, receivedMessage.getGameName(), receivedMessage.getPlayerName());
+            case JOIN_GAME ->
+                    serverNetworkControllerMapper.joinGame(this, receivedMessage.getGameName(), receivedMessage.getPlayerName());
+            case CHOOSE_PLAYER_COLOR ->
+                    serverNetworkControllerMapper.choosePlayerColor(receivedMessage.getGameName(), receivedMessage.getPlayerName(), receivedMessage.getPlayerColor());
+            case SET_PLAYER_OBJECTIVE ->
+                    serverNetworkControllerMapper.setPlayerObjective(receivedMessage.getGameName(), receivedMessage.getPlayerName(), receivedMessage.getObjectiveCardId());
+            case PLACE_CARD ->
+                    serverNetworkControllerMapper.placeCard(receivedMessage.getGameName(), receivedMessage.getPlayerName(), receivedMessage.getCoordinate(), receivedMessage.getGameCardId(), receivedMessage.isFlipped());
+            case DRAW_CARD_FROM_FIELD ->
+                    serverNetworkControllerMapper.drawCardFromField(receivedMessage.getGameName(), receivedMessage.getPlayerName(), receivedMessage.getGameCardId());
+            case DRAW_CARD_FROM_RESOURCE_DECK ->
+                    serverNetworkControllerMapper.drawCardFromResourceDeck(receivedMessage.getGameName(), receivedMessage.getPlayerName());
+            case DRAW_CARD_FROM_GOLD_DECK ->
+                    serverNetworkControllerMapper.drawCardFromGoldDeck(receivedMessage.getGameName(), receivedMessage.getPlayerName());
+            case SWITCH_CARD_SIDE ->
+                    serverNetworkControllerMapper.switchCardSide(receivedMessage.getGameName(), receivedMessage.getPlayerName(), receivedMessage.getGameCardId());
+            case SEND_CHAT_MSG ->
+                    serverNetworkControllerMapper.sendChatMessage(receivedMessage.getGameName(), receivedMessage.getPlayerName(), receivedMessage.getMessage(), receivedMessage.getRecipient(), receivedMessage.getTimestamp(), receivedMessage.isDirectMessage());
+            case DISCONNECT ->
+                    serverNetworkControllerMapper.disconnect(receivedMessage.getGameName(), receivedMessage.getPlayerName());
+            case REQUEST_VIEW ->
+                    serverNetworkControllerMapper.requestView(receivedMessage.getGameName(), receivedMessage.getPlayerName());
+            default -> logger.error("Invalid action");
+        }
+    }
+
     /**
      * Sends a message to the client.
      *
      * @param message the message to be sent
+     * @return true if the message was sent, false if writing it to the connection failed
      */
     @Override
-    public void sendMessage(ServerToClientMessage message) {
+    public boolean sendMessage(ServerToClientMessage message) {
         logger.debug("Sending message: SERVER_ACTION: {}", message.getServerAction());
-        String serializedMessage = this.gson.toJson(message);
-        logger.trace("Sending message: {}", serializedMessage);
         try {
-            this.clientConnectionHandler.send(serializedMessage);
+            // The message is encoded only once per codec, even if it is broadcast to all the players of a game.
+            if (this.clientConnectionHandler.isBinaryCodecEnabled()) {
+                byte[] encodedMessage = message.encodeBinary();
+                this.clientConnectionHandler.sendBinary(encodedMessage);
+                serverNetworkControllerMapper.getMetrics().tcpMessageSent(encodedMessage.length);
+                return true;
+            }
+            byte[] encodedMessage = message.encode(gson);
+            if (logger.isTraceEnabled()) {
+                logger.trace("Sending message: {}", new String(encodedMessage, StandardCharsets.UTF_8));
+            }
+            this.clientConnectionHandler.send(encodedMessage);
+            serverNetworkControllerMapper.getMetrics().tcpMessageSent(encodedMessage.length);
+            return true;
         } catch (IOException e) {
             logger.error("Error sending message: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Encodes a message with the codec negotiated with the client.
+     *
+     * @param message the message to be encoded
+     */
+    @Override
+    public void encodeMessage(ServerToClientMessage message) {
+        if (this.clientConnectionHandler.isBinaryCodecEnabled()) {
+            message.encodeBinary();
+        } else {
+            message.encode(gson);
+        }
+    }
+
+    /**
+     * Computes the number of bytes of a string encoded as UTF-8, without encoding it.
+     *
+     * @param string the string
+     * @return the number of bytes
+     */
+    private static int utf8Length(String string) {
+        int length = 0;
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < string.length() && Character.isLowSurrogate(string.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
         }
+        return length;
     }
 
     /**
@@ -0,0 +1,241 @@
+package it.polimi.ingsw.network.server;
+
+import it.polimi.ingsw.model.card.Card;
+import it.polimi.ingsw.model.card.gameCard.GameCard;
+import it.polimi.ingsw.model.player.PlayerColorEnum;
+import it.polimi.ingsw.model.utils.Coordinate;
+import it.polimi.ingsw.network.virtualView.*;
+
+import java.util.*;
+
+/**
+ * The ViewDeltaTracker class keeps track of the versions of the view of a game, in order to send to each connection only the changes
+ * since the last version it received.
+ * The views produced by the model share their mutable objects with it, so the previous version cannot be kept as it is.
+ * A compact fingerprint of each part of the view is stored instead, and used to detect which parts have changed.
+ * All the methods are synchronized, since the views of a game may be broadcast by timers as well as by the actor of the game.
+ */
+public class ViewDeltaTracker {
+
+    /**
+     * The version of the last view recorded, or 0 if no view has been recorded yet.
+     */
+    private long version;
+
+    /**
+     * The names of the players of the last view recorded, or null if no view has been recorded yet.
+     */
+    private List<String> playerNames;
+
+    /**
+     * The fingerprint of the global board of the last view recorded.
+     */
+    private List<Integer> globalBoardFingerprint;
+
+    /**
+     * The fingerprints of the players of the last view recorded, by player name.
+     */
+    private final HashMap<String, PlayerFingerprint> playerFingerprints;
+
+    /**
+     * The version of the last view sent to each connection.
+     */
+    private final HashMap<ServerMessageHandler, Long> sentVersions;
+
+    /**
+     * Constructs a new ViewDeltaTracker with no recorded view.
+     */
+    public ViewDeltaTracker() {
+        this.version = 0;
+        this.playerFingerprints = new HashMap<>();
+        this.sentVersions = new HashMap<>();
+    }
+
+    /**
+     * Records a new version of the view and computes the changes since the previous one.
+     * If there is no previous version, or the players of the game have changed, no delta is computed and the full view must be sent.
+     *
+     * @param view the new view of the game.
+     * @return the changes since the previous version, or null if they cannot be expressed as a delta.
+     */
+    public synchronized GameControllerViewDelta update(GameControllerView view) {
+        GameView gameView = view.gameView();
+        List<String> currentPlayerNames = gameView.playerViews().stream().map(PlayerView::playerName).toList();
+        boolean isDeltaAvailable = version > 0 && currentPlayerNames.equals(playerNames);
+        long baseVersion = version;
+        version++;
+
+        // The global board is sent only if one of its cards has changed.
+        List<Integer> currentGlobalBoardFingerprint = globalBoardFingerprint(gameView.globalBoardView());
+        GlobalBoardView changedGlobalBoardView = currentGlobalBoardFingerprint.equals(globalBoardFingerprint) ? null : gameView.globalBoardView();
+        globalBoardFingerprint = currentGlobalBoardFingerprint;
+
+        ArrayList<PlayerViewDelta> playerViewDeltas = new ArrayList<>();
+        HashMap<String, PlayerFingerprint> previousPlayerFingerprints = new HashMap<>(playerFingerprints);
+        playerFingerprints.clear();
+        for (PlayerView playerView : gameView.playerViews()) {
+            PlayerFingerprint current = PlayerFingerprint.of(playerView);
+            PlayerFingerprint previous = previousPlayerFingerprints.get(playerView.playerName());
+            playerFingerprints.put(playerView.playerName(), current);
+            if (isDeltaAvailable && !current.equals(previous)) {
+                playerViewDeltas.add(playerViewDelta(playerView, previous, current));
+            }
+        }
+        playerNames = currentPlayerNames;
+
+        if (!isDeltaAvailable) {
+            return null;
+        }
+        return new GameControllerViewDelta(version, baseVersion, view.gameStatus(), view.isLastRound(), view.remainingRoundsToEndGame(),
+                gameView.currentPlayer(), new ArrayList<>(gameView.winners()), new ArrayList<>(gameView.availablePlayerColors()),
+                changedGlobalBoardView, playerViewDeltas);
+    }
+
+    /**
+     * Returns the version of the last view recorded.
+     *
+     * @return the version of the last view recorded, or 0 if no view has been recorded yet.
+     */
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the version of the last view sent to a connection.
+     *
+     * @param messageHandler the connection.
+     * @return the version of the last view sent to the connection, or 0 if no view has been sent to it.
+     */
+    public synchronized long getSentVersion(ServerMessageHandler messageHandler) {
+        return sentVersions.getOrDefault(messageHandler, 0L);
+    }
+
+    /**
+     * Records the version of the last view sent to a connection.
+     *
+     * @param messageHandler the connection.
+     * @param sentVersion    the version of the view sent to the connection.
+     */
+    public synchronized void setSentVersion(ServerMessageHandler messageHandler, long sentVersion) {
+        sentVersions.put(messageHandler, sentVersion);
+    }
+
+    /**
+     * Forgets a connection, so that it will receive the full view if it is used again.
+     *
+     * @param messageHandler the connection.
+     */
+    public synchronized void forget(ServerMessageHandler messageHandler) {
+        sentVersions.remove(messageHandler);
+    }
+
+    /**
+     * Computes the changes of the view of a player.
+     *
+     * @param playerView the current view of the player.
+     * @param previous   the fingerprint of the previous view of the player.
+     * @param current    the fingerprint of the current view of the player.
+     * @return the changes of the view of the player.
+     */
+    private static PlayerViewDelta playerViewDelta(PlayerView playerView, PlayerFingerprint previous, PlayerFingerprint current) {
+        PlayerHandView changedHandView = current.hand().equals(previous.hand()) ? null : playerView.playerHandView();
+
+        HashMap<Coordinate, GameCard> placedCards = null;
+        PlayerBoardView playerBoardView = playerView.playerBoardView();
+        if (!current.placedCoordinates().equals(previous.placedCoordinates())) {
+            placedCards = new HashMap<>();
+            HashMap<Coordinate, GameCard> playerBoard = playerBoardView.playerBoard();
+            for (Coordinate coordinate : current.placedCoordinates()) {
+                if (previous.placedCoordinates().contains(coordinate)) {
+                    continue;
+                }
+                placedCards.put(coordinate, playerBoard.get(coordinate));
+                // Placing a card covers the corners of the cards around it, so they are sent again.
+                for (int dx = -1; dx <= 1; dx += 2) {
+                    for (int dy = -1; dy <= 1; dy += 2) {
+                        Coordinate adjacent = new Coordinate(coordinate.x + dx, coordinate.y + dy);
+                        GameCard adjacentCard = playerBoard.get(adjacent);
+                        if (adjacentCard != null) {
+                            placedCards.put(adjacent, adjacentCard);
+                        }
+                    }
+                }
+            }
+        }
+
+        return new PlayerViewDelta(playerView.playerName(), playerView.color(), playerView.playerPos(), playerView.objectiveCard(),
+                playerView.choosableObjectives(), playerView.isConnected(), playerView.starterCard(), changedHandView, placedCards,
+                placedCards != null ? playerBoardView.gameItemStore() : null,
+                placedCards != null ? playerBoardView.availablePositions() : null);
+    }
+
+    /**
+     * Computes the fingerprint of the global board, made of the ids of its cards.
+     *
+     * @param globalBoardView the view of the global board.
+     * @return the fingerprint of the global board.
+     */
+    private static List<Integer> globalBoardFingerprint(GlobalBoardView globalBoardView) {
+        ArrayList<Integer> fingerprint = new ArrayList<>();
+        fingerprint.add(cardId(globalBoardView.goldFirstCard()));
+        fingerprint.add(cardId(globalBoardView.resourceFirstCard()));
+        // The sizes separate the lists, so that a card moving from one list to the other is detected.
+        fingerprint.add(globalBoardView.fieldGoldCards().size());
+        globalBoardView.fieldGoldCards().forEach(card -> fingerprint.add(cardId(card)));
+        fingerprint.add(globalBoardView.fieldResourceCards().size());
+        globalBoardView.fieldResourceCards().forEach(card -> fingerprint.add(cardId(card)));
+        globalBoardView.globalObjectives().forEach(card -> fingerprint.add(cardId(card)));
+        return fingerprint;
+    }
+
+    /**
+     * Returns the id of a card, or -1 if there is no card.
+     *
+     * @param card the card.
+     * @return the id of the card, or -1 if the card is null.
+     */
+    private static int cardId(Card card) {
+        return card == null ? -1 : card.getCardId();
+    }
+
+    /**
+     * Encodes a game card and its side in a single integer.
+     *
+     * @param card the card.
+     * @return the encoded card, or -1 if the card is null.
+     */
+    private static int cardIdAndSide(GameCard card) {
+        return card == null ? -1 : card.getCardId() * 2 + (card.isFlipped() ? 1 : 0);
+    }
+
+    /**
+     * The PlayerFingerprint record holds the values of the view of a player that can change during a game.
+     * The cards are identified by their id, and the board by the coordinates of its cards, since placed cards are never removed.
+     *
+     * @param color                 the color of the player.
+     * @param playerPos             the position of the player on the scoreboard.
+     * @param objectiveCardId       the id of the objective card of the player.
+     * @param choosableObjectiveIds the ids of the objective cards the player can choose from.
+     * @param isConnected           whether the player is connected.
+     * @param starterCard           the encoded starter card of the player.
+     * @param hand                  the encoded cards in the hand of the player.
+     * @param placedCoordinates     the coordinates of the cards placed on the board of the player.
+     */
+    private record PlayerFingerprint(PlayerColorEnum color, int playerPos, int objectiveCardId, List<Integer> choosableObjectiveIds,
+                                     boolean isConnected, int starterCard, List<Integer> hand, Set<Coordinate> placedCoordinates) {
+
+        /**
+         * Computes the fingerprint of the view of a player.
+         *
+         * @param playerView the view of the player.
+         * @return the fingerprint of the view of the player.
+         */
+        private static PlayerFingerprint of(PlayerView playerView) {
+            List<Integer> choosableObjectiveIds = playerView.choosableObjectives() == null ? List.of() :
+                    playerView.choosableObjectives().stream().map(ViewDeltaTracker::cardId).toList();
+            List<Integer> hand = playerView.playerHandView().hand().stream().map(ViewDeltaTracker::cardIdAndSide).toList();
+            return new PlayerFingerprint(playerView.color(), playerView.playerPos(), cardId(playerView.objectiveCard()), choosableObjectiveIds,
+                    playerView.isConnected(), cardIdAndSide(playerView.starterCard()), hand, Set.copyOf(playerView.playerBoardView().playerBoard().keySet()));
+        }
+    }
+}
@@ -129,4 +129,12 @@ public interface ClientToServerActions {
      * @param playerName the name of the player who is disconnecting.
      */
     void disconnect(String gameName, String playerName);
+
+    /**
+     * Sends the full view of the game to a player, whose client can no longer apply the changes of the view it receives.
+     *
+     * @param gameName   the name of the game.
+     * @param playerName the name of the player requesting the view.
+     */
+    void requestView(String gameName, String playerName);
 }
@@ -154,4 +154,13 @@ public interface RMIClientToServerActions extends Remote {
      * @throws RemoteException if the remote operation fails.
      */
     void disconnect(String gameName, String playerName) throws RemoteException;
+
+    /**
+     * Requests the full view of the game, when the client can no longer apply the changes of the view it receives.
+     *
+     * @param gameName   the name of the game.
+     * @param playerName the name of the player requesting the view.
+     * @throws RemoteException if the remote operation fails.
+     */
+    void requestView(String gameName, String playerName) throws RemoteException;
 }
\ No newline at end of file
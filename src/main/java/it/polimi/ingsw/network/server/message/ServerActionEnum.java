@@ -10,6 +10,11 @@ public enum ServerActionEnum {
      */
     UPDATE_VIEW,
 
+    /**
+     * Represents an action to update the view on the client side, sending only the changes since the previous version.
+     */
+    UPDATE_VIEW_DELTA,
+
     /**
      * Represents an action to delete a game on the server side.
      */
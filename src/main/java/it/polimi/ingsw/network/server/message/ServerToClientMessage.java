@@ -1,8 +1,12 @@
 package it.polimi.ingsw.network.server.message;
 
+import com.google.gson.Gson;
+import it.polimi.ingsw.network.codec.BinaryMessageCodec;
 import it.polimi.ingsw.network.server.message.successMessage.GameRecord;
 import it.polimi.ingsw.network.virtualView.GameControllerView;
+import it.polimi.ingsw.network.virtualView.GameControllerViewDelta;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 
 /**
@@ -15,6 +19,18 @@ public abstract class ServerToClientMessage {
      */
     public final ServerActionEnum serverAction;
 
+    /**
+     * The JSON encoding of the message, computed the first time it is sent and shared by all the recipients.
+     * It is transient, so it is never serialized.
+     */
+    private transient volatile byte[] encodedMessage;
+
+    /**
+     * The binary encoding of the message, computed the first time it is sent to a connection using the binary codec.
+     * It is transient, so it is never serialized.
+     */
+    private transient volatile byte[] binaryEncodedMessage;
+
     /**
      * Constructor for ServerToClientMessage.
      *
@@ -33,6 +49,40 @@ public abstract class ServerToClientMessage {
         return serverAction;
     }
 
+    /**
+     * Returns the JSON encoding of the message as UTF-8 bytes.
+     * The message is encoded only the first time, so a broadcast costs one encoding regardless of the number of recipients.
+     * All the callers must use the same Gson configuration, and must not modify the returned array.
+     *
+     * @param gson The Gson instance used to encode the message.
+     * @return The UTF-8 bytes of the JSON encoding of the message.
+     */
+    public byte[] encode(Gson gson) {
+        byte[] encoded = encodedMessage;
+        if (encoded == null) {
+            // Concurrent senders may both encode the message, but they produce the same bytes.
+            encoded = gson.toJson(this).getBytes(StandardCharsets.UTF_8);
+            encodedMessage = encoded;
+        }
+        return encoded;
+    }
+
+    /**
+     * Returns the binary encoding of the message.
+     * As for the JSON encoding, the message is encoded only the first time, and the returned array must not be modified.
+     *
+     * @return The binary encoding of the message.
+     * @see BinaryMessageCodec
+     */
+    public byte[] encodeBinary() {
+        byte[] encoded = binaryEncodedMessage;
+        if (encoded == null) {
+            encoded = BinaryMessageCodec.encode(this);
+            binaryEncodedMessage = encoded;
+        }
+        return encoded;
+    }
+
     /**
      * Overridden equals method for ServerToClientMessage.
      *
@@ -55,6 +105,24 @@ public abstract class ServerToClientMessage {
         return null;
     }
 
+    /**
+     * Method to get the version of the view of the game controller.
+     *
+     * @return 0 in this implementation.
+     */
+    public long getViewVersion() {
+        return 0;
+    }
+
+    /**
+     * Method to get the changes of the view of the game controller.
+     *
+     * @return null in this implementation.
+     */
+    public GameControllerViewDelta getViewDelta() {
+        return null;
+    }
+
     /**
      * Method to get the games.
      *
@@ -50,6 +50,7 @@ public class ClientToServerMessageAdapter implements JsonDeserializer<ClientToSe
             case "SWITCH_CARD_SIDE" -> clientMessageTypeClass = SwitchCardSideClientToServerMessage.class;
             case "SEND_CHAT_MSG" -> clientMessageTypeClass = ChatClientToServerMessage.class;
             case "DISCONNECT" -> clientMessageTypeClass = DisconnectClientToServerMessage.class;
+            case "REQUEST_VIEW" -> clientMessageTypeClass = RequestViewClientToServerMessage.class;
             default -> throw new JsonParseException("playerAction property is missing or wrong");
         }
         // We deserialize the "sideContent" with the class type found above and return it
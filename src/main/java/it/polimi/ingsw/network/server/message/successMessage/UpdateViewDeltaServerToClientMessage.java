@@ -0,0 +1,62 @@
+package it.polimi.ingsw.network.server.message.successMessage;
+
+import it.polimi.ingsw.network.server.message.ServerActionEnum;
+import it.polimi.ingsw.network.server.message.ServerToClientMessage;
+import it.polimi.ingsw.network.virtualView.GameControllerViewDelta;
+
+import java.util.Objects;
+
+/**
+ * This class represents a message from the server to the client that updates the view, containing only the changes since the previous version.
+ * It extends the ServerToClientMessage class.
+ */
+public class UpdateViewDeltaServerToClientMessage extends ServerToClientMessage {
+    /**
+     * The changes of the view.
+     */
+    private final GameControllerViewDelta viewDelta;
+
+    /**
+     * Constructor for UpdateViewDeltaServerToClientMessage.
+     *
+     * @param viewDelta The changes of the view.
+     */
+    public UpdateViewDeltaServerToClientMessage(GameControllerViewDelta viewDelta) {
+        super(ServerActionEnum.UPDATE_VIEW_DELTA);
+        this.viewDelta = viewDelta;
+    }
+
+    /**
+     * Getter for the changes of the view.
+     *
+     * @return The changes of the view.
+     */
+    @Override
+    public GameControllerViewDelta getViewDelta() {
+        return viewDelta;
+    }
+
+    /**
+     * Getter for the version of the view produced by the changes.
+     *
+     * @return The version of the view produced by the changes.
+     */
+    @Override
+    public long getViewVersion() {
+        return viewDelta.version();
+    }
+
+    /**
+     * Overridden equals method for UpdateViewDeltaServerToClientMessage.
+     *
+     * @param o The object to compare this UpdateViewDeltaServerToClientMessage to.
+     * @return true if the given object is an UpdateViewDeltaServerToClientMessage with the same changes.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof UpdateViewDeltaServerToClientMessage that)) return false;
+        if (!super.equals(o)) return false;
+        return Objects.equals(this.getViewDelta(), that.getViewDelta());
+    }
+}
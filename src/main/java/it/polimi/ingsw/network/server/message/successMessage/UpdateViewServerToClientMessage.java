@@ -16,14 +16,30 @@ public class UpdateViewServerToClientMessage extends ServerToClientMessage {
      */
     private final GameControllerView view;
 
+    /**
+     * The version of the view. The following deltas will be based on it.
+     */
+    private final long viewVersion;
+
     /**
      * Constructor for UpdateViewServerToClientMessage.
      *
      * @param view The view that needs to be updated.
      */
     public UpdateViewServerToClientMessage(GameControllerView view) {
+        this(view, 0);
+    }
+
+    /**
+     * Constructor for UpdateViewServerToClientMessage.
+     *
+     * @param view        The view that needs to be updated.
+     * @param viewVersion The version of the view.
+     */
+    public UpdateViewServerToClientMessage(GameControllerView view, long viewVersion) {
         super(ServerActionEnum.UPDATE_VIEW);
         this.view = view;
+        this.viewVersion = viewVersion;
     }
 
     /**
@@ -36,17 +52,27 @@ public class UpdateViewServerToClientMessage extends ServerToClientMessage {
         return view;
     }
 
+    /**
+     * Getter for the version of the view.
+     *
+     * @return The version of the view.
+     */
+    @Override
+    public long getViewVersion() {
+        return viewVersion;
+    }
+
     /**
      * Overridden equals method for UpdateViewServerToClientMessage.
      *
      * @param o The object to compare this UpdateViewServerToClientMessage to.
-     * @return true if the given object is an UpdateViewServerToClientMessage with the same view.
+     * @return true if the given object is an UpdateViewServerToClientMessage with the same view and version.
      */
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof UpdateViewServerToClientMessage that)) return false;
         if (!super.equals(o)) return false;
-        return Objects.equals(this.getView(), that.getView());
+        return this.viewVersion == that.viewVersion && Objects.equals(this.getView(), that.getView());
     }
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package it.polimi.ingsw.network.server.metrics;
+
+/**
+ * This enum represents the phases the server goes through to handle an action of a player.
+ * The time spent in each phase is measured separately, so a slow action shows where its time went.
+ */
+public enum ActionPhaseEnum {
+    /**
+     * Waiting for the lock of the game, held by the actions of the other players and by the timers of the game.
+     */
+    LOCK_WAIT,
+
+    /**
+     * Applying the action to the game through its controller.
+     */
+    CONTROLLER,
+
+    /**
+     * Building the view of the game and the changes since the view sent before.
+     */
+    VIEW_BUILD,
+
+    /**
+     * Journaling the action and queueing the snapshot of the game, or restoring a saved game before a player joins it.
+     */
+    PERSISTENCE,
+
+    /**
+     * Encoding the messages sent to the players. The messages sent over RMI are serialized while they are sent.
+     */
+    SERIALIZATION,
+
+    /**
+     * Writing the messages to the connections of the players.
+     */
+    SEND;
+
+    /**
+     * Returns the label of the phase in the exported metrics.
+     *
+     * @return the name of the phase, in lower case.
+     */
+    public String getLabel() {
+        return name().toLowerCase();
+    }
+}
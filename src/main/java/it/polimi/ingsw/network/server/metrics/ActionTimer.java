@@ -0,0 +1,111 @@
+package it.polimi.ingsw.network.server.metrics;
+
+import it.polimi.ingsw.network.client.message.PlayerActionEnum;
+
+/**
+ * The ActionTimer class measures the phases of a single action of a player.
+ * Each mark ends a phase: the time elapsed since the previous mark, or since the action started, is added to that phase,
+ * so a phase can be marked many times, for instance once for each message sent.
+ * The durations are recorded in the metrics of the server when the action finishes.
+ * <p>
+ * A timer is used by the thread executing the action only, so it is not thread-safe.
+ */
+public class ActionTimer {
+    /**
+     * The timer of the work that is not an action of a player, such as a disconnection. It measures nothing.
+     */
+    public static final ActionTimer UNTIMED = new ActionTimer(null, null);
+
+    /**
+     * The phases, in declaration order.
+     */
+    private static final ActionPhaseEnum[] PHASES = ActionPhaseEnum.values();
+
+    /**
+     * The metrics the durations are recorded in, or null if the timer measures nothing.
+     */
+    private final ServerMetrics metrics;
+
+    /**
+     * The action measured.
+     */
+    private final PlayerActionEnum action;
+
+    /**
+     * The time the action started, in nanoseconds.
+     */
+    private final long start;
+
+    /**
+     * The time of the last mark, in nanoseconds.
+     */
+    private long last;
+
+    /**
+     * The time spent in each phase, in nanoseconds, by phase ordinal.
+     */
+    private final long[] phaseNanos;
+
+    /**
+     * The phases marked at least once, as a bit set of their ordinals.
+     */
+    private int markedPhases;
+
+    /**
+     * Whether the action failed.
+     */
+    private boolean failed;
+
+    /**
+     * Starts the timer of an action.
+     *
+     * @param metrics the metrics the durations are recorded in, or null if the timer measures nothing.
+     * @param action  the action measured.
+     */
+    ActionTimer(ServerMetrics metrics, PlayerActionEnum action) {
+        this.metrics = metrics;
+        this.action = action;
+        this.start = metrics == null ? 0 : System.nanoTime();
+        this.last = start;
+        this.phaseNanos = metrics == null ? null : new long[PHASES.length];
+    }
+
+    /**
+     * Ends a phase, adding the time elapsed since the previous mark to it.
+     *
+     * @param phase the phase that ended.
+     */
+    public void mark(ActionPhaseEnum phase) {
+        if (metrics == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        phaseNanos[phase.ordinal()] += now - last;
+        markedPhases |= 1 << phase.ordinal();
+        last = now;
+    }
+
+    /**
+     * Marks the action as failed, because it was rejected by the controller or the game does not exist.
+     */
+    public void fail() {
+        failed = true;
+    }
+
+    /**
+     * Finishes the action, recording the time spent in each phase marked and the duration of the whole action.
+     * The time elapsed after the last mark is only part of the duration of the action.
+     */
+    public void finish() {
+        if (metrics == null) {
+            return;
+        }
+        long duration = System.nanoTime() - start;
+        for (ActionPhaseEnum phase : PHASES) {
+            if ((markedPhases & 1 << phase.ordinal()) != 0) {
+                metrics.recordPhase(action, phase, phaseNanos[phase.ordinal()]);
+            }
+        }
+        metrics.recordAction(action, duration, failed);
+    }
+}
@@ -0,0 +1,175 @@
+package it.polimi.ingsw.network.server.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The LatencyHistogram class counts durations, in nanoseconds, in log-linear buckets, as HdrHistogram does:
+ * the durations below 16 ns have a bucket each, and every power of two above is split into 16 buckets.
+ * The bucket of a duration is thus at most 6.25% wider than the duration, whatever its magnitude,
+ * and a histogram takes a fixed amount of memory, however many durations it counts.
+ * <p>
+ * Recording a duration takes no lock, so the histogram can be shared by the threads of all the games.
+ * The durations above about 18 minutes are counted in the last bucket.
+ */
+public class LatencyHistogram {
+    /**
+     * The number of bits of a duration, after its highest one, that select its bucket within its power of two.
+     */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /**
+     * The number of buckets of each power of two.
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * The number of bits of the longest duration that has a bucket of its own.
+     */
+    private static final int MAX_BITS = 40;
+
+    /**
+     * The longest duration that has a bucket of its own, in nanoseconds.
+     */
+    static final long MAX_TRACKABLE = (1L << MAX_BITS) - 1;
+
+    /**
+     * The number of durations counted by each bucket.
+     */
+    private final AtomicLongArray buckets;
+
+    /**
+     * The number of durations counted.
+     */
+    private final LongAdder count;
+
+    /**
+     * The sum of the durations counted, in nanoseconds.
+     */
+    private final LongAdder sum;
+
+    /**
+     * The longest duration counted, in nanoseconds.
+     */
+    private final AtomicLong max;
+
+    /**
+     * Constructs an empty histogram.
+     */
+    public LatencyHistogram() {
+        this.buckets = new AtomicLongArray(bucketIndex(MAX_TRACKABLE) + 1);
+        this.count = new LongAdder();
+        this.sum = new LongAdder();
+        this.max = new AtomicLong();
+    }
+
+    /**
+     * Counts a duration. A negative duration, which a clock going backwards could measure, is counted as zero.
+     *
+     * @param nanos the duration, in nanoseconds.
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        buckets.incrementAndGet(bucketIndex(Math.min(value, MAX_TRACKABLE)));
+        count.increment();
+        sum.add(value);
+        long currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+            currentMax = max.get();
+        }
+    }
+
+    /**
+     * Returns the number of durations counted.
+     *
+     * @return the number of durations.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Returns the sum of the durations counted.
+     *
+     * @return the sum, in nanoseconds.
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * Returns the longest duration counted.
+     *
+     * @return the longest duration, in nanoseconds, or 0 if no duration has been counted.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns the duration below which the given fraction of the durations counted falls.
+     * It is the upper bound of the bucket holding the quantile, so it overestimates the quantile by at most 6.25%,
+     * and it is never longer than the longest duration counted.
+     * The durations counted while the buckets are scanned may be ignored.
+     *
+     * @param quantile the fraction of the durations, between 0 and 1.
+     * @return the duration, in nanoseconds, or 0 if no duration has been counted.
+     * @throws IllegalArgumentException if the fraction is not between 0 and 1.
+     */
+    public long getValueAtQuantile(double quantile) {
+        if (!(quantile >= 0 && quantile <= 1)) {
+            throw new IllegalArgumentException("The quantile must be between 0 and 1");
+        }
+        long[] counts = new long[buckets.length()];
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        // The rank of the quantile, counting from 1, as the nearest-rank method defines it.
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Returns the index of the bucket of a duration.
+     *
+     * @param value the duration, between 0 and {@link #MAX_TRACKABLE}.
+     * @return the index of the bucket.
+     */
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int highestBit = 63 - Long.numberOfLeadingZeros(value);
+        int shift = highestBit - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Returns the longest duration counted by a bucket.
+     *
+     * @param index the index of the bucket.
+     * @return the longest duration of the bucket, in nanoseconds.
+     */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+        long subBucket = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+}
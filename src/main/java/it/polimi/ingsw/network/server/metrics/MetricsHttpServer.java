@@ -0,0 +1,107 @@
+package it.polimi.ingsw.network.server.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The MetricsHttpServer class serves the metrics of the server over HTTP, at the path {@value #PATH},
+ * in the Prometheus text format, so that they can be scraped by Prometheus or read with curl.
+ * It handles one request at a time on a thread of its own, so scraping never delays the games.
+ */
+public class MetricsHttpServer {
+    /**
+     * The path of the metrics.
+     */
+    public static final String PATH = "/metrics";
+
+    /**
+     * The media type of the Prometheus text format.
+     */
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    /**
+     * The logger.
+     */
+    private static final Logger logger = LogManager.getLogger(MetricsHttpServer.class);
+
+    /**
+     * The metrics served.
+     */
+    private final ServerMetrics metrics;
+
+    /**
+     * The HTTP server.
+     */
+    private final HttpServer server;
+
+    /**
+     * Creates the server of the metrics, bound to the given address. It serves nothing until it is started.
+     *
+     * @param metrics the metrics served.
+     * @param address the address to bind to; port 0 picks a free port.
+     * @throws IOException if the address cannot be bound.
+     */
+    public MetricsHttpServer(ServerMetrics metrics, InetSocketAddress address) throws IOException {
+        this.metrics = metrics;
+        this.server = HttpServer.create(address, 0);
+        this.server.createContext(PATH, this::handle);
+    }
+
+    /**
+     * Starts serving the metrics.
+     */
+    public void start() {
+        server.start();
+        logger.info("Metrics served at http://{}:{}{}", server.getAddress().getHostString(), getPort(), PATH);
+    }
+
+    /**
+     * Stops serving the metrics, waiting for the request being handled, if any.
+     */
+    public void stop() {
+        server.stop(0);
+    }
+
+    /**
+     * Returns the port the server is bound to.
+     *
+     * @return the port.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Answers a request with the metrics. Only GET and HEAD are allowed.
+     *
+     * @param exchange the request and its response.
+     * @throws IOException if the response cannot be sent.
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            if (!method.equals("GET") && !method.equals("HEAD")) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = metrics.scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            if (method.equals("HEAD")) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package it.polimi.ingsw.network.server.metrics;
+
+import it.polimi.ingsw.network.client.message.PlayerActionEnum;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * The ServerMetrics class collects the metrics of the server: how long the actions of the players take, phase by phase,
+ * how many messages and bytes are exchanged with the clients, and gauges read when the metrics are exported,
+ * such as the number of games or the writes queued by the persistence.
+ * <p>
+ * The metrics are exported in the Prometheus text format. Durations are summaries in seconds, with the quantiles
+ * 0.5, 0.9, 0.99 and 0.999 computed over the whole life of the server; the rates, such as the messages per second,
+ * are computed by Prometheus from the counters.
+ * Collecting a metric takes no lock, so the metrics are shared by the threads of all the games.
+ */
+public class ServerMetrics {
+    /**
+     * The quantiles exported for each duration.
+     */
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    /**
+     * The valid names of a metric.
+     */
+    private static final Pattern METRIC_NAME = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+
+    /**
+     * The actions, in declaration order.
+     */
+    private static final PlayerActionEnum[] ACTIONS = PlayerActionEnum.values();
+
+    /**
+     * The phases, in declaration order.
+     */
+    private static final ActionPhaseEnum[] PHASES = ActionPhaseEnum.values();
+
+    /**
+     * The protocols, in declaration order.
+     */
+    private static final TransportEnum[] TRANSPORTS = TransportEnum.values();
+
+    /**
+     * The duration of the actions, by action ordinal.
+     */
+    private final LatencyHistogram[] actionDurations;
+
+    /**
+     * The time spent in each phase of the actions, by action and phase ordinal.
+     */
+    private final LatencyHistogram[][] phaseDurations;
+
+    /**
+     * The time the actions waited for the actor of their game before being handled.
+     */
+    private final LatencyHistogram queueWait;
+
+    /**
+     * The number of failed actions, by action ordinal.
+     */
+    private final LongAdder[] failedActions;
+
+    /**
+     * The number of messages received, by protocol ordinal.
+     */
+    private final LongAdder[] messagesReceived;
+
+    /**
+     * The number of messages sent, by protocol ordinal.
+     */
+    private final LongAdder[] messagesSent;
+
+    /**
+     * The number of bytes received over TCP.
+     */
+    private final LongAdder tcpBytesReceived;
+
+    /**
+     * The number of bytes sent over TCP.
+     */
+    private final LongAdder tcpBytesSent;
+
+    /**
+     * The number of times a player connected to a game, creating, joining or rejoining it.
+     */
+    private final LongAdder playerConnections;
+
+    /**
+     * The gauges, by name.
+     */
+    private final Map<String, Gauge> gauges;
+
+    /**
+     * A value read when the metrics are exported.
+     *
+     * @param name  the name of the gauge.
+     * @param help  the description of the gauge.
+     * @param value the function reading the value.
+     */
+    private record Gauge(String name, String help, LongSupplier value) {
+    }
+
+    /**
+     * Constructs the metrics of a server, with no gauge.
+     */
+    public ServerMetrics() {
+        this.actionDurations = new LatencyHistogram[ACTIONS.length];
+        this.phaseDurations = new LatencyHistogram[ACTIONS.length][PHASES.length];
+        this.failedActions = new LongAdder[ACTIONS.length];
+        for (PlayerActionEnum action : ACTIONS) {
+            actionDurations[action.ordinal()] = new LatencyHistogram();
+            failedActions[action.ordinal()] = new LongAdder();
+            for (ActionPhaseEnum phase : PHASES) {
+                phaseDurations[action.ordinal()][phase.ordinal()] = new LatencyHistogram();
+            }
+        }
+        this.queueWait = new LatencyHistogram();
+        this.messagesReceived = new LongAdder[TRANSPORTS.length];
+        this.messagesSent = new LongAdder[TRANSPORTS.length];
+        for (TransportEnum transport : TRANSPORTS) {
+            messagesReceived[transport.ordinal()] = new LongAdder();
+            messagesSent[transport.ordinal()] = new LongAdder();
+        }
+        this.tcpBytesReceived = new LongAdder();
+        this.tcpBytesSent = new LongAdder();
+        this.playerConnections = new LongAdder();
+        this.gauges = new ConcurrentSkipListMap<>();
+    }
+
+    /**
+     * Starts measuring an action of a player.
+     *
+     * @param action the action.
+     * @return the timer of the action, which must be finished when the action has been handled.
+     */
+    public ActionTimer startAction(PlayerActionEnum action) {
+        return new ActionTimer(this, action);
+    }
+
+    /**
+     * Records the time spent in a phase of an action.
+     *
+     * @param action the action.
+     * @param phase  the phase.
+     * @param nanos  the time spent, in nanoseconds.
+     */
+    void recordPhase(PlayerActionEnum action, ActionPhaseEnum phase, long nanos) {
+        phaseDurations[action.ordinal()][phase.ordinal()].record(nanos);
+    }
+
+    /**
+     * Records the duration of an action.
+     *
+     * @param action the action.
+     * @param nanos  the duration, in nanoseconds.
+     * @param failed whether the action failed.
+     */
+    void recordAction(PlayerActionEnum action, long nanos, boolean failed) {
+        actionDurations[action.ordinal()].record(nanos);
+        if (failed) {
+            failedActions[action.ordinal()].increment();
+        }
+    }
+
+    /**
+     * Records the time an action waited for the actor of its game before being handled.
+     *
+     * @param nanos the time waited, in nanoseconds.
+     */
+    public void recordQueueWait(long nanos) {
+        queueWait.record(nanos);
+    }
+
+    /**
+     * Counts a message received from a client.
+     *
+     * @param transport the protocol the message was received with.
+     */
+    public void messageReceived(TransportEnum transport) {
+        messagesReceived[transport.ordinal()].increment();
+    }
+
+    /**
+     * Counts a message received from a client over TCP.
+     *
+     * @param bytes the size of the message, in bytes.
+     */
+    public void tcpMessageReceived(long bytes) {
+        messageReceived(TransportEnum.TCP);
+        tcpBytesReceived.add(bytes);
+    }
+
+    /**
+     * Counts a message sent to a client.
+     *
+     * @param transport the protocol the message was sent with.
+     */
+    public void messageSent(TransportEnum transport) {
+        messagesSent[transport.ordinal()].increment();
+    }
+
+    /**
+     * Counts a message sent to a client over TCP.
+     *
+     * @param bytes the size of the message, in bytes.
+     */
+    public void tcpMessageSent(long bytes) {
+        messageSent(TransportEnum.TCP);
+        tcpBytesSent.add(bytes);
+    }
+
+    /**
+     * Counts a player connecting to a game.
+     */
+    public void playerConnected() {
+        playerConnections.increment();
+    }
+
+    /**
+     * Registers a gauge, read each time the metrics are exported. It replaces any gauge with the same name.
+     *
+     * @param name  the name of the gauge.
+     * @param help  the description of the gauge.
+     * @param value the function reading the value. It must be thread-safe and must not block.
+     * @throws IllegalArgumentException if the name is not a valid metric name.
+     */
+    public void registerGauge(String name, String help, LongSupplier value) {
+        if (name == null || !METRIC_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid metric name: " + name);
+        }
+        gauges.put(name, new Gauge(name, help, value));
+    }
+
+    /**
+     * Returns the number of actions handled.
+     *
+     * @param action the action.
+     * @return the number of actions handled, including the failed ones.
+     */
+    public long getActionCount(PlayerActionEnum action) {
+        return actionDurations[action.ordinal()].getCount();
+    }
+
+    /**
+     * Returns the time spent in a phase of an action.
+     *
+     * @param action the action.
+     * @param phase  the phase.
+     * @return the histogram of the time spent.
+     */
+    public LatencyHistogram getPhaseDurations(PlayerActionEnum action, ActionPhaseEnum phase) {
+        return phaseDurations[action.ordinal()][phase.ordinal()];
+    }
+
+    /**
+     * Exports the metrics in the Prometheus text format.
+     * The durations of the actions and phases that never happened are omitted.
+     *
+     * @return the metrics.
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(16384);
+
+        header(out, "codex_action_duration_seconds", "summary", "Time taken to handle an action of a player, once it is taken from the queue of its game until the last message is sent.");
+        for (PlayerActionEnum action : ACTIONS) {
+            summary(out, "codex_action_duration_seconds", "action=\"" + label(action) + "\"", actionDurations[action.ordinal()]);
+        }
+        header(out, "codex_action_phase_seconds", "summary", "Time spent in each phase of an action of a player.");
+        for (PlayerActionEnum action : ACTIONS) {
+            for (ActionPhaseEnum phase : PHASES) {
+                summary(out, "codex_action_phase_seconds", "action=\"" + label(action) + "\",phase=\"" + phase.getLabel() + "\"",
+                        phaseDurations[action.ordinal()][phase.ordinal()]);
+            }
+        }
+        header(out, "codex_action_queue_seconds", "summary", "Time an action waited for the actions received before it for the same game.");
+        summary(out, "codex_action_queue_seconds", "", queueWait);
+
+        header(out, "codex_actions_failed_total", "counter", "Number of actions rejected by the controller, or received for a game that does not exist.");
+        for (PlayerActionEnum action : ACTIONS) {
+            sample(out, "codex_actions_failed_total", "action=\"" + label(action) + "\"", failedActions[action.ordinal()].sum());
+        }
+        header(out, "codex_messages_received_total", "counter", "Number of messages received from the clients.");
+        for (TransportEnum transport : TRANSPORTS) {
+            sample(out, "codex_messages_received_total", "transport=\"" + transport.getLabel() + "\"", messagesReceived[transport.ordinal()].sum());
+        }
+        header(out, "codex_messages_sent_total", "counter", "Number of messages sent to the clients.");
+        for (TransportEnum transport : TRANSPORTS) {
+            sample(out, "codex_messages_sent_total", "transport=\"" + transport.getLabel() + "\"", messagesSent[transport.ordinal()].sum());
+        }
+        header(out, "codex_tcp_bytes_received_total", "counter", "Number of bytes of the messages received over TCP, without framing.");
+        sample(out, "codex_tcp_bytes_received_total", "", tcpBytesReceived.sum());
+        header(out, "codex_tcp_bytes_sent_total", "counter", "Number of bytes of the messages sent over TCP, without framing.");
+        sample(out, "codex_tcp_bytes_sent_total", "", tcpBytesSent.sum());
+        header(out, "codex_player_connections_total", "counter", "Number of times a player connected to a game, creating, joining or rejoining it.");
+        sample(out, "codex_player_connections_total", "", playerConnections.sum());
+
+        for (Gauge gauge : gauges.values()) {
+            header(out, gauge.name(), "gauge", gauge.help());
+            sample(out, gauge.name(), "", gauge.value().getAsLong());
+        }
+        return out.toString();
+    }
+
+    /**
+     * Writes the description and the type of a metric.
+     *
+     * @param out  the exported metrics.
+     * @param name the name of the metric.
+     * @param type the type of the metric.
+     * @param help the description of the metric.
+     */
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help.replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    /**
+     * Writes the quantiles, the sum and the count of a duration, in seconds, unless no duration has been counted.
+     *
+     * @param out       the exported metrics.
+     * @param name      the name of the metric.
+     * @param labels    the labels of the series, separated by commas, or an empty string.
+     * @param histogram the durations.
+     */
+    private static void summary(StringBuilder out, String name, String labels, LatencyHistogram histogram) {
+        long count = histogram.getCount();
+        if (count == 0) {
+            return;
+        }
+        String separator = labels.isEmpty() ? "" : ",";
+        for (double quantile : QUANTILES) {
+            sample(out, name, labels + separator + "quantile=\"" + quantile + "\"", seconds(histogram.getValueAtQuantile(quantile)));
+        }
+        sample(out, name + "_sum", labels, seconds(histogram.getSum()));
+        sample(out, name + "_count", labels, count);
+    }
+
+    /**
+     * Writes a sample of a metric.
+     *
+     * @param out    the exported metrics.
+     * @param name   the name of the series.
+     * @param labels the labels of the series, separated by commas, or an empty string.
+     * @param value  the value of the sample.
+     */
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        sample(out, name, labels, Double.toString(value));
+    }
+
+    /**
+     * Writes a sample of a metric.
+     *
+     * @param out    the exported metrics.
+     * @param name   the name of the series.
+     * @param labels the labels of the series, separated by commas, or an empty string.
+     * @param value  the value of the sample.
+     */
+    private static void sample(StringBuilder out, String name, String labels, long value) {
+        sample(out, name, labels, Long.toString(value));
+    }
+
+    /**
+     * Writes a sample of a metric.
+     *
+     * @param out    the exported metrics.
+     * @param name   the name of the series.
+     * @param labels the labels of the series, separated by commas, or an empty string.
+     * @param value  the value of the sample, formatted.
+     */
+    private static void sample(StringBuilder out, String name, String labels, String value) {
+        out.append(name);
+        if (!labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ').append(value).append('\n');
+    }
+
+    /**
+     * Converts a duration to seconds.
+     *
+     * @param nanos the duration, in nanoseconds.
+     * @return the duration, in seconds.
+     */
+    private static double seconds(long nanos) {
+        return nanos / 1e9;
+    }
+
+    /**
+     * Returns the label of an action in the exported metrics.
+     *
+     * @param action the action.
+     * @return the name of the action, in lower case.
+     */
+    private static String label(PlayerActionEnum action) {
+        return action.name().toLowerCase();
+    }
+}
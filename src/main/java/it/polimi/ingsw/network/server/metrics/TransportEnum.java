@@ -0,0 +1,25 @@
+package it.polimi.ingsw.network.server.metrics;
+
+/**
+ * This enum represents the protocols the clients can connect to the server with.
+ */
+public enum TransportEnum {
+    /**
+     * The messages are sent over a TCP connection, as JSON lines or binary frames.
+     */
+    TCP,
+
+    /**
+     * The messages are remote method invocations.
+     */
+    RMI;
+
+    /**
+     * Returns the label of the protocol in the exported metrics.
+     *
+     * @return the name of the protocol, in lower case.
+     */
+    public String getLabel() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,40 @@
+package it.polimi.ingsw.network.server.persistence;
+
+import java.util.Locale;
+
+/**
+ * The FsyncPolicy enum defines when the saved games are forced to the storage device.
+ * A forced write survives a crash of the operating system, while a write left to the operating system survives only a crash of the server.
+ */
+public enum FsyncPolicy {
+    /**
+     * Every journal record and every snapshot is forced as soon as it is written.
+     */
+    ALWAYS,
+
+    /**
+     * The journal records of a game are forced once all the records queued for the game have been written,
+     * so a burst of actions costs a single force (group commit). Snapshots are always forced.
+     */
+    BATCH,
+
+    /**
+     * Nothing is forced: the operating system decides when the writes reach the storage device.
+     */
+    NEVER;
+
+    /**
+     * Returns the policy with the given name, ignoring the case.
+     *
+     * @param name the name of the policy.
+     * @return the policy.
+     * @throws IllegalArgumentException if there is no policy with the given name.
+     */
+    public static FsyncPolicy fromString(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown fsync policy: " + name + ". Expected one of always, batch, never");
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package it.polimi.ingsw.network.server.persistence;
+
+import it.polimi.ingsw.model.player.PlayerColorEnum;
+import it.polimi.ingsw.model.utils.Coordinate;
+import it.polimi.ingsw.network.client.message.ClientToServerMessage;
+import it.polimi.ingsw.network.client.message.PlayerActionEnum;
+import it.polimi.ingsw.network.client.message.gameController.*;
+import it.polimi.ingsw.network.codec.BinaryReader;
+import it.polimi.ingsw.network.codec.BinaryWriter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * The GameJournal class is the append-only log of the actions of a game, written between two snapshots.
+ * Each record holds the sequence number of the action and the action itself, and is framed as
+ * its length (4 bytes), the record and the CRC32 of the record (4 bytes), so a record torn by a crash is detected and ignored.
+ * A record takes a few dozen bytes, so journaling an action is much cheaper than saving the whole game.
+ * <p>
+ * The journal is written by a single thread at a time.
+ */
+public class GameJournal {
+    /**
+     * The size of the length and of the checksum of a record.
+     */
+    private static final int FRAME_OVERHEAD = 2 * Integer.BYTES;
+
+    /**
+     * The size above which a journal is memory-mapped to be read.
+     */
+    static final int MAP_THRESHOLD = 64 * 1024;
+
+    /**
+     * The path of the journal.
+     */
+    private final Path path;
+
+    /**
+     * The channel used to append to the journal, or null if it has not been opened yet.
+     */
+    private FileChannel channel;
+
+    /**
+     * A journaled action.
+     *
+     * @param sequence the sequence number of the action.
+     * @param action   the action.
+     */
+    public record Entry(long sequence, ClientToServerMessage action) {
+    }
+
+    /**
+     * Constructs a new GameJournal. The file is created when the first record is appended.
+     *
+     * @param path the path of the journal.
+     */
+    public GameJournal(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Appends an action to the journal.
+     *
+     * @param sequence the sequence number of the action.
+     * @param action   the action.
+     * @param force    whether the record must be forced to the storage device.
+     * @throws IOException              if the record cannot be written.
+     * @throws IllegalArgumentException if the action cannot be journaled.
+     */
+    public void append(long sequence, ClientToServerMessage action, boolean force) throws IOException {
+        appendRecord(encode(sequence, action), force);
+    }
+
+    /**
+     * Appends a record to the journal, framed with its length and its checksum.
+     *
+     * @param record the record.
+     * @param force  whether the record must be forced to the storage device.
+     * @throws IOException if the record cannot be written.
+     */
+    void appendRecord(byte[] record, boolean force) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(record);
+        ByteBuffer frame = ByteBuffer.allocate(record.length + FRAME_OVERHEAD);
+        frame.putInt(record.length).put(record).putInt((int) crc.getValue()).flip();
+        FileChannel fileChannel = getChannel();
+        while (frame.hasRemaining()) {
+            fileChannel.write(frame);
+        }
+        if (force) {
+            fileChannel.force(false);
+        }
+    }
+
+    /**
+     * Forces the records appended to the journal to the storage device.
+     *
+     * @throws IOException if the journal cannot be forced.
+     */
+    public void force() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Empties the journal, after a snapshot including all its actions has been written.
+     *
+     * @param force whether the truncation must be forced to the storage device.
+     * @throws IOException if the journal cannot be truncated.
+     */
+    public void reset(boolean force) throws IOException {
+        if (channel == null && !Files.exists(path)) {
+            return;
+        }
+        FileChannel fileChannel = getChannel();
+        fileChannel.truncate(0);
+        if (force) {
+            fileChannel.force(true);
+        }
+    }
+
+    /**
+     * Closes and deletes the journal.
+     *
+     * @throws IOException if the journal cannot be deleted.
+     */
+    public void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+
+    /**
+     * Closes the journal. It is reopened if a record is appended.
+     *
+     * @throws IOException if the journal cannot be closed.
+     */
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * Returns the channel used to append to the journal, opening it if needed.
+     *
+     * @return the channel.
+     * @throws IOException if the journal cannot be opened.
+     */
+    private FileChannel getChannel() throws IOException {
+        if (channel == null) {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+
+    /**
+     * Reads the actions of a journal. The reading stops at the first torn or corrupted record, which may be left by a crash.
+     *
+     * @param path     the path of the journal.
+     * @param gameName the name of the game of the journal.
+     * @return the actions, in the order they were journaled, or an empty list if the journal does not exist.
+     * @throws IOException if the journal cannot be read.
+     */
+    public static List<Entry> read(Path path, String gameName) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        for (byte[] record : readRecords(path)) {
+            try {
+                entries.add(decode(record, gameName));
+            } catch (IllegalArgumentException e) {
+                break;
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Reads the records of a journal, up to the first torn or corrupted record.
+     * A journal larger than {@value #MAP_THRESHOLD} bytes is memory-mapped, so its records are checked straight from the page cache
+     * instead of being copied to the heap first; a smaller journal is cheaper to read at once than to map.
+     *
+     * @param path the path of the journal.
+     * @return the records, in the order they were appended, or an empty list if the journal does not exist.
+     * @throws IOException if the journal cannot be read.
+     */
+    static List<byte[]> readRecords(Path path) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = fileChannel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Journal too large: " + size + " bytes");
+            }
+            if (size > MAP_THRESHOLD) {
+                buffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            } else {
+                buffer = ByteBuffer.allocate((int) size);
+                while (buffer.hasRemaining() && fileChannel.read(buffer) >= 0) {
+                    // Read until the buffer is full or the journal ends
+                }
+                buffer.flip();
+            }
+        } catch (NoSuchFileException e) {
+            return List.of();
+        }
+        return readRecords(buffer);
+    }
+
+    /**
+     * Unframes the records of a journal, up to the first torn or corrupted record.
+     *
+     * @param buffer the content of the journal.
+     * @return the records, in the order they were appended.
+     */
+    private static List<byte[]> readRecords(ByteBuffer buffer) {
+        List<byte[]> records = new ArrayList<>();
+        CRC32 crc = new CRC32();
+        while (buffer.remaining() >= FRAME_OVERHEAD) {
+            int length = buffer.getInt();
+            if (length < 0 || length > buffer.remaining() - Integer.BYTES) {
+                break;
+            }
+            // The checksum is computed on the buffer itself, and the record is only copied once it is known to be intact
+            ByteBuffer record = buffer.slice(buffer.position(), length);
+            crc.reset();
+            crc.update(record);
+            buffer.position(buffer.position() + length);
+            if (buffer.getInt() != (int) crc.getValue()) {
+                break;
+            }
+            byte[] content = new byte[length];
+            record.rewind().get(content);
+            records.add(content);
+        }
+        return records;
+    }
+
+    /**
+     * Encodes an action as its sequence number, its type, the name of the player and the parameters of its type.
+     *
+     * @param sequence the sequence number of the action.
+     * @param action   the action.
+     * @return the encoded record.
+     * @throws IllegalArgumentException if the action cannot be journaled.
+     */
+    static byte[] encode(long sequence, ClientToServerMessage action) {
+        BinaryWriter writer = new BinaryWriter();
+        writer.writeVarLong(sequence);
+        writer.writeEnum(action.getPlayerAction());
+        writer.writeString(action.getPlayerName());
+        switch (action.getPlayerAction()) {
+            case CHOOSE_PLAYER_COLOR -> writer.writeEnum(action.getPlayerColor());
+            case SET_PLAYER_OBJECTIVE -> writer.writeVarInt(action.getObjectiveCardId());
+            case PLACE_CARD -> {
+                writer.writeSignedVarInt(action.getCoordinate().x);
+                writer.writeSignedVarInt(action.getCoordinate().y);
+                writer.writeVarInt(action.getGameCardId());
+                writer.writeBoolean(action.isFlipped());
+            }
+            case DRAW_CARD_FROM_FIELD, SWITCH_CARD_SIDE -> writer.writeVarInt(action.getGameCardId());
+            case DRAW_CARD_FROM_RESOURCE_DECK, DRAW_CARD_FROM_GOLD_DECK -> {
+            }
+            default -> throw new IllegalArgumentException("Action cannot be journaled: " + action.getPlayerAction());
+        }
+        return writer.toByteArray();
+    }
+
+    /**
+     * Decodes a record.
+     *
+     * @param record   the encoded record.
+     * @param gameName the name of the game of the journal.
+     * @return the journaled action.
+     * @throws IllegalArgumentException if the record is malformed.
+     */
+    static Entry decode(byte[] record, String gameName) {
+        BinaryReader reader = new BinaryReader(record);
+        long sequence = reader.readVarLong();
+        PlayerActionEnum playerAction = reader.readEnum(PlayerActionEnum.values());
+        String playerName = reader.readString();
+        if (playerAction == null || playerName == null) {
+            throw new IllegalArgumentException("Malformed journal record");
+        }
+        ClientToServerMessage action = switch (playerAction) {
+            case CHOOSE_PLAYER_COLOR -> new ChoosePlayerColorClientToServerMessage(gameName, playerName, reader.readEnum(PlayerColorEnum.values()));
+            case SET_PLAYER_OBJECTIVE -> new SetPlayerObjectiveClientToServerMessage(gameName, playerName, reader.readVarInt());
+            case PLACE_CARD -> {
+                Coordinate coordinate = new Coordinate(reader.readSignedVarInt(), reader.readSignedVarInt());
+                yield new PlaceCardClientToServerMessage(gameName, playerName, coordinate, reader.readVarInt(), reader.readBoolean());
+            }
+            case DRAW_CARD_FROM_FIELD -> new DrawCardFromFieldClientToServerMessage(gameName, playerName, reader.readVarInt());
+            case SWITCH_CARD_SIDE -> new SwitchCardSideClientToServerMessage(gameName, playerName, reader.readVarInt());
+            case DRAW_CARD_FROM_RESOURCE_DECK -> new DrawCardFromResourceDeckClientToServerMessage(gameName, playerName);
+            case DRAW_CARD_FROM_GOLD_DECK -> new DrawCardFromGoldDeckClientToServerMessage(gameName, playerName);
+            default -> throw new IllegalArgumentException("Action cannot be replayed: " + playerAction);
+        };
+        if (!reader.isFullyRead()) {
+            throw new IllegalArgumentException("Trailing bytes in journal record");
+        }
+        return new Entry(sequence, action);
+    }
+}
@@ -0,0 +1,295 @@
+package it.polimi.ingsw.network.server.persistence;
+
+import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.card.gameCard.GameCard;
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.model.utils.Coordinate;
+import it.polimi.ingsw.network.client.message.ClientToServerMessage;
+import it.polimi.ingsw.network.codec.BinaryReader;
+import it.polimi.ingsw.network.codec.BinaryWriter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The GameRecording class is the complete log of a game, from the moment all its players joined, which can be replayed
+ * to play the game again exactly, for instance to compare the performance of two versions of the server on the same workload.
+ * Unlike the journal, it is never emptied by a snapshot, nor deleted when the game ends.
+ * <p>
+ * The first record is a header holding the name and the seed of the game and the names of its players, in joining order;
+ * the other records are the actions of the players, in the format of the journal and with the same framing.
+ * When the game ends while it is recorded, a last record holds the digest of its final state, so a replay can be checked against it;
+ * it has sequence number 0, which no action has.
+ * Since the game is rebuilt from its seed, the recording is a few dozen bytes per action.
+ * A game a player left before it started is not recorded, since the cards dealt to that player went back to the decks.
+ */
+public class GameRecording {
+    /**
+     * The version of the format of the header.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * The journal the records are appended to.
+     */
+    private final GameJournal journal;
+
+    /**
+     * What is needed to create a recorded game again, before its actions are replayed.
+     *
+     * @param gameName    the name of the game.
+     * @param seed        the seed the decks of the game were shuffled with.
+     * @param playerNames the names of the players, in joining order; the first one created the game.
+     */
+    public record Header(String gameName, long seed, List<String> playerNames) {
+        /**
+         * Validates the header.
+         *
+         * @throws IllegalArgumentException if the game has no name or not between 2 and 4 players.
+         */
+        public Header {
+            if (gameName == null || gameName.isBlank()) {
+                throw new IllegalArgumentException("Game name cannot be null or empty");
+            }
+            if (playerNames.size() < 2 || playerNames.size() > 4) {
+                throw new IllegalArgumentException("Players must be between 2-4");
+            }
+            playerNames = List.copyOf(playerNames);
+        }
+    }
+
+    /**
+     * A recorded game.
+     *
+     * @param header      the header of the recording.
+     * @param actions     the recorded actions, in the order they were applied.
+     * @param finalDigest the digest of the state of the game after the last action, or null if the game did not end while it was recorded.
+     */
+    public record Recording(Header header, List<GameJournal.Entry> actions, Long finalDigest) {
+    }
+
+    /**
+     * Constructs a new GameRecording. The file is created when the recording starts.
+     *
+     * @param path the path of the recording.
+     */
+    public GameRecording(Path path) {
+        this.journal = new GameJournal(path);
+    }
+
+    /**
+     * Starts the recording, replacing any previous recording at the same path.
+     *
+     * @param header the header of the recording.
+     * @param force  whether the header must be forced to the storage device.
+     * @throws IOException if the header cannot be written.
+     */
+    public void start(Header header, boolean force) throws IOException {
+        journal.reset(false);
+        journal.appendRecord(encodeHeader(header), force);
+    }
+
+    /**
+     * Appends an action to the recording.
+     *
+     * @param sequence the sequence number of the action.
+     * @param action   the action.
+     * @param force    whether the record must be forced to the storage device.
+     * @throws IOException              if the record cannot be written.
+     * @throws IllegalArgumentException if the action cannot be recorded.
+     */
+    public void append(long sequence, ClientToServerMessage action, boolean force) throws IOException {
+        journal.append(sequence, action, force);
+    }
+
+    /**
+     * Ends the recording with the digest of the final state of the game.
+     *
+     * @param digest the digest of the game, as computed by {@link #digest(Game)}.
+     * @param force  whether the record must be forced to the storage device.
+     * @throws IOException if the record cannot be written.
+     */
+    public void finish(long digest, boolean force) throws IOException {
+        journal.appendRecord(encodeDigest(digest), force);
+    }
+
+    /**
+     * Closes the recording. It is reopened if a record is appended.
+     *
+     * @throws IOException if the recording cannot be closed.
+     */
+    public void close() throws IOException {
+        journal.close();
+    }
+
+    /**
+     * Reads a recording. The reading stops at the first torn, corrupted or out of sequence action,
+     * so the actions read can always be replayed from the start of the game.
+     *
+     * @param path the path of the recording.
+     * @return the recording.
+     * @throws IOException              if the recording cannot be read.
+     * @throws IllegalArgumentException if the recording has no valid header.
+     */
+    public static Recording read(Path path) throws IOException {
+        List<byte[]> records = GameJournal.readRecords(path);
+        if (records.isEmpty()) {
+            throw new IllegalArgumentException("Missing header of recording " + path);
+        }
+        Header header = decodeHeader(records.getFirst());
+        List<GameJournal.Entry> actions = new ArrayList<>(records.size() - 1);
+        Long finalDigest = null;
+        for (byte[] record : records.subList(1, records.size())) {
+            finalDigest = decodeDigest(record);
+            if (finalDigest != null) {
+                break;
+            }
+            GameJournal.Entry entry;
+            try {
+                entry = GameJournal.decode(record, header.gameName());
+            } catch (IllegalArgumentException e) {
+                break;
+            }
+            if (entry.sequence() != actions.size() + 1) {
+                break;
+            }
+            actions.add(entry);
+        }
+        return new Recording(header, actions, finalDigest);
+    }
+
+    /**
+     * Computes the digest of the state of a game: its current player and winners, the cards of its decks and of its field,
+     * and the score, color, objective, hand and board of each player.
+     * Two games have the same digest if they were played the same way, so a replay can be checked against the recorded game.
+     *
+     * @param game the game.
+     * @return the digest, the first 8 bytes of the SHA-256 of the state.
+     */
+    public static long digest(Game game) {
+        BinaryWriter writer = new BinaryWriter();
+        writer.writeString(game.getCurrentPlayer().getPlayerName());
+        writeCardIds(writer, game.getGlobalBoard().getResourceDeck().getCards());
+        writeCardIds(writer, game.getGlobalBoard().getGoldDeck().getCards());
+        writeCardIds(writer, game.getGlobalBoard().getFieldResourceCards());
+        writeCardIds(writer, game.getGlobalBoard().getFieldGoldCards());
+        writer.writeVarInt(game.getPlayers().size());
+        for (Player player : game.getPlayers()) {
+            writer.writeString(player.getPlayerName());
+            writer.writeVarInt(player.getPlayerPos());
+            writer.writeEnum(player.getPlayerColor());
+            writer.writeVarInt(player.getObjectiveCard() == null ? 0 : player.getObjectiveCard().getCardId());
+            writeCardIds(writer, player.getPlayerHand().getCards());
+            List<GameCard> placedCards = player.getPlayerBoard().getGameCards();
+            writer.writeVarInt(placedCards.size());
+            for (GameCard placedCard : placedCards) {
+                Coordinate coordinate = player.getPlayerBoard().getGameCardPosition(placedCard).orElseThrow();
+                writer.writeVarInt(placedCard.getCardId());
+                writer.writeSignedVarInt(coordinate.x);
+                writer.writeSignedVarInt(coordinate.y);
+                writer.writeBoolean(placedCard.isFlipped());
+            }
+        }
+        List<Player> winners = game.getWinners() == null ? List.of() : game.getWinners();
+        writer.writeVarInt(winners.size());
+        winners.forEach(winner -> writer.writeString(winner.getPlayerName()));
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(writer.toByteArray())).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Writes the number and the ids of a list of cards.
+     *
+     * @param writer the writer.
+     * @param cards  the cards.
+     */
+    private static void writeCardIds(BinaryWriter writer, List<GameCard> cards) {
+        writer.writeVarInt(cards.size());
+        cards.forEach(card -> writer.writeVarInt(card.getCardId()));
+    }
+
+    /**
+     * Encodes the digest of the final state of a game as the sequence number 0 and the digest.
+     *
+     * @param digest the digest.
+     * @return the encoded record.
+     */
+    static byte[] encodeDigest(long digest) {
+        BinaryWriter writer = new BinaryWriter();
+        writer.writeVarLong(0);
+        writer.writeVarLong(digest);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Decodes the digest of the final state of a game.
+     *
+     * @param record the encoded record.
+     * @return the digest, or null if the record is not a digest.
+     */
+    static Long decodeDigest(byte[] record) {
+        try {
+            BinaryReader reader = new BinaryReader(record);
+            if (reader.readVarLong() != 0) {
+                return null;
+            }
+            long digest = reader.readVarLong();
+            return reader.isFullyRead() ? digest : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Encodes a header as the version of the format, the name and the seed of the game and the names of the players.
+     *
+     * @param header the header.
+     * @return the encoded record.
+     */
+    static byte[] encodeHeader(Header header) {
+        BinaryWriter writer = new BinaryWriter();
+        writer.writeVarInt(VERSION);
+        writer.writeString(header.gameName());
+        writer.writeVarLong(header.seed());
+        writer.writeVarInt(header.playerNames().size());
+        header.playerNames().forEach(writer::writeString);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Decodes a header.
+     *
+     * @param record the encoded record.
+     * @return the header.
+     * @throws IllegalArgumentException if the record is not a valid header.
+     */
+    static Header decodeHeader(byte[] record) {
+        BinaryReader reader = new BinaryReader(record);
+        int version = reader.readVarInt();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported recording version: " + version);
+        }
+        String gameName = reader.readString();
+        long seed = reader.readVarLong();
+        int players = reader.readVarInt();
+        if (players > 4) {
+            throw new IllegalArgumentException("Players must be between 2-4");
+        }
+        List<String> playerNames = new ArrayList<>(players);
+        for (int i = 0; i < players; i++) {
+            playerNames.add(reader.readString());
+        }
+        if (!reader.isFullyRead() || playerNames.contains(null)) {
+            throw new IllegalArgumentException("Malformed recording header");
+        }
+        return new Header(gameName, seed, playerNames);
+    }
+}
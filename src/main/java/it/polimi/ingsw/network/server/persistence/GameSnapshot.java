@@ -0,0 +1,19 @@
+package it.polimi.ingsw.network.server.persistence;
+
+import it.polimi.ingsw.network.virtualView.GameControllerView;
+
+import java.util.List;
+
+/**
+ * The GameSnapshot record is the content of a saved game file.
+ * The view alone does not hold the order of the decks, which is needed to replay the journal deterministically,
+ * so the snapshot also holds the ids of the cards of the decks in drawing order, and the seed they were shuffled with.
+ *
+ * @param journalSequence the sequence number of the last journaled action included in the snapshot.
+ * @param seed            the seed of the game, or null if the game has no seed or was saved before the seed was recorded.
+ * @param resourceDeck    the ids of the cards of the resource deck, in drawing order.
+ * @param goldDeck        the ids of the cards of the gold deck, in drawing order.
+ * @param game            the view of the game.
+ */
+public record GameSnapshot(long journalSequence, Long seed, List<Integer> resourceDeck, List<Integer> goldDeck, GameControllerView game) {
+}
@@ -1,8 +1,8 @@
 package it.polimi.ingsw.network.server.persistence;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonSyntaxException;
+import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.MalformedJsonException;
 import it.polimi.ingsw.controller.GameStatusEnum;
 import it.polimi.ingsw.controller.MainController;
 import it.polimi.ingsw.controller.gameController.GameControllerMiddleware;
@@ -16,12 +16,16 @@ import it.polimi.ingsw.model.player.Player;
 import it.polimi.ingsw.model.player.PlayerBoard;
 import it.polimi.ingsw.model.player.PlayerHand;
 import it.polimi.ingsw.model.utils.Coordinate;
+import it.polimi.ingsw.model.utils.store.GameItemStore;
+import it.polimi.ingsw.network.client.message.ClientToServerMessage;
 import it.polimi.ingsw.network.client.message.adapter.ServerToClientMessageAdapter;
 import it.polimi.ingsw.network.server.ServerNetworkControllerMapper;
+import it.polimi.ingsw.network.server.message.successMessage.GameRecord;
 import it.polimi.ingsw.network.server.message.ServerToClientMessage;
-import it.polimi.ingsw.network.server.message.successMessage.UpdateViewServerToClientMessage;
 import it.polimi.ingsw.network.virtualView.GameControllerView;
+import it.polimi.ingsw.network.virtualView.GameView;
 import it.polimi.ingsw.network.virtualView.PlayerView;
+import it.polimi.ingsw.parsing.adapters.GameItemStoreAdapter;
 import it.polimi.ingsw.parsing.adapters.ObjectiveCardAdapter;
 import it.polimi.ingsw.parsing.adapters.SerializableBooleanPropertyAdapter;
 import it.polimi.ingsw.parsing.adapters.SideGameCardAdapter;
@@ -30,17 +34,45 @@ import org.apache.logging.log4j.Logger;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
-import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
-import java.io.IOException;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * The Persistence class is responsible for saving and loading games to and from disk.
  * It listens for property changes in the game controllers and saves the game state to disk when needed.
+ * <p>
+ * Each game is saved as a snapshot, {@code <hash>.json}, followed by a journal of the actions applied after it, {@code <hash>.journal}.
+ * An action only appends a few dozen bytes to the journal; a new snapshot is written, and the journal emptied,
+ * every {@code snapshotInterval} actions and whenever the game changes in a way that is not an action of a player,
+ * such as a disconnection. A game is restored by loading its snapshot and replaying the actions journaled after it.
+ * <p>
+ * Snapshots are plain JSON, or JSON compressed with gzip if the persistence is set to compress them;
+ * both formats are read, whatever the setting.
+ * <p>
+ * If the persistence is set to record the games, each game is also recorded from the moment all its players joined, {@code <hash>.record},
+ * as long as they all stay connected; a recording is kept when the game ends, and can be replayed by {@link Replay}.
+ * <p>
+ * The files are written by a fixed pool of threads shared by all the games. The writes of a game are queued and written in order,
+ * after a short debounce window: a snapshot supersedes the snapshot and the journal records queued before it, which are dropped.
  */
 public class Persistence implements PropertyChangeListener {
 
@@ -55,9 +87,49 @@ public class Persistence implements PropertyChangeListener {
     private final ServerNetworkControllerMapper serverNetworkControllerMapper;
 
     /**
-     * The executor service for managing persistence tasks.
+     * The saving state of each game, by hash of the game name.
      */
-    private final HashMap<String, ExecutorService> executors;
+    private final ConcurrentHashMap<String, SavedGame> savedGames;
+
+    /**
+     * The settings of the persistence.
+     */
+    private final PersistenceOptions options;
+
+    /**
+     * The threads writing the saved games of all the games.
+     */
+    private final ScheduledThreadPoolExecutor ioExecutor;
+
+    /**
+     * The games whose writes are queued, written by the executor or waiting for the debounce window to elapse.
+     */
+    private final Set<SavedGame> writingGames;
+
+    /**
+     * The restoring tasks of the saved games listed by {@link #loadAll()} and not restored yet, by game name.
+     */
+    private final ConcurrentHashMap<String, FutureTask<Void>> restoringGames;
+
+    /**
+     * The progress of the restoring of the saved games listed by {@link #loadAll()}, or null if they have not been listed.
+     */
+    private volatile RestoreProgress restoreProgress;
+
+    /**
+     * The name of the index of the saved games, in the directory of the saved games.
+     */
+    static final String INDEX_FILE = "index.json";
+
+    /**
+     * The index of the saved games.
+     */
+    private final SaveIndex saveIndex;
+
+    /**
+     * Whether the writing of the index of the saved games is scheduled.
+     */
+    private final AtomicBoolean indexWriteScheduled;
 
     /**
      * The logger.
@@ -72,6 +144,7 @@ public class Persistence implements PropertyChangeListener {
             .registerTypeAdapter(SerializableBooleanProperty.class, new SerializableBooleanPropertyAdapter())
             .registerTypeAdapter(ServerToClientMessage.class, new ServerToClientMessageAdapter()) // Registering a type adapter for ServerToClientMessage class
             .registerTypeAdapter(SideGameCard.class, new SideGameCardAdapter()) // Registering a type adapter for SideGameCard class
+            .registerTypeAdapter(GameItemStore.class, new GameItemStoreAdapter())
             .registerTypeAdapter(ObjectiveCard.class, new ObjectiveCardAdapter()) // Registering a type adapter for ObjectiveCard class
             .create();
 
@@ -79,21 +152,54 @@ public class Persistence implements PropertyChangeListener {
      * Creates a new Persistence instance. It needs both
      * the main controller and the server network controller
      * mapper to save and load games.
+     * It uses the {@link PersistenceOptions#DEFAULT default settings}.
      *
      * @param mainController                The main controller
      * @param serverNetworkControllerMapper The server network controller mapper
      */
     public Persistence(MainController mainController, ServerNetworkControllerMapper serverNetworkControllerMapper) {
+        this(mainController, serverNetworkControllerMapper, PersistenceOptions.DEFAULT);
+    }
+
+    /**
+     * Creates a new Persistence instance.
+     *
+     * @param mainController                The main controller
+     * @param serverNetworkControllerMapper The server network controller mapper
+     * @param options                       The settings of the persistence
+     */
+    public Persistence(MainController mainController, ServerNetworkControllerMapper serverNetworkControllerMapper, PersistenceOptions options) {
         this.mainController = mainController;
         this.serverNetworkControllerMapper = serverNetworkControllerMapper;
-        this.executors = new HashMap<>();
-        File directory = new File("savedGames");
+        this.options = options;
+        this.savedGames = new ConcurrentHashMap<>();
+        this.ioExecutor = new ScheduledThreadPoolExecutor(options.ioThreads(), Thread.ofPlatform().name("persistence-io-", 0).daemon(true).factory());
+        // On close, the writes waiting for the debounce window are written at once instead
+        this.ioExecutor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.writingGames = ConcurrentHashMap.newKeySet();
+        this.restoringGames = new ConcurrentHashMap<>();
+        this.saveIndex = new SaveIndex(options.saveDirectory().resolve(INDEX_FILE));
+        this.indexWriteScheduled = new AtomicBoolean();
+        serverNetworkControllerMapper.setGameLoader(this::awaitRestore);
+        serverNetworkControllerMapper.getMetrics().registerGauge("codex_persistence_queued_games",
+                "Number of games with writes queued, waiting for the debounce window or for a writing thread.", writingGames::size);
+        serverNetworkControllerMapper.getMetrics().registerGauge("codex_persistence_queued_tasks",
+                "Number of writing tasks queued for the writing threads.", () -> ioExecutor.getQueue().size());
+        serverNetworkControllerMapper.getMetrics().registerGauge("codex_persistence_restoring_games",
+                "Number of saved games not restored yet.", restoringGames::size);
+        File directory = options.saveDirectory().toFile();
         if (!directory.exists()) {
-            if (!directory.mkdir()) {
-                logger.fatal("Failed to create \"savedGames\" directory");
+            if (!directory.mkdirs()) {
+                logger.fatal("Failed to create \"{}\" directory", directory);
                 System.exit(-1);
             }
         }
+        try {
+            saveIndex.read();
+        } catch (IOException | IllegalArgumentException e) {
+            // The saved games are indexed again from their snapshots by loadAll
+            logger.warn("The index of the saved games cannot be read: {}", e.getMessage());
+        }
     }
 
     /**
@@ -131,13 +237,18 @@ public class Persistence implements PropertyChangeListener {
     }
 
     /**
-     * Returns the hash of the game name.
+     * Returns the hash of the game name, used as the base name of the files of the game.
+     * It is the SHA-256 of the name, so two games cannot share their files.
      *
      * @param gameName The name of the game
      * @return The hash of the game name
      */
-    private String getGameHash(String gameName) {
-        return String.valueOf(gameName.hashCode());
+    static String getGameHash(String gameName) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(gameName.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 
     /**
@@ -150,92 +261,420 @@ public class Persistence implements PropertyChangeListener {
         return getGameHash(gameControllerView.gameView().gameName());
     }
 
+    /**
+     * Returns the path of the snapshot of a game.
+     *
+     * @param gameHash The hash of the game name
+     * @return The path of the snapshot
+     */
+    private Path getSnapshotPath(String gameHash) {
+        return options.saveDirectory().resolve(gameHash + ".json");
+    }
+
+    /**
+     * Returns the path of the journal written after a snapshot.
+     *
+     * @param snapshotPath The path of the snapshot
+     * @return The path of the journal
+     */
+    private Path getJournalPath(Path snapshotPath) {
+        String fileName = snapshotPath.getFileName().toString();
+        String baseName = fileName.endsWith(".json") ? fileName.substring(0, fileName.length() - ".json".length()) : fileName;
+        return snapshotPath.resolveSibling(baseName + ".journal");
+    }
+
+    /**
+     * Returns the path of the recording of a game.
+     *
+     * @param gameHash The hash of the game name
+     * @return The path of the recording
+     */
+    private Path getRecordingPath(String gameHash) {
+        return options.saveDirectory().resolve(gameHash + ".record");
+    }
+
+    /**
+     * Returns the saving state of a game, creating it if needed.
+     *
+     * @param gameName The name of the game
+     * @return The saving state of the game
+     */
+    private SavedGame getSavedGame(String gameName) {
+        return savedGames.computeIfAbsent(getGameHash(gameName), gameHash -> new SavedGame(gameName, new GameJournal(getJournalPath(getSnapshotPath(gameHash))),
+                options.recordGames() ? new GameRecording(getRecordingPath(gameHash)) : null));
+    }
+
     /**
      * This method is responsible for creating a task to save the game state.
-     * It first generates a hash of the game name to use as a key for storing
-     * the executor service. If an executor service does not already exist for
-     * this game, it creates a new single-thread executor service and stores
-     * it in the executors map. It then submits a task to this executor service
-     * to save the game state.
+     * If the game was changed by a single action of a player, the action is appended to the journal of the game.
+     * Otherwise, or every {@code snapshotInterval} actions, a snapshot of the whole game is written instead.
+     * <p>
+     * The actions are only journaled while all the players are connected, since a disconnection changes how the turns advance;
+     * this way, replaying the journal onto the snapshot always leads to the same state.
      *
      * @param gameControllerView The GameControllerView instance representing the current state of the game.
      */
     private void savingTask(GameControllerView gameControllerView) {
-        String gameHash = getGameHash(gameControllerView);
-        ExecutorService executor;
-        if (!this.executors.containsKey(gameHash)) {
-            executor = Executors.newSingleThreadExecutor();
-            this.executors.put(gameHash, executor);
+        String gameName = gameControllerView.gameView().gameName();
+        SavedGame savedGame = getSavedGame(gameName);
+        ClientToServerMessage action = savedGame.pendingAction;
+        savedGame.pendingAction = null;
+        if (action != null) {
+            savedGame.sequence++;
+        }
+        long sequence = savedGame.sequence;
+        boolean allPlayersConnected = areAllPlayersConnected(gameName);
+        recordAction(savedGame, gameControllerView, action, allPlayersConnected);
+        if (action != null && savedGame.hasSnapshot && savedGame.actionsSinceSnapshot < options.snapshotInterval() && allPlayersConnected) {
+            savedGame.actionsSinceSnapshot++;
+            scheduleWrites(savedGame, savedGame.queueAppend(new GameJournal.Entry(sequence, action)));
         } else {
-            executor = this.executors.get(gameHash);
+            savedGame.hasSnapshot = true;
+            savedGame.actionsSinceSnapshot = 0;
+            Game game = mainController.getGameController(gameName).getGame();
+            GlobalBoard globalBoard = game.getGlobalBoard();
+            GameSnapshot snapshot = new GameSnapshot(sequence, game.getSeed(), getCardIds(globalBoard.getResourceDeck().getCards()), getCardIds(globalBoard.getGoldDeck().getCards()), gameControllerView);
+            // The view refers to the model of the game, so it is serialized before the next action changes it
+            byte[] content = gson.toJson(snapshot).getBytes(StandardCharsets.UTF_8);
+            QueuedSnapshot queuedSnapshot = new QueuedSnapshot(content, gameControllerView.gameStatus(), gameControllerView.gameView().playerViews().size());
+            scheduleWrites(savedGame, savedGame.queueSnapshot(queuedSnapshot));
         }
-        executor.submit(() -> saveGame(gameControllerView));
     }
 
     /**
-     * Saves the game to a JSON file. In the savedGames directory.
-     * It uses the hash of the game name as the filename to avoid
-     * possible problems with special characters.
+     * Checks if all the players of a game are connected.
+     *
+     * @param gameName The name of the game
+     * @return True if all the players are connected, false otherwise
+     */
+    private boolean areAllPlayersConnected(String gameName) {
+        Game game = mainController.getGameController(gameName).getGame();
+        return game.getConnectedPlayers().size() == game.getPlayers().size();
+    }
+
+    /**
+     * Records an action applied to a game, if the game is recorded.
+     * The recording starts at the first save of the game, when all its players have joined and none has played yet,
+     * and stops for good when a save finds a player disconnected, since the game then advances in ways that are not actions.
+     * A game a player left before it started, or whose decks were not shuffled with a seed, is not recorded, since its decks do not follow from a seed.
+     *
+     * @param savedGame           The saving state of the game
+     * @param gameControllerView  The view of the game after the action
+     * @param action              The action, or null if the game was not changed by an action
+     * @param allPlayersConnected Whether all the players of the game are connected
+     */
+    private void recordAction(SavedGame savedGame, GameControllerView gameControllerView, ClientToServerMessage action, boolean allPlayersConnected) {
+        if (savedGame.recording == null) {
+            return;
+        }
+        if (!savedGame.recordingStarted) {
+            savedGame.recordingStarted = true;
+            if (!allPlayersConnected || action != null || savedGame.sequence != 0 || gameControllerView.gameStatus() != GameStatusEnum.INIT_PLACE_STARTER_CARD) {
+                return;
+            }
+            Game game = mainController.getGameController(savedGame.gameName).getGame();
+            if (!game.isSeeded()) {
+                logger.info("Game {} is not recorded, since its decks were not shuffled with a seed", savedGame.gameName);
+                return;
+            }
+            if (game.hasRemovedPlayers()) {
+                logger.info("Game {} is not recorded, since a player left it before it started", savedGame.gameName);
+                return;
+            }
+            List<String> playerNames = game.getPlayers().stream().map(Player::getPlayerName).toList();
+            savedGame.recordingActive = true;
+            scheduleWrites(savedGame, savedGame.queueRecord(new RecordWrite(new GameRecording.Header(savedGame.gameName, game.getSeed(), playerNames), null, null)));
+        } else if (!allPlayersConnected) {
+            stopRecording(savedGame);
+        } else if (savedGame.recordingActive && action != null) {
+            scheduleWrites(savedGame, savedGame.queueRecord(new RecordWrite(null, new GameJournal.Entry(savedGame.sequence, action), null)));
+        }
+    }
+
+    /**
+     * Stops the recording of a game for good, since the game advanced in a way that is not an action of a player.
      *
-     * @param view The game controller view to save
+     * @param savedGame The saving state of the game
      */
-    private void saveGame(GameControllerView view) {
+    private void stopRecording(SavedGame savedGame) {
+        if (savedGame.recordingActive) {
+            logger.info("Recording of game {} stopped after {} actions, since a player left", savedGame.gameName, savedGame.sequence);
+            savedGame.recordingActive = false;
+        }
+    }
+
+    /**
+     * Returns the ids of a list of cards.
+     *
+     * @param cards The cards
+     * @return The ids of the cards, in the same order
+     */
+    private List<Integer> getCardIds(List<GameCard> cards) {
+        List<Integer> cardIds = new ArrayList<>(cards.size());
+        cards.forEach(card -> cardIds.add(card.getCardId()));
+        return cardIds;
+    }
+
+    /**
+     * Schedules the queued writes of a game after the debounce window, unless they are already scheduled.
+     * The writes queued during the window are written by the same task, so superseded snapshots are never written.
+     *
+     * @param savedGame The saving state of the game
+     * @param schedule  Whether the writes of the game must be scheduled
+     */
+    private void scheduleWrites(SavedGame savedGame, boolean schedule) {
+        if (!schedule) {
+            return;
+        }
+        writingGames.add(savedGame);
         try {
-            String gameNameHash = getGameHash(view);
+            ioExecutor.schedule(() -> writeQueued(savedGame), options.debounceMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Saving game {} after closing the persistence is not possible", savedGame.gameName);
+        }
+    }
 
-            String tempFileName = "savedGames/" + gameNameHash + "_temp.json";
-            String finalFileName = "savedGames/" + gameNameHash + ".json";
-            // Save the game to a temporary JSON file
-            try (FileWriter tempWriter = new FileWriter(tempFileName)) {
-                gson.toJson(view, tempWriter);
+    /**
+     * Writes the queued writes of a game, in order, until the queue is empty.
+     *
+     * @param savedGame The saving state of the game
+     */
+    private void writeQueued(SavedGame savedGame) {
+        String gameName = savedGame.gameName;
+        while (true) {
+            QueuedWrites writes;
+            synchronized (savedGame) {
+                writes = savedGame.takeQueued();
+                if (writes == null) {
+                    writingGames.remove(savedGame);
+                    return;
+                }
+            }
+            writeRecords(savedGame, gameName, writes.records());
+            if (writes.delete()) {
+                deleteGame(savedGame, gameName);
+                continue;
+            }
+            if (writes.snapshot() != null) {
+                saveGame(savedGame, gameName, writes.snapshot());
             }
+            appendActions(savedGame, gameName, writes.actions());
+        }
+    }
 
-            File originalFile = new File(finalFileName);
-            if (originalFile.exists() && !originalFile.delete()) {
-                logger.warn("Failed to delete original file: {}", finalFileName);
+    /**
+     * Writes the header and appends the actions of the recording of a game.
+     * The recording is only forced when the fsync policy is always, since it is not needed to restore the game.
+     *
+     * @param savedGame The saving state of the game
+     * @param gameName  The name of the game
+     * @param records   The records, in order
+     */
+    private void writeRecords(SavedGame savedGame, String gameName, List<RecordWrite> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        boolean force = options.fsyncPolicy() == FsyncPolicy.ALWAYS;
+        try {
+            for (RecordWrite record : records) {
+                if (record.header() != null) {
+                    savedGame.recording.start(record.header(), force);
+                } else if (record.digest() != null) {
+                    savedGame.recording.finish(record.digest(), force);
+                } else {
+                    savedGame.recording.append(record.entry().sequence(), record.entry().action(), force);
+                }
             }
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Recording actions of game {} failed: {}", gameName, e.getMessage());
+        }
+    }
 
-            File tempFile = new File(tempFileName);
-            if (!tempFile.renameTo(originalFile)) {
-                logger.warn("Failed to rename temp file to original file name: {}", finalFileName);
+    /**
+     * Appends actions to the journal of a game.
+     * With the batch policy, the journal is only forced after the last action, so a burst of actions costs a single force.
+     *
+     * @param savedGame The saving state of the game
+     * @param gameName  The name of the game
+     * @param actions   The actions, in order
+     */
+    private void appendActions(SavedGame savedGame, String gameName, List<GameJournal.Entry> actions) {
+        if (actions.isEmpty()) {
+            return;
+        }
+        try {
+            for (GameJournal.Entry entry : actions) {
+                savedGame.journal.append(entry.sequence(), entry.action(), options.fsyncPolicy() == FsyncPolicy.ALWAYS);
+            }
+            if (options.fsyncPolicy() == FsyncPolicy.BATCH) {
+                savedGame.journal.force();
             }
         } catch (IOException e) {
-            logger.warn("Saving game: {} to file failed", view.gameView().gameName());
+            logger.warn("Journaling actions of game {} failed: {}", gameName, e.getMessage());
         }
     }
 
+    /**
+     * Saves a snapshot of the game to a JSON file in the directory of the saved games, then empties the journal of the game
+     * and updates the index of the saved games.
+     * It uses the hash of the game name as the filename to avoid
+     * possible problems with special characters.
+     *
+     * @param savedGame The saving state of the game
+     * @param gameName  The name of the game
+     * @param snapshot  The snapshot
+     */
+    private void saveGame(SavedGame savedGame, String gameName, QueuedSnapshot snapshot) {
+        boolean force = options.fsyncPolicy() != FsyncPolicy.NEVER;
+        String gameHash = getGameHash(gameName);
+        try {
+            Path finalFile = getSnapshotPath(gameHash);
+            Path tempFile = finalFile.resolveSibling(gameHash + "_temp.json");
+            // The snapshot is compressed here rather than by the thread applying the actions
+            byte[] content = options.compressSnapshots() ? compress(snapshot.content()) : snapshot.content();
+            // Save the game to a temporary JSON file
+            try (FileOutputStream tempStream = new FileOutputStream(tempFile.toFile())) {
+                tempStream.write(content);
+                if (force) {
+                    tempStream.getFD().sync();
+                }
+            }
+            Files.move(tempFile, finalFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            // The snapshot includes all the journaled actions, which would be skipped anyway on restore.
+            savedGame.journal.reset(force);
+            saveIndex.put(new SavedGameEntry(gameName, gameHash, snapshot.status(), snapshot.players(), System.currentTimeMillis()));
+            scheduleIndexWrite();
+        } catch (IOException e) {
+            logger.warn("Saving game: {} to file failed", gameName);
+        }
+    }
+
+    /**
+     * Schedules the writing of the index of the saved games after the debounce window, unless it is already scheduled.
+     */
+    private void scheduleIndexWrite() {
+        if (!indexWriteScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            ioExecutor.schedule(() -> {
+                indexWriteScheduled.set(false);
+                writeSaveIndex();
+            }, options.debounceMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // The persistence is closing, and writes the index itself
+            indexWriteScheduled.set(false);
+        }
+    }
+
+    /**
+     * Writes the index of the saved games, if it changed.
+     */
+    private void writeSaveIndex() {
+        try {
+            saveIndex.writeIfDirty(options.fsyncPolicy() != FsyncPolicy.NEVER);
+        } catch (IOException e) {
+            logger.warn("Writing the index of the saved games failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the saved games, as recorded in the index of the saved games.
+     *
+     * @return The saved games, sorted by game name
+     */
+    public List<SavedGameEntry> listSavedGames() {
+        return saveIndex.getEntries();
+    }
+
+    /**
+     * Records the action that ended a game, which is not saved since the game is deleted, followed by the digest of its final state.
+     *
+     * @param gameName The name of the game
+     */
+    private void recordLastAction(String gameName) {
+        SavedGame savedGame = savedGames.get(getGameHash(gameName));
+        if (savedGame == null || !savedGame.recordingActive || savedGame.pendingAction == null) {
+            return;
+        }
+        savedGame.sequence++;
+        GameJournal.Entry entry = new GameJournal.Entry(savedGame.sequence, savedGame.pendingAction);
+        savedGame.pendingAction = null;
+        savedGame.recordingActive = false;
+        long digest = GameRecording.digest(mainController.getGameController(gameName).getGame());
+        scheduleWrites(savedGame, savedGame.queueRecord(new RecordWrite(null, entry, null)));
+        scheduleWrites(savedGame, savedGame.queueRecord(new RecordWrite(null, null, digest)));
+    }
+
     /**
      * This method is responsible for creating a task to delete the game state.
      * It first generates a hash of the game name to use as a key for getting
-     * the executor service. If an executor service exists for this game, it
-     * submits a task to this executor service to delete the game state. It
-     * then shuts down the executor service and removes it from the executors map.
+     * the saving state of the game. If the game has a saving state, it
+     * removes it from the map and queues the deletion, which supersedes the writes still queued for the game.
      *
      * @param gameName The name of the game to delete
      */
     private void deletingTask(String gameName) {
-        String gameHash = getGameHash(gameName);
-        ExecutorService executor = this.executors.get(gameHash);
-        if (executor != null) {
-            executor.submit(() -> deleteGame(gameName));
-            executor.shutdown();
-            this.executors.remove(gameHash);
+        SavedGame savedGame = savedGames.remove(getGameHash(gameName));
+        if (savedGame != null) {
+            scheduleWrites(savedGame, savedGame.queueDelete());
         }
     }
 
     /**
-     * Deletes the game from the savedGames directory.
+     * Deletes the snapshot and the journal of the game from the directory of the saved games.
+     * The recording of the game, if any, is kept.
      *
-     * @param gameName The name of the game to delete
+     * @param savedGame The saving state of the game
+     * @param gameName  The name of the game to delete
      */
-    private void deleteGame(String gameName) {
+    private void deleteGame(SavedGame savedGame, String gameName) {
         String gameNameHash = getGameHash(gameName);
-        File file = new File("savedGames/" + gameNameHash + ".json");
+        try {
+            savedGame.journal.delete();
+            if (savedGame.recording != null) {
+                savedGame.recording.close();
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to delete saved game journal: {}", gameNameHash);
+        }
+        File file = getSnapshotPath(gameNameHash).toFile();
         if (checkFile(file)) {
             if (!file.delete()) {
                 logger.warn("Failed to delete saved game file: {}", gameNameHash);
             }
         }
+        saveIndex.remove(gameName);
+        scheduleIndexWrite();
+    }
+
+    /**
+     * Writes the queued writes of all the games, then closes their journals.
+     * Saves requested after this method is called are not written.
+     * It is called when the server shuts down.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting.
+     */
+    public void close() throws InterruptedException {
+        // The writes waiting for the debounce window are cancelled and written below, without waiting
+        ioExecutor.shutdown();
+        if (!ioExecutor.awaitTermination(1, TimeUnit.MINUTES)) {
+            logger.warn("Some saved games could not be written before closing");
+        }
+        for (SavedGame savedGame : writingGames) {
+            writeQueued(savedGame);
+        }
+        writeSaveIndex();
+        for (SavedGame savedGame : savedGames.values()) {
+            try {
+                savedGame.journal.close();
+                if (savedGame.recording != null) {
+                    savedGame.recording.close();
+                }
+            } catch (IOException e) {
+                logger.warn("Failed to close a saved game journal: {}", e.getMessage());
+            }
+        }
     }
 
     /**
@@ -250,37 +689,368 @@ public class Persistence implements PropertyChangeListener {
     }
 
     /**
-     * Loads all the games from the savedGames directory.
+     * Loads all the games from the directory of the saved games.
+     * If the persistence has restoring threads, the saved games are only indexed here: each game is listed
+     * and restored in the background, so the server can start listening at once.
+     * A player joining a game that is not restored yet waits for it to be restored.
+     * Otherwise, the games are restored one after the other before returning.
      */
     public void loadAll() {
-        File folder = new File("savedGames");
+        File folder = options.saveDirectory().toFile();
         File[] listOfFiles = folder.listFiles();
-        if (listOfFiles != null) {
-            for (File file : listOfFiles) {
-                if (file.getName().endsWith("temp.json")) {
-                    if (!file.delete())
-                        logger.warn("Failed to delete temporary file: {}", file.getName());
-                } else {
-                    if (checkFile(file))
-                        restoreModel(file);
+        if (listOfFiles == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        Map<String, SavedGameEntry> indexedFiles = new HashMap<>();
+        saveIndex.getEntries().forEach(entry -> indexedFiles.put(entry.file(), entry));
+        List<SavedGameEntry> savedGameEntries = new ArrayList<>();
+        for (File file : listOfFiles) {
+            String fileName = file.getName();
+            if (fileName.endsWith("temp.json")) {
+                if (!file.delete())
+                    logger.warn("Failed to delete temporary file: {}", fileName);
+            } else if (fileName.endsWith(".json") && !fileName.equals(INDEX_FILE)) {
+                // The journals are read together with their snapshot
+                if (!checkFile(file))
+                    continue;
+                SavedGameEntry entry = indexedFiles.remove(fileName.substring(0, fileName.length() - ".json".length()));
+                if (entry == null) {
+                    // The file is not in the index: it was saved by an older version, or the index was lost
+                    entry = indexSavedGame(file);
                 }
+                if (entry != null) {
+                    savedGameEntries.add(entry);
+                }
+            }
+        }
+        // Forget the indexed games whose files are gone, unless they have just been found under another name
+        Set<String> savedGameNames = new HashSet<>();
+        savedGameEntries.forEach(entry -> savedGameNames.add(entry.gameName()));
+        indexedFiles.values().stream().filter(entry -> !savedGameNames.contains(entry.gameName())).forEach(entry -> saveIndex.remove(entry.gameName()));
+        writeSaveIndex();
+        logger.info("Indexed {} saved games in {} ms", savedGameEntries.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        RestoreProgress progress = new RestoreProgress(savedGameEntries.size());
+        restoreProgress = progress;
+        if (options.restoreThreads() == 0) {
+            savedGameEntries.forEach(entry -> finishRestore(progress, restoreModel(getSnapshotPath(entry.file()).toFile())));
+            return;
+        }
+        ExecutorService restoreExecutor = Executors.newFixedThreadPool(options.restoreThreads(), Thread.ofPlatform().name("persistence-restore-", 0).daemon(true).factory());
+        for (SavedGameEntry entry : savedGameEntries) {
+            String gameName = entry.gameName();
+            File file = getSnapshotPath(entry.file()).toFile();
+            FutureTask<Void> restoreTask = new FutureTask<>(() -> restoreIndexedGame(file, gameName, progress), null);
+            if (restoringGames.putIfAbsent(gameName, restoreTask) != null) {
+                logger.warn("File {} holds game {}, which is already being restored", file.getName(), gameName);
+                finishRestore(progress, false);
+                continue;
             }
+            serverNetworkControllerMapper.addGameToMapper(gameName);
+            // A restored game has all its players, disconnected
+            mainController.addSavedGameRecord(new GameRecord(gameName, entry.players(), entry.players()));
+            restoreExecutor.execute(restoreTask);
         }
+        restoreExecutor.shutdown();
     }
 
     /**
-     * Restores the game model from the specified JSON file.
+     * Adds to the index a saved game that is not indexed, reading its name from its snapshot.
+     * A game saved by an older version, whose files are named after the hash code of its name, is renamed.
+     *
+     * @param file The JSON file of the saved game
+     * @return The entry of the saved game, or null if the file is not a valid saved game
+     */
+    private SavedGameEntry indexSavedGame(File file) {
+        SavedGameEntry entry;
+        try {
+            entry = readIndex(file);
+        } catch (IOException | IllegalStateException | JsonParseException e) {
+            logger.warn("File {} is not a valid saved game", file.getName());
+            return null;
+        }
+        String gameHash = getGameHash(entry.gameName());
+        if (!entry.file().equals(gameHash)) {
+            Path snapshotPath = getSnapshotPath(gameHash);
+            if (Files.exists(snapshotPath)) {
+                logger.warn("File {} holds game {}, which is already saved in {}", file.getName(), entry.gameName(), snapshotPath.getFileName());
+                return null;
+            }
+            try {
+                Path journalPath = getJournalPath(file.toPath());
+                if (Files.exists(journalPath)) {
+                    Files.move(journalPath, getJournalPath(snapshotPath), StandardCopyOption.ATOMIC_MOVE);
+                }
+                Files.move(file.toPath(), snapshotPath, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                logger.warn("Renaming file {} of game {} failed: {}", file.getName(), entry.gameName(), e.getMessage());
+                return null;
+            }
+            logger.info("Renamed file {} of game {} to {}", file.getName(), entry.gameName(), snapshotPath.getFileName());
+            entry = new SavedGameEntry(entry.gameName(), gameHash, entry.status(), entry.players(), entry.lastModified());
+        }
+        saveIndex.put(entry);
+        return entry;
+    }
+
+    /**
+     * Restores a saved game listed by {@link #loadAll()}. If the game cannot be restored, it is no longer listed.
+     *
+     * @param file     The JSON file to restore the game from
+     * @param gameName The name of the game
+     * @param progress The progress of the restoring of the listed games
+     */
+    private void restoreIndexedGame(File file, String gameName, RestoreProgress progress) {
+        boolean restored = false;
+        try {
+            restored = restoreModel(file);
+        } finally {
+            if (!restored && mainController.removeSavedGameRecord(gameName)) {
+                serverNetworkControllerMapper.removeGameFromMapper(gameName);
+            }
+            restoringGames.remove(gameName);
+            finishRestore(progress, restored);
+        }
+    }
+
+    /**
+     * Records that a saved game listed by {@link #loadAll()} has been restored, or could not be restored.
+     * Once all the listed games are done, it logs how fast they have been restored.
+     *
+     * @param progress The progress of the restoring of the listed games
+     * @param restored Whether the game has been restored
+     */
+    private void finishRestore(RestoreProgress progress, boolean restored) {
+        if (progress.finish(restored)) {
+            long elapsedNanos = System.nanoTime() - progress.start;
+            double gamesPerSecond = progress.restored.get() * (double) TimeUnit.SECONDS.toNanos(1) / Math.max(elapsedNanos, 1);
+            logger.info("Restored {} of {} saved games in {} ms ({} games/s)", progress.restored.get(), progress.games,
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), String.format(Locale.ROOT, "%.1f", gamesPerSecond));
+        }
+        // Released last, so a thread waiting for the games finds them all done and logged
+        progress.done.countDown();
+    }
+
+    /**
+     * Waits for the saved games listed by {@link #loadAll()} to be restored, or to fail to be restored.
+     * It returns at once if no game has been listed.
+     *
+     * @param timeout The maximum time to wait
+     * @param unit    The unit of the timeout
+     * @return True if all the listed games are done, false if the timeout elapsed first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public boolean awaitRestores(long timeout, TimeUnit unit) throws InterruptedException {
+        RestoreProgress progress = restoreProgress;
+        return progress == null || progress.done.await(timeout, unit);
+    }
+
+    /**
+     * Waits for a saved game to be restored, restoring it on the calling thread if no restoring thread has started it yet.
+     * It does nothing if the game is not being restored.
+     *
+     * @param gameName The name of the game
+     */
+    private void awaitRestore(String gameName) {
+        FutureTask<Void> restoreTask = restoringGames.get(gameName);
+        if (restoreTask == null) {
+            return;
+        }
+        restoreTask.run();
+        try {
+            restoreTask.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.warn("Restoring game {} failed: {}", gameName, e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Reads the name, the status and the number of players of a saved game, without restoring it.
+     * The file is streamed and the rest of the game is skipped.
+     *
+     * @param file The JSON file of the saved game
+     * @return The entry of the saved game, for its current file
+     * @throws IOException           if the file cannot be read
+     * @throws IllegalStateException if the file is not a valid saved game
+     */
+    private SavedGameEntry readIndex(File file) throws IOException {
+        try (JsonReader reader = new JsonReader(openSnapshot(file))) {
+            SavedGameIndex index = readIndex(reader);
+            if (index.gameName() == null || index.status() == null || index.players() == 0) {
+                throw new IllegalStateException("Missing game name, status or players");
+            }
+            String fileName = file.getName();
+            return new SavedGameEntry(index.gameName(), fileName.substring(0, fileName.length() - ".json".length()), index.status(), index.players(), file.lastModified());
+        }
+    }
+
+    /**
+     * Reads the name, the status and the number of players of a saved game from a snapshot, or from the view of a game.
+     *
+     * @param reader The reader, positioned at the beginning of the object
+     * @return The index of the saved game, without the values missing from the object
+     * @throws IOException if the object cannot be read
+     */
+    private SavedGameIndex readIndex(JsonReader reader) throws IOException {
+        SavedGameIndex index = new SavedGameIndex(null, null, 0);
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "game" -> index = readIndex(reader);
+                case "gameStatus" -> index = new SavedGameIndex(index.gameName(), GameStatusEnum.valueOf(reader.nextString()), index.players());
+                case "gameView" -> {
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        switch (reader.nextName()) {
+                            case "gameName" -> index = new SavedGameIndex(reader.nextString(), index.status(), index.players());
+                            case "playerViews" -> {
+                                int players = 0;
+                                reader.beginArray();
+                                while (reader.hasNext()) {
+                                    reader.skipValue();
+                                    players++;
+                                }
+                                reader.endArray();
+                                index = new SavedGameIndex(index.gameName(), index.status(), players);
+                            }
+                            default -> reader.skipValue();
+                        }
+                    }
+                    reader.endObject();
+                }
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return index;
+    }
+
+    /**
+     * Opens a snapshot for reading, decompressing it if it was saved compressed.
+     * The format is detected from the first bytes of the file, so compressed and plain snapshots can be mixed.
+     *
+     * @param file The JSON file of the snapshot
+     * @return A reader of the JSON of the snapshot
+     * @throws IOException if the file cannot be opened
+     */
+    private Reader openSnapshot(File file) throws IOException {
+        InputStream inputStream = new BufferedInputStream(new FileInputStream(file));
+        try {
+            inputStream.mark(2);
+            boolean compressed = inputStream.read() == (GZIPInputStream.GZIP_MAGIC & 0xff) && inputStream.read() == (GZIPInputStream.GZIP_MAGIC >>> 8);
+            inputStream.reset();
+            if (compressed) {
+                inputStream = new GZIPInputStream(inputStream);
+            }
+        } catch (IOException e) {
+            inputStream.close();
+            throw e;
+        }
+        return new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Compresses a snapshot with gzip.
+     *
+     * @param content The snapshot, serialized to JSON
+     * @return The compressed snapshot
+     * @throws IOException if the snapshot cannot be compressed
+     */
+    private byte[] compress(byte[] content) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(content.length / 8);
+        try (GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream)) {
+            gzipStream.write(content);
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Reads a snapshot. Files saved before the journal was introduced only hold the view of the game,
+     * so they are read as a snapshot without journaled actions nor order of the decks.
+     * The snapshot is decoded while it is streamed, without building the tree of the whole JSON first.
+     *
+     * @param file The JSON file of the snapshot
+     * @return The snapshot
+     * @throws IOException         if the file cannot be read
+     * @throws JsonSyntaxException if the file is not a valid snapshot
+     */
+    private GameSnapshot readSnapshot(File file) throws IOException {
+        try (JsonReader reader = new JsonReader(openSnapshot(file))) {
+            long journalSequence = 0;
+            Long seed = null;
+            List<Integer> resourceDeck = null;
+            List<Integer> goldDeck = null;
+            GameControllerView game = null;
+            // The fields of a file holding only the view of the game
+            GameView gameView = null;
+            GameStatusEnum gameStatus = null;
+            boolean isLastRound = false;
+            int remainingRoundsToEndGame = 0;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "journalSequence" -> journalSequence = reader.nextLong();
+                    case "seed" -> seed = reader.nextLong();
+                    case "resourceDeck" -> resourceDeck = readCardIds(reader);
+                    case "goldDeck" -> goldDeck = readCardIds(reader);
+                    case "game" -> game = gson.fromJson(reader, GameControllerView.class);
+                    case "gameView" -> gameView = gson.fromJson(reader, GameView.class);
+                    case "gameStatus" -> gameStatus = GameStatusEnum.valueOf(reader.nextString());
+                    case "isLastRound" -> isLastRound = reader.nextBoolean();
+                    case "remainingRoundsToEndGame" -> remainingRoundsToEndGame = reader.nextInt();
+                    default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+            if (game == null) {
+                game = new GameControllerView(gameView, gameStatus, isLastRound, remainingRoundsToEndGame);
+            }
+            if (game.gameView() == null || game.gameStatus() == null) {
+                throw new JsonSyntaxException("Missing view or status of the game");
+            }
+            return new GameSnapshot(journalSequence, seed, resourceDeck, goldDeck, game);
+        } catch (IllegalStateException | IllegalArgumentException | MalformedJsonException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    /**
+     * Reads the ids of the cards of a deck.
+     *
+     * @param reader The reader, positioned at the beginning of the array
+     * @return The ids of the cards, in order
+     * @throws IOException if the array cannot be read
+     */
+    private List<Integer> readCardIds(JsonReader reader) throws IOException {
+        List<Integer> cardIds = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            cardIds.add(reader.nextInt());
+        }
+        reader.endArray();
+        return cardIds;
+    }
+
+    /**
+     * Restores the game model from the specified JSON file, then replays the actions journaled after it.
+     *
+     * If the game cannot be restored, what was restored of it is removed, so it cannot be listed nor joined.
      *
      * @param file The JSON file to restore the game from
+     * @return True if the game has been restored, false if the file is not valid or the game cannot be restored
      */
-    private void restoreModel(File file) {
+    private boolean restoreModel(File file) {
+        long start = System.nanoTime();
+        String gameName = null;
         try {
             // Parse the JSON file for restoring th game status
-            FileReader reader = new FileReader(file);
-            GameControllerView gameControllerView = gson.fromJson(reader, GameControllerView.class);
-            reader.close();
+            GameSnapshot snapshot = readSnapshot(file);
+            GameControllerView gameControllerView = snapshot.game();
             // Add the game to the connections hashmap
-            String gameName = gameControllerView.gameView().gameName();
+            gameName = gameControllerView.gameView().gameName();
             serverNetworkControllerMapper.addGameToMapper(gameName);
 
             // Create the game
@@ -288,7 +1058,13 @@ public class Persistence implements PropertyChangeListener {
             // Add all the players to the game
             for (PlayerView playerView : gameControllerView.gameView().playerViews()) {
                 if (first) {
-                    mainController.createGame(gameName, playerView.playerName(), gameControllerView.gameView().playerViews().size());
+                    int players = gameControllerView.gameView().playerViews().size();
+                    // The game keeps its seed, so it can still be recorded and replayed
+                    if (snapshot.seed() != null) {
+                        mainController.createGame(gameName, playerView.playerName(), players, snapshot.seed());
+                    } else {
+                        mainController.createGame(gameName, playerView.playerName(), players);
+                    }
                     first = false;
                 } else {
                     mainController.joinGame(gameName, playerView.playerName());
@@ -314,13 +1090,15 @@ public class Persistence implements PropertyChangeListener {
             globalBoard.getFieldGoldCards().forEach(card -> globalBoard.getGoldDeck().addCard(card));
             globalBoard.getFieldResourceCards().clear();
             globalBoard.getFieldGoldCards().clear();
+            // The cards out of the decks are removed from them at once, after all of them are known
+            Set<Integer> dealtCardIds = new HashSet<>();
             gameControllerView.gameView().globalBoardView().fieldResourceCards().forEach(card -> {
                 globalBoard.getFieldResourceCards().add(card);
-                globalBoard.getResourceDeck().removeCard(card.getCardId());
+                dealtCardIds.add(card.getCardId());
             });
             gameControllerView.gameView().globalBoardView().fieldGoldCards().forEach(card -> {
                 globalBoard.getFieldGoldCards().add(card);
-                globalBoard.getGoldDeck().removeCard(card.getCardId());
+                dealtCardIds.add(card.getCardId());
             });
 
             // Initialize the players
@@ -340,8 +1118,7 @@ public class Persistence implements PropertyChangeListener {
                 PlayerHand playerHand = player.getPlayerHand();
                 playerView.playerHandView().hand().forEach(card -> {
                     playerHand.addCard(card);
-                    globalBoard.getGoldDeck().removeCard(card.getCardId());
-                    globalBoard.getResourceDeck().removeCard(card.getCardId());
+                    dealtCardIds.add(card.getCardId());
                 });
                 // Check if the player has chosen a color
                 if (playerView.color() == null) {
@@ -359,15 +1136,15 @@ public class Persistence implements PropertyChangeListener {
                 player.advancePlayerPos(playerView.playerPos());
                 // Set game items
                 playerBoard.setGameItems(playerView.playerBoardView().gameItemStore());
-                playerView.playerBoardView().playerBoard().values().forEach(card -> {
-                    globalBoard.getGoldDeck().removeCard(card.getCardId());
-                    globalBoard.getResourceDeck().removeCard(card.getCardId());
-                });
+                playerView.playerBoardView().playerBoard().values().forEach(card -> dealtCardIds.add(card.getCardId()));
                 // Set card placement index
                 HashMap<Coordinate, GameCard> savedPlayerboard = playerView.playerBoardView().playerBoard();
                 savedPlayerboard.keySet().forEach(coordinate -> playerBoard.getGameCard(coordinate).get().setPlacementIndex(savedPlayerboard.get(coordinate).getPlacementIndex()));
             }
 
+            globalBoard.getResourceDeck().removeCards(dealtCardIds);
+            globalBoard.getGoldDeck().removeCards(dealtCardIds);
+
             // Add the first cards to the global board
             GameCard resourceFirstCard = gameControllerView.gameView().globalBoardView().resourceFirstCard();
             GameCard goldFirstCard = gameControllerView.gameView().globalBoardView().goldFirstCard();
@@ -379,12 +1156,124 @@ public class Persistence implements PropertyChangeListener {
                 globalBoard.getGoldDeck().removeCard(goldFirstCard.getCardId());
                 globalBoard.getGoldDeck().getCards().addFirst(goldFirstCard);
             }
-            // Start the reconnect timer
-            gameControllerMiddleware.startReconnectTimer();
+            // Restore the order of the decks, so the journaled draws give the same cards
+            if (snapshot.resourceDeck() != null && snapshot.goldDeck() != null) {
+                sortDeck(globalBoard.getResourceDeck().getCards(), snapshot.resourceDeck());
+                sortDeck(globalBoard.getGoldDeck().getCards(), snapshot.goldDeck());
+            }
+            // Replay the actions journaled after the snapshot
+            int replayedActions = replayJournal(gameControllerMiddleware, gameControllerView.gameStatus(), getJournalPath(file.toPath()), snapshot.journalSequence());
+            // Start the reconnect timer, whose check is run with the actions of the players
+            String restoredGameName = gameName;
+            gameControllerMiddleware.startReconnectTimer(action -> serverNetworkControllerMapper.executeLocked(restoredGameName, action));
+            logger.info("Restored game {} in {} ms, replaying {} journaled actions", gameName, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), replayedActions);
+            return true;
         } catch (JsonSyntaxException e) {
             logger.warn("File {} is not a valid JSON file", file.getName());
         } catch (IOException e) {
             logger.warn("Reading file {} failed", file.getName());
+        } catch (RuntimeException e) {
+            logger.warn("Restoring the game from file {} failed: {}", file.getName(), e.getMessage());
+        }
+        removeRestoredGame(gameName);
+        return false;
+    }
+
+    /**
+     * Removes what was restored of a game that could not be restored: its controller, its record and its session.
+     *
+     * @param gameName The name of the game, or null if it was not read
+     */
+    private void removeRestoredGame(String gameName) {
+        if (gameName == null) {
+            return;
+        }
+        try {
+            mainController.deleteGame(gameName);
+        } catch (IllegalArgumentException e) {
+            // The game was not created
+        }
+        mainController.removeSavedGameRecord(gameName);
+        serverNetworkControllerMapper.removeGameFromMapper(gameName);
+    }
+
+    /**
+     * Sorts the cards of a deck in the saved order. Cards missing from the saved order are moved to the bottom.
+     *
+     * @param cards      The cards of the deck
+     * @param savedOrder The ids of the cards in the saved order
+     */
+    private void sortDeck(List<GameCard> cards, List<Integer> savedOrder) {
+        HashMap<Integer, Integer> positions = new HashMap<>();
+        for (int i = 0; i < savedOrder.size(); i++) {
+            positions.put(savedOrder.get(i), i);
+        }
+        cards.sort(Comparator.comparingInt(card -> positions.getOrDefault(card.getCardId(), Integer.MAX_VALUE)));
+    }
+
+    /**
+     * Replays onto a restored game the actions journaled after its snapshot.
+     * The actions are applied as they were applied to the game when they were journaled, when all the players were connected;
+     * the game is then set back to wait for the players to reconnect.
+     * The replay stops at the first action that cannot be applied.
+     * The next save of the game writes a new snapshot, which also empties the journal.
+     *
+     * @param gameControllerMiddleware The controller of the restored game
+     * @param savedGameStatus          The status of the game in the snapshot
+     * @param journalPath              The path of the journal
+     * @param snapshotSequence         The sequence number of the last action included in the snapshot
+     * @return The number of replayed actions
+     * @throws IOException if the journal cannot be read
+     */
+    private int replayJournal(GameControllerMiddleware gameControllerMiddleware, GameStatusEnum savedGameStatus, Path journalPath, long snapshotSequence) throws IOException {
+        Game game = gameControllerMiddleware.getGame();
+        SavedGame savedGame = getSavedGame(game.getGameName());
+        savedGame.sequence = snapshotSequence;
+        List<GameJournal.Entry> entries = GameJournal.read(journalPath, game.getGameName());
+        if (entries.stream().noneMatch(entry -> entry.sequence() > snapshotSequence)) {
+            return 0;
+        }
+        game.getPlayers().forEach(player -> player.setConnected(true));
+        gameControllerMiddleware.setGameStatus(savedGameStatus);
+        int replayedActions = 0;
+        for (GameJournal.Entry entry : entries) {
+            if (entry.sequence() <= savedGame.sequence) {
+                continue;
+            }
+            try {
+                replayAction(gameControllerMiddleware, entry.action());
+            } catch (RuntimeException e) {
+                logger.warn("Replaying action {} of game {} failed: {}", entry.sequence(), game.getGameName(), e.getMessage());
+                break;
+            }
+            savedGame.sequence = entry.sequence();
+            replayedActions++;
+        }
+        gameControllerMiddleware.setSavedGameStatus(gameControllerMiddleware.getGameStatus());
+        gameControllerMiddleware.setGameStatus(GameStatusEnum.WAIT_FOR_PLAYERS);
+        game.getPlayers().forEach(player -> player.setConnected(false));
+        return replayedActions;
+    }
+
+    /**
+     * Applies a journaled action to a game, as the server network controller mapper applied it.
+     *
+     * @param gameControllerMiddleware The controller of the game
+     * @param action                   The action
+     * @throws IllegalArgumentException if the action cannot be replayed
+     */
+    static void replayAction(GameControllerMiddleware gameControllerMiddleware, ClientToServerMessage action) {
+        String playerName = action.getPlayerName();
+        switch (action.getPlayerAction()) {
+            case CHOOSE_PLAYER_COLOR -> gameControllerMiddleware.choosePlayerColor(playerName, action.getPlayerColor());
+            case SET_PLAYER_OBJECTIVE -> gameControllerMiddleware.setPlayerObjective(playerName, action.getObjectiveCardId());
+            case PLACE_CARD ->
+                    gameControllerMiddleware.placeCard(playerName, action.getCoordinate(), action.getGameCardId(), action.isFlipped());
+            case DRAW_CARD_FROM_FIELD -> gameControllerMiddleware.drawCardFromField(playerName, action.getGameCardId());
+            case DRAW_CARD_FROM_RESOURCE_DECK -> gameControllerMiddleware.drawCardFromResourceDeck(playerName);
+            case DRAW_CARD_FROM_GOLD_DECK -> gameControllerMiddleware.drawCardFromGoldDeck(playerName);
+            case SWITCH_CARD_SIDE -> gameControllerMiddleware.switchCardSide(playerName, action.getGameCardId());
+            default -> throw new IllegalArgumentException("Action cannot be replayed: " + action.getPlayerAction());
         }
     }
 
@@ -398,15 +1287,28 @@ public class Persistence implements PropertyChangeListener {
     public void propertyChange(PropertyChangeEvent evt) {
         String property = evt.getPropertyName();
         switch (property) {
+            case "ACTION" -> {
+                ClientToServerMessage action = (ClientToServerMessage) evt.getNewValue();
+                getSavedGame(action.getGameName()).pendingAction = action;
+            }
             case "SAVE" -> {
                 GameControllerView gameControllerView = (GameControllerView) evt.getNewValue();
                 GameStatusEnum gameStatus = gameControllerView.gameStatus();
                 if (gameStatus.equals(GameStatusEnum.GAME_OVER)) {
+                    recordLastAction(gameControllerView.gameView().gameName());
                     deletingTask(gameControllerView.gameView().gameName());
                     break;
                 }
                 if (!gameStatus.equals(GameStatusEnum.WAIT_FOR_PLAYERS) && !gameStatus.equals(GameStatusEnum.GAME_PAUSED)) {
                     savingTask(gameControllerView);
+                } else {
+                    // The game is not saved in this status, so the next save must be a snapshot
+                    SavedGame savedGame = savedGames.get(getGameHash(gameControllerView));
+                    if (savedGame != null) {
+                        savedGame.pendingAction = null;
+                        savedGame.hasSnapshot = false;
+                        stopRecording(savedGame);
+                    }
                 }
             }
             case "DELETE" -> {
@@ -417,9 +1319,277 @@ public class Persistence implements PropertyChangeListener {
             case "START_GAME" -> {
                 GameControllerView gameControllerView = (GameControllerView) evt.getNewValue();
                 String gameName = gameControllerView.gameView().gameName();
-                serverNetworkControllerMapper.broadcastMessage(gameName, new UpdateViewServerToClientMessage(gameControllerView));
+                serverNetworkControllerMapper.broadcastUpdatedView(gameName, gameControllerView);
             }
             default -> logger.warn("Unknown property change event: {}", property);
         }
     }
+
+    /**
+     * What is read of a saved game that is not in the index of the saved games.
+     *
+     * @param gameName The name of the game
+     * @param status   The status of the game
+     * @param players  The number of players of the game
+     */
+    private record SavedGameIndex(String gameName, GameStatusEnum status, int players) {
+    }
+
+    /**
+     * The progress of the restoring of the saved games listed by {@link #loadAll()}.
+     */
+    private static final class RestoreProgress {
+        /**
+         * When the games started to be restored, in nanoseconds.
+         */
+        private final long start = System.nanoTime();
+
+        /**
+         * The number of listed games.
+         */
+        private final int games;
+
+        /**
+         * The number of games not done yet.
+         */
+        private final AtomicInteger remaining;
+
+        /**
+         * The number of games restored.
+         */
+        private final AtomicInteger restored = new AtomicInteger();
+
+        /**
+         * Released when all the games are done and the restoring has been logged.
+         */
+        private final CountDownLatch done;
+
+        /**
+         * Constructs the progress of the restoring of the listed games.
+         *
+         * @param games The number of listed games
+         */
+        private RestoreProgress(int games) {
+            this.games = games;
+            this.remaining = new AtomicInteger(games);
+            this.done = new CountDownLatch(games);
+        }
+
+        /**
+         * Records that a game is done.
+         *
+         * @param restored Whether the game has been restored
+         * @return True if it was the last game not done
+         */
+        private boolean finish(boolean restored) {
+            if (restored) {
+                this.restored.incrementAndGet();
+            }
+            return remaining.decrementAndGet() == 0;
+        }
+    }
+
+    /**
+     * A snapshot waiting to be written.
+     *
+     * @param content The snapshot, serialized to JSON
+     * @param status  The status of the game in the snapshot
+     * @param players The number of players of the game
+     */
+    private record QueuedSnapshot(byte[] content, GameStatusEnum status, int players) {
+    }
+
+    /**
+     * A record waiting to be written to the recording of a game.
+     *
+     * @param header The header starting the recording, or null
+     * @param entry  The action to append to the recording, or null
+     * @param digest The digest of the final state of the game ending the recording, or null
+     */
+    private record RecordWrite(GameRecording.Header header, GameJournal.Entry entry, Long digest) {
+    }
+
+    /**
+     * The writes of a game taken from its queue, to be written in this order.
+     *
+     * @param records  The records to write to the recording, first
+     * @param delete   Whether the game must be deleted, in which case the snapshot and the actions are empty
+     * @param snapshot The snapshot to write, or null
+     * @param actions  The actions to append to the journal after the snapshot
+     */
+    private record QueuedWrites(List<RecordWrite> records, boolean delete, QueuedSnapshot snapshot, List<GameJournal.Entry> actions) {
+    }
+
+    /**
+     * The saving state of a game.
+     * The fields without a lock are only accessed while holding the lock of the game, by the thread executing its actions;
+     * the queue of the writes is shared with the thread writing them, and guarded by the lock of this object.
+     */
+    private static final class SavedGame {
+        /**
+         * The name of the game.
+         */
+        private final String gameName;
+
+        /**
+         * The journal of the game. It is only accessed by the thread writing the game.
+         */
+        private final GameJournal journal;
+
+        /**
+         * The recording of the game, or null if the games are not recorded. It is only accessed by the thread writing the game.
+         */
+        private final GameRecording recording;
+
+        /**
+         * Whether it has been decided if the game is recorded.
+         */
+        private boolean recordingStarted;
+
+        /**
+         * Whether the actions of the game are being recorded.
+         */
+        private boolean recordingActive;
+
+        /**
+         * The sequence number of the last action applied to the game.
+         */
+        private long sequence;
+
+        /**
+         * The number of actions journaled since the last snapshot.
+         */
+        private int actionsSinceSnapshot;
+
+        /**
+         * Whether a snapshot of the game has been written, so the next action can be journaled after it.
+         */
+        private boolean hasSnapshot;
+
+        /**
+         * The last action applied to the game, waiting for the save that follows it.
+         */
+        private ClientToServerMessage pendingAction;
+
+        /**
+         * The queued snapshot, or null.
+         */
+        private QueuedSnapshot queuedSnapshot;
+
+        /**
+         * The actions queued after the queued snapshot, if any.
+         */
+        private List<GameJournal.Entry> queuedActions = new ArrayList<>();
+
+        /**
+         * The records queued for the recording.
+         */
+        private List<RecordWrite> queuedRecords = new ArrayList<>();
+
+        /**
+         * Whether the deletion of the game is queued.
+         */
+        private boolean queuedDelete;
+
+        /**
+         * Whether a task writing the queue is scheduled or running.
+         */
+        private boolean writing;
+
+        /**
+         * Constructs the saving state of a game.
+         *
+         * @param gameName  The name of the game
+         * @param journal   The journal of the game
+         * @param recording The recording of the game, or null if the games are not recorded
+         */
+        private SavedGame(String gameName, GameJournal journal, GameRecording recording) {
+            this.gameName = gameName;
+            this.journal = journal;
+            this.recording = recording;
+        }
+
+        /**
+         * Queues a record to write to the recording. Unlike the journal, the recording is never superseded by a snapshot.
+         *
+         * @param record The record
+         * @return True if a task writing the queue must be scheduled
+         */
+        private synchronized boolean queueRecord(RecordWrite record) {
+            queuedRecords.add(record);
+            return startWriting();
+        }
+
+        /**
+         * Queues an action to append to the journal.
+         *
+         * @param entry The action and its sequence number
+         * @return True if a task writing the queue must be scheduled
+         */
+        private synchronized boolean queueAppend(GameJournal.Entry entry) {
+            queuedActions.add(entry);
+            return startWriting();
+        }
+
+        /**
+         * Queues a snapshot, dropping the queued snapshot and actions, which it includes.
+         *
+         * @param snapshot The snapshot
+         * @return True if a task writing the queue must be scheduled
+         */
+        private synchronized boolean queueSnapshot(QueuedSnapshot snapshot) {
+            queuedSnapshot = snapshot;
+            queuedActions.clear();
+            return startWriting();
+        }
+
+        /**
+         * Queues the deletion of the game, dropping the other queued writes.
+         *
+         * @return True if a task writing the queue must be scheduled
+         */
+        private synchronized boolean queueDelete() {
+            queuedDelete = true;
+            queuedSnapshot = null;
+            queuedActions.clear();
+            return startWriting();
+        }
+
+        /**
+         * Marks the queue as being written.
+         *
+         * @return True if no task was already writing the queue
+         */
+        private boolean startWriting() {
+            if (writing) {
+                return false;
+            }
+            writing = true;
+            return true;
+        }
+
+        /**
+         * Takes the queued writes. If the queue is empty, the task writing it stops.
+         *
+         * @return The queued writes, or null if the queue is empty
+         */
+        private synchronized QueuedWrites takeQueued() {
+            List<RecordWrite> records = queuedRecords.isEmpty() ? List.of() : queuedRecords;
+            if (!records.isEmpty()) {
+                queuedRecords = new ArrayList<>();
+            }
+            if (queuedDelete) {
+                queuedDelete = false;
+                return new QueuedWrites(records, true, null, List.of());
+            }
+            if (queuedSnapshot == null && queuedActions.isEmpty() && records.isEmpty()) {
+                writing = false;
+                return null;
+            }
+            QueuedWrites writes = new QueuedWrites(records, false, queuedSnapshot, queuedActions);
+            queuedSnapshot = null;
+            queuedActions = new ArrayList<>();
+            return writes;
+        }
+    }
 }
@@ -0,0 +1,75 @@
+package it.polimi.ingsw.network.server.persistence;
+
+import java.nio.file.Path;
+
+/**
+ * The PersistenceOptions record holds the settings of the {@link Persistence} of the games.
+ *
+ * @param fsyncPolicy      when the saved games are forced to the storage device.
+ * @param snapshotInterval the number of actions journaled between two snapshots of a game.
+ * @param ioThreads        the number of threads writing the saved games, shared by all the games.
+ * @param debounceMillis   how long the writes of a game are delayed, so the writes made superfluous in the meantime are dropped.
+ * @param restoreThreads   the number of threads restoring the saved games in the background at startup,
+ *                         or 0 to restore them before the server starts listening.
+ * @param compressSnapshots whether the snapshots are compressed with gzip.
+ * @param recordGames      whether each game is also recorded from its start, so it can be replayed by {@link Replay}.
+ * @param saveDirectory    the directory of the saved games.
+ */
+public record PersistenceOptions(FsyncPolicy fsyncPolicy, int snapshotInterval, int ioThreads, long debounceMillis, int restoreThreads, boolean compressSnapshots, boolean recordGames, Path saveDirectory) {
+    /**
+     * The default number of actions journaled between two snapshots.
+     */
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 50;
+
+    /**
+     * The default number of threads writing the saved games.
+     */
+    public static final int DEFAULT_IO_THREADS = 2;
+
+    /**
+     * The default delay of the writes of a game, in milliseconds.
+     */
+    public static final long DEFAULT_DEBOUNCE_MILLIS = 20;
+
+    /**
+     * The default number of threads restoring the saved games at startup.
+     */
+    public static final int DEFAULT_RESTORE_THREADS = 2;
+
+    /**
+     * The default directory of the saved games, relative to the working directory.
+     */
+    public static final Path DEFAULT_SAVE_DIRECTORY = Path.of("savedGames");
+
+    /**
+     * The default settings: the journal is forced in batches, a plain snapshot is written every {@value #DEFAULT_SNAPSHOT_INTERVAL} actions
+     * and the games are not recorded.
+     */
+    public static final PersistenceOptions DEFAULT = new PersistenceOptions(FsyncPolicy.BATCH, DEFAULT_SNAPSHOT_INTERVAL, DEFAULT_IO_THREADS, DEFAULT_DEBOUNCE_MILLIS, DEFAULT_RESTORE_THREADS, false, false, DEFAULT_SAVE_DIRECTORY);
+
+    /**
+     * Validates the settings.
+     *
+     * @throws IllegalArgumentException if a setting is out of range.
+     */
+    public PersistenceOptions {
+        if (fsyncPolicy == null) {
+            throw new IllegalArgumentException("The fsync policy cannot be null");
+        }
+        if (snapshotInterval < 0) {
+            throw new IllegalArgumentException("The snapshot interval cannot be negative");
+        }
+        if (ioThreads < 1) {
+            throw new IllegalArgumentException("At least one thread is needed to write the saved games");
+        }
+        if (debounceMillis < 0) {
+            throw new IllegalArgumentException("The debounce window cannot be negative");
+        }
+        if (restoreThreads < 0) {
+            throw new IllegalArgumentException("The number of restoring threads cannot be negative");
+        }
+        if (saveDirectory == null) {
+            throw new IllegalArgumentException("The directory of the saved games cannot be null");
+        }
+    }
+}
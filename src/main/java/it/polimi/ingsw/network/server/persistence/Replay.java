@@ -0,0 +1,168 @@
+package it.polimi.ingsw.network.server.persistence;
+
+import it.polimi.ingsw.controller.gameController.GameControllerMiddleware;
+import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.player.Player;
+import org.apache.commons.cli.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The Replay class plays a recorded game again, with no server and no clients: the game is created from its seed,
+ * its players join it in the recorded order and the recorded actions are applied to its controller, as the server applied them.
+ * A replay always leads to the same game, so it can be repeated to time the controller and the model on an identical workload,
+ * for instance to bisect a performance regression between two versions.
+ * When the recorded game ended, the replayed game is checked against the digest of its final state.
+ */
+public class Replay {
+    /**
+     * The number of times the game is replayed by default.
+     */
+    public static final int DEFAULT_REPETITIONS = 1;
+
+    /**
+     * The main method of the Replay class.
+     * It replays the recorded game, prints the final state of the game and the time taken by each replay, and exits.
+     *
+     * @param args the command line arguments. These can be used to specify the recording and how many times it is replayed.
+     */
+    public static void main(String[] args) {
+        CommandLine cmd = parseCommandLineArgs(args);
+        GameRecording.Recording recording;
+        int repetitions;
+        try {
+            recording = GameRecording.read(Path.of(cmd.getOptionValue("f")));
+            repetitions = Integer.parseInt(cmd.getOptionValue("n", String.valueOf(DEFAULT_REPETITIONS)));
+            if (repetitions < 1) {
+                throw new IllegalArgumentException("The number of repetitions must be positive");
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Invalid option: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        GameRecording.Header header = recording.header();
+        System.out.printf("Game: %s, seed: %d, players: %s, recorded actions: %d%n",
+                header.gameName(), header.seed(), String.join(", ", header.playerNames()), recording.actions().size());
+        long[] elapsed = new long[repetitions];
+        String finalState = null;
+        for (int repetition = 0; repetition < repetitions; repetition++) {
+            long start = System.nanoTime();
+            GameControllerMiddleware gameControllerMiddleware;
+            try {
+                gameControllerMiddleware = replay(recording);
+            } catch (RuntimeException e) {
+                System.err.println("Replay failed: " + e.getMessage());
+                System.exit(1);
+                return;
+            }
+            elapsed[repetition] = System.nanoTime() - start;
+            String state = describe(gameControllerMiddleware);
+            if (finalState != null && !finalState.equals(state)) {
+                System.err.println("Replay " + (repetition + 1) + " diverged: " + state);
+                System.exit(1);
+            }
+            finalState = state;
+        }
+        System.out.println(finalState);
+        System.out.println(recording.finalDigest() == null ? "Final state not verified, since the game did not end while it was recorded" : "Final state verified against the recording");
+        System.out.print(report(elapsed, recording.actions().size()));
+    }
+
+    /**
+     * Plays a recorded game again.
+     *
+     * @param recording the recording.
+     * @return the controller of the replayed game.
+     * @throws IllegalArgumentException if the recording cannot be replayed, which means the rules of the game changed.
+     * @throws IllegalStateException    if the recording cannot be replayed, or the final state of the replayed game differs from the recorded one,
+     *                                  which means the rules of the game changed.
+     */
+    public static GameControllerMiddleware replay(GameRecording.Recording recording) {
+        GameRecording.Header header = recording.header();
+        List<String> playerNames = header.playerNames();
+        GameControllerMiddleware gameControllerMiddleware = new GameControllerMiddleware(header.gameName(), playerNames.size(), playerNames.getFirst(), header.seed());
+        for (String playerName : playerNames.subList(1, playerNames.size())) {
+            gameControllerMiddleware.joinGame(playerName);
+        }
+        for (GameJournal.Entry entry : recording.actions()) {
+            try {
+                Persistence.replayAction(gameControllerMiddleware, entry.action());
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                throw new IllegalStateException("Action " + entry.sequence() + " cannot be replayed: " + e.getMessage(), e);
+            }
+        }
+        if (recording.finalDigest() != null && recording.finalDigest() != GameRecording.digest(gameControllerMiddleware.getGame())) {
+            throw new IllegalStateException("The final state of the replayed game differs from the recorded one");
+        }
+        return gameControllerMiddleware;
+    }
+
+    /**
+     * Describes the state of a replayed game: its status, its current player and the score of each player.
+     *
+     * @param gameControllerMiddleware the controller of the game.
+     * @return the description.
+     */
+    private static String describe(GameControllerMiddleware gameControllerMiddleware) {
+        Game game = gameControllerMiddleware.getGame();
+        StringBuilder state = new StringBuilder("Status: ").append(gameControllerMiddleware.getGameStatus())
+                .append(", current player: ").append(game.getCurrentPlayer().getPlayerName()).append(", scores:");
+        for (Player player : game.getPlayers()) {
+            state.append(' ').append(player.getPlayerName()).append(' ').append(player.getPlayerPos());
+        }
+        return state.toString();
+    }
+
+    /**
+     * Summarizes the durations of the replays.
+     *
+     * @param elapsed the duration of each replay, in nanoseconds.
+     * @param actions the number of actions of a replay.
+     * @return the summary.
+     */
+    private static String report(long[] elapsed, int actions) {
+        long[] sorted = elapsed.clone();
+        Arrays.sort(sorted);
+        double mean = Arrays.stream(sorted).average().orElse(0);
+        return String.format("Replays: %d, first: %.3f ms, min: %.3f ms, median: %.3f ms, mean: %.3f ms, actions/s at median: %.0f%n",
+                sorted.length, elapsed[0] / 1e6, sorted[0] / 1e6, sorted[sorted.length / 2] / 1e6, mean / 1e6,
+                actions / Math.max(sorted[sorted.length / 2] / 1e9, 1e-9));
+    }
+
+    /**
+     * Parses the command line arguments and returns a CommandLine object.
+     *
+     * @param args the command line arguments.
+     * @return a CommandLine object that can be used to query the command line arguments.
+     */
+    private static CommandLine parseCommandLineArgs(String[] args) {
+        Options options = getOptions();
+        HelpFormatter formatter = new HelpFormatter();
+        CommandLine cmd = null;
+        try {
+            cmd = new DefaultParser().parse(options, args);
+        } catch (ParseException e) {
+            System.err.println("Parsing failed. Reason: " + e.getMessage());
+            formatter.printHelp("Replay", options);
+            System.exit(1);
+        }
+        if (cmd.hasOption("h") || !cmd.hasOption("f")) {
+            formatter.printHelp("Replay", options);
+            System.exit(cmd.hasOption("h") ? 0 : 1);
+        }
+        return cmd;
+    }
+
+    private static Options getOptions() {
+        Options options = new Options();
+        options.addOption("f", "file", true, "Recording of the game to replay, written by a server started with -record.");
+        options.addOption("n", "repetitions", true, "Number of times the game is replayed (default is " + DEFAULT_REPETITIONS + ").");
+        options.addOption("h", "help", false, "Print this message.");
+        return options;
+    }
+}
@@ -0,0 +1,148 @@
+package it.polimi.ingsw.network.server.persistence;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * The SaveIndex class is the on-disk index of the saved games, mapping the name of each game to its files.
+ * It lets the saved games be listed without parsing their snapshots.
+ * The index is rewritten as a whole to a temporary file, which then atomically replaces the previous index.
+ * <p>
+ * The methods of this class are thread-safe.
+ */
+final class SaveIndex {
+    /**
+     * The version of the format of the index.
+     */
+    static final int FORMAT_VERSION = 1;
+
+    /**
+     * The content of the index file.
+     *
+     * @param version the version of the format.
+     * @param games   the saved games, by game name.
+     */
+    private record Content(int version, Map<String, SavedGameEntry> games) {
+    }
+
+    /**
+     * The path of the index.
+     */
+    private final Path path;
+
+    /**
+     * The saved games, by game name, sorted so the index file is stable.
+     */
+    private final TreeMap<String, SavedGameEntry> games;
+
+    /**
+     * Whether the games changed since the index was last written.
+     */
+    private boolean dirty;
+
+    /**
+     * The Gson object for writing the index.
+     */
+    private final Gson gson = new Gson();
+
+    /**
+     * Constructs an empty index.
+     *
+     * @param path the path of the index.
+     */
+    SaveIndex(Path path) {
+        this.path = path;
+        this.games = new TreeMap<>();
+    }
+
+    /**
+     * Reads the index. A missing index is read as empty.
+     *
+     * @throws IOException              if the index cannot be read.
+     * @throws IllegalArgumentException if the index is malformed or has an unknown version.
+     */
+    synchronized void read() throws IOException {
+        games.clear();
+        if (!Files.exists(path)) {
+            return;
+        }
+        Content content;
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            content = gson.fromJson(reader, Content.class);
+        } catch (JsonParseException e) {
+            throw new IllegalArgumentException("Malformed index of the saved games", e);
+        }
+        if (content == null || content.version() != FORMAT_VERSION || content.games() == null) {
+            throw new IllegalArgumentException("Unsupported index of the saved games");
+        }
+        games.putAll(content.games());
+    }
+
+    /**
+     * Returns the saved games.
+     *
+     * @return a copy of the saved games, sorted by game name.
+     */
+    synchronized List<SavedGameEntry> getEntries() {
+        return new ArrayList<>(games.values());
+    }
+
+    /**
+     * Returns the saved game whose files have the given base name.
+     *
+     * @param file the base name of the files.
+     * @return the saved game, or null if no saved game has these files.
+     */
+    synchronized SavedGameEntry getByFile(String file) {
+        return games.values().stream().filter(entry -> entry.file().equals(file)).findFirst().orElse(null);
+    }
+
+    /**
+     * Adds or replaces a saved game.
+     *
+     * @param entry the saved game.
+     */
+    synchronized void put(SavedGameEntry entry) {
+        games.put(entry.gameName(), entry);
+        dirty = true;
+    }
+
+    /**
+     * Removes a saved game.
+     *
+     * @param gameName the name of the game.
+     */
+    synchronized void remove(String gameName) {
+        if (games.remove(gameName) != null) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Writes the index if it changed since it was last written.
+     *
+     * @param force whether the index must be forced to the storage device.
+     * @throws IOException if the index cannot be written.
+     */
+    synchronized void writeIfDirty(boolean force) throws IOException {
+        if (!dirty) {
+            return;
+        }
+        Path tempFile = path.resolveSibling("index_temp.json");
+        try (FileOutputStream tempStream = new FileOutputStream(tempFile.toFile())) {
+            tempStream.write(gson.toJson(new Content(FORMAT_VERSION, games)).getBytes(StandardCharsets.UTF_8));
+            if (force) {
+                tempStream.getFD().sync();
+            }
+        }
+        Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        dirty = false;
+    }
+}
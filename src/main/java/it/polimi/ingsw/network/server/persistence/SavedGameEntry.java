@@ -0,0 +1,15 @@
+package it.polimi.ingsw.network.server.persistence;
+
+import it.polimi.ingsw.controller.GameStatusEnum;
+
+/**
+ * The SavedGameEntry record describes a saved game in the index of the saved games.
+ *
+ * @param gameName     the name of the game.
+ * @param file         the base name of the files of the game, without extension.
+ * @param status       the status of the game in its last snapshot.
+ * @param players      the number of players of the game.
+ * @param lastModified when the last snapshot of the game was written, in milliseconds since the epoch.
+ */
+public record SavedGameEntry(String gameName, String file, GameStatusEnum status, int players, long lastModified) {
+}
@@ -0,0 +1,55 @@
+package it.polimi.ingsw.network.virtualView;
+
+import it.polimi.ingsw.controller.GameStatusEnum;
+import it.polimi.ingsw.model.player.PlayerColorEnum;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The GameControllerViewDelta class represents the changes between two versions of the view of a game controller.
+ * It is a record class, which means it is an immutable data carrier with the fields specified in the record declaration.
+ * It can only be applied to the view with version baseVersion, producing the view with version version.
+ * The global board is present only if it has changed, and only the players whose view has changed are present.
+ *
+ * @param version                  the version of the view produced by the delta.
+ * @param baseVersion              the version of the view the delta must be applied to.
+ * @param gameStatus               the status of the game.
+ * @param isLastRound              whether the current round is the last one.
+ * @param remainingRoundsToEndGame the number of rounds remaining to the end of the game.
+ * @param currentPlayer            the name of the current player.
+ * @param winners                  the names of the winners.
+ * @param availablePlayerColors    the colors that can still be chosen.
+ * @param globalBoardView          the view of the global board, or null if it has not changed.
+ * @param playerViewDeltas         the changes of the views of the players.
+ */
+public record GameControllerViewDelta(long version, long baseVersion, GameStatusEnum gameStatus, boolean isLastRound,
+                                      int remainingRoundsToEndGame, String currentPlayer, ArrayList<String> winners,
+                                      ArrayList<PlayerColorEnum> availablePlayerColors, GlobalBoardView globalBoardView,
+                                      ArrayList<PlayerViewDelta> playerViewDeltas) implements Serializable {
+
+    /**
+     * Applies the changes to the view of the game controller.
+     * The given view is not modified, and the views of the players that have not changed are reused.
+     *
+     * @param view the view with version baseVersion.
+     * @return the view with version version.
+     */
+    public GameControllerView applyTo(GameControllerView view) {
+        GameView gameView = view.gameView();
+        HashMap<String, PlayerViewDelta> deltasByPlayer = new HashMap<>();
+        playerViewDeltas.forEach(playerViewDelta -> deltasByPlayer.put(playerViewDelta.playerName(), playerViewDelta));
+
+        List<PlayerView> updatedPlayerViews = gameView.playerViews().stream().map(playerView -> {
+            PlayerViewDelta playerViewDelta = deltasByPlayer.get(playerView.playerName());
+            return playerViewDelta != null ? playerViewDelta.applyTo(playerView) : playerView;
+        }).collect(Collectors.toCollection(ArrayList::new));
+
+        GlobalBoardView updatedGlobalBoardView = globalBoardView != null ? globalBoardView : gameView.globalBoardView();
+        GameView updatedGameView = new GameView(gameView.gameName(), currentPlayer, updatedGlobalBoardView, updatedPlayerViews, winners, availablePlayerColors);
+        return new GameControllerView(updatedGameView, gameStatus, isLastRound, remainingRoundsToEndGame);
+    }
+}
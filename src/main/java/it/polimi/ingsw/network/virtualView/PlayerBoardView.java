@@ -7,6 +7,7 @@ import it.polimi.ingsw.model.utils.store.GameItemStore;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * The PlayerBoardView class represents the view of a player's board in the game.
@@ -14,7 +15,7 @@ import java.util.Objects;
  */
 public record PlayerBoardView(HashMap<Coordinate, GameCard> playerBoard,
                               GameItemStore gameItemStore,
-                              java.util.HashSet<Coordinate> availablePositions) implements Serializable {
+                              Set<Coordinate> availablePositions) implements Serializable {
 
     @Override
     public boolean equals(Object o) {
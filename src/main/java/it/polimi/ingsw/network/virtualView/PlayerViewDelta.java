@@ -0,0 +1,53 @@
+package it.polimi.ingsw.network.virtualView;
+
+import it.polimi.ingsw.model.card.gameCard.GameCard;
+import it.polimi.ingsw.model.card.objectiveCard.ObjectiveCard;
+import it.polimi.ingsw.model.player.PlayerColorEnum;
+import it.polimi.ingsw.model.utils.Coordinate;
+import it.polimi.ingsw.model.utils.store.GameItemStore;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Set;
+
+/**
+ * The PlayerViewDelta class represents the changes of the view of a player between two versions of the game view.
+ * It is a record class, which means it is an immutable data carrier with the fields specified in the record declaration.
+ * The small attributes of the player are always present, while the hand and the board are present only if they have changed.
+ *
+ * @param playerName          the name of the player.
+ * @param color               the color of the player.
+ * @param playerPos           the position of the player on the scoreboard.
+ * @param objectiveCard       the objective card of the player.
+ * @param choosableObjectives the objective cards the player can choose from.
+ * @param isConnected         whether the player is connected.
+ * @param starterCard         the starter card of the player.
+ * @param playerHandView      the hand of the player, or null if it has not changed.
+ * @param placedCards         the cards placed or covered since the previous version, or null if the board has not changed.
+ * @param gameItemStore       the items of the player, or null if the board has not changed.
+ * @param availablePositions  the positions where the player can place a card, or null if the board has not changed.
+ */
+public record PlayerViewDelta(String playerName, PlayerColorEnum color, int playerPos, ObjectiveCard objectiveCard,
+                              ArrayList<ObjectiveCard> choosableObjectives, boolean isConnected, GameCard starterCard,
+                              PlayerHandView playerHandView, HashMap<Coordinate, GameCard> placedCards,
+                              GameItemStore gameItemStore, Set<Coordinate> availablePositions) implements Serializable {
+
+    /**
+     * Applies the changes to the view of the player.
+     * The given view is not modified.
+     *
+     * @param playerView the previous view of the player.
+     * @return the updated view of the player.
+     */
+    public PlayerView applyTo(PlayerView playerView) {
+        PlayerHandView updatedHandView = playerHandView != null ? playerHandView : playerView.playerHandView();
+        PlayerBoardView updatedBoardView = playerView.playerBoardView();
+        if (placedCards != null) {
+            HashMap<Coordinate, GameCard> updatedBoard = new HashMap<>(updatedBoardView.playerBoard());
+            updatedBoard.putAll(placedCards);
+            updatedBoardView = new PlayerBoardView(updatedBoard, gameItemStore, availablePositions);
+        }
+        return new PlayerView(playerName, color, playerPos, objectiveCard, choosableObjectives, isConnected, starterCard, updatedHandView, updatedBoardView);
+    }
+}
@@ -0,0 +1,282 @@
+package it.polimi.ingsw.parsing;
+
+import it.polimi.ingsw.model.Deck;
+import it.polimi.ingsw.model.card.gameCard.GameCard;
+import it.polimi.ingsw.model.card.objectiveCard.ObjectiveCard;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * This class holds every card of the game, indexed by id.
+ * The cards are loaded once per process, the first time the catalog is used.
+ * They are read from the binary catalog generated at build time by {@link CardCatalogGenerator}, which needs no reflection;
+ * if it is missing or does not match CardDB.json, e.g. when the game is run from an IDE, CardDB.json is parsed instead.
+ * Since the static data of a card is the same on every end of a connection, a card can be identified by its id alone.
+ * <p>
+ * The catalog is shared by all the games. Each game receives copies of the game cards, which only duplicate the state
+ * that can change during a game (the side facing up, the covered corners and the placement index):
+ * the item stores of the sides and the objective cards are immutable in practice, so they are shared by all the copies.
+ */
+public final class CardCatalog {
+    /**
+     * The path of the card database.
+     */
+    static final String JSON_RESOURCE = "/json/CardDB.json";
+
+    /**
+     * The path of the binary catalog generated from the card database.
+     */
+    static final String CATALOG_RESOURCE = "/json/CardDB.bin";
+
+    /**
+     * The game cards, by id. They are never handed out, only copied.
+     */
+    private final HashMap<Integer, GameCard> gameCards;
+
+    /**
+     * The objective cards, by id. They have no mutable state, so they are shared.
+     */
+    private final HashMap<Integer, ObjectiveCard> objectiveCards;
+
+    /**
+     * The resource cards, in the order of CardDB.json.
+     */
+    private final List<GameCard> resourceCards;
+
+    /**
+     * The gold cards, in the order of CardDB.json.
+     */
+    private final List<GameCard> goldCards;
+
+    /**
+     * The starter cards, in the order of CardDB.json.
+     */
+    private final List<GameCard> starterCards;
+
+    /**
+     * The objective cards, in the order of CardDB.json.
+     */
+    private final List<ObjectiveCard> objectiveCardList;
+
+    /**
+     * Constructs a new CardCatalog with the given cards.
+     *
+     * @param resourceCards  the resource cards.
+     * @param goldCards      the gold cards.
+     * @param starterCards   the starter cards.
+     * @param objectiveCards the objective cards.
+     */
+    private CardCatalog(List<GameCard> resourceCards, List<GameCard> goldCards, List<GameCard> starterCards, List<ObjectiveCard> objectiveCards) {
+        this.resourceCards = List.copyOf(resourceCards);
+        this.goldCards = List.copyOf(goldCards);
+        this.starterCards = List.copyOf(starterCards);
+        this.objectiveCardList = List.copyOf(objectiveCards);
+        this.gameCards = new HashMap<>();
+        this.objectiveCards = new HashMap<>();
+        this.resourceCards.forEach(card -> gameCards.put(card.getCardId(), card));
+        this.goldCards.forEach(card -> gameCards.put(card.getCardId(), card));
+        this.starterCards.forEach(card -> gameCards.put(card.getCardId(), card));
+        objectiveCardList.forEach(card -> this.objectiveCards.put(card.getCardId(), card));
+    }
+
+    /**
+     * Returns the catalog, loading the cards if it is the first time it is used.
+     *
+     * @return the catalog.
+     */
+    public static CardCatalog getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Returns a new copy of a game card, with its front side up and no corner covered.
+     *
+     * @param cardId the id of the card.
+     * @return a new copy of the card.
+     * @throws IllegalArgumentException if there is no game card with the given id.
+     */
+    public GameCard getGameCard(int cardId) {
+        GameCard card = gameCards.get(cardId);
+        if (card == null) {
+            throw new IllegalArgumentException("Unknown game card: " + cardId);
+        }
+        return card.copy();
+    }
+
+    /**
+     * Returns an objective card.
+     *
+     * @param cardId the id of the card.
+     * @return the card, shared by all the callers.
+     * @throws IllegalArgumentException if there is no objective card with the given id.
+     */
+    public ObjectiveCard getObjectiveCard(int cardId) {
+        ObjectiveCard card = objectiveCards.get(cardId);
+        if (card == null) {
+            throw new IllegalArgumentException("Unknown objective card: " + cardId);
+        }
+        return card;
+    }
+
+    /**
+     * Returns a new shuffled deck of resource cards, made of copies of the cards of the catalog.
+     *
+     * @return a new deck of resource cards.
+     */
+    public Deck<GameCard> getResourceDeck() {
+        return new Deck<>(copies(resourceCards));
+    }
+
+    /**
+     * Returns a new deck of resource cards, made of copies of the cards of the catalog, shuffled with the given random generator.
+     *
+     * @param random the random generator used to shuffle the deck.
+     * @return a new deck of resource cards.
+     */
+    public Deck<GameCard> getResourceDeck(RandomGenerator random) {
+        return new Deck<>(copies(resourceCards), random);
+    }
+
+    /**
+     * Returns a new shuffled deck of gold cards, made of copies of the cards of the catalog.
+     *
+     * @return a new deck of gold cards.
+     */
+    public Deck<GameCard> getGoldDeck() {
+        return new Deck<>(copies(goldCards));
+    }
+
+    /**
+     * Returns a new deck of gold cards, made of copies of the cards of the catalog, shuffled with the given random generator.
+     *
+     * @param random the random generator used to shuffle the deck.
+     * @return a new deck of gold cards.
+     */
+    public Deck<GameCard> getGoldDeck(RandomGenerator random) {
+        return new Deck<>(copies(goldCards), random);
+    }
+
+    /**
+     * Returns a new shuffled deck of starter cards, made of copies of the cards of the catalog.
+     *
+     * @return a new deck of starter cards.
+     */
+    public Deck<GameCard> getStarterDeck() {
+        return new Deck<>(copies(starterCards));
+    }
+
+    /**
+     * Returns a new deck of starter cards, made of copies of the cards of the catalog, shuffled with the given random generator.
+     *
+     * @param random the random generator used to shuffle the deck.
+     * @return a new deck of starter cards.
+     */
+    public Deck<GameCard> getStarterDeck(RandomGenerator random) {
+        return new Deck<>(copies(starterCards), random);
+    }
+
+    /**
+     * Returns a new shuffled deck of objective cards, shared with the catalog.
+     *
+     * @return a new deck of objective cards.
+     */
+    public Deck<ObjectiveCard> getObjectiveDeck() {
+        return new Deck<>(new ArrayList<>(objectiveCardList));
+    }
+
+    /**
+     * Returns a new deck of objective cards, shared with the catalog, shuffled with the given random generator.
+     *
+     * @param random the random generator used to shuffle the deck.
+     * @return a new deck of objective cards.
+     */
+    public Deck<ObjectiveCard> getObjectiveDeck(RandomGenerator random) {
+        return new Deck<>(new ArrayList<>(objectiveCardList), random);
+    }
+
+    /**
+     * Copies a list of game cards.
+     *
+     * @param cards the cards to copy.
+     * @return a new list with a copy of each card.
+     */
+    private static ArrayList<GameCard> copies(List<GameCard> cards) {
+        ArrayList<GameCard> copies = new ArrayList<>(cards.size());
+        cards.forEach(card -> copies.add(card.copy()));
+        return copies;
+    }
+
+    /**
+     * Loads the cards from the generated binary catalog, or parses CardDB.json if the catalog cannot be used.
+     *
+     * @return the catalog.
+     */
+    static CardCatalog load() {
+        byte[] catalog = readResource(CATALOG_RESOURCE);
+        byte[] json = readResource(JSON_RESOURCE);
+        if (catalog != null && json != null) {
+            try {
+                CardCatalogCodec.Cards cards = CardCatalogCodec.decode(catalog, CardCatalogCodec.checksum(json));
+                return new CardCatalog(cards.resourceCards(), cards.goldCards(), cards.starterCards(), cards.objectiveCards());
+            } catch (IllegalArgumentException e) {
+                logger().warn("Ignoring the generated card catalog: {}", e.getMessage());
+            }
+        } else {
+            logger().debug("Generated card catalog not found, parsing {}", JSON_RESOURCE);
+        }
+        return fromParser(new Parser());
+    }
+
+    /**
+     * Creates a catalog with the cards read by a parser.
+     *
+     * @param parser the parser of the cards.
+     * @return the catalog.
+     */
+    static CardCatalog fromParser(Parser parser) {
+        return new CardCatalog(parser.getResourceCards(), parser.getGoldCards(), parser.getStarterCards(), parser.getObjectiveCards());
+    }
+
+    /**
+     * Reads a resource of the game.
+     *
+     * @param path the path of the resource.
+     * @return the content of the resource, or null if it does not exist or cannot be read.
+     */
+    static byte[] readResource(String path) {
+        try (InputStream is = CardCatalog.class.getResourceAsStream(path)) {
+            return is == null ? null : is.readAllBytes();
+        } catch (IOException e) {
+            logger().warn("Cannot read {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Returns the logger of the catalog. It is only created when needed, since initializing the logging framework
+     * would cost more than loading the cards from the binary catalog.
+     *
+     * @return the logger.
+     */
+    private static Logger logger() {
+        return LogManager.getLogger(CardCatalog.class);
+    }
+
+    /**
+     * Holds the catalog, so that the cards are loaded lazily and only once.
+     */
+    private static final class Holder {
+        /**
+         * The catalog.
+         */
+        private static final CardCatalog INSTANCE = load();
+    }
+}
@@ -0,0 +1,374 @@
+package it.polimi.ingsw.parsing;
+
+import it.polimi.ingsw.model.card.CardColorEnum;
+import it.polimi.ingsw.model.card.GameItemEnum;
+import it.polimi.ingsw.model.card.corner.Corner;
+import it.polimi.ingsw.model.card.corner.CornerPosition;
+import it.polimi.ingsw.model.card.gameCard.BackGameCard;
+import it.polimi.ingsw.model.card.gameCard.GameCard;
+import it.polimi.ingsw.model.card.gameCard.SideGameCard;
+import it.polimi.ingsw.model.card.gameCard.front.FrontGameCard;
+import it.polimi.ingsw.model.card.gameCard.front.goldCard.FrontGoldGameCard;
+import it.polimi.ingsw.model.card.gameCard.front.goldCard.FrontItemGoldGameCard;
+import it.polimi.ingsw.model.card.gameCard.front.goldCard.FrontPositionalGoldGameCard;
+import it.polimi.ingsw.model.card.objectiveCard.ItemObjectiveCard;
+import it.polimi.ingsw.model.card.objectiveCard.ObjectiveCard;
+import it.polimi.ingsw.model.card.objectiveCard.PositionalData;
+import it.polimi.ingsw.model.card.objectiveCard.PositionalObjectiveCard;
+import it.polimi.ingsw.model.utils.Coordinate;
+import it.polimi.ingsw.model.utils.store.GameItemStore;
+import it.polimi.ingsw.network.codec.BinaryReader;
+import it.polimi.ingsw.network.codec.BinaryWriter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * The CardCatalogCodec class converts the cards of CardDB.json to and from a compact binary format.
+ * The binary catalog is generated at build time by {@link CardCatalogGenerator}, so that the cards can be loaded
+ * with plain constructor calls instead of Gson reflection.
+ * <p>
+ * The catalog starts with the format version and the CRC32 of the JSON it was generated from,
+ * so a catalog that does not match the current CardDB.json is detected and ignored.
+ * It is followed by the resource, gold, starter and objective cards, each list preceded by its size.
+ */
+final class CardCatalogCodec {
+    /**
+     * The version of the binary format. It must be changed whenever the format changes.
+     */
+    static final int FORMAT_VERSION = 1;
+
+    /**
+     * The corner positions, in the order they are written.
+     */
+    private static final CornerPosition[] CORNER_POSITIONS = {CornerPosition.TOP_RIGHT, CornerPosition.TOP_LEFT, CornerPosition.BOTTOM_LEFT, CornerPosition.BOTTOM_RIGHT};
+
+    /**
+     * The game items, in the order they are written in a store.
+     */
+    private static final GameItemEnum[] GAME_ITEMS = GameItemEnum.values();
+
+    /**
+     * The tag of a FrontGameCard side.
+     */
+    private static final int FRONT_SIDE = 0;
+
+    /**
+     * The tag of a FrontGoldGameCard side.
+     */
+    private static final int FRONT_GOLD_SIDE = 1;
+
+    /**
+     * The tag of a FrontItemGoldGameCard side.
+     */
+    private static final int FRONT_ITEM_GOLD_SIDE = 2;
+
+    /**
+     * The tag of a FrontPositionalGoldGameCard side.
+     */
+    private static final int FRONT_POSITIONAL_GOLD_SIDE = 3;
+
+    /**
+     * The tag of a BackGameCard side.
+     */
+    private static final int BACK_SIDE = 4;
+
+    /**
+     * The tag of an ItemObjectiveCard.
+     */
+    private static final int ITEM_OBJECTIVE = 0;
+
+    /**
+     * The tag of a PositionalObjectiveCard.
+     */
+    private static final int POSITIONAL_OBJECTIVE = 1;
+
+    /**
+     * The cards read from a binary catalog.
+     *
+     * @param resourceCards  the resource cards.
+     * @param goldCards      the gold cards.
+     * @param starterCards   the starter cards.
+     * @param objectiveCards the objective cards.
+     */
+    record Cards(List<GameCard> resourceCards, List<GameCard> goldCards, List<GameCard> starterCards, List<ObjectiveCard> objectiveCards) {
+    }
+
+    /**
+     * This class only has static methods.
+     */
+    private CardCatalogCodec() {
+    }
+
+    /**
+     * Computes the checksum stored in a catalog generated from the given JSON.
+     *
+     * @param json the content of CardDB.json.
+     * @return the CRC32 of the JSON.
+     */
+    static long checksum(byte[] json) {
+        CRC32 crc = new CRC32();
+        crc.update(json);
+        return crc.getValue();
+    }
+
+    /**
+     * Encodes the cards read by a parser.
+     *
+     * @param parser   the parser of the cards.
+     * @param checksum the checksum of the JSON the cards were parsed from.
+     * @return the binary catalog.
+     */
+    static byte[] encode(Parser parser, long checksum) {
+        BinaryWriter writer = new BinaryWriter();
+        writer.writeVarInt(FORMAT_VERSION);
+        writer.writeVarLong(checksum);
+        writeGameCards(writer, parser.getResourceCards());
+        writeGameCards(writer, parser.getGoldCards());
+        writeGameCards(writer, parser.getStarterCards());
+        writer.writeVarInt(parser.getObjectiveCards().size());
+        parser.getObjectiveCards().forEach(card -> writeObjectiveCard(writer, card));
+        return writer.toByteArray();
+    }
+
+    /**
+     * Decodes a binary catalog.
+     *
+     * @param catalog  the binary catalog.
+     * @param checksum the checksum of the current CardDB.json.
+     * @return the cards.
+     * @throws IllegalArgumentException if the catalog is malformed, has another format version or was generated from another JSON.
+     */
+    static Cards decode(byte[] catalog, long checksum) {
+        BinaryReader reader = new BinaryReader(catalog);
+        int formatVersion = reader.readVarInt();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported card catalog format: " + formatVersion);
+        }
+        if (reader.readVarLong() != checksum) {
+            throw new IllegalArgumentException("The card catalog was generated from another CardDB.json");
+        }
+        List<GameCard> resourceCards = readGameCards(reader);
+        List<GameCard> goldCards = readGameCards(reader);
+        List<GameCard> starterCards = readGameCards(reader);
+        int objectiveCount = reader.readVarInt();
+        List<ObjectiveCard> objectiveCards = new ArrayList<>(objectiveCount);
+        for (int i = 0; i < objectiveCount; i++) {
+            objectiveCards.add(readObjectiveCard(reader));
+        }
+        if (!reader.isFullyRead()) {
+            throw new IllegalArgumentException("Trailing bytes after the card catalog");
+        }
+        return new Cards(resourceCards, goldCards, starterCards, objectiveCards);
+    }
+
+    /*
+     * ***************************************
+     * GAME CARDS
+     * ***************************************/
+
+    /**
+     * Writes a list of game cards preceded by its size.
+     *
+     * @param writer the writer.
+     * @param cards  the cards.
+     */
+    private static void writeGameCards(BinaryWriter writer, List<GameCard> cards) {
+        writer.writeVarInt(cards.size());
+        for (GameCard card : cards) {
+            writer.writeVarInt(card.getCardId());
+            writer.writeEnum(card.getCardColor());
+            writer.writeBoolean(card.isFlipped());
+            // The sides are written in the order they have when the card is not flipped
+            GameCard unflippedCard = card.copy();
+            unflippedCard.setFlipped(false);
+            SideGameCard firstSide = unflippedCard.getCurrentSide();
+            unflippedCard.switchSide();
+            writeSide(writer, firstSide);
+            writeSide(writer, unflippedCard.getCurrentSide());
+        }
+    }
+
+    /**
+     * Reads a list of game cards preceded by its size.
+     *
+     * @param reader the reader.
+     * @return the cards.
+     */
+    private static List<GameCard> readGameCards(BinaryReader reader) {
+        int size = reader.readVarInt();
+        List<GameCard> cards = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int cardId = reader.readVarInt();
+            CardColorEnum cardColor = reader.readEnum(CardColorEnum.values());
+            boolean isFlipped = reader.readBoolean();
+            GameCard card = new GameCard(cardId, readSide(reader), readSide(reader), cardColor);
+            card.setFlipped(isFlipped);
+            cards.add(card);
+        }
+        return cards;
+    }
+
+    /**
+     * Writes a side of a game card as its tag, its corners and the attributes of its class.
+     *
+     * @param writer the writer.
+     * @param side   the side.
+     * @throws IllegalArgumentException if the class of the side is unknown.
+     */
+    private static void writeSide(BinaryWriter writer, SideGameCard side) {
+        int tag = switch (side) {
+            case FrontItemGoldGameCard ignored -> FRONT_ITEM_GOLD_SIDE;
+            case FrontPositionalGoldGameCard ignored -> FRONT_POSITIONAL_GOLD_SIDE;
+            case FrontGoldGameCard ignored -> FRONT_GOLD_SIDE;
+            case FrontGameCard ignored -> FRONT_SIDE;
+            case BackGameCard ignored -> BACK_SIDE;
+            default -> throw new IllegalArgumentException("Unknown side: " + side.getClass().getName());
+        };
+        writer.writeVarInt(tag);
+        for (CornerPosition position : CORNER_POSITIONS) {
+            writer.writeEnum(side.getCorner(position).map(Corner::getGameItem).orElse(null));
+        }
+        if (tag == BACK_SIDE) {
+            writeGameItemStore(writer, side.getBackItemStore());
+            return;
+        }
+        writer.writeVarInt(side.getPoints());
+        if (tag != FRONT_SIDE) {
+            writeGameItemStore(writer, side.getNeededItemStore());
+        }
+        if (tag == FRONT_ITEM_GOLD_SIDE) {
+            writer.writeEnum(side.getMultiplier());
+        }
+    }
+
+    /**
+     * Reads a side of a game card.
+     *
+     * @param reader the reader.
+     * @return the side.
+     * @throws IllegalArgumentException if the tag of the side is unknown.
+     */
+    private static SideGameCard readSide(BinaryReader reader) {
+        int tag = reader.readVarInt();
+        Corner topRight = readCorner(reader);
+        Corner topLeft = readCorner(reader);
+        Corner bottomLeft = readCorner(reader);
+        Corner bottomRight = readCorner(reader);
+        if (tag == BACK_SIDE) {
+            return new BackGameCard(topRight, topLeft, bottomLeft, bottomRight, readGameItemStore(reader));
+        }
+        int points = reader.readVarInt();
+        return switch (tag) {
+            case FRONT_SIDE -> new FrontGameCard(topRight, topLeft, bottomLeft, bottomRight, points);
+            case FRONT_GOLD_SIDE -> new FrontGoldGameCard(topRight, topLeft, bottomLeft, bottomRight, points, readGameItemStore(reader));
+            case FRONT_ITEM_GOLD_SIDE -> new FrontItemGoldGameCard(topRight, topLeft, bottomLeft, bottomRight, points, readGameItemStore(reader), reader.readEnum(GAME_ITEMS));
+            case FRONT_POSITIONAL_GOLD_SIDE -> new FrontPositionalGoldGameCard(topRight, topLeft, bottomLeft, bottomRight, points, readGameItemStore(reader));
+            default -> throw new IllegalArgumentException("Unknown side tag: " + tag);
+        };
+    }
+
+    /**
+     * Reads a corner written as its game item, or null if the corner does not exist.
+     *
+     * @param reader the reader.
+     * @return the corner, or null if it does not exist.
+     */
+    private static Corner readCorner(BinaryReader reader) {
+        GameItemEnum gameItem = reader.readEnum(GAME_ITEMS);
+        return gameItem == null ? null : new Corner(gameItem);
+    }
+
+    /*
+     * ***************************************
+     * OBJECTIVE CARDS
+     * ***************************************/
+
+    /**
+     * Writes an objective card as its tag, its id, its points and the attributes of its class.
+     *
+     * @param writer the writer.
+     * @param card   the card.
+     * @throws IllegalArgumentException if the class of the card is unknown.
+     */
+    private static void writeObjectiveCard(BinaryWriter writer, ObjectiveCard card) {
+        switch (card) {
+            case ItemObjectiveCard itemCard -> {
+                writer.writeVarInt(ITEM_OBJECTIVE);
+                writer.writeVarInt(card.getCardId());
+                writer.writeVarInt(card.getPointsWon());
+                writeGameItemStore(writer, itemCard.getMultiplier());
+            }
+            case PositionalObjectiveCard positionalCard -> {
+                writer.writeVarInt(POSITIONAL_OBJECTIVE);
+                writer.writeVarInt(card.getCardId());
+                writer.writeVarInt(card.getPointsWon());
+                writer.writeVarInt(positionalCard.getPositionalData().size());
+                for (PositionalData positionalData : positionalCard.getPositionalData()) {
+                    writer.writeSignedVarInt(positionalData.coordinate().x);
+                    writer.writeSignedVarInt(positionalData.coordinate().y);
+                    writer.writeEnum(positionalData.cardColorEnum());
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown objective card: " + card.getClass().getName());
+        }
+    }
+
+    /**
+     * Reads an objective card.
+     *
+     * @param reader the reader.
+     * @return the card.
+     * @throws IllegalArgumentException if the tag of the card is unknown.
+     */
+    private static ObjectiveCard readObjectiveCard(BinaryReader reader) {
+        int tag = reader.readVarInt();
+        int cardId = reader.readVarInt();
+        int pointsWon = reader.readVarInt();
+        return switch (tag) {
+            case ITEM_OBJECTIVE -> new ItemObjectiveCard(cardId, pointsWon, readGameItemStore(reader));
+            case POSITIONAL_OBJECTIVE -> {
+                int size = reader.readVarInt();
+                ArrayList<PositionalData> positionalData = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    Coordinate coordinate = new Coordinate(reader.readSignedVarInt(), reader.readSignedVarInt());
+                    positionalData.add(new PositionalData(coordinate, reader.readEnum(CardColorEnum.values())));
+                }
+                yield new PositionalObjectiveCard(cardId, pointsWon, positionalData);
+            }
+            default -> throw new IllegalArgumentException("Unknown objective card tag: " + tag);
+        };
+    }
+
+    /*
+     * ***************************************
+     * STORES
+     * ***************************************/
+
+    /**
+     * Writes the amount of every game item of a store.
+     *
+     * @param writer        the writer.
+     * @param gameItemStore the store.
+     */
+    private static void writeGameItemStore(BinaryWriter writer, GameItemStore gameItemStore) {
+        for (GameItemEnum gameItem : GAME_ITEMS) {
+            writer.writeSignedVarInt(gameItemStore.get(gameItem));
+        }
+    }
+
+    /**
+     * Reads the amount of every game item of a store.
+     *
+     * @param reader the reader.
+     * @return the store.
+     */
+    private static GameItemStore readGameItemStore(BinaryReader reader) {
+        GameItemStore gameItemStore = new GameItemStore();
+        for (GameItemEnum gameItem : GAME_ITEMS) {
+            gameItemStore.set(gameItem, reader.readSignedVarInt());
+        }
+        return gameItemStore;
+    }
+}
@@ -0,0 +1,41 @@
+package it.polimi.ingsw.parsing;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The CardCatalogGenerator class generates the binary card catalog from CardDB.json.
+ * It is run by Maven after the classes are compiled, and writes the catalog next to CardDB.json in the output directory,
+ * so that {@link CardCatalog} can load the cards without parsing the JSON.
+ */
+public final class CardCatalogGenerator {
+    /**
+     * This class only has the main method.
+     */
+    private CardCatalogGenerator() {
+    }
+
+    /**
+     * Parses CardDB.json and writes the binary catalog.
+     *
+     * @param args the path of the catalog to write.
+     * @throws IOException if the catalog cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: CardCatalogGenerator <output file>");
+        }
+        byte[] json = CardCatalog.readResource(CardCatalog.JSON_RESOURCE);
+        if (json == null) {
+            throw new IllegalStateException("Resource not found: " + CardCatalog.JSON_RESOURCE);
+        }
+        byte[] catalog = CardCatalogCodec.encode(new Parser(), CardCatalogCodec.checksum(json));
+        Path output = Path.of(args[0]);
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        Files.write(output, catalog);
+        System.out.printf("Generated %s (%d bytes from %d bytes of JSON)%n", output, catalog.length, json.length);
+    }
+}
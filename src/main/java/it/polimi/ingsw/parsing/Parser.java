@@ -9,6 +9,8 @@ import it.polimi.ingsw.model.card.gameCard.SideGameCard;
 import it.polimi.ingsw.model.card.objectiveCard.ItemObjectiveCard;
 import it.polimi.ingsw.model.card.objectiveCard.ObjectiveCard;
 import it.polimi.ingsw.model.card.objectiveCard.PositionalObjectiveCard;
+import it.polimi.ingsw.model.utils.store.GameItemStore;
+import it.polimi.ingsw.parsing.adapters.GameItemStoreAdapter;
 import it.polimi.ingsw.parsing.adapters.SerializableBooleanPropertyAdapter;
 import it.polimi.ingsw.parsing.adapters.SideGameCardAdapter;
 
@@ -18,6 +20,8 @@ import java.io.InputStreamReader;
 import java.io.Reader;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * This class is responsible for parsing the JSON file containing the cards of the game.
@@ -49,6 +53,7 @@ public class Parser {
      */
     private final Gson gson = new GsonBuilder()
             .registerTypeAdapter(SideGameCard.class, new SideGameCardAdapter())
+            .registerTypeAdapter(GameItemStore.class, new GameItemStoreAdapter())
             .registerTypeAdapter(SerializableBooleanProperty.class, new SerializableBooleanPropertyAdapter())
             .create();
 
@@ -181,6 +186,42 @@ public class Parser {
         return new Deck<>(objectiveCardList);
     }
 
+    /**
+     * Returns the parsed resource cards.
+     *
+     * @return The resource cards, in the order of the JSON file.
+     */
+    public List<GameCard> getResourceCards() {
+        return Collections.unmodifiableList(resourceCardList);
+    }
+
+    /**
+     * Returns the parsed gold cards.
+     *
+     * @return The gold cards, in the order of the JSON file.
+     */
+    public List<GameCard> getGoldCards() {
+        return Collections.unmodifiableList(goldCardList);
+    }
+
+    /**
+     * Returns the parsed starter cards.
+     *
+     * @return The starter cards, in the order of the JSON file.
+     */
+    public List<GameCard> getStarterCards() {
+        return Collections.unmodifiableList(starterCardList);
+    }
+
+    /**
+     * Returns the parsed objective cards.
+     *
+     * @return The objective cards, in the order of the JSON file.
+     */
+    public List<ObjectiveCard> getObjectiveCards() {
+        return Collections.unmodifiableList(objectiveCardList);
+    }
+
     /**
      * Serializes an object to a JSON string.
      *
@@ -0,0 +1,66 @@
+package it.polimi.ingsw.parsing.adapters;
+
+import com.google.gson.*;
+import it.polimi.ingsw.model.card.GameItemEnum;
+import it.polimi.ingsw.model.utils.store.GameItemStore;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+
+/**
+ * This class implements JsonDeserializer and JsonSerializer interfaces for GameItemStore.
+ * It keeps the JSON format of the store as {"store": {"PLANT": 0, ..., "NONE": 0}}, the same used by the card database and the saved games.
+ */
+public class GameItemStoreAdapter implements JsonDeserializer<GameItemStore>, JsonSerializer<GameItemStore> {
+
+    /**
+     * The name of the JSON object holding the amounts.
+     */
+    private static final String STORE_FIELD = "store";
+
+    /**
+     * This method is used to convert a JsonElement into a GameItemStore.
+     * The missing game items are set to 0.
+     *
+     * @param jsonElement                the JSON element to be deserialized
+     * @param type                       the type of the object to be deserialized
+     * @param jsonDeserializationContext context for deserialization
+     * @return the deserialized GameItemStore
+     * @throws JsonParseException if jsonElement cannot be converted into a GameItemStore
+     */
+    @Override
+    public GameItemStore deserialize(JsonElement jsonElement, Type type, JsonDeserializationContext jsonDeserializationContext) throws JsonParseException {
+        GameItemStore gameItemStore = new GameItemStore();
+        JsonElement store = jsonElement.getAsJsonObject().get(STORE_FIELD);
+        if (store == null || store.isJsonNull()) {
+            return gameItemStore;
+        }
+        try {
+            for (Map.Entry<String, JsonElement> entry : store.getAsJsonObject().entrySet()) {
+                gameItemStore.set(GameItemEnum.valueOf(entry.getKey()), entry.getValue().getAsInt());
+            }
+        } catch (IllegalArgumentException e) {
+            throw new JsonParseException("Invalid game item store: " + store, e);
+        }
+        return gameItemStore;
+    }
+
+    /**
+     * This method is used to convert a GameItemStore into a JsonElement.
+     *
+     * @param gameItemStore            the GameItemStore to be serialized
+     * @param type                     the type of the source object
+     * @param jsonSerializationContext context for serialization
+     * @return the serialized JsonElement
+     */
+    @Override
+    public JsonElement serialize(GameItemStore gameItemStore, Type type, JsonSerializationContext jsonSerializationContext) {
+        JsonObject store = new JsonObject();
+        for (GameItemEnum gameItem : gameItemStore.keySet()) {
+            store.addProperty(gameItem.name(), gameItemStore.get(gameItem));
+        }
+        JsonObject jsonObject = new JsonObject();
+        jsonObject.add(STORE_FIELD, store);
+        return jsonObject;
+    }
+}
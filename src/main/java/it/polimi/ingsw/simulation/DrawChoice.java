@@ -0,0 +1,42 @@
+package it.polimi.ingsw.simulation;
+
+import java.util.Objects;
+
+/**
+ * The DrawChoice record is the card a player policy chooses to draw at the end of a turn.
+ *
+ * @param source the place the card is drawn from.
+ * @param cardId the id of the card, when it is drawn from the field.
+ */
+public record DrawChoice(DrawSourceEnum source, int cardId) {
+    /**
+     * The choice of drawing the top of the gold deck.
+     */
+    public static final DrawChoice GOLD_DECK = new DrawChoice(DrawSourceEnum.GOLD_DECK, -1);
+
+    /**
+     * The choice of drawing the top of the resource deck.
+     */
+    public static final DrawChoice RESOURCE_DECK = new DrawChoice(DrawSourceEnum.RESOURCE_DECK, -1);
+
+    /**
+     * Creates a choice.
+     *
+     * @param source the place the card is drawn from.
+     * @param cardId the id of the card, when it is drawn from the field.
+     * @throws NullPointerException if the source is null.
+     */
+    public DrawChoice {
+        Objects.requireNonNull(source, "The source of the draw cannot be null");
+    }
+
+    /**
+     * Returns the choice of drawing a card face up on the field.
+     *
+     * @param cardId the id of the card.
+     * @return the choice.
+     */
+    public static DrawChoice fromField(int cardId) {
+        return new DrawChoice(DrawSourceEnum.FIELD, cardId);
+    }
+}
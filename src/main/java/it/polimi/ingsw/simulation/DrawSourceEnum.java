@@ -0,0 +1,19 @@
+package it.polimi.ingsw.simulation;
+
+/**
+ * The DrawSourceEnum enumeration lists the places a player can draw a card from at the end of a turn.
+ */
+public enum DrawSourceEnum {
+    /**
+     * The top of the gold deck.
+     */
+    GOLD_DECK,
+    /**
+     * The top of the resource deck.
+     */
+    RESOURCE_DECK,
+    /**
+     * One of the gold or resource cards face up on the field.
+     */
+    FIELD
+}
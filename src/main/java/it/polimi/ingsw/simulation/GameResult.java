@@ -0,0 +1,21 @@
+package it.polimi.ingsw.simulation;
+
+/**
+ * The GameResult record is the outcome of a simulated game.
+ * The players are identified by their seat, the order in which they play.
+ *
+ * @param scores  the final score of each seat, objectives included.
+ * @param winners the seats of the winners, as a bit mask: bit i is set if the player of seat i won. Ties have several bits set.
+ * @param turns   the number of turns played after the setup, counting the turns of all the players.
+ */
+public record GameResult(int[] scores, int winners, int turns) {
+    /**
+     * Checks if the player of a seat is one of the winners.
+     *
+     * @param seat the seat.
+     * @return true if the player won, alone or on a tie.
+     */
+    public boolean isWinner(int seat) {
+        return (winners & (1 << seat)) != 0;
+    }
+}
@@ -0,0 +1,192 @@
+package it.polimi.ingsw.simulation;
+
+import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.GlobalBoard;
+import it.polimi.ingsw.model.card.gameCard.GameCard;
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.model.player.PlayerColorEnum;
+import it.polimi.ingsw.model.utils.Coordinate;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * The GameSimulator class plays whole games on the model, with a policy choosing for each player.
+ * It follows the rules enforced by the game controller, in the same order, but it builds no view, starts no timer
+ * and sends nothing over the network, so a game takes a fraction of a millisecond.
+ * A game depends only on its seed: the decks are shuffled and the policies choose with a generator created from it.
+ * A simulator keeps no state between games, so it can play many of them at the same time.
+ */
+public class GameSimulator {
+    /**
+     * The name of the simulated games.
+     */
+    private static final String GAME_NAME = "simulation";
+
+    /**
+     * The names of the players, by seat.
+     */
+    private static final String[] PLAYER_NAMES = {"player1", "player2", "player3", "player4"};
+
+    /**
+     * The golden ratio increment used to derive the seeds of the games of a run.
+     */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    /**
+     * The policies of the players, by seat.
+     */
+    private final List<PlayerPolicy> policies;
+
+    /**
+     * Creates a simulator of games with a player for each policy.
+     *
+     * @param policies the policies of the players, by seat.
+     * @throws IllegalArgumentException if there are not between 2 and 4 policies.
+     */
+    public GameSimulator(List<PlayerPolicy> policies) {
+        if (policies.size() < 2 || policies.size() > PLAYER_NAMES.length) {
+            throw new IllegalArgumentException("Players must be between 2-4");
+        }
+        this.policies = List.copyOf(policies);
+    }
+
+    /**
+     * Returns the number of players of the simulated games.
+     *
+     * @return the number of players.
+     */
+    public int getPlayers() {
+        return policies.size();
+    }
+
+    /**
+     * Returns the seed of a game of a run, so that the games of a run are independent of each other
+     * and of the order in which they are played.
+     *
+     * @param runSeed   the seed of the run.
+     * @param gameIndex the index of the game in the run.
+     * @return the seed of the game.
+     */
+    public static long gameSeed(long runSeed, long gameIndex) {
+        // The finalizer of SplittableRandom (Stafford's variant 13), applied to a Weyl sequence.
+        long z = runSeed + (gameIndex + 1) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Plays a game until the end.
+     *
+     * @param seed the seed of the game.
+     * @return the outcome of the game.
+     */
+    public GameResult play(long seed) {
+        // The game deals the same cards as a game of the server with the same seed; the policies choose with an independent generator.
+        Game game = new Game(GAME_NAME, policies.size(), PLAYER_NAMES[0], seed);
+        GlobalBoard globalBoard = game.getGlobalBoard();
+        SplittableRandom random = new SplittableRandom(seed).split();
+        for (int seat = 1; seat < policies.size(); seat++) {
+            game.addPlayer(PLAYER_NAMES[seat]);
+        }
+        List<Player> players = game.getPlayers();
+
+        // Each player in turn places the starter card, draws the hand, chooses a color and an objective.
+        PlayerColorEnum[] colors = PlayerColorEnum.values();
+        for (int seat = 0; seat < players.size(); seat++) {
+            Player player = players.get(seat);
+            PlayerPolicy policy = policies.get(seat);
+            GameCard starterCard = player.getPlayerBoard().getStarterCard();
+            starterCard.setFlipped(policy.flipStarterCard(player, random));
+            player.placeGameCard(new Coordinate(0, 0), starterCard.getCardId());
+            player.getPlayerHand().addCard(globalBoard.getResourceDeck().draw());
+            player.getPlayerHand().addCard(globalBoard.getResourceDeck().draw());
+            player.getPlayerHand().addCard(globalBoard.getGoldDeck().draw());
+            player.setPlayerColor(colors[seat]);
+            player.setPlayerObjective(policy.chooseObjective(player, globalBoard, random));
+        }
+
+        // The game ends when the last player has played the round after the one in which the last round started.
+        int remainingRoundsToEndGame = 1;
+        int turns = 0;
+        for (int seat = 0; ; seat = (seat + 1) % players.size()) {
+            Player player = players.get(seat);
+            PlayerPolicy policy = policies.get(seat);
+            boolean lastSeat = seat == players.size() - 1;
+            turns++;
+            placeCard(player, policy, random);
+            if (lastSeat && game.isLastRound()) {
+                if (remainingRoundsToEndGame == 0) {
+                    break;
+                }
+                remainingRoundsToEndGame--;
+            }
+            if (!globalBoard.areFieldAndDecksEmpty()) {
+                drawCard(player, policy, globalBoard, random);
+                // Emptying the decks with the draw also counts as the end of a round for the last player.
+                if (lastSeat && game.isLastRound() && globalBoard.isGoldDeckEmpty() && globalBoard.isResourceDeckEmpty()) {
+                    if (remainingRoundsToEndGame == 0) {
+                        break;
+                    }
+                    remainingRoundsToEndGame--;
+                }
+            }
+        }
+
+        game.calculateWinners();
+        int[] scores = new int[players.size()];
+        int winners = 0;
+        for (int seat = 0; seat < players.size(); seat++) {
+            scores[seat] = players.get(seat).getPlayerPos();
+            if (game.getWinners().contains(players.get(seat))) {
+                winners |= 1 << seat;
+            }
+        }
+        return new GameResult(scores, winners, turns);
+    }
+
+    /**
+     * Places the card chosen by the policy of a player.
+     * A player with an empty hand, or with no available position, skips the placement.
+     *
+     * @param player the player.
+     * @param policy the policy of the player.
+     * @param random the random generator of the game.
+     */
+    private static void placeCard(Player player, PlayerPolicy policy, SplittableRandom random) {
+        if (player.getPlayerHand().getCards().isEmpty()) {
+            return;
+        }
+        // Unlike the set of available positions, the list is in the same order in every run of the JVM.
+        List<Coordinate> availablePositions = player.getPlayerBoard().getAvailablePositionList();
+        if (availablePositions.isEmpty()) {
+            return;
+        }
+        Placement placement = policy.choosePlacement(player, availablePositions, random);
+        GameCard card = player.getPlayerHand().getById(placement.cardId());
+        if (card == null) {
+            throw new IllegalStateException("The policy chose a card that is not in the hand: " + placement.cardId());
+        }
+        card.setFlipped(placement.flipped());
+        player.placeGameCard(placement.coordinate(), placement.cardId());
+    }
+
+    /**
+     * Draws the card chosen by the policy of a player.
+     *
+     * @param player      the player.
+     * @param policy      the policy of the player.
+     * @param globalBoard the global board.
+     * @param random      the random generator of the game.
+     */
+    private static void drawCard(Player player, PlayerPolicy policy, GlobalBoard globalBoard, SplittableRandom random) {
+        DrawChoice choice = policy.chooseDraw(player, globalBoard, random);
+        GameCard card = switch (choice.source()) {
+            case GOLD_DECK -> globalBoard.getGoldDeck().draw();
+            case RESOURCE_DECK -> globalBoard.getResourceDeck().draw();
+            case FIELD -> globalBoard.drawCardFromField(choice.cardId());
+        };
+        player.getPlayerHand().addCard(card);
+    }
+}
@@ -0,0 +1,121 @@
+package it.polimi.ingsw.simulation;
+
+import it.polimi.ingsw.model.GlobalBoard;
+import it.polimi.ingsw.model.card.gameCard.GameCard;
+import it.polimi.ingsw.model.card.objectiveCard.ObjectiveCard;
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.model.utils.Coordinate;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * The GreedyPolicy class maximizes the points of the current turn, without planning ahead.
+ * It places the affordable card and position that score the most, breaking ties at random,
+ * chooses the objective worth the most points, and draws the affordable card of the field with the most points printed on it,
+ * falling back to the gold deck.
+ * The points of a card that multiplies the items of the board are estimated with the items before the placement.
+ */
+public class GreedyPolicy implements PlayerPolicy {
+    /**
+     * Places the starter card front side up.
+     *
+     * @param player the player.
+     * @param random the random generator of the game.
+     * @return false.
+     */
+    @Override
+    public boolean flipStarterCard(Player player, RandomGenerator random) {
+        return false;
+    }
+
+    /**
+     * Chooses the objective worth the most points, the first one on a tie.
+     *
+     * @param player      the player.
+     * @param globalBoard the global board, with the common objectives.
+     * @param random      the random generator of the game.
+     * @return the id of the chosen objective card.
+     */
+    @Override
+    public int chooseObjective(Player player, GlobalBoard globalBoard, RandomGenerator random) {
+        ObjectiveCard best = null;
+        for (ObjectiveCard objective : player.getChoosableObjectives()) {
+            if (best == null || objective.getPointsWon() > best.getPointsWon()) {
+                best = objective;
+            }
+        }
+        return best.getCardId();
+    }
+
+    /**
+     * Chooses the affordable card and the position that score the most.
+     * When no card can be placed on its front, the first card of the hand is placed on its back.
+     *
+     * @param player             the player.
+     * @param availablePositions the available positions of the board of the player.
+     * @param random             the random generator of the game.
+     * @return the placement.
+     */
+    @Override
+    public Placement choosePlacement(Player player, List<Coordinate> availablePositions, RandomGenerator random) {
+        Placement best = null;
+        int bestPoints = -1;
+        int ties = 0;
+        for (GameCard card : player.getPlayerHand().getCards()) {
+            if (!PlayerPolicy.canPlaceFront(player, card)) {
+                continue;
+            }
+            for (Coordinate coordinate : availablePositions) {
+                int points = card.calculatePoints(coordinate, player.getPlayerBoard());
+                if (points > bestPoints) {
+                    best = new Placement(card.getCardId(), false, coordinate);
+                    bestPoints = points;
+                    ties = 1;
+                } else if (points == bestPoints && random.nextInt(++ties) == 0) {
+                    // Reservoir sampling: each of the tied placements is kept with the same probability.
+                    best = new Placement(card.getCardId(), false, coordinate);
+                }
+            }
+        }
+        if (best == null) {
+            GameCard card = player.getPlayerHand().getCards().getFirst();
+            best = new Placement(card.getCardId(), true, availablePositions.get(random.nextInt(availablePositions.size())));
+        }
+        return best;
+    }
+
+    /**
+     * Chooses the affordable card of the field with the most points printed on it,
+     * or the top of the gold deck, then of the resource deck, if none of them is worth anything.
+     *
+     * @param player      the player.
+     * @param globalBoard the global board, with the decks and the cards of the field.
+     * @param random      the random generator of the game.
+     * @return the choice.
+     */
+    @Override
+    public DrawChoice chooseDraw(Player player, GlobalBoard globalBoard, RandomGenerator random) {
+        GameCard best = null;
+        for (List<GameCard> field : List.of(globalBoard.getFieldGoldCards(), globalBoard.getFieldResourceCards())) {
+            for (GameCard card : field) {
+                if (card.getPoints() > 0 && PlayerPolicy.canPlaceFront(player, card)
+                        && (best == null || card.getPoints() > best.getPoints())) {
+                    best = card;
+                }
+            }
+        }
+        if (best != null) {
+            return DrawChoice.fromField(best.getCardId());
+        }
+        if (!globalBoard.isGoldDeckEmpty()) {
+            return DrawChoice.GOLD_DECK;
+        }
+        if (!globalBoard.isResourceDeckEmpty()) {
+            return DrawChoice.RESOURCE_DECK;
+        }
+        GameCard any = globalBoard.getFieldGoldCards().isEmpty()
+                ? globalBoard.getFieldResourceCards().getFirst() : globalBoard.getFieldGoldCards().getFirst();
+        return DrawChoice.fromField(any.getCardId());
+    }
+}
@@ -0,0 +1,26 @@
+package it.polimi.ingsw.simulation;
+
+import it.polimi.ingsw.model.utils.Coordinate;
+
+import java.util.Objects;
+
+/**
+ * The Placement record is the card of the hand a player policy chooses to place, with its side and position.
+ *
+ * @param cardId     the id of the card of the hand.
+ * @param flipped    true if the card is placed on its back.
+ * @param coordinate the available position where the card is placed.
+ */
+public record Placement(int cardId, boolean flipped, Coordinate coordinate) {
+    /**
+     * Creates a placement.
+     *
+     * @param cardId     the id of the card of the hand.
+     * @param flipped    true if the card is placed on its back.
+     * @param coordinate the available position where the card is placed.
+     * @throws NullPointerException if the coordinate is null.
+     */
+    public Placement {
+        Objects.requireNonNull(coordinate, "The coordinate of the placement cannot be null");
+    }
+}
@@ -0,0 +1,70 @@
+package it.polimi.ingsw.simulation;
+
+import it.polimi.ingsw.model.GlobalBoard;
+import it.polimi.ingsw.model.card.gameCard.GameCard;
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.model.utils.Coordinate;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * The PlayerPolicy interface is the way a simulated player makes its choices.
+ * A policy is shared by all the games played in parallel, so it must keep no state of its own:
+ * everything it needs is passed to it, and all its randomness must come from the given generator,
+ * so that a game played again with the same seed makes the same choices.
+ * The simulator only asks for legal choices: the cards of the hand are shown front side up,
+ * and there is at least one available position when a placement is asked for.
+ */
+public interface PlayerPolicy {
+    /**
+     * Chooses the side of the starter card, which is placed at the center of the board.
+     *
+     * @param player the player.
+     * @param random the random generator of the game.
+     * @return true to place the starter card on its back.
+     */
+    boolean flipStarterCard(Player player, RandomGenerator random);
+
+    /**
+     * Chooses the secret objective of the player among the 2 it has been dealt.
+     *
+     * @param player      the player.
+     * @param globalBoard the global board, with the common objectives.
+     * @param random      the random generator of the game.
+     * @return the id of the chosen objective card.
+     */
+    int chooseObjective(Player player, GlobalBoard globalBoard, RandomGenerator random);
+
+    /**
+     * Chooses the card of the hand to place, its side and its position.
+     *
+     * @param player             the player.
+     * @param availablePositions the available positions of the board of the player, in an order that only depends on the placements.
+     * @param random             the random generator of the game.
+     * @return the placement, which must use a card of the hand, one of the available positions,
+     * and the front side only if the player has the items the card needs.
+     */
+    Placement choosePlacement(Player player, List<Coordinate> availablePositions, RandomGenerator random);
+
+    /**
+     * Chooses the card to draw at the end of the turn. At least one card can be drawn.
+     *
+     * @param player      the player.
+     * @param globalBoard the global board, with the decks and the cards of the field.
+     * @param random      the random generator of the game.
+     * @return the choice, which must not be an empty deck or a card missing from the field.
+     */
+    DrawChoice chooseDraw(Player player, GlobalBoard globalBoard, RandomGenerator random);
+
+    /**
+     * Checks if a player can place a card with its front side up.
+     *
+     * @param player the player.
+     * @param card   the card, front side up.
+     * @return true if the player has the items the front side needs.
+     */
+    static boolean canPlaceFront(Player player, GameCard card) {
+        return player.getPlayerBoard().getGameItems().dominates(card.getNeededItemStore());
+    }
+}
@@ -0,0 +1,54 @@
+package it.polimi.ingsw.simulation;
+
+/**
+ * The policies a simulated player can follow.
+ */
+public enum PolicyEnum {
+    /**
+     * Every choice is made at random, see {@link RandomPolicy}.
+     */
+    RANDOM(new RandomPolicy()),
+    /**
+     * The points of the current turn are maximized, see {@link GreedyPolicy}.
+     */
+    GREEDY(new GreedyPolicy());
+
+    /**
+     * The policy, shared by all the games since it keeps no state.
+     */
+    private final PlayerPolicy policy;
+
+    /**
+     * Creates the constant of a policy.
+     *
+     * @param policy the policy.
+     */
+    PolicyEnum(PlayerPolicy policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * Returns the policy.
+     *
+     * @return the policy.
+     */
+    public PlayerPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Returns the policy with the given name, ignoring the case.
+     *
+     * @param name the name of the policy.
+     * @return the policy.
+     * @throws IllegalArgumentException if no policy has the given name.
+     */
+    public static PolicyEnum fromString(String name) {
+        for (PolicyEnum policy : values()) {
+            if (policy.name().equalsIgnoreCase(name)) {
+                return policy;
+            }
+        }
+        throw new IllegalArgumentException("Unknown policy: " + name + ". Use random or greedy");
+    }
+}
@@ -0,0 +1,87 @@
+package it.polimi.ingsw.simulation;
+
+import it.polimi.ingsw.model.GlobalBoard;
+import it.polimi.ingsw.model.card.gameCard.GameCard;
+import it.polimi.ingsw.model.card.objectiveCard.ObjectiveCard;
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.model.utils.Coordinate;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * The RandomPolicy class makes every choice uniformly at random among the legal ones.
+ * A card is placed front side up whenever the player can afford it, since the back side never scores.
+ * It is the baseline the other policies are compared with.
+ */
+public class RandomPolicy implements PlayerPolicy {
+    /**
+     * Chooses the side of the starter card at random.
+     *
+     * @param player the player.
+     * @param random the random generator of the game.
+     * @return true to place the starter card on its back.
+     */
+    @Override
+    public boolean flipStarterCard(Player player, RandomGenerator random) {
+        return random.nextBoolean();
+    }
+
+    /**
+     * Chooses one of the 2 objectives at random.
+     *
+     * @param player      the player.
+     * @param globalBoard the global board, with the common objectives.
+     * @param random      the random generator of the game.
+     * @return the id of the chosen objective card.
+     */
+    @Override
+    public int chooseObjective(Player player, GlobalBoard globalBoard, RandomGenerator random) {
+        List<ObjectiveCard> objectives = player.getChoosableObjectives();
+        return objectives.get(random.nextInt(objectives.size())).getCardId();
+    }
+
+    /**
+     * Chooses a card of the hand and an available position at random.
+     *
+     * @param player             the player.
+     * @param availablePositions the available positions of the board of the player.
+     * @param random             the random generator of the game.
+     * @return the placement.
+     */
+    @Override
+    public Placement choosePlacement(Player player, List<Coordinate> availablePositions, RandomGenerator random) {
+        List<GameCard> hand = player.getPlayerHand().getCards();
+        GameCard card = hand.get(random.nextInt(hand.size()));
+        Coordinate coordinate = availablePositions.get(random.nextInt(availablePositions.size()));
+        return new Placement(card.getCardId(), !PlayerPolicy.canPlaceFront(player, card), coordinate);
+    }
+
+    /**
+     * Chooses a non-empty deck or a card of the field at random.
+     *
+     * @param player      the player.
+     * @param globalBoard the global board, with the decks and the cards of the field.
+     * @param random      the random generator of the game.
+     * @return the choice.
+     */
+    @Override
+    public DrawChoice chooseDraw(Player player, GlobalBoard globalBoard, RandomGenerator random) {
+        List<GameCard> fieldGoldCards = globalBoard.getFieldGoldCards();
+        List<GameCard> fieldResourceCards = globalBoard.getFieldResourceCards();
+        boolean goldDeck = !globalBoard.isGoldDeckEmpty();
+        boolean resourceDeck = !globalBoard.isResourceDeckEmpty();
+        // The choices are numbered instead of being collected, as this runs on every turn of every game.
+        int choice = random.nextInt((goldDeck ? 1 : 0) + (resourceDeck ? 1 : 0) + fieldGoldCards.size() + fieldResourceCards.size());
+        if (goldDeck && choice-- == 0) {
+            return DrawChoice.GOLD_DECK;
+        }
+        if (resourceDeck && choice-- == 0) {
+            return DrawChoice.RESOURCE_DECK;
+        }
+        if (choice < fieldGoldCards.size()) {
+            return DrawChoice.fromField(fieldGoldCards.get(choice).getCardId());
+        }
+        return DrawChoice.fromField(fieldResourceCards.get(choice - fieldGoldCards.size()).getCardId());
+    }
+}
@@ -0,0 +1,129 @@
+package it.polimi.ingsw.simulation;
+
+import org.apache.commons.cli.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The Simulation class plays many games between player policies on all the cores, with no server and no clients,
+ * and prints the aggregated scores and wins of each seat.
+ * A run is reproducible: the same seed, number of games and policies always give the same statistics,
+ * whatever the number of threads.
+ */
+public class Simulation {
+    /**
+     * The number of games played by default.
+     */
+    public static final long DEFAULT_GAMES = 100_000;
+
+    /**
+     * The main method of the Simulation class.
+     * It plays the games, prints the report and exits.
+     *
+     * @param args the command line arguments. These can be used to specify the number of games, the players and their policies.
+     */
+    public static void main(String[] args) {
+        CommandLine cmd = parseCommandLineArgs(args);
+        List<PolicyEnum> policies;
+        GameSimulator simulator;
+        long games;
+        long seed;
+        int parallelism;
+        try {
+            policies = createPolicies(cmd.getOptionValue("policy", "random"),
+                    Integer.parseInt(cmd.getOptionValue("p", "2")));
+            simulator = new GameSimulator(policies.stream().map(PolicyEnum::getPolicy).toList());
+            games = Long.parseLong(cmd.getOptionValue("g", String.valueOf(DEFAULT_GAMES)));
+            seed = Long.parseLong(cmd.getOptionValue("seed", "0"));
+            parallelism = Integer.parseInt(cmd.getOptionValue("threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+            if (games < 1 || parallelism < 1) {
+                throw new IllegalArgumentException("The number of games and of threads must be positive");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid option: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        long start = System.nanoTime();
+        SimulationStatistics statistics = run(simulator, seed, games, parallelism);
+        System.out.print(statistics.report(policies, Duration.ofNanos(System.nanoTime() - start)));
+    }
+
+    /**
+     * Plays the games of a run on a fork/join pool.
+     *
+     * @param simulator   the simulator playing the games.
+     * @param seed        the seed of the run.
+     * @param games       the number of games.
+     * @param parallelism the number of threads.
+     * @return the statistics of the games.
+     */
+    public static SimulationStatistics run(GameSimulator simulator, long seed, long games, int parallelism) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.invoke(new SimulationTask(simulator, seed, 0, games));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Creates the policies of the seats from a comma-separated list.
+     * A single policy is used for every seat.
+     *
+     * @param names   the names of the policies.
+     * @param players the number of players.
+     * @return the policies of the seats.
+     * @throws IllegalArgumentException if a policy is unknown or the number of policies does not match the number of players.
+     */
+    private static List<PolicyEnum> createPolicies(String names, int players) {
+        String[] split = names.split(",");
+        if (split.length != 1 && split.length != players) {
+            throw new IllegalArgumentException("Give either one policy or one for each of the " + players + " players");
+        }
+        List<PolicyEnum> policies = new ArrayList<>(players);
+        for (int seat = 0; seat < players; seat++) {
+            policies.add(PolicyEnum.fromString(split[split.length == 1 ? 0 : seat].trim()));
+        }
+        return policies;
+    }
+
+    /**
+     * Parses the command line arguments and returns a CommandLine object.
+     *
+     * @param args the command line arguments.
+     * @return a CommandLine object that can be used to query the command line arguments.
+     */
+    private static CommandLine parseCommandLineArgs(String[] args) {
+        Options options = getOptions();
+        HelpFormatter formatter = new HelpFormatter();
+        CommandLine cmd = null;
+        try {
+            cmd = new DefaultParser().parse(options, args);
+        } catch (ParseException e) {
+            System.err.println("Parsing failed. Reason: " + e.getMessage());
+            formatter.printHelp("Simulation", options);
+            System.exit(1);
+        }
+        if (cmd.hasOption("h")) {
+            formatter.printHelp("Simulation", options);
+            System.exit(0);
+        }
+        return cmd;
+    }
+
+    private static Options getOptions() {
+        Options options = new Options();
+        options.addOption("g", "games", true, "Number of games (default is " + DEFAULT_GAMES + ").");
+        options.addOption("p", "players", true, "Number of players of each game, between 2 and 4 (default is 2).");
+        options.addOption("policy", true, "Policy of the players: random or greedy, or a comma-separated list with one for each seat (default is random).");
+        options.addOption("seed", true, "Seed of the run (default is 0).");
+        options.addOption("threads", true, "Number of threads playing the games (default is the number of processors).");
+        options.addOption("h", "help", false, "Print this message.");
+        return options;
+    }
+}
@@ -0,0 +1,250 @@
+package it.polimi.ingsw.simulation;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The SimulationStatistics class aggregates the outcomes of simulated games: the scores and the wins of each seat,
+ * the distribution of all the scores, the length of the games and how often they end on a tie.
+ * It is not thread safe: each task of a parallel run fills its own statistics, which are then merged.
+ */
+public class SimulationStatistics {
+    /**
+     * The number of bins of the score distribution. Higher scores are counted in the last bin.
+     */
+    private static final int SCORE_BINS = 128;
+
+    /**
+     * The percentiles of the score distribution shown in the report.
+     */
+    private static final double[] PERCENTILES = {0.1, 0.5, 0.9};
+
+    /**
+     * The number of players of the games.
+     */
+    private final int players;
+
+    /**
+     * The number of games.
+     */
+    private long games;
+
+    /**
+     * The number of turns of all the games.
+     */
+    private long turns;
+
+    /**
+     * The number of games won by more than one player.
+     */
+    private long ties;
+
+    /**
+     * The number of games won by each seat, alone or on a tie.
+     */
+    private final long[] wins;
+
+    /**
+     * The sum of the scores of each seat.
+     */
+    private final long[] scoreSums;
+
+    /**
+     * The sum of the squared scores of each seat.
+     */
+    private final long[] squaredScoreSums;
+
+    /**
+     * The lowest score of each seat.
+     */
+    private final int[] minScores;
+
+    /**
+     * The highest score of each seat.
+     */
+    private final int[] maxScores;
+
+    /**
+     * The number of scores of all the seats with each value.
+     */
+    private final long[] scoreDistribution = new long[SCORE_BINS];
+
+    /**
+     * Creates empty statistics.
+     *
+     * @param players the number of players of the games.
+     */
+    public SimulationStatistics(int players) {
+        this.players = players;
+        this.wins = new long[players];
+        this.scoreSums = new long[players];
+        this.squaredScoreSums = new long[players];
+        this.minScores = new int[players];
+        this.maxScores = new int[players];
+        Arrays.fill(minScores, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Adds the outcome of a game.
+     *
+     * @param result the outcome of the game.
+     * @throws IllegalArgumentException if the game does not have the same number of players.
+     */
+    public void record(GameResult result) {
+        if (result.scores().length != players) {
+            throw new IllegalArgumentException("The game has " + result.scores().length + " players instead of " + players);
+        }
+        games++;
+        turns += result.turns();
+        if (Integer.bitCount(result.winners()) > 1) {
+            ties++;
+        }
+        for (int seat = 0; seat < players; seat++) {
+            int score = result.scores()[seat];
+            if (result.isWinner(seat)) {
+                wins[seat]++;
+            }
+            scoreSums[seat] += score;
+            squaredScoreSums[seat] += (long) score * score;
+            minScores[seat] = Math.min(minScores[seat], score);
+            maxScores[seat] = Math.max(maxScores[seat], score);
+            scoreDistribution[Math.min(score, SCORE_BINS - 1)]++;
+        }
+    }
+
+    /**
+     * Adds the games of other statistics to these.
+     *
+     * @param other the other statistics.
+     * @throws IllegalArgumentException if the other games do not have the same number of players.
+     */
+    public void merge(SimulationStatistics other) {
+        if (other.players != players) {
+            throw new IllegalArgumentException("Cannot merge the statistics of games with a different number of players");
+        }
+        games += other.games;
+        turns += other.turns;
+        ties += other.ties;
+        for (int seat = 0; seat < players; seat++) {
+            wins[seat] += other.wins[seat];
+            scoreSums[seat] += other.scoreSums[seat];
+            squaredScoreSums[seat] += other.squaredScoreSums[seat];
+            minScores[seat] = Math.min(minScores[seat], other.minScores[seat]);
+            maxScores[seat] = Math.max(maxScores[seat], other.maxScores[seat]);
+        }
+        for (int score = 0; score < SCORE_BINS; score++) {
+            scoreDistribution[score] += other.scoreDistribution[score];
+        }
+    }
+
+    /**
+     * Returns the number of games.
+     *
+     * @return the number of games.
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Returns the number of games won by more than one player.
+     *
+     * @return the number of ties.
+     */
+    public long getTies() {
+        return ties;
+    }
+
+    /**
+     * Returns the average number of turns of a game, counting the turns of all the players.
+     *
+     * @return the average number of turns, or 0 if there are no games.
+     */
+    public double getMeanTurns() {
+        return games == 0 ? 0 : (double) turns / games;
+    }
+
+    /**
+     * Returns the number of games won by a seat, alone or on a tie.
+     *
+     * @param seat the seat.
+     * @return the number of wins.
+     */
+    public long getWins(int seat) {
+        return wins[seat];
+    }
+
+    /**
+     * Returns the average score of a seat.
+     *
+     * @param seat the seat.
+     * @return the average score, or 0 if there are no games.
+     */
+    public double getMeanScore(int seat) {
+        return games == 0 ? 0 : (double) scoreSums[seat] / games;
+    }
+
+    /**
+     * Returns the standard deviation of the scores of a seat.
+     *
+     * @param seat the seat.
+     * @return the standard deviation, or 0 if there are no games.
+     */
+    public double getScoreStandardDeviation(int seat) {
+        if (games == 0) {
+            return 0;
+        }
+        double mean = getMeanScore(seat);
+        return Math.sqrt(Math.max((double) squaredScoreSums[seat] / games - mean * mean, 0));
+    }
+
+    /**
+     * Returns the score of all the seats at the given percentile, with the nearest-rank method.
+     * Scores above the range of the distribution are reported as its highest value.
+     *
+     * @param percentile the percentile, between 0 excluded and 1 included.
+     * @return the score, or 0 if there are no games.
+     * @throws IllegalArgumentException if the percentile is out of range.
+     */
+    public int getScorePercentile(double percentile) {
+        if (percentile <= 0 || percentile > 1) {
+            throw new IllegalArgumentException("The percentile must be in (0, 1]");
+        }
+        long rank = Math.max((long) Math.ceil(percentile * games * players), 1);
+        long seen = 0;
+        for (int score = 0; score < SCORE_BINS; score++) {
+            seen += scoreDistribution[score];
+            if (seen >= rank) {
+                return score;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Summarizes the statistics as a table, with a row for each seat, followed by the distribution of the scores.
+     *
+     * @param policies the policies of the seats.
+     * @param elapsed  the duration of the run, used for the throughput.
+     * @return the table.
+     */
+    public String report(List<PolicyEnum> policies, Duration elapsed) {
+        double seconds = Math.max(elapsed.toNanos(), 1) / 1e9;
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-6s %-8s %9s %9s %6s %6s %10s %7s%n",
+                "seat", "policy", "mean", "stddev", "min", "max", "wins", "win %"));
+        for (int seat = 0; seat < players; seat++) {
+            report.append(String.format("%-6d %-8s %9.2f %9.2f %6d %6d %10d %7.2f%n",
+                    seat + 1, policies.get(seat).name().toLowerCase(), getMeanScore(seat), getScoreStandardDeviation(seat),
+                    games == 0 ? 0 : minScores[seat], maxScores[seat], wins[seat], games == 0 ? 0 : 100.0 * wins[seat] / games));
+        }
+        report.append("Score percentiles:");
+        for (double percentile : PERCENTILES) {
+            report.append(String.format(" p%d %d", Math.round(percentile * 100), getScorePercentile(percentile)));
+        }
+        report.append(String.format("%nGames: %d, ties: %.2f %%, turns per game: %.1f, elapsed: %.1f s, games/s: %.0f%n",
+                games, games == 0 ? 0 : 100.0 * ties / games, getMeanTurns(), seconds, games / seconds));
+        return report.toString();
+    }
+}
@@ -0,0 +1,72 @@
+package it.polimi.ingsw.simulation;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The SimulationTask class plays a range of the games of a run on a fork/join pool.
+ * Ranges longer than a threshold are split in halves, so idle workers can steal the games of busy ones;
+ * shorter ones are played one after the other into statistics of their own, merged on the way back.
+ */
+public class SimulationTask extends RecursiveTask<SimulationStatistics> {
+    /**
+     * The number of games below which a range is played without being split.
+     */
+    static final int THRESHOLD = 256;
+
+    /**
+     * The simulator playing the games.
+     */
+    private final GameSimulator simulator;
+
+    /**
+     * The seed of the run, from which the seed of each game is derived.
+     */
+    private final long runSeed;
+
+    /**
+     * The index of the first game of the range.
+     */
+    private final long from;
+
+    /**
+     * The index after the last game of the range.
+     */
+    private final long to;
+
+    /**
+     * Creates a task playing a range of the games of a run.
+     *
+     * @param simulator the simulator playing the games.
+     * @param runSeed   the seed of the run.
+     * @param from      the index of the first game of the range.
+     * @param to        the index after the last game of the range.
+     */
+    public SimulationTask(GameSimulator simulator, long runSeed, long from, long to) {
+        this.simulator = simulator;
+        this.runSeed = runSeed;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Plays the games of the range, splitting it if it is too long.
+     *
+     * @return the statistics of the games of the range.
+     */
+    @Override
+    protected SimulationStatistics compute() {
+        if (to - from <= THRESHOLD) {
+            SimulationStatistics statistics = new SimulationStatistics(simulator.getPlayers());
+            for (long game = from; game < to; game++) {
+                statistics.record(simulator.play(GameSimulator.gameSeed(runSeed, game)));
+            }
+            return statistics;
+        }
+        long middle = from + (to - from) / 2;
+        SimulationTask left = new SimulationTask(simulator, runSeed, from, middle);
+        left.fork();
+        SimulationStatistics statistics = new SimulationTask(simulator, runSeed, middle, to).compute();
+        statistics.merge(left.join());
+        return statistics;
+    }
+}
@@ -0,0 +1,209 @@
+package it.polimi.ingsw.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The SchedulerService class owns all the timers of the process, such as heartbeats, reconnection and game deletion timeouts.
+ * A single daemon thread keeps track of the deadlines, while each task is executed on a new virtual thread,
+ * so a slow task never delays the others and the number of threads does not grow with the number of timers.
+ */
+public final class SchedulerService {
+
+    /**
+     * The logger.
+     */
+    private static final Logger logger = LogManager.getLogger(SchedulerService.class);
+
+    /**
+     * The executor that keeps track of the deadlines. Cancelled tasks are removed from its queue immediately.
+     */
+    private static final ScheduledThreadPoolExecutor scheduler = createScheduler();
+
+    /**
+     * The executor that runs the tasks, starting a new virtual thread for each execution.
+     */
+    private static final ExecutorService taskExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("scheduled-task-", 0).factory());
+
+    /**
+     * The number of timers that are scheduled and neither completed nor cancelled.
+     */
+    private static final AtomicInteger liveTimers = new AtomicInteger();
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private SchedulerService() {
+    }
+
+    /**
+     * Creates the executor that keeps track of the deadlines.
+     *
+     * @return the scheduler
+     */
+    private static ScheduledThreadPoolExecutor createScheduler() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, Thread.ofPlatform().name("scheduler").daemon(true).factory());
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    /**
+     * Schedules a task to be executed once after the specified delay.
+     *
+     * @param task  the task to be executed
+     * @param delay the delay before the execution
+     * @param unit  the time unit of the delay
+     * @return the handle of the scheduled task, which can be used to cancel it
+     */
+    public static ScheduledTask schedule(Runnable task, long delay, TimeUnit unit) {
+        ScheduledTask scheduledTask = new ScheduledTask(task, false);
+        scheduledTask.setFuture(scheduler.schedule(scheduledTask::fire, delay, unit));
+        return scheduledTask;
+    }
+
+    /**
+     * Schedules a task to be executed periodically, until it is cancelled.
+     * If an execution is still running when the next one is due, the next one is skipped.
+     *
+     * @param task         the task to be executed
+     * @param initialDelay the delay before the first execution
+     * @param period       the period between the executions
+     * @param unit         the time unit of the delay and the period
+     * @return the handle of the scheduled task, which can be used to cancel it
+     */
+    public static ScheduledTask scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        ScheduledTask scheduledTask = new ScheduledTask(task, true);
+        scheduledTask.setFuture(scheduler.scheduleAtFixedRate(scheduledTask::fire, initialDelay, period, unit));
+        return scheduledTask;
+    }
+
+    /**
+     * Returns the number of timers that are scheduled and neither completed nor cancelled.
+     *
+     * @return the number of live timers
+     */
+    public static int getLiveTimersCount() {
+        return liveTimers.get();
+    }
+
+    /**
+     * The ScheduledTask class is the handle of a task scheduled by the SchedulerService.
+     */
+    public static final class ScheduledTask {
+
+        /**
+         * The task to be executed.
+         */
+        private final Runnable task;
+
+        /**
+         * Whether the task is executed periodically.
+         */
+        private final boolean periodic;
+
+        /**
+         * Whether an execution of the task is running.
+         */
+        private final AtomicBoolean running;
+
+        /**
+         * Whether the task has been completed or cancelled.
+         */
+        private final AtomicBoolean finished;
+
+        /**
+         * The future of the deadline, or null if it has not been set yet.
+         */
+        private volatile ScheduledFuture<?> future;
+
+        /**
+         * Constructs a new ScheduledTask, counting it as a live timer.
+         *
+         * @param task     the task to be executed
+         * @param periodic whether the task is executed periodically
+         */
+        private ScheduledTask(Runnable task, boolean periodic) {
+            this.task = Objects.requireNonNull(task, "task cannot be null");
+            this.periodic = periodic;
+            this.running = new AtomicBoolean(false);
+            this.finished = new AtomicBoolean(false);
+            liveTimers.incrementAndGet();
+        }
+
+        /**
+         * Sets the future of the deadline. If the task has been cancelled in the meantime, the deadline is cancelled too.
+         *
+         * @param future the future of the deadline
+         */
+        private void setFuture(ScheduledFuture<?> future) {
+            this.future = future;
+            if (finished.get()) {
+                future.cancel(false);
+            }
+        }
+
+        /**
+         * Called by the scheduler when the deadline expires. It starts the execution of the task on a new virtual thread.
+         */
+        private void fire() {
+            if (finished.get() || !running.compareAndSet(false, true)) {
+                return;
+            }
+            taskExecutor.execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    logger.error("Error while executing a scheduled task: {}", e.getMessage(), e);
+                } finally {
+                    running.set(false);
+                    if (!periodic) {
+                        finish();
+                    }
+                }
+            });
+        }
+
+        /**
+         * Cancels the task. A running execution is not interrupted, but no further execution will start.
+         *
+         * @return true if the task was cancelled, false if it had already been completed or cancelled
+         */
+        public boolean cancel() {
+            if (!finish()) {
+                return false;
+            }
+            ScheduledFuture<?> scheduledFuture = future;
+            if (scheduledFuture != null) {
+                scheduledFuture.cancel(false);
+            }
+            return true;
+        }
+
+        /**
+         * Checks if the task has been completed or cancelled.
+         *
+         * @return true if the task has been completed or cancelled, false otherwise
+         */
+        public boolean isFinished() {
+            return finished.get();
+        }
+
+        /**
+         * Marks the task as finished, removing it from the live timers.
+         *
+         * @return true if the task was marked as finished by this call, false if it was already finished
+         */
+        private boolean finish() {
+            if (finished.compareAndSet(false, true)) {
+                liveTimers.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -8,7 +8,7 @@ import it.polimi.ingsw.network.server.message.ServerToClientMessage;
 import it.polimi.ingsw.network.virtualView.GameControllerView;
 import it.polimi.ingsw.network.virtualView.GlobalBoardView;
 import it.polimi.ingsw.network.virtualView.PlayerView;
-import it.polimi.ingsw.parsing.Parser;
+import it.polimi.ingsw.parsing.CardCatalog;
 import it.polimi.ingsw.view.gui.components.GuiCardFactory;
 import it.polimi.ingsw.view.gui.components.ZoomableScrollPane;
 import it.polimi.ingsw.view.gui.components.toast.ToastLevels;
@@ -223,10 +223,10 @@ public class GameSceneController extends Controller implements PropertyChangeLis
      */
     private void loadDummyData() {
         logger.fatal("DEBUG MODE ENABLED");
-        Parser parser = new Parser();
-        ArrayList<ObjectiveCard> objectiveCards = parser.getObjectiveDeck().getCards();
-        ArrayList<GameCard> gameCards = parser.getResourceDeck().getCards();
-        ArrayList<GameCard> goldCards = parser.getGoldDeck().getCards();
+        CardCatalog cardCatalog = CardCatalog.getInstance();
+        ArrayList<ObjectiveCard> objectiveCards = cardCatalog.getObjectiveDeck().getCards();
+        ArrayList<GameCard> gameCards = cardCatalog.getResourceDeck().getCards();
+        ArrayList<GameCard> goldCards = cardCatalog.getGoldDeck().getCards();
 
         final HashMap<Coordinate, GameCard> origPlayerBoard = new HashMap<>();
         origPlayerBoard.put(new Coordinate(0, 0), gameCards.get(0));
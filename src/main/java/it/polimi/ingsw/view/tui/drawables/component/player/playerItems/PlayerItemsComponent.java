@@ -50,10 +50,10 @@ public class PlayerItemsComponent implements Drawable {
         playerResourcesDrawArea.drawAt(4, 3, "P [Plant]", GameItemEnum.PLANT.getColor());
         playerResourcesDrawArea.drawAt(4, 4, "A [Animal]", GameItemEnum.ANIMAL.getColor());
         playerResourcesDrawArea.drawAt(4, 5, "I [Insect]", GameItemEnum.INSECT.getColor());
-        playerResourcesDrawArea.drawCenteredX(18, 20, 2, new DrawArea(gameItemStore.get(GameItemEnum.FUNGI).toString()));
-        playerResourcesDrawArea.drawCenteredX(18, 20, 3, new DrawArea(gameItemStore.get(GameItemEnum.PLANT).toString()));
-        playerResourcesDrawArea.drawCenteredX(18, 20, 4, new DrawArea(gameItemStore.get(GameItemEnum.ANIMAL).toString()));
-        playerResourcesDrawArea.drawCenteredX(18, 20, 5, new DrawArea(gameItemStore.get(GameItemEnum.INSECT).toString()));
+        playerResourcesDrawArea.drawCenteredX(18, 20, 2, new DrawArea(String.valueOf(gameItemStore.get(GameItemEnum.FUNGI))));
+        playerResourcesDrawArea.drawCenteredX(18, 20, 3, new DrawArea(String.valueOf(gameItemStore.get(GameItemEnum.PLANT))));
+        playerResourcesDrawArea.drawCenteredX(18, 20, 4, new DrawArea(String.valueOf(gameItemStore.get(GameItemEnum.ANIMAL))));
+        playerResourcesDrawArea.drawCenteredX(18, 20, 5, new DrawArea(String.valueOf(gameItemStore.get(GameItemEnum.INSECT))));
         return playerResourcesDrawArea;
     }
 
@@ -80,9 +80,9 @@ public class PlayerItemsComponent implements Drawable {
                 """);
         itemsNameDrawArea.setColor(ColorsEnum.YELLOW);
         playerItemsDrawArea.drawAt(4, 2, itemsNameDrawArea);
-        playerItemsDrawArea.drawCenteredX(22, 24, 2, new DrawArea(gameItemStore.get(GameItemEnum.QUILL).toString()));
-        playerItemsDrawArea.drawCenteredX(22, 24, 3, new DrawArea(gameItemStore.get(GameItemEnum.INKWELL).toString()));
-        playerItemsDrawArea.drawCenteredX(22, 24, 4, new DrawArea(gameItemStore.get(GameItemEnum.MANUSCRIPT).toString()));
+        playerItemsDrawArea.drawCenteredX(22, 24, 2, new DrawArea(String.valueOf(gameItemStore.get(GameItemEnum.QUILL))));
+        playerItemsDrawArea.drawCenteredX(22, 24, 3, new DrawArea(String.valueOf(gameItemStore.get(GameItemEnum.INKWELL))));
+        playerItemsDrawArea.drawCenteredX(22, 24, 4, new DrawArea(String.valueOf(gameItemStore.get(GameItemEnum.MANUSCRIPT))));
         return playerItemsDrawArea;
     }
 
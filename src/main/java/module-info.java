@@ -10,6 +10,7 @@ module it.polimi.ingsw.view.gui {
     requires org.apache.commons.cli;
     requires java.desktop;
     requires org.apache.logging.log4j.core;
+    requires jdk.httpserver;
 
     // Exports
     exports it.polimi.ingsw.view.gui to com.google.gson, java.rmi, javafx.graphics, javafx.fxml;
@@ -27,6 +28,7 @@ module it.polimi.ingsw.view.gui {
     exports it.polimi.ingsw.controller.gameController to com.google.gson, java.rmi, javafx.graphics, javafx.fxml;
     exports it.polimi.ingsw.parsing to com.google.gson, java.rmi, javafx.graphics, javafx.fxml;
     exports it.polimi.ingsw.network to com.google.gson, java.rmi, javafx.graphics, javafx.fxml;
+    exports it.polimi.ingsw.network.codec to com.google.gson, java.rmi, javafx.graphics, javafx.fxml;
     exports it.polimi.ingsw.network.server to com.google.gson, java.rmi, javafx.graphics, javafx.fxml;
     exports it.polimi.ingsw.network.server.actions to com.google.gson, java.rmi, javafx.graphics, javafx.fxml;
     exports it.polimi.ingsw.network.server.message to com.google.gson, java.rmi, javafx.graphics, javafx.fxml;
@@ -78,6 +80,7 @@ module it.polimi.ingsw.view.gui {
     opens it.polimi.ingsw.controller.gameController to com.google.gson, java.rmi, javafx.graphics, javafx.fxml;
     opens it.polimi.ingsw.parsing to com.google.gson, java.rmi, javafx.graphics, javafx.fxml;
     opens it.polimi.ingsw.network to com.google.gson, java.rmi, javafx.graphics, javafx.fxml;
+    opens it.polimi.ingsw.network.codec to com.google.gson, java.rmi, javafx.graphics, javafx.fxml;
     opens it.polimi.ingsw.network.server to com.google.gson, java.rmi, javafx.graphics, javafx.fxml;
     opens it.polimi.ingsw.network.server.actions to com.google.gson, java.rmi, javafx.graphics, javafx.fxml;
     opens it.polimi.ingsw.network.server.message to com.google.gson, java.rmi, javafx.graphics, javafx.fxml;
@@ -144,4 +147,10 @@ module it.polimi.ingsw.view.gui {
     opens it.polimi.ingsw.view.gui.controllers.menu.waitingForPlayer to com.google.gson, java.rmi, javafx.fxml, javafx.graphics;
     exports it.polimi.ingsw.view.gui.controllers.game to com.google.gson, java.rmi, javafx.fxml, javafx.graphics;
     opens it.polimi.ingsw.view.gui.controllers.game to com.google.gson, java.rmi, javafx.fxml, javafx.graphics;
+    exports it.polimi.ingsw.loadtest to com.google.gson, java.rmi, javafx.fxml, javafx.graphics;
+    opens it.polimi.ingsw.loadtest to com.google.gson, java.rmi, javafx.fxml, javafx.graphics;
+    exports it.polimi.ingsw.simulation to com.google.gson, java.rmi, javafx.fxml, javafx.graphics;
+    opens it.polimi.ingsw.simulation to com.google.gson, java.rmi, javafx.fxml, javafx.graphics;
+    exports it.polimi.ingsw.network.server.metrics to com.google.gson, java.rmi, javafx.fxml, javafx.graphics;
+    opens it.polimi.ingsw.network.server.metrics to com.google.gson, java.rmi, javafx.fxml, javafx.graphics;
 }
\ No newline at end of file
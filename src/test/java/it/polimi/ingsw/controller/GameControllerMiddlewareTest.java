@@ -212,6 +212,23 @@ class GameControllerMiddlewareTest {
         assertThrows(IllegalStateException.class, () -> gameControllerMiddleware.switchCardSide("player0", -1));
     }
 
+    @Test
+    @DisplayName("A card flipped to be placed is flipped back when the placement is rejected")
+    void placeFlippedCardRejected() {
+        GameControllerMiddleware realGameController = new GameControllerMiddleware("game", 2, "player0", 42);
+        realGameController.joinGame("player1");
+        Player player = realGameController.getGame().getCurrentPlayer();
+        GameCard starterCard = player.getPlayerBoard().getStarterCard();
+        boolean flipped = starterCard.isFlipped();
+
+        // The starter card must be placed at the center of the board.
+        assertThrows(IllegalArgumentException.class, () -> realGameController.placeCard(player.getPlayerName(), new Coordinate(2, 2), starterCard.getCardId(), true));
+        assertEquals(flipped, starterCard.isFlipped());
+
+        realGameController.placeCard(player.getPlayerName(), new Coordinate(0, 0), starterCard.getCardId(), true);
+        assertEquals(!flipped, starterCard.isFlipped());
+    }
+
     @Test
     @DisplayName("Test if a player's objective can be set only when game status is INIT_CHOOSE_OBJECTIVE_CARD")
     void setPlayerObjective() {
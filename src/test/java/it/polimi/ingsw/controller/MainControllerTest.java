@@ -1,10 +1,13 @@
 package it.polimi.ingsw.controller;
 
 import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.network.server.message.successMessage.GameRecord;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class MainControllerTest {
@@ -61,4 +64,27 @@ class MainControllerTest {
         assertThrows(IllegalStateException.class, () -> mainController.joinGame("gameName", "playerName3"));
         assertThrows(IllegalArgumentException.class, () -> mainController.joinGame("gameName1", "playerName3"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test for getGameRecords() after create, join and delete")
+    void getGameRecords() {
+        mainController.createGame("game1", "playerName", 2);
+        mainController.createGame("game2", "playerName", 3);
+        mainController.createGame("game3", "playerName", 4);
+        mainController.joinGame("game2", "playerName2");
+        assertEquals(List.of(new GameRecord("game1", 1, 2), new GameRecord("game2", 2, 3), new GameRecord("game3", 1, 4)), mainController.getGameRecords());
+
+        mainController.deleteGame("game1");
+        assertEquals(List.of(new GameRecord("game2", 2, 3), new GameRecord("game3", 1, 4)), mainController.getGameRecords());
+
+        // A failed join leaves the records untouched.
+        assertThrows(IllegalArgumentException.class, () -> mainController.joinGame("game2", "playerName2"));
+        assertEquals(new GameRecord("game2", 2, 3), mainController.getGameRecords().getFirst());
+
+        // A player leaving a game that has not started yet is removed from its record.
+        mainController.getGameController("game2").setPlayerConnectionStatus("playerName2", false);
+        mainController.refreshGameRecord("game2");
+        assertEquals(List.of(new GameRecord("game2", 1, 3), new GameRecord("game3", 1, 4)), mainController.getGameRecords());
+        mainController.refreshGameRecord("game1");
+    }
+}
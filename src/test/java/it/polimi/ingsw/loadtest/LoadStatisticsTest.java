@@ -0,0 +1,67 @@
+package it.polimi.ingsw.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoadStatisticsTest {
+
+    @Test
+    @DisplayName("Percentiles are computed with the nearest-rank method")
+    public void percentiles() {
+        LoadStatistics statistics = new LoadStatistics();
+        // Recorded out of order, from 1 to 1000 ms.
+        for (int i = 1000; i >= 1; i--) {
+            statistics.recordLatency(BotActionEnum.PLACE_CARD, i * 1_000_000L);
+        }
+
+        assertEquals(1000, statistics.getCount(BotActionEnum.PLACE_CARD));
+        assertEquals(500_000_000L, statistics.getPercentile(BotActionEnum.PLACE_CARD, 0.5));
+        assertEquals(990_000_000L, statistics.getPercentile(BotActionEnum.PLACE_CARD, 0.99));
+        assertEquals(1_000_000_000L, statistics.getPercentile(BotActionEnum.PLACE_CARD, 1));
+        assertEquals(0, statistics.getPercentile(BotActionEnum.DRAW_CARD, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> statistics.getPercentile(BotActionEnum.PLACE_CARD, 0));
+    }
+
+    @Test
+    @DisplayName("Errors and timeouts are counted for each action and in the report")
+    public void errorsAndTimeouts() {
+        LoadStatistics statistics = new LoadStatistics();
+        statistics.recordLatency(BotActionEnum.DRAW_CARD, 2_000_000L);
+        statistics.recordLatency(BotActionEnum.CHAT, 4_000_000L);
+        statistics.recordError(BotActionEnum.DRAW_CARD);
+        statistics.recordTimeout(BotActionEnum.CHAT);
+        statistics.recordTimeout(BotActionEnum.CHAT);
+
+        assertEquals(1, statistics.getErrors(BotActionEnum.DRAW_CARD));
+        assertEquals(2, statistics.getTimeouts(BotActionEnum.CHAT));
+        assertEquals(2, statistics.getTotalCount());
+
+        String report = statistics.report(Duration.ofSeconds(1));
+        String total = report.lines().filter(line -> line.startsWith("TOTAL")).findFirst().orElseThrow();
+        // 2 round trips in a second, 1 error, 2 timeouts, and the slowest round trip as the maximum.
+        assertTrue(total.matches("TOTAL\\s+2\\s+2\\.0\\s+1\\s+2\\s.*\\s4\\.00"), total);
+    }
+
+    @Test
+    @DisplayName("Tables of a single player are rejected")
+    public void singlePlayerTable() {
+        assertThrows(IllegalArgumentException.class, () -> options(5, 2));
+        assertEquals(5, options(5, 3).bots());
+    }
+
+    /**
+     * Returns the settings of a run with the given number of bots and of players of each game.
+     *
+     * @param bots           the number of bots.
+     * @param playersPerGame the number of players of each game.
+     * @return the settings.
+     */
+    private static LoadTestOptions options(int bots, int playersPerGame) {
+        return new LoadTestOptions("localhost", 12345, 1099, 1100, ProtocolEnum.TCP, false, bots, playersPerGame,
+                Duration.ofSeconds(1), 10, 0, 0, 1000, 1, 0);
+    }
+}
@@ -8,6 +8,7 @@ import org.mockito.Mockito;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -82,6 +83,17 @@ class DeckTest {
         assertThrows(IllegalArgumentException.class, () -> fullDeck.addCard(mockGameCard));
     }
 
+    @Test
+    @DisplayName("Decks shuffled with generators in the same state have the same order")
+    void seededDecksShouldHaveTheSameOrder() {
+        ArrayList<Integer> cards = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            cards.add(i);
+        }
+        Deck<Integer> first = new Deck<>(cards, new SplittableRandom(42));
+        Deck<Integer> second = new Deck<>(cards, new SplittableRandom(42));
+        assertEquals(first.getCards(), second.getCards());
+        assertNotEquals(cards, first.getCards());
+        assertThrows(NullPointerException.class, () -> new Deck<>(cards, null));
+    }
 }
-
-
@@ -335,4 +335,25 @@ class GameTest {
         testGame.choosePlayerColor("Player4", PlayerColorEnum.YELLOW);
         assertEquals(0, testGame.getAvailablePlayerColors().size());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Two games with the same seed deal the same cards")
+    void sameSeedSameCards() {
+        Game first = new Game("TestGame", 2, "Player1", 42);
+        Game second = new Game("TestGame", 2, "Player1", 42);
+        assertEquals(42, first.getSeed());
+        assertTrue(first.isSeeded());
+        assertFalse(testGame.isSeeded());
+        assertEquals(cardIds(first.getGlobalBoard().getResourceDeck().getCards()), cardIds(second.getGlobalBoard().getResourceDeck().getCards()));
+        assertEquals(cardIds(first.getGlobalBoard().getGoldDeck().getCards()), cardIds(second.getGlobalBoard().getGoldDeck().getCards()));
+        assertEquals(cardIds(first.getGlobalBoard().getFieldResourceCards()), cardIds(second.getGlobalBoard().getFieldResourceCards()));
+        assertEquals(first.getPlayers().getFirst().getPlayerBoard().getStarterCard().getCardId(), second.getPlayers().getFirst().getPlayerBoard().getStarterCard().getCardId());
+
+        Game other = new Game("TestGame", 2, "Player1", 43);
+        assertNotEquals(cardIds(first.getGlobalBoard().getResourceDeck().getCards()), cardIds(other.getGlobalBoard().getResourceDeck().getCards()));
+    }
+
+    private List<Integer> cardIds(List<GameCard> cards) {
+        return cards.stream().map(GameCard::getCardId).toList();
+    }
+}
@@ -10,7 +10,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
-import java.util.Optional;
+import java.util.HashMap;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
@@ -43,8 +43,7 @@ public class PositionalObjectiveCardTest {
         positionalData.add(new PositionalData(new Coordinate(0, -2), CardColorEnum.RED));
         positionalData.add(new PositionalData(new Coordinate(1, -3), CardColorEnum.GREEN));
         PositionalObjectiveCard positionalObjectiveCard = new PositionalObjectiveCard(1, 3, positionalData);
-        PlayerBoard playerBoard = mock(PlayerBoard.class);
-        ArrayList<GameCard> gameCards = new ArrayList<>();
+        HashMap<Coordinate, GameCard> board = new HashMap<>();
         GameCard gameCard1 = mock(GameCard.class);
         GameCard gameCard2 = mock(GameCard.class);
         GameCard gameCard3 = mock(GameCard.class);
@@ -58,19 +57,6 @@ public class PositionalObjectiveCardTest {
         GameCard gameCard11 = mock(GameCard.class);
         GameCard gameCard12 = mock(GameCard.class);
         GameCard gameCard13 = mock(GameCard.class);
-        gameCards.add(gameCard1);
-        gameCards.add(gameCard2);
-        gameCards.add(gameCard3);
-        gameCards.add(gameCard4);
-        gameCards.add(gameCard5);
-        gameCards.add(gameCard6);
-        gameCards.add(gameCard7);
-        gameCards.add(gameCard8);
-        gameCards.add(gameCard9);
-        gameCards.add(gameCard10);
-        gameCards.add(gameCard11);
-        gameCards.add(gameCard12);
-        gameCards.add(gameCard13);
         when(gameCard1.getCardColor()).thenReturn(CardColorEnum.NONE);
         when(gameCard2.getCardColor()).thenReturn(CardColorEnum.RED);
         when(gameCard3.getCardColor()).thenReturn(CardColorEnum.RED);
@@ -84,33 +70,21 @@ public class PositionalObjectiveCardTest {
         when(gameCard11.getCardColor()).thenReturn(CardColorEnum.GREEN);
         when(gameCard12.getCardColor()).thenReturn(CardColorEnum.GREEN);
         when(gameCard13.getCardColor()).thenReturn(CardColorEnum.CYAN);
-        when(playerBoard.getGameCards()).thenReturn(gameCards);
-        when(playerBoard.getGameCardPosition(gameCard1)).thenReturn(Optional.of(new Coordinate(0, 0)));
-        when(playerBoard.getGameCardPosition(gameCard2)).thenReturn(Optional.of(new Coordinate(-1, 1)));
-        when(playerBoard.getGameCardPosition(gameCard3)).thenReturn(Optional.of(new Coordinate(-1, 3)));
-        when(playerBoard.getGameCardPosition(gameCard4)).thenReturn(Optional.of(new Coordinate(-1, 5)));
-        when(playerBoard.getGameCardPosition(gameCard5)).thenReturn(Optional.of(new Coordinate(0, 2)));
-        when(playerBoard.getGameCardPosition(gameCard6)).thenReturn(Optional.of(new Coordinate(0, 4)));
-        when(playerBoard.getGameCardPosition(gameCard7)).thenReturn(Optional.of(new Coordinate(1, 1)));
-        when(playerBoard.getGameCardPosition(gameCard8)).thenReturn(Optional.of(new Coordinate(1, 3)));
-        when(playerBoard.getGameCardPosition(gameCard9)).thenReturn(Optional.of(new Coordinate(1, 5)));
-        when(playerBoard.getGameCardPosition(gameCard10)).thenReturn(Optional.of(new Coordinate(1, 7)));
-        when(playerBoard.getGameCardPosition(gameCard11)).thenReturn(Optional.of(new Coordinate(2, 2)));
-        when(playerBoard.getGameCardPosition(gameCard12)).thenReturn(Optional.of(new Coordinate(2, 4)));
-        when(playerBoard.getGameCardPosition(gameCard13)).thenReturn(Optional.of(new Coordinate(2, 6)));
-        when(playerBoard.getGameCard(new Coordinate(0, 0))).thenReturn(Optional.of(gameCard1));
-        when(playerBoard.getGameCard(new Coordinate(-1, 1))).thenReturn(Optional.of(gameCard2));
-        when(playerBoard.getGameCard(new Coordinate(-1, 3))).thenReturn(Optional.of(gameCard3));
-        when(playerBoard.getGameCard(new Coordinate(-1, 5))).thenReturn(Optional.of(gameCard4));
-        when(playerBoard.getGameCard(new Coordinate(0, 2))).thenReturn(Optional.of(gameCard5));
-        when(playerBoard.getGameCard(new Coordinate(0, 4))).thenReturn(Optional.of(gameCard6));
-        when(playerBoard.getGameCard(new Coordinate(1, 1))).thenReturn(Optional.of(gameCard7));
-        when(playerBoard.getGameCard(new Coordinate(1, 3))).thenReturn(Optional.of(gameCard8));
-        when(playerBoard.getGameCard(new Coordinate(1, 5))).thenReturn(Optional.of(gameCard9));
-        when(playerBoard.getGameCard(new Coordinate(1, 7))).thenReturn(Optional.of(gameCard10));
-        when(playerBoard.getGameCard(new Coordinate(2, 2))).thenReturn(Optional.of(gameCard11));
-        when(playerBoard.getGameCard(new Coordinate(2, 4))).thenReturn(Optional.of(gameCard12));
-        when(playerBoard.getGameCard(new Coordinate(2, 6))).thenReturn(Optional.of(gameCard13));
+        board.put(new Coordinate(0, 0), gameCard1);
+        board.put(new Coordinate(-1, 1), gameCard2);
+        board.put(new Coordinate(-1, 3), gameCard3);
+        board.put(new Coordinate(-1, 5), gameCard4);
+        board.put(new Coordinate(0, 2), gameCard5);
+        board.put(new Coordinate(0, 4), gameCard6);
+        board.put(new Coordinate(1, 1), gameCard7);
+        board.put(new Coordinate(1, 3), gameCard8);
+        board.put(new Coordinate(1, 5), gameCard9);
+        board.put(new Coordinate(1, 7), gameCard10);
+        board.put(new Coordinate(2, 2), gameCard11);
+        board.put(new Coordinate(2, 4), gameCard12);
+        board.put(new Coordinate(2, 6), gameCard13);
+        PlayerBoard playerBoard = new PlayerBoard(gameCard1);
+        playerBoard.setPlayerBoard(board);
         assertEquals(6, positionalObjectiveCard.getPoints(playerBoard));
     }
 
@@ -125,8 +99,7 @@ public class PositionalObjectiveCardTest {
         positionalData.add(new PositionalData(new Coordinate(1, -1), CardColorEnum.GREEN));
         positionalData.add(new PositionalData(new Coordinate(2, -2), CardColorEnum.GREEN));
         PositionalObjectiveCard positionalObjectiveCard = new PositionalObjectiveCard(1, 2, positionalData);
-        PlayerBoard playerBoard = mock(PlayerBoard.class);
-        ArrayList<GameCard> gameCards = new ArrayList<>();
+        HashMap<Coordinate, GameCard> board = new HashMap<>();
         GameCard gameCard1 = mock(GameCard.class);
         GameCard gameCard2 = mock(GameCard.class);
         GameCard gameCard3 = mock(GameCard.class);
@@ -141,20 +114,6 @@ public class PositionalObjectiveCardTest {
         GameCard gameCard12 = mock(GameCard.class);
         GameCard gameCard13 = mock(GameCard.class);
         GameCard gameCard14 = mock(GameCard.class);
-        gameCards.add(gameCard1);
-        gameCards.add(gameCard2);
-        gameCards.add(gameCard3);
-        gameCards.add(gameCard4);
-        gameCards.add(gameCard5);
-        gameCards.add(gameCard6);
-        gameCards.add(gameCard7);
-        gameCards.add(gameCard8);
-        gameCards.add(gameCard9);
-        gameCards.add(gameCard10);
-        gameCards.add(gameCard11);
-        gameCards.add(gameCard12);
-        gameCards.add(gameCard13);
-        gameCards.add(gameCard14);
         when(gameCard1.getCardColor()).thenReturn(CardColorEnum.NONE);
         when(gameCard2.getCardColor()).thenReturn(CardColorEnum.RED);
         when(gameCard3.getCardColor()).thenReturn(CardColorEnum.RED);
@@ -169,35 +128,22 @@ public class PositionalObjectiveCardTest {
         when(gameCard12.getCardColor()).thenReturn(CardColorEnum.GREEN);
         when(gameCard13.getCardColor()).thenReturn(CardColorEnum.GREEN);
         when(gameCard14.getCardColor()).thenReturn(CardColorEnum.CYAN);
-        when(playerBoard.getGameCards()).thenReturn(gameCards);
-        when(playerBoard.getGameCardPosition(gameCard1)).thenReturn(Optional.of(new Coordinate(0, 0)));
-        when(playerBoard.getGameCardPosition(gameCard2)).thenReturn(Optional.of(new Coordinate(-1, 1)));
-        when(playerBoard.getGameCardPosition(gameCard3)).thenReturn(Optional.of(new Coordinate(-1, 3)));
-        when(playerBoard.getGameCardPosition(gameCard4)).thenReturn(Optional.of(new Coordinate(-1, 5)));
-        when(playerBoard.getGameCardPosition(gameCard5)).thenReturn(Optional.of(new Coordinate(0, 2)));
-        when(playerBoard.getGameCardPosition(gameCard6)).thenReturn(Optional.of(new Coordinate(0, 4)));
-        when(playerBoard.getGameCardPosition(gameCard7)).thenReturn(Optional.of(new Coordinate(0, 6)));
-        when(playerBoard.getGameCardPosition(gameCard8)).thenReturn(Optional.of(new Coordinate(1, 1)));
-        when(playerBoard.getGameCardPosition(gameCard9)).thenReturn(Optional.of(new Coordinate(1, 3)));
-        when(playerBoard.getGameCardPosition(gameCard10)).thenReturn(Optional.of(new Coordinate(1, 5)));
-        when(playerBoard.getGameCardPosition(gameCard11)).thenReturn(Optional.of(new Coordinate(1, 7)));
-        when(playerBoard.getGameCardPosition(gameCard12)).thenReturn(Optional.of(new Coordinate(2, 2)));
-        when(playerBoard.getGameCardPosition(gameCard13)).thenReturn(Optional.of(new Coordinate(2, 4)));
-        when(playerBoard.getGameCardPosition(gameCard14)).thenReturn(Optional.of(new Coordinate(2, 6)));
-        when(playerBoard.getGameCard(new Coordinate(0, 0))).thenReturn(Optional.of(gameCard1));
-        when(playerBoard.getGameCard(new Coordinate(-1, 1))).thenReturn(Optional.of(gameCard2));
-        when(playerBoard.getGameCard(new Coordinate(-1, 3))).thenReturn(Optional.of(gameCard3));
-        when(playerBoard.getGameCard(new Coordinate(-1, 5))).thenReturn(Optional.of(gameCard4));
-        when(playerBoard.getGameCard(new Coordinate(0, 2))).thenReturn(Optional.of(gameCard5));
-        when(playerBoard.getGameCard(new Coordinate(0, 4))).thenReturn(Optional.of(gameCard6));
-        when(playerBoard.getGameCard(new Coordinate(0, 6))).thenReturn(Optional.of(gameCard7));
-        when(playerBoard.getGameCard(new Coordinate(1, 1))).thenReturn(Optional.of(gameCard8));
-        when(playerBoard.getGameCard(new Coordinate(1, 3))).thenReturn(Optional.of(gameCard9));
-        when(playerBoard.getGameCard(new Coordinate(1, 5))).thenReturn(Optional.of(gameCard10));
-        when(playerBoard.getGameCard(new Coordinate(1, 7))).thenReturn(Optional.of(gameCard11));
-        when(playerBoard.getGameCard(new Coordinate(2, 2))).thenReturn(Optional.of(gameCard12));
-        when(playerBoard.getGameCard(new Coordinate(2, 4))).thenReturn(Optional.of(gameCard13));
-        when(playerBoard.getGameCard(new Coordinate(2, 6))).thenReturn(Optional.of(gameCard14));
+        board.put(new Coordinate(0, 0), gameCard1);
+        board.put(new Coordinate(-1, 1), gameCard2);
+        board.put(new Coordinate(-1, 3), gameCard3);
+        board.put(new Coordinate(-1, 5), gameCard4);
+        board.put(new Coordinate(0, 2), gameCard5);
+        board.put(new Coordinate(0, 4), gameCard6);
+        board.put(new Coordinate(0, 6), gameCard7);
+        board.put(new Coordinate(1, 1), gameCard8);
+        board.put(new Coordinate(1, 3), gameCard9);
+        board.put(new Coordinate(1, 5), gameCard10);
+        board.put(new Coordinate(1, 7), gameCard11);
+        board.put(new Coordinate(2, 2), gameCard12);
+        board.put(new Coordinate(2, 4), gameCard13);
+        board.put(new Coordinate(2, 6), gameCard14);
+        PlayerBoard playerBoard = new PlayerBoard(gameCard1);
+        playerBoard.setPlayerBoard(board);
         assertEquals(4, positionalObjectiveCard.getPoints(playerBoard));
     }
 
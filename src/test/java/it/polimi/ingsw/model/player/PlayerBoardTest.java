@@ -16,6 +16,9 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
@@ -246,4 +249,73 @@ public class PlayerBoardTest {
         assertTrue(playerBoard.getAvailablePositions().contains(new Coordinate(0, -2)));
         assertTrue(playerBoard.getAvailablePositions().contains(new Coordinate(-2, -2)));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("getAvailablePositions is recomputed after the player board is set")
+    public void getAvailablePositionsRecomputedAfterSetPlayerBoard() {
+        Parser p = new Parser();
+        GameCard starterCard = p.getStarterDeck().getCards().stream().filter(c -> c.getCardId() == 84).findFirst().get();
+        PlayerBoard playerBoard = new PlayerBoard(starterCard);
+        placeCard(0, 0, starterCard, playerBoard);
+        assertFalse(playerBoard.getAvailablePositions().contains(new Coordinate(0, 0)));
+
+        playerBoard.setPlayerBoard(new HashMap<>());
+        assertEquals(Set.of(new Coordinate(0, 0)), playerBoard.getAvailablePositions());
+    }
+
+    @Test
+    @DisplayName("getAvailablePositions excludes positions blocked by missing corners")
+    public void getAvailablePositionsExcludesPositionsBlockedByMissingCorners() {
+        PlayerBoard playerBoard = new PlayerBoard(starterCard);
+        placeCard(0, 0, starterCard, playerBoard);
+        placeCard(1, 1, createCardWithoutCorner(), playerBoard);
+
+        assertEquals(Set.of(new Coordinate(-1, 1), new Coordinate(-1, -1), new Coordinate(1, -1)), playerBoard.getAvailablePositions());
+    }
+
+    @Test
+    @DisplayName("getAvailablePositions returns an immutable snapshot refreshed on placement")
+    public void getAvailablePositionsReturnsImmutableSnapshotRefreshedOnPlacement() {
+        PlayerBoard playerBoard = new PlayerBoard(starterCard);
+        placeCard(0, 0, starterCard, playerBoard);
+        Set<Coordinate> snapshot = playerBoard.getAvailablePositions();
+
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(new Coordinate(5, 5)));
+        assertSame(snapshot, playerBoard.getAvailablePositions());
+
+        placeCard(1, 1, resourceCard, playerBoard);
+        assertEquals(4, snapshot.size());
+        assertEquals(6, playerBoard.getAvailablePositions().size());
+        assertFalse(playerBoard.getAvailablePositions().contains(new Coordinate(1, 1)));
+    }
+
+    @Test
+    @DisplayName("setPlayerBoard rebuilds the available positions")
+    public void setPlayerBoardRebuildsAvailablePositions() {
+        HashMap<Coordinate, GameCard> board = new HashMap<>();
+        board.put(new Coordinate(1, 1), createCardWithoutCorner());
+        board.put(new Coordinate(0, 0), starterCard);
+        PlayerBoard playerBoard = new PlayerBoard(starterCard);
+        playerBoard.setPlayerBoard(board);
+
+        assertEquals(Set.of(new Coordinate(-1, 1), new Coordinate(-1, -1), new Coordinate(1, -1)), playerBoard.getAvailablePositions());
+    }
+
+    @Test
+    @DisplayName("Placed cards are indexed by identity and by color")
+    public void placedCardsAreIndexedByIdentityAndColor() {
+        PlayerBoard playerBoard = new PlayerBoard(starterCard);
+        GameCard redCard = new GameCard(4, new FrontGameCard(new Corner(GameItemEnum.NONE), new Corner(GameItemEnum.NONE), new Corner(GameItemEnum.NONE), new Corner(GameItemEnum.NONE), 0), new BackGameCard(null, null, null, null, new GameItemStore()), CardColorEnum.RED);
+        placeCard(0, 0, starterCard, playerBoard);
+        placeCard(1, 1, resourceCard, playerBoard);
+        placeCard(-1, -1, redCard, playerBoard);
+
+        assertEquals(new Coordinate(-1, -1), playerBoard.getGameCardPosition(redCard).orElseThrow());
+        assertTrue(playerBoard.getGameCardPosition(createCardWithCornerItem(GameItemEnum.FUNGI)).isEmpty());
+        assertEquals(List.of(new Coordinate(0, 0), new Coordinate(1, 1)), playerBoard.getCoordinatesByColor(CardColorEnum.GREEN));
+        assertEquals(List.of(new Coordinate(-1, -1)), playerBoard.getCoordinatesByColor(CardColorEnum.RED));
+        assertTrue(playerBoard.getCoordinatesByColor(CardColorEnum.PURPLE).isEmpty());
+        assertSame(redCard, playerBoard.getGameCardAt(-1, -1));
+        assertNull(playerBoard.getGameCardAt(2, 2));
+    }
+}
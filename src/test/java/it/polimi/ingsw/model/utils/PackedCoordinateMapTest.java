@@ -0,0 +1,109 @@
+package it.polimi.ingsw.model.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PackedCoordinateMapTest {
+    private PackedCoordinateMap<String> map;
+
+    @BeforeEach
+    public void setup() {
+        map = new PackedCoordinateMap<>();
+    }
+
+    @Test
+    @DisplayName("Packing and unpacking preserves negative coordinates")
+    public void packingAndUnpackingPreservesNegativeCoordinates() {
+        long packed = PackedCoordinateMap.pack(-3, -7);
+        assertEquals(-3, PackedCoordinateMap.unpackX(packed));
+        assertEquals(-7, PackedCoordinateMap.unpackY(packed));
+        assertNotEquals(PackedCoordinateMap.pack(-3, 7), packed);
+    }
+
+    @Test
+    @DisplayName("Get returns null when the coordinate is empty")
+    public void getReturnsNullWhenCoordinateIsEmpty() {
+        assertNull(map.get(0, 0));
+        assertFalse(map.containsKey(0, 0));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Put stores values and replaces existing ones")
+    public void putStoresValuesAndReplacesExistingOnes() {
+        assertNull(map.put(1, -1, "a"));
+        assertEquals("a", map.put(1, -1, "b"));
+        assertEquals("b", map.get(1, -1));
+        assertEquals("b", map.get(new Coordinate(1, -1)));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    @DisplayName("Put throws exception when value is null")
+    public void putThrowsExceptionWhenValueIsNull() {
+        assertThrows(NullPointerException.class, () -> map.put(0, 0, null));
+    }
+
+    @Test
+    @DisplayName("Map keeps all the entries after resizing")
+    public void mapKeepsAllEntriesAfterResizing() {
+        for (int x = -20; x <= 20; x++) {
+            for (int y = -20; y <= 20; y++) {
+                map.put(x, y, x + "," + y);
+            }
+        }
+        assertEquals(41 * 41, map.size());
+        for (int x = -20; x <= 20; x++) {
+            for (int y = -20; y <= 20; y++) {
+                assertEquals(x + "," + y, map.get(x, y));
+            }
+        }
+        assertFalse(map.containsKey(21, 0));
+    }
+
+    @Test
+    @DisplayName("Conversion to and from HashMap preserves the entries")
+    public void conversionToAndFromHashMapPreservesEntries() {
+        HashMap<Coordinate, String> hashMap = new HashMap<>();
+        hashMap.put(new Coordinate(0, 0), "starter");
+        hashMap.put(new Coordinate(1, 1), "top right");
+        hashMap.put(new Coordinate(-1, -1), "bottom left");
+
+        PackedCoordinateMap<String> packedMap = PackedCoordinateMap.fromMap(hashMap);
+        assertEquals(3, packedMap.size());
+        assertEquals("bottom left", packedMap.get(-1, -1));
+        assertEquals(hashMap, packedMap.toHashMap());
+        assertEquals(3, packedMap.values().size());
+    }
+
+    @Test
+    @DisplayName("Clear removes all the entries")
+    public void clearRemovesAllEntries() {
+        map.put(0, 0, "a");
+        map.put(2, 2, "b");
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(2, 2));
+    }
+
+    @Test
+    @DisplayName("Remove keeps colliding entries reachable")
+    public void removeKeepsCollidingEntriesReachable() {
+        for (int x = 0; x < 200; x++) {
+            map.put(x, -x, Integer.toString(x));
+        }
+        for (int x = 0; x < 200; x += 2) {
+            assertEquals(Integer.toString(x), map.remove(x, -x));
+        }
+        assertNull(map.remove(0, 0));
+        assertEquals(100, map.size());
+        for (int x = 0; x < 200; x++) {
+            assertEquals(x % 2 == 0 ? null : Integer.toString(x), map.get(x, -x));
+        }
+    }
+}
@@ -1,15 +1,16 @@
 package it.polimi.ingsw.model.utils.store;
 
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
 import it.polimi.ingsw.model.card.GameItemEnum;
-import it.polimi.ingsw.model.utils.store.GameItemStore;
+import it.polimi.ingsw.parsing.adapters.GameItemStoreAdapter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashMap;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.*;
 
 public class GameItemStoreTest {
     private GameItemStore gameItemStore;
@@ -47,4 +48,71 @@ public class GameItemStoreTest {
             assertEquals(1, gameItemStore.get(gameItem));
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Add and subtract store update the amounts in place")
+    public void addAndSubtractStoreUpdateAmountsInPlace() {
+        GameItemStore other = new GameItemStore();
+        other.set(GameItemEnum.PLANT, 2);
+        other.set(GameItemEnum.QUILL, 1);
+        gameItemStore.set(GameItemEnum.PLANT, 1);
+
+        gameItemStore.addStore(other);
+        assertEquals(3, gameItemStore.get(GameItemEnum.PLANT));
+        assertEquals(1, gameItemStore.get(GameItemEnum.QUILL));
+
+        gameItemStore.subtractStore(other);
+        assertEquals(1, gameItemStore.get(GameItemEnum.PLANT));
+        assertEquals(0, gameItemStore.get(GameItemEnum.QUILL));
+    }
+
+    @Test
+    @DisplayName("Dominates is true only if every amount is greater than or equal")
+    public void dominatesIsTrueOnlyIfEveryAmountIsGreaterOrEqual() {
+        GameItemStore needed = new GameItemStore();
+        needed.set(GameItemEnum.ANIMAL, 2);
+        needed.set(GameItemEnum.INSECT, 1);
+        gameItemStore.set(GameItemEnum.ANIMAL, 2);
+        assertFalse(gameItemStore.dominates(needed));
+
+        gameItemStore.set(GameItemEnum.INSECT, 3);
+        assertTrue(gameItemStore.dominates(needed));
+        assertTrue(gameItemStore.dominates(GameItemStore.EMPTY));
+        assertFalse(GameItemStore.EMPTY.dominates(gameItemStore));
+    }
+
+    @Test
+    @DisplayName("Immutable store rejects every mutation")
+    public void immutableStoreRejectsEveryMutation() {
+        gameItemStore.set(GameItemEnum.FUNGI, 1);
+        GameItemStore immutable = gameItemStore.asImmutable();
+        assertTrue(immutable.isImmutable());
+        assertSame(immutable, immutable.asImmutable());
+        assertEquals(gameItemStore, immutable);
+
+        assertThrows(UnsupportedOperationException.class, () -> immutable.set(GameItemEnum.FUNGI, 2));
+        assertThrows(UnsupportedOperationException.class, () -> immutable.increment(GameItemEnum.FUNGI, 1));
+        assertThrows(UnsupportedOperationException.class, () -> immutable.addStore(gameItemStore));
+
+        // The immutable store is a copy, so it is not affected by changes to the original one.
+        gameItemStore.set(GameItemEnum.FUNGI, 5);
+        assertEquals(1, immutable.get(GameItemEnum.FUNGI));
+    }
+
+    @Test
+    @DisplayName("Gson keeps the store JSON format")
+    public void gsonKeepsStoreJsonFormat() {
+        Gson gson = new GsonBuilder()
+                .registerTypeAdapter(GameItemStore.class, new GameItemStoreAdapter())
+                .create();
+        gameItemStore.set(GameItemEnum.MANUSCRIPT, 2);
+
+        String json = gson.toJson(gameItemStore);
+        assertEquals("{\"store\":{\"PLANT\":0,\"ANIMAL\":0,\"FUNGI\":0,\"INSECT\":0,\"QUILL\":0,\"INKWELL\":0,\"MANUSCRIPT\":2,\"NONE\":0}}", json);
+        assertEquals(gameItemStore, gson.fromJson(json, GameItemStore.class));
+
+        GameItemStore partial = gson.fromJson("{\"store\":{\"INSECT\":1}}", GameItemStore.class);
+        assertEquals(1, partial.get(GameItemEnum.INSECT));
+        assertEquals(0, partial.get(GameItemEnum.PLANT));
+    }
+}
@@ -10,12 +10,14 @@ import it.polimi.ingsw.network.server.ServerNetworkControllerMapper;
 import it.polimi.ingsw.network.server.message.ServerActionEnum;
 import it.polimi.ingsw.network.server.message.ServerToClientMessage;
 import it.polimi.ingsw.network.server.persistence.Persistence;
+import it.polimi.ingsw.network.virtualView.GameControllerView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -29,7 +31,7 @@ public class ServerNetworkControllerMapperTest {
 
     private HashMap<Integer, HashMap<Integer, Integer>> objectiveCardsIds;
 
-    private HashMap<Integer, HashMap<Integer, HashSet<Coordinate>>> availableCoordinates;
+    private HashMap<Integer, HashMap<Integer, Set<Coordinate>>> availableCoordinates;
 
     private HashMap<Integer, HashMap<Integer, ArrayList<Integer>>> hand;
 
@@ -41,6 +43,8 @@ public class ServerNetworkControllerMapperTest {
 
     private HashMap<Integer, Boolean> gameEnded;
 
+    private final Map<String, GameControllerView> clientViews = new ConcurrentHashMap<>();
+
     private Random random;
 
     private final List<Thread> gameThreads = new ArrayList<>();
@@ -200,21 +204,24 @@ public class ServerNetworkControllerMapperTest {
             if (error.get(Integer.parseInt(gameName)) == null)
                 initHashMap(Integer.parseInt(gameName));
             ServerToClientMessage message = invocation.getArgument(0);
-            if (message.getServerAction().equals(ServerActionEnum.UPDATE_VIEW)) {
+            if (message.getServerAction().equals(ServerActionEnum.UPDATE_VIEW) || message.getServerAction().equals(ServerActionEnum.UPDATE_VIEW_DELTA)) {
+                // The deltas are applied to the last view received by the player, as the client does.
+                GameControllerView view = message.getServerAction().equals(ServerActionEnum.UPDATE_VIEW) ? message.getView() : message.getViewDelta().applyTo(clientViews.get(gameName + ":" + playerName));
+                clientViews.put(gameName + ":" + playerName, view);
                 error.get(Integer.parseInt(gameName)).put(Integer.parseInt(playerName), false);
-                starterCardsIds.get(Integer.parseInt(gameName)).put(Integer.parseInt(playerName), message.getView().getPlayerViewByName(playerName).starterCard().getCardId());
-                objectiveCardsIds.get(Integer.parseInt(gameName)).put(Integer.parseInt(playerName), message.getView().getPlayerViewByName(playerName).choosableObjectives().getFirst().getCardId());
-                availableCoordinates.get(Integer.parseInt(gameName)).put(Integer.parseInt(playerName), message.getView().getPlayerViewByName(playerName).playerBoardView().availablePositions());
-                hand.get(Integer.parseInt(gameName)).put(Integer.parseInt(playerName), message.getView().getPlayerViewByName(playerName).playerHandView().hand().stream().map(GameCard::getCardId).collect(Collectors.toCollection(ArrayList::new)));
-                ArrayList<Integer> fieldCards = message.getView().gameView().globalBoardView().fieldGoldCards().stream().map(GameCard::getCardId).collect(Collectors.toCollection(ArrayList::new));
-                fieldCards.addAll(message.getView().gameView().globalBoardView().fieldResourceCards().stream().map(GameCard::getCardId).collect(Collectors.toCollection(ArrayList::new)));
+                starterCardsIds.get(Integer.parseInt(gameName)).put(Integer.parseInt(playerName), view.getPlayerViewByName(playerName).starterCard().getCardId());
+                objectiveCardsIds.get(Integer.parseInt(gameName)).put(Integer.parseInt(playerName), view.getPlayerViewByName(playerName).choosableObjectives().getFirst().getCardId());
+                availableCoordinates.get(Integer.parseInt(gameName)).put(Integer.parseInt(playerName), view.getPlayerViewByName(playerName).playerBoardView().availablePositions());
+                hand.get(Integer.parseInt(gameName)).put(Integer.parseInt(playerName), view.getPlayerViewByName(playerName).playerHandView().hand().stream().map(GameCard::getCardId).collect(Collectors.toCollection(ArrayList::new)));
+                ArrayList<Integer> fieldCards = view.gameView().globalBoardView().fieldGoldCards().stream().map(GameCard::getCardId).collect(Collectors.toCollection(ArrayList::new));
+                fieldCards.addAll(view.gameView().globalBoardView().fieldResourceCards().stream().map(GameCard::getCardId).collect(Collectors.toCollection(ArrayList::new)));
                 field.put(Integer.parseInt(gameName), fieldCards);
-                isPlayerTurn.get(Integer.parseInt(gameName)).put(Integer.parseInt(playerName), message.getView().isMyTurn(playerName));
-                if (message.getView().gameStatus().equals(GameStatusEnum.GAME_OVER)) {
+                isPlayerTurn.get(Integer.parseInt(gameName)).put(Integer.parseInt(playerName), view.isMyTurn(playerName));
+                if (view.gameStatus().equals(GameStatusEnum.GAME_OVER)) {
                     gameEnded.put(Integer.parseInt(gameName), true);
-                    System.out.println("Game: " + gameName + " ended" + " Winner: " + message.getView().gameView().winners());
+                    System.out.println("Game: " + gameName + " ended" + " Winner: " + view.gameView().winners());
                 }
-                //System.out.println("Game: " + gameName + " Player: " + playerName + " Message: " + message + " Points: " + message.getView().getPlayerViewByName(playerName).playerPos());
+                //System.out.println("Game: " + gameName + " Player: " + playerName + " Message: " + message + " Points: " + view.getPlayerViewByName(playerName).playerPos());
             }
             if (message.getServerAction().equals(ServerActionEnum.ERROR_MSG)) {
                 error.get(Integer.parseInt(gameName)).put(Integer.parseInt(playerName), true);
@@ -223,7 +230,7 @@ public class ServerNetworkControllerMapperTest {
             // Qui puoi definire il tuo comportamento personalizzato per il metodo sendMessage.
             // Ad esempio, potresti stampare il messaggio:
             //System.out.println("Game: " + gameName + " Player:" + playerName + " Message: " + message);
-            return null; // dal momento che il metodo è void, ritorniamo null
+            return true; // il messaggio è sempre inviato
         }).when(serverMessageHandler).sendMessage(Mockito.any(ServerToClientMessage.class));
 
         return serverMessageHandler;
@@ -0,0 +1,123 @@
+package it.polimi.ingsw.network;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.beans.PropertyChangeEvent;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TCPConnectionHandlerTest {
+
+    private TCPConnectionHandler serverHandler;
+    private TCPConnectionHandler clientHandler;
+    private Socket clientSocket;
+    private Socket acceptedSocket;
+    private final BlockingQueue<PropertyChangeEvent> serverEvents = new LinkedBlockingQueue<>();
+    private final BlockingQueue<PropertyChangeEvent> clientEvents = new LinkedBlockingQueue<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        try (ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            clientSocket = new Socket(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort());
+            acceptedSocket = serverSocket.accept();
+            serverHandler = new TCPConnectionHandler(acceptedSocket, Runnable::run);
+            clientHandler = new TCPConnectionHandler(clientSocket, Runnable::run);
+        }
+        serverHandler.addPropertyChangeListener(serverEvents::add);
+        clientHandler.addPropertyChangeListener(clientEvents::add);
+        serverHandler.start();
+        clientHandler.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        clientHandler.closeConnection();
+        serverHandler.closeConnection();
+    }
+
+    private PropertyChangeEvent nextEvent(BlockingQueue<PropertyChangeEvent> events) throws InterruptedException {
+        PropertyChangeEvent event = events.poll(5, TimeUnit.SECONDS);
+        assertNotNull(event);
+        return event;
+    }
+
+    @Test
+    @DisplayName("Without negotiation the messages are exchanged as JSON lines")
+    public void jsonLinesByDefault() throws Exception {
+        clientHandler.send("{\"message\":\"àèìòù\"}");
+        PropertyChangeEvent event = nextEvent(serverEvents);
+        assertEquals("MESSAGE_RECEIVED", event.getPropertyName());
+        assertEquals("{\"message\":\"àèìòù\"}", event.getNewValue());
+
+        assertFalse(serverHandler.isBinaryCodecEnabled());
+        assertThrows(IllegalStateException.class, () -> serverHandler.sendBinary(new byte[]{1, 2, 3}));
+    }
+
+    @Test
+    @DisplayName("After the negotiation binary and JSON messages are exchanged as frames")
+    public void framesAfterNegotiation() throws Exception {
+        clientHandler.requestBinaryCodec();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!(clientHandler.isBinaryCodecEnabled() && serverHandler.isBinaryCodecEnabled()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(serverHandler.isBinaryCodecEnabled());
+        assertTrue(clientHandler.isBinaryCodecEnabled());
+
+        // A frame longer than 127 bytes has a length of more than one byte.
+        byte[] payload = new byte[300];
+        for (int i = 0; i < payload.length; i++) {
+            payload[i] = (byte) i;
+        }
+        serverHandler.sendBinary(payload);
+        PropertyChangeEvent event = nextEvent(clientEvents);
+        assertEquals("FRAME_RECEIVED", event.getPropertyName());
+        assertArrayEquals(payload, (byte[]) event.getNewValue());
+
+        serverHandler.send("{\"server\":true}");
+        event = nextEvent(clientEvents);
+        assertEquals("MESSAGE_RECEIVED", event.getPropertyName());
+        assertEquals("{\"server\":true}", event.getNewValue());
+
+        clientHandler.send("{\"client\":true}\n");
+        event = nextEvent(serverEvents);
+        assertEquals("MESSAGE_RECEIVED", event.getPropertyName());
+        assertEquals("{\"client\":true}\n", event.getNewValue());
+    }
+
+    @Test
+    @DisplayName("Messages larger than the output buffer are received whole, with Nagle's algorithm disabled on both ends")
+    public void largeMessages() throws Exception {
+        assertTrue(clientSocket.getTcpNoDelay());
+        assertTrue(acceptedSocket.getTcpNoDelay());
+
+        String message = "{\"message\":\"" + "x".repeat(20000) + "\"}";
+        serverHandler.send(message);
+        PropertyChangeEvent event = nextEvent(clientEvents);
+        assertEquals("MESSAGE_RECEIVED", event.getPropertyName());
+        assertEquals(message, event.getNewValue());
+
+        clientHandler.requestBinaryCodec();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!(clientHandler.isBinaryCodecEnabled() && serverHandler.isBinaryCodecEnabled()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        byte[] payload = new byte[20000];
+        Arrays.fill(payload, (byte) 7);
+        serverHandler.sendBinary(payload);
+        event = nextEvent(clientEvents);
+        assertEquals("FRAME_RECEIVED", event.getPropertyName());
+        assertArrayEquals(payload, (byte[]) event.getNewValue());
+    }
+}
@@ -22,6 +22,7 @@ import it.polimi.ingsw.network.client.message.mainController.DeleteGameClientToS
 import it.polimi.ingsw.network.client.message.mainController.GetGamesClientToServerMessage;
 import it.polimi.ingsw.network.client.message.mainController.JoinGameClientToServerMessage;
 import it.polimi.ingsw.network.server.message.adapter.ClientToServerMessageAdapter;
+import it.polimi.ingsw.parsing.adapters.GameItemStoreAdapter;
 import it.polimi.ingsw.parsing.adapters.ObjectiveCardAdapter;
 import it.polimi.ingsw.parsing.adapters.SideGameCardAdapter;
 import org.junit.jupiter.api.DisplayName;
@@ -35,6 +36,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 public class ClientToServerMessageAdapterTest {
     Gson gson = new GsonBuilder()
             .registerTypeAdapter(SideGameCard.class, new SideGameCardAdapter())
+            .registerTypeAdapter(GameItemStore.class, new GameItemStoreAdapter())
             .registerTypeAdapter(ObjectiveCard.class, new ObjectiveCardAdapter())
             .registerTypeAdapter(ClientToServerMessage.class, new ClientToServerMessageAdapter())
             .create();
@@ -0,0 +1,146 @@
+package it.polimi.ingsw.network.codec;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import it.polimi.ingsw.controller.MainController;
+import it.polimi.ingsw.controller.gameController.GameControllerMiddleware;
+import it.polimi.ingsw.model.card.corner.Corner;
+import it.polimi.ingsw.model.card.corner.CornerPosition;
+import it.polimi.ingsw.model.card.gameCard.GameCard;
+import it.polimi.ingsw.model.card.gameCard.SerializableBooleanProperty;
+import it.polimi.ingsw.model.card.gameCard.SideGameCard;
+import it.polimi.ingsw.model.card.objectiveCard.ObjectiveCard;
+import it.polimi.ingsw.model.player.PlayerColorEnum;
+import it.polimi.ingsw.model.utils.Coordinate;
+import it.polimi.ingsw.model.utils.store.GameItemStore;
+import it.polimi.ingsw.network.server.ViewDeltaTracker;
+import it.polimi.ingsw.network.server.message.ChatServerToClientMessage;
+import it.polimi.ingsw.network.server.message.ErrorServerToClientMessage;
+import it.polimi.ingsw.network.server.message.ServerToClientMessage;
+import it.polimi.ingsw.network.server.message.successMessage.*;
+import it.polimi.ingsw.network.virtualView.GameControllerView;
+import it.polimi.ingsw.network.virtualView.GameControllerViewDelta;
+import it.polimi.ingsw.network.virtualView.PlayerView;
+import it.polimi.ingsw.parsing.adapters.GameItemStoreAdapter;
+import it.polimi.ingsw.parsing.adapters.ObjectiveCardAdapter;
+import it.polimi.ingsw.parsing.adapters.SerializableBooleanPropertyAdapter;
+import it.polimi.ingsw.parsing.adapters.SideGameCardAdapter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryMessageCodecTest {
+
+    private final Gson gson = new GsonBuilder()
+            .enableComplexMapKeySerialization()
+            .registerTypeAdapter(SideGameCard.class, new SideGameCardAdapter())
+            .registerTypeAdapter(GameItemStore.class, new GameItemStoreAdapter())
+            .registerTypeAdapter(ObjectiveCard.class, new ObjectiveCardAdapter())
+            .registerTypeAdapter(SerializableBooleanProperty.class, new SerializableBooleanPropertyAdapter())
+            .create();
+
+    private MainController mainController;
+
+    @BeforeEach
+    void setUp() {
+        mainController = new MainController();
+        mainController.createGame("gameName", "playerName", 2);
+        mainController.joinGame("gameName", "playerName2");
+    }
+
+    /**
+     * Plays the game until the first card of the first player is placed, flipped, next to the starter card.
+     */
+    private void playFirstCard() {
+        GameControllerMiddleware gameController = mainController.getGameController("gameName");
+        // Each player places the starter card and chooses the color and the objective in turn.
+        for (PlayerColorEnum playerColor : List.of(PlayerColorEnum.RED, PlayerColorEnum.BLUE)) {
+            String playerName = mainController.getVirtualView("gameName").gameView().currentPlayer();
+            GameCard starterCard = mainController.getVirtualView("gameName").getPlayerViewByName(playerName).starterCard();
+            gameController.placeCard(playerName, new Coordinate(0, 0), starterCard.getCardId());
+            gameController.choosePlayerColor(playerName, playerColor);
+            PlayerView playerView = mainController.getVirtualView("gameName").getPlayerViewByName(playerName);
+            gameController.setPlayerObjective(playerName, playerView.choosableObjectives().getFirst().getCardId());
+        }
+        String currentPlayer = mainController.getVirtualView("gameName").gameView().currentPlayer();
+        PlayerView playerView = mainController.getVirtualView("gameName").getPlayerViewByName(currentPlayer);
+        GameCard card = playerView.playerHandView().hand().getFirst();
+        gameController.switchCardSide(currentPlayer, card.getCardId());
+        Coordinate position = playerView.playerBoardView().availablePositions().iterator().next();
+        gameController.placeCard(currentPlayer, position, card.getCardId());
+    }
+
+    private ServerToClientMessage roundTrip(ServerToClientMessage message) {
+        return BinaryMessageCodec.decode(BinaryMessageCodec.encode(message));
+    }
+
+    @Test
+    @DisplayName("A view is decoded equal to the encoded one, including the state of the cards")
+    public void viewRoundTrip() {
+        playFirstCard();
+        GameControllerView view = mainController.getVirtualView("gameName");
+        // The starter card of the current player has a covered corner.
+        PlayerView currentPlayerView = view.getPlayerViewByName(view.gameView().currentPlayer());
+        assertTrue(currentPlayerView.playerBoardView().playerBoard().values().stream().anyMatch(card ->
+                Arrays.stream(CornerPosition.values()).anyMatch(position -> card.getCorner(position).map(Corner::isCovered).orElse(false))));
+
+        ServerToClientMessage decoded = roundTrip(new UpdateViewServerToClientMessage(view, 42));
+        assertEquals(42, decoded.getViewVersion());
+        assertEquals(view, decoded.getView());
+        // The equality of the cards does not consider the placement index, so the JSON encodings are compared too.
+        assertEquals(gson.toJson(view), gson.toJson(decoded.getView()));
+    }
+
+    @Test
+    @DisplayName("A delta is decoded equal to the encoded one")
+    public void deltaRoundTrip() {
+        ViewDeltaTracker viewDeltaTracker = new ViewDeltaTracker();
+        GameControllerView firstView = gson.fromJson(gson.toJson(mainController.getVirtualView("gameName")), GameControllerView.class);
+        viewDeltaTracker.update(mainController.getVirtualView("gameName"));
+        playFirstCard();
+        GameControllerViewDelta viewDelta = viewDeltaTracker.update(mainController.getVirtualView("gameName"));
+
+        ServerToClientMessage decoded = roundTrip(new UpdateViewDeltaServerToClientMessage(viewDelta));
+        assertEquals(viewDelta, decoded.getViewDelta());
+        assertEquals(mainController.getVirtualView("gameName"), decoded.getViewDelta().applyTo(firstView));
+    }
+
+    @Test
+    @DisplayName("The other messages are decoded equal to the encoded ones")
+    public void otherMessagesRoundTrip() {
+        ArrayList<GameRecord> games = new ArrayList<>(List.of(new GameRecord("gameName", 1, 2), new GameRecord("àèìòù", 3, 4)));
+        assertEquals(games, roundTrip(new GetGamesServerToClientMessage(games)).getGames());
+        assertEquals(new ErrorServerToClientMessage("Error"), roundTrip(new ErrorServerToClientMessage("Error")));
+        assertEquals(new DeleteGameServerToClientMessage(), roundTrip(new DeleteGameServerToClientMessage()));
+
+        ServerToClientMessage chatMessage = roundTrip(new ChatServerToClientMessage("sender", "message", 1717171717171L, true));
+        assertEquals("sender", chatMessage.getPlayerName());
+        assertEquals("message", chatMessage.getChatMessage());
+        assertEquals(1717171717171L, chatMessage.getTimestamp());
+        assertTrue(chatMessage.isDirectMessage());
+    }
+
+    @Test
+    @DisplayName("The binary encoding of a view is smaller than the JSON one")
+    public void binaryIsSmallerThanJson() {
+        playFirstCard();
+        ServerToClientMessage message = new UpdateViewServerToClientMessage(mainController.getVirtualView("gameName"), 1);
+        assertTrue(message.encodeBinary().length * 10 < gson.toJson(message).length());
+        assertSame(message.encodeBinary(), message.encodeBinary());
+    }
+
+    @Test
+    @DisplayName("Malformed messages are rejected")
+    public void malformedMessages() {
+        byte[] encoded = BinaryMessageCodec.encode(new ErrorServerToClientMessage("Error"));
+        assertThrows(IllegalArgumentException.class, () -> BinaryMessageCodec.decode(new byte[0]));
+        assertThrows(IllegalArgumentException.class, () -> BinaryMessageCodec.decode(Arrays.copyOf(encoded, encoded.length - 1)));
+        assertThrows(IllegalArgumentException.class, () -> BinaryMessageCodec.decode(Arrays.copyOf(encoded, encoded.length + 1)));
+    }
+}
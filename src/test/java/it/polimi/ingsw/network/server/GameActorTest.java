@@ -0,0 +1,89 @@
+package it.polimi.ingsw.network.server;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameActorTest {
+
+    @Test
+    @DisplayName("Commands are executed one at a time in the order they were enqueued")
+    public void commandsAreExecutedInOrder() throws InterruptedException {
+        GameActor actor = new GameActor("game");
+        List<Integer> executed = new ArrayList<>();
+        AtomicInteger running = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1000);
+
+        for (int i = 0; i < 1000; i++) {
+            int command = i;
+            actor.execute(() -> {
+                assertEquals(1, running.incrementAndGet());
+                executed.add(command);
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, executed.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("A failing command does not stop the next ones")
+    public void failingCommandDoesNotStopNextOnes() throws InterruptedException {
+        GameActor actor = new GameActor("game");
+        CountDownLatch done = new CountDownLatch(1);
+
+        actor.execute(() -> {
+            throw new IllegalStateException("failure");
+        });
+        actor.execute(done::countDown);
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("A command throwing an error does not leave the mailbox stuck")
+    public void errorDoesNotStopMailbox() throws InterruptedException {
+        GameActor actor = new GameActor("game");
+        CountDownLatch done = new CountDownLatch(2);
+
+        actor.execute(() -> {
+            throw new AssertionError("failure");
+        });
+        actor.execute(done::countDown);
+        assertTrue(waitUntil(() -> done.getCount() == 1));
+        // The mailbox is drained again when a command is enqueued after the error.
+        actor.execute(done::countDown);
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Waits until a condition holds, for at most 10 seconds.
+     *
+     * @param condition the condition
+     * @return true if the condition holds, false if the time ran out
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    private static boolean waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,240 @@
+package it.polimi.ingsw.network.server;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import it.polimi.ingsw.controller.MainController;
+import it.polimi.ingsw.model.card.gameCard.GameCard;
+import it.polimi.ingsw.model.card.gameCard.SerializableBooleanProperty;
+import it.polimi.ingsw.model.card.gameCard.SideGameCard;
+import it.polimi.ingsw.model.card.objectiveCard.ObjectiveCard;
+import it.polimi.ingsw.model.player.PlayerColorEnum;
+import it.polimi.ingsw.model.utils.Coordinate;
+import it.polimi.ingsw.model.utils.store.GameItemStore;
+import it.polimi.ingsw.network.client.ClientMessageHandler;
+import it.polimi.ingsw.network.client.ClientNetworkControllerMapper;
+import it.polimi.ingsw.network.client.message.ClientToServerMessage;
+import it.polimi.ingsw.network.client.message.PlayerActionEnum;
+import it.polimi.ingsw.network.client.message.adapter.ServerToClientMessageAdapter;
+import it.polimi.ingsw.network.server.message.ServerActionEnum;
+import it.polimi.ingsw.network.server.message.ServerToClientMessage;
+import it.polimi.ingsw.network.virtualView.GameControllerView;
+import it.polimi.ingsw.network.virtualView.GameControllerViewDelta;
+import it.polimi.ingsw.network.virtualView.PlayerViewDelta;
+import it.polimi.ingsw.parsing.adapters.GameItemStoreAdapter;
+import it.polimi.ingsw.parsing.adapters.ObjectiveCardAdapter;
+import it.polimi.ingsw.parsing.adapters.SerializableBooleanPropertyAdapter;
+import it.polimi.ingsw.parsing.adapters.SideGameCardAdapter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ViewDeltaTrackerTest {
+
+    private final Gson gson = new GsonBuilder()
+            .enableComplexMapKeySerialization()
+            .registerTypeAdapter(SideGameCard.class, new SideGameCardAdapter())
+            .registerTypeAdapter(GameItemStore.class, new GameItemStoreAdapter())
+            .registerTypeAdapter(ObjectiveCard.class, new ObjectiveCardAdapter())
+            .registerTypeAdapter(ServerToClientMessage.class, new ServerToClientMessageAdapter())
+            .registerTypeAdapter(SerializableBooleanProperty.class, new SerializableBooleanPropertyAdapter())
+            .create();
+
+    private MainController mainController;
+
+    @BeforeEach
+    void setUp() {
+        mainController = new MainController();
+        mainController.createGame("gameName", "playerName", 2);
+        mainController.joinGame("gameName", "playerName2");
+    }
+
+    /**
+     * Copies a view through its JSON representation, as it would be received by a client.
+     * The views produced by the model share their mutable objects with it, so they cannot be compared after the model changes.
+     */
+    private GameControllerView receivedView(GameControllerView view) {
+        return gson.fromJson(gson.toJson(view), GameControllerView.class);
+    }
+
+    /**
+     * Creates a connection that sends all its messages.
+     */
+    private ServerMessageHandler connection() {
+        ServerMessageHandler messageHandler = Mockito.mock(ServerMessageHandler.class);
+        Mockito.when(messageHandler.sendMessage(Mockito.any())).thenReturn(true);
+        return messageHandler;
+    }
+
+    private void placeStarterCard(String playerName) {
+        GameCard starterCard = mainController.getVirtualView("gameName").getPlayerViewByName(playerName).starterCard();
+        mainController.getGameController("gameName").placeCard(playerName, new Coordinate(0, 0), starterCard.getCardId());
+    }
+
+    @Test
+    @DisplayName("The first view and a change of the players cannot be sent as a delta")
+    public void firstViewAndPlayersChangeAreNotDeltas() {
+        ViewDeltaTracker viewDeltaTracker = new ViewDeltaTracker();
+        assertNull(viewDeltaTracker.update(mainController.getVirtualView("gameName")));
+        assertEquals(1, viewDeltaTracker.getVersion());
+
+        MainController otherMainController = new MainController();
+        otherMainController.createGame("gameName", "playerName", 2);
+        assertNull(viewDeltaTracker.update(otherMainController.getVirtualView("gameName")));
+        assertEquals(2, viewDeltaTracker.getVersion());
+    }
+
+    @Test
+    @DisplayName("A delta only contains the changed parts of the view")
+    public void deltaContainsOnlyChanges() {
+        ViewDeltaTracker viewDeltaTracker = new ViewDeltaTracker();
+        viewDeltaTracker.update(mainController.getVirtualView("gameName"));
+
+        GameCard starterCard = mainController.getVirtualView("gameName").getPlayerViewByName("playerName").starterCard();
+        mainController.getGameController("gameName").switchCardSide("playerName", starterCard.getCardId());
+        GameControllerViewDelta viewDelta = viewDeltaTracker.update(mainController.getVirtualView("gameName"));
+
+        assertNotNull(viewDelta);
+        assertEquals(1, viewDelta.baseVersion());
+        assertEquals(2, viewDelta.version());
+        assertNull(viewDelta.globalBoardView());
+        assertEquals(1, viewDelta.playerViewDeltas().size());
+        PlayerViewDelta playerViewDelta = viewDelta.playerViewDeltas().getFirst();
+        assertEquals("playerName", playerViewDelta.playerName());
+        assertTrue(playerViewDelta.starterCard().isFlipped());
+        assertNull(playerViewDelta.playerHandView());
+        assertNull(playerViewDelta.placedCards());
+    }
+
+    @Test
+    @DisplayName("A delta applied to the previous view produces the updated view")
+    public void deltaProducesUpdatedView() {
+        ViewDeltaTracker viewDeltaTracker = new ViewDeltaTracker();
+        GameControllerView firstView = mainController.getVirtualView("gameName");
+        viewDeltaTracker.update(firstView);
+        GameControllerView clientView = receivedView(firstView);
+
+        placeStarterCard("playerName");
+        GameControllerView updatedView = mainController.getVirtualView("gameName");
+        GameControllerViewDelta viewDelta = viewDeltaTracker.update(updatedView);
+
+        assertNotNull(viewDelta);
+        PlayerViewDelta playerViewDelta = viewDelta.playerViewDeltas().stream().filter(delta -> delta.playerName().equals("playerName")).findFirst().orElseThrow();
+        assertEquals(List.of(new Coordinate(0, 0)), List.copyOf(playerViewDelta.placedCards().keySet()));
+
+        GameControllerView appliedView = viewDelta.applyTo(clientView);
+        assertEquals(updatedView, appliedView);
+        assertEquals(updatedView.getPlayerViewByName("playerName").playerBoardView().availablePositions(),
+                appliedView.getPlayerViewByName("playerName").playerBoardView().availablePositions());
+        // The previous view is not modified.
+        assertTrue(clientView.getPlayerViewByName("playerName").playerBoardView().playerBoard().isEmpty());
+    }
+
+    @Test
+    @DisplayName("A connection receives the full view when it joins and then only the deltas")
+    public void connectionsReceiveFullViewThenDeltas() {
+        MainController otherMainController = new MainController();
+        ServerNetworkControllerMapper serverNetworkControllerMapper = new ServerNetworkControllerMapper(otherMainController);
+        ServerMessageHandler firstHandler = connection();
+        ServerMessageHandler secondHandler = connection();
+        serverNetworkControllerMapper.createGame(firstHandler, "otherGame", "playerName", 2);
+        serverNetworkControllerMapper.joinGame(secondHandler, "otherGame", "playerName2");
+        GameControllerView clientView = receivedView(otherMainController.getVirtualView("otherGame"));
+
+        GameCard starterCard = clientView.getPlayerViewByName("playerName").starterCard();
+        serverNetworkControllerMapper.placeCard("otherGame", "playerName", new Coordinate(0, 0), starterCard.getCardId(), false);
+
+        ArgumentCaptor<ServerToClientMessage> firstMessages = ArgumentCaptor.forClass(ServerToClientMessage.class);
+        Mockito.verify(firstHandler, Mockito.times(3)).sendMessage(firstMessages.capture());
+        ArgumentCaptor<ServerToClientMessage> secondMessages = ArgumentCaptor.forClass(ServerToClientMessage.class);
+        Mockito.verify(secondHandler, Mockito.times(2)).sendMessage(secondMessages.capture());
+
+        // The creation and the join change the players, so the full view is sent.
+        assertEquals(ServerActionEnum.UPDATE_VIEW, firstMessages.getAllValues().get(0).getServerAction());
+        assertEquals(1, firstMessages.getAllValues().get(0).getViewVersion());
+        assertEquals(ServerActionEnum.UPDATE_VIEW, firstMessages.getAllValues().get(1).getServerAction());
+        assertEquals(ServerActionEnum.UPDATE_VIEW, secondMessages.getAllValues().get(0).getServerAction());
+        assertEquals(2, secondMessages.getAllValues().get(0).getViewVersion());
+
+        // The placement only changes the board of a player, so the delta is sent to both connections.
+        ServerToClientMessage deltaMessage = secondMessages.getAllValues().get(1);
+        assertSame(deltaMessage, firstMessages.getAllValues().get(2));
+        assertEquals(ServerActionEnum.UPDATE_VIEW_DELTA, deltaMessage.getServerAction());
+
+        // The delta is applied by the client after being serialized.
+        ServerToClientMessage receivedDeltaMessage = gson.fromJson(gson.toJson(deltaMessage), ServerToClientMessage.class);
+        assertEquals(3, receivedDeltaMessage.getViewVersion());
+        assertEquals(2, receivedDeltaMessage.getViewDelta().baseVersion());
+        assertEquals(otherMainController.getVirtualView("otherGame"), receivedDeltaMessage.getViewDelta().applyTo(clientView));
+    }
+
+    @Test
+    @DisplayName("A client that cannot apply a delta requests the full view once, and the server sends it with the current version")
+    public void outOfSyncClientRequestsFullView() {
+        MainController otherMainController = new MainController();
+        ServerNetworkControllerMapper serverNetworkControllerMapper = new ServerNetworkControllerMapper(otherMainController);
+        ServerMessageHandler firstHandler = connection();
+        ServerMessageHandler secondHandler = connection();
+        serverNetworkControllerMapper.createGame(firstHandler, "otherGame", "playerName", 2);
+        serverNetworkControllerMapper.joinGame(secondHandler, "otherGame", "playerName2");
+        GameControllerView clientView = receivedView(otherMainController.getVirtualView("otherGame"));
+        GameCard starterCard = clientView.getPlayerViewByName("playerName").starterCard();
+        serverNetworkControllerMapper.placeCard("otherGame", "playerName", new Coordinate(0, 0), starterCard.getCardId(), false);
+        ArgumentCaptor<ServerToClientMessage> serverMessages = ArgumentCaptor.forClass(ServerToClientMessage.class);
+        Mockito.verify(secondHandler, Mockito.times(2)).sendMessage(serverMessages.capture());
+        GameControllerViewDelta viewDelta = serverMessages.getAllValues().get(1).getViewDelta();
+
+        // The client missed the view of version 2, so it cannot apply the delta based on it, nor any later one.
+        ClientNetworkControllerMapper clientNetworkControllerMapper = new ClientNetworkControllerMapper();
+        ClientMessageHandler clientMessageHandler = Mockito.mock(ClientMessageHandler.class);
+        clientNetworkControllerMapper.setMessageHandler(clientMessageHandler);
+        clientNetworkControllerMapper.joinGame("otherGame", "playerName2");
+        clientNetworkControllerMapper.receiveUpdatedView(clientView, 1);
+        clientNetworkControllerMapper.receiveUpdatedViewDelta(viewDelta);
+        clientNetworkControllerMapper.receiveUpdatedViewDelta(viewDelta);
+        ArgumentCaptor<ClientToServerMessage> clientMessages = ArgumentCaptor.forClass(ClientToServerMessage.class);
+        Mockito.verify(clientMessageHandler, Mockito.times(2)).sendMessage(clientMessages.capture());
+        assertEquals(PlayerActionEnum.REQUEST_VIEW, clientMessages.getAllValues().get(1).getPlayerAction());
+        assertEquals("playerName2", clientMessages.getAllValues().get(1).getPlayerName());
+
+        serverNetworkControllerMapper.requestView("otherGame", "playerName2");
+        Mockito.verify(secondHandler, Mockito.times(3)).sendMessage(serverMessages.capture());
+        ServerToClientMessage fullMessage = serverMessages.getAllValues().getLast();
+        assertEquals(ServerActionEnum.UPDATE_VIEW, fullMessage.getServerAction());
+        assertEquals(3, fullMessage.getViewVersion());
+        clientNetworkControllerMapper.receiveUpdatedView(receivedView(fullMessage.getView()), fullMessage.getViewVersion());
+        assertEquals(otherMainController.getVirtualView("otherGame"), clientNetworkControllerMapper.getView());
+    }
+
+    @Test
+    @DisplayName("A connection that failed to send a view gets the full view next time")
+    public void failedSendResetsConnection() {
+        MainController otherMainController = new MainController();
+        ServerNetworkControllerMapper serverNetworkControllerMapper = new ServerNetworkControllerMapper(otherMainController);
+        ServerMessageHandler firstHandler = connection();
+        ServerMessageHandler secondHandler = connection();
+        serverNetworkControllerMapper.createGame(firstHandler, "otherGame", "playerName", 2);
+        serverNetworkControllerMapper.joinGame(secondHandler, "otherGame", "playerName2");
+        GameControllerView clientView = receivedView(otherMainController.getVirtualView("otherGame"));
+
+        // The placement is not sent to the second connection, so the change of color that follows cannot be sent to it as a delta.
+        Mockito.doReturn(false).when(secondHandler).sendMessage(Mockito.any());
+        GameCard starterCard = clientView.getPlayerViewByName("playerName").starterCard();
+        serverNetworkControllerMapper.placeCard("otherGame", "playerName", new Coordinate(0, 0), starterCard.getCardId(), false);
+        Mockito.doReturn(true).when(secondHandler).sendMessage(Mockito.any());
+        serverNetworkControllerMapper.choosePlayerColor("otherGame", "playerName", PlayerColorEnum.RED);
+
+        ArgumentCaptor<ServerToClientMessage> firstMessages = ArgumentCaptor.forClass(ServerToClientMessage.class);
+        Mockito.verify(firstHandler, Mockito.times(4)).sendMessage(firstMessages.capture());
+        ArgumentCaptor<ServerToClientMessage> secondMessages = ArgumentCaptor.forClass(ServerToClientMessage.class);
+        Mockito.verify(secondHandler, Mockito.times(3)).sendMessage(secondMessages.capture());
+        assertEquals(ServerActionEnum.UPDATE_VIEW_DELTA, firstMessages.getAllValues().get(3).getServerAction());
+        assertEquals(ServerActionEnum.UPDATE_VIEW, secondMessages.getAllValues().get(2).getServerAction());
+        assertEquals(4, secondMessages.getAllValues().get(2).getViewVersion());
+    }
+}
@@ -9,22 +9,26 @@ import it.polimi.ingsw.model.card.gameCard.SerializableBooleanProperty;
 import it.polimi.ingsw.model.card.gameCard.SideGameCard;
 import it.polimi.ingsw.model.card.objectiveCard.ObjectiveCard;
 import it.polimi.ingsw.model.utils.Coordinate;
+import it.polimi.ingsw.model.utils.store.GameItemStore;
 import it.polimi.ingsw.network.client.message.adapter.ServerToClientMessageAdapter;
 import it.polimi.ingsw.network.server.message.successMessage.DeleteGameServerToClientMessage;
 import it.polimi.ingsw.network.server.message.successMessage.GameRecord;
 import it.polimi.ingsw.network.server.message.successMessage.GetGamesServerToClientMessage;
 import it.polimi.ingsw.network.server.message.successMessage.UpdateViewServerToClientMessage;
 import it.polimi.ingsw.network.virtualView.GameControllerView;
+import it.polimi.ingsw.parsing.adapters.GameItemStoreAdapter;
 import it.polimi.ingsw.parsing.adapters.ObjectiveCardAdapter;
 import it.polimi.ingsw.parsing.adapters.SerializableBooleanPropertyAdapter;
 import it.polimi.ingsw.parsing.adapters.SideGameCardAdapter;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Date;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 @DisplayName("ServerToClientMessageAdapterTest")
 public class ServerToClientMessageAdapterTest {
@@ -32,6 +36,7 @@ public class ServerToClientMessageAdapterTest {
     Gson gson = new GsonBuilder()
             .enableComplexMapKeySerialization()
             .registerTypeAdapter(SideGameCard.class, new SideGameCardAdapter())
+            .registerTypeAdapter(GameItemStore.class, new GameItemStoreAdapter())
             .registerTypeAdapter(ObjectiveCard.class, new ObjectiveCardAdapter())
             .registerTypeAdapter(ServerToClientMessage.class, new ServerToClientMessageAdapter())
             .registerTypeAdapter(SerializableBooleanProperty.class, new SerializableBooleanPropertyAdapter())
@@ -101,4 +106,14 @@ public class ServerToClientMessageAdapterTest {
         // Deserialize
         assertEquals(chatServerToClientMessage, this.gson.fromJson(jsonChatServerMessage, ServerToClientMessage.class));
     }
+
+    @Test
+    @DisplayName("Test if a message is encoded only once and decoded back to the same message")
+    public void encodeOnce() {
+        ServerToClientMessage chatServerToClientMessage = new ChatServerToClientMessage("player1", "message èé", new Date().getTime(), false);
+        byte[] encodedMessage = chatServerToClientMessage.encode(this.gson);
+        // The encoding is cached in the message and shared by all the recipients
+        assertSame(encodedMessage, chatServerToClientMessage.encode(this.gson));
+        assertEquals(chatServerToClientMessage, this.gson.fromJson(new String(encodedMessage, StandardCharsets.UTF_8), ServerToClientMessage.class));
+    }
 }
@@ -0,0 +1,143 @@
+package it.polimi.ingsw.network.server.metrics;
+
+import it.polimi.ingsw.controller.MainController;
+import it.polimi.ingsw.network.client.message.PlayerActionEnum;
+import it.polimi.ingsw.network.server.ServerMessageHandler;
+import it.polimi.ingsw.network.server.ServerNetworkControllerMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ServerMetricsTest {
+
+    /**
+     * A sample of the Prometheus text format: a metric name, optional labels and a number.
+     */
+    private static final Pattern SAMPLE = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*(\\{[a-z_]+=\"[^\"]*\"(,[a-z_]+=\"[^\"]*\")*})? [-+0-9.Ee]+");
+
+    @Test
+    @DisplayName("The quantiles of a histogram are at most 6.25% above the exact ones")
+    public void histogramQuantiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        long sum = 0;
+        for (long value = 1; value <= 100000; value++) {
+            histogram.record(value * 7);
+            sum += value * 7;
+        }
+        assertEquals(100000, histogram.getCount());
+        assertEquals(sum, histogram.getSum());
+        assertEquals(700000, histogram.getMax());
+        for (double quantile : new double[]{0.001, 0.5, 0.9, 0.99, 0.999}) {
+            long exact = (long) Math.ceil(quantile * 100000) * 7;
+            long estimate = histogram.getValueAtQuantile(quantile);
+            assertTrue(estimate >= exact && estimate <= exact * 1.0625, quantile + ": " + estimate + " instead of " + exact);
+        }
+        assertEquals(700000, histogram.getValueAtQuantile(1));
+        assertEquals(0, new LatencyHistogram().getValueAtQuantile(0.5));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtQuantile(1.5));
+
+        // The buckets are contiguous, and the longest durations are counted in the last one.
+        for (int index = 1; index <= LatencyHistogram.bucketIndex(LatencyHistogram.MAX_TRACKABLE); index++) {
+            assertEquals(index, LatencyHistogram.bucketIndex(LatencyHistogram.bucketUpperBound(index)));
+            assertEquals(index, LatencyHistogram.bucketIndex(LatencyHistogram.bucketUpperBound(index - 1) + 1));
+        }
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(-5);
+        assertEquals(Long.MAX_VALUE, histogram.getMax());
+        assertEquals(100002, histogram.getCount());
+    }
+
+    @Test
+    @DisplayName("The phases of an action and the counters are exported in the Prometheus text format")
+    public void scrape() {
+        ServerMetrics metrics = new ServerMetrics();
+        ActionTimer timer = metrics.startAction(PlayerActionEnum.PLACE_CARD);
+        timer.mark(ActionPhaseEnum.LOCK_WAIT);
+        timer.mark(ActionPhaseEnum.CONTROLLER);
+        timer.mark(ActionPhaseEnum.SEND);
+        timer.mark(ActionPhaseEnum.SEND);
+        timer.fail();
+        timer.finish();
+        ActionTimer.UNTIMED.mark(ActionPhaseEnum.SEND);
+        ActionTimer.UNTIMED.finish();
+        metrics.tcpMessageReceived(120);
+        metrics.tcpMessageSent(2000);
+        metrics.messageSent(TransportEnum.RMI);
+        metrics.registerGauge("codex_test_gauge", "A gauge.", () -> 42);
+        assertThrows(IllegalArgumentException.class, () -> metrics.registerGauge("codex test", "An invalid gauge.", () -> 0));
+
+        assertEquals(1, metrics.getActionCount(PlayerActionEnum.PLACE_CARD));
+        assertEquals(1, metrics.getPhaseDurations(PlayerActionEnum.PLACE_CARD, ActionPhaseEnum.SEND).getCount());
+        assertEquals(0, metrics.getPhaseDurations(PlayerActionEnum.PLACE_CARD, ActionPhaseEnum.VIEW_BUILD).getCount());
+
+        String scrape = metrics.scrape();
+        for (String line : scrape.split("\n")) {
+            assertTrue(line.startsWith("# HELP ") || line.startsWith("# TYPE ") || SAMPLE.matcher(line).matches(), line);
+        }
+        assertTrue(scrape.contains("# TYPE codex_action_phase_seconds summary\n"));
+        assertTrue(scrape.contains("codex_action_phase_seconds{action=\"place_card\",phase=\"lock_wait\",quantile=\"0.99\"} "));
+        assertTrue(scrape.contains("codex_action_phase_seconds_count{action=\"place_card\",phase=\"send\"} 1\n"));
+        assertFalse(scrape.contains("phase=\"view_build\""));
+        assertTrue(scrape.contains("codex_action_duration_seconds_count{action=\"place_card\"} 1\n"));
+        assertTrue(scrape.contains("codex_actions_failed_total{action=\"place_card\"} 1\n"));
+        assertTrue(scrape.contains("codex_messages_received_total{transport=\"tcp\"} 1\n"));
+        assertTrue(scrape.contains("codex_messages_sent_total{transport=\"rmi\"} 1\n"));
+        assertTrue(scrape.contains("codex_tcp_bytes_sent_total 2000\n"));
+        assertTrue(scrape.contains("# TYPE codex_test_gauge gauge\ncodex_test_gauge 42\n"));
+    }
+
+    @Test
+    @DisplayName("The actions handled by the mapper are timed and its games and connections are counted")
+    public void mapperActions() {
+        ServerNetworkControllerMapper serverNetworkControllerMapper = new ServerNetworkControllerMapper(new MainController());
+        ServerMessageHandler creator = Mockito.mock(ServerMessageHandler.class);
+        ServerMessageHandler joiner = Mockito.mock(ServerMessageHandler.class);
+        serverNetworkControllerMapper.createGame(creator, "metrics", "player1", 2);
+        serverNetworkControllerMapper.joinGame(joiner, "metrics", "player2");
+        serverNetworkControllerMapper.joinGame(joiner, "missing", "player3");
+
+        ServerMetrics metrics = serverNetworkControllerMapper.getMetrics();
+        assertEquals(1, metrics.getActionCount(PlayerActionEnum.CREATE_GAME));
+        assertEquals(2, metrics.getActionCount(PlayerActionEnum.JOIN_GAME));
+        for (ActionPhaseEnum phase : new ActionPhaseEnum[]{ActionPhaseEnum.LOCK_WAIT, ActionPhaseEnum.CONTROLLER, ActionPhaseEnum.VIEW_BUILD,
+                ActionPhaseEnum.PERSISTENCE, ActionPhaseEnum.SERIALIZATION, ActionPhaseEnum.SEND}) {
+            assertEquals(1, metrics.getPhaseDurations(PlayerActionEnum.CREATE_GAME, phase).getCount(), phase.getLabel());
+        }
+        String scrape = metrics.scrape();
+        assertTrue(scrape.contains("codex_actions_failed_total{action=\"join_game\"} 1\n"));
+        assertTrue(scrape.contains("codex_games 1\n"));
+        assertTrue(scrape.contains("codex_player_connections 2\n"));
+        assertTrue(scrape.contains("codex_player_connections_total 2\n"));
+    }
+
+    @Test
+    @DisplayName("The metrics are served over HTTP on the loopback address")
+    public void httpEndpoint() throws Exception {
+        ServerMetrics metrics = new ServerMetrics();
+        metrics.registerGauge("codex_test_gauge", "A gauge.", () -> 7);
+        MetricsHttpServer metricsHttpServer = new MetricsHttpServer(metrics, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        metricsHttpServer.start();
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            URI uri = URI.create("http://127.0.0.1:" + metricsHttpServer.getPort() + MetricsHttpServer.PATH);
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode());
+            assertEquals("text/plain; version=0.0.4; charset=utf-8", response.headers().firstValue("Content-Type").orElse(null));
+            assertTrue(response.body().contains("codex_test_gauge 7\n"));
+
+            HttpResponse<String> rejected = client.send(HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(405, rejected.statusCode());
+        } finally {
+            metricsHttpServer.stop();
+        }
+    }
+}
@@ -0,0 +1,395 @@
+package it.polimi.ingsw.network.server.persistence;
+
+import it.polimi.ingsw.controller.GameStatusEnum;
+import it.polimi.ingsw.controller.MainController;
+import it.polimi.ingsw.model.Game;
+import it.polimi.ingsw.model.card.gameCard.GameCard;
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.model.player.PlayerColorEnum;
+import it.polimi.ingsw.model.utils.Coordinate;
+import it.polimi.ingsw.network.client.message.ClientToServerMessage;
+import it.polimi.ingsw.network.client.message.gameController.*;
+import it.polimi.ingsw.network.server.ServerMessageHandler;
+import it.polimi.ingsw.network.server.ServerNetworkControllerMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+public class PersistenceTest {
+
+    @TempDir
+    Path saveDirectory;
+
+    @Test
+    @DisplayName("Every journaled action is decoded as it was encoded")
+    void journalRecordRoundTrip() {
+        List<ClientToServerMessage> actions = List.of(
+                new ChoosePlayerColorClientToServerMessage("game", "player", PlayerColorEnum.BLUE),
+                new SetPlayerObjectiveClientToServerMessage("game", "player", 95),
+                new PlaceCardClientToServerMessage("game", "player", new Coordinate(-3, 2), 17, true),
+                new DrawCardFromFieldClientToServerMessage("game", "player", 42),
+                new DrawCardFromResourceDeckClientToServerMessage("game", "player"),
+                new DrawCardFromGoldDeckClientToServerMessage("game", "player"),
+                new SwitchCardSideClientToServerMessage("game", "player", 7));
+        long sequence = 1;
+        for (ClientToServerMessage action : actions) {
+            byte[] record = GameJournal.encode(sequence, action);
+            assertTrue(record.length < 32, "A journal record should only take a few bytes");
+            GameJournal.Entry entry = GameJournal.decode(record, "game");
+            assertEquals(sequence, entry.sequence());
+            assertEquals(action.getPlayerAction(), entry.action().getPlayerAction());
+            assertEquals("game", entry.action().getGameName());
+            assertEquals("player", entry.action().getPlayerName());
+            sequence += 1000;
+        }
+        PlaceCardClientToServerMessage placeCard = (PlaceCardClientToServerMessage) GameJournal.decode(GameJournal.encode(3, actions.get(2)), "game").action();
+        assertEquals(new Coordinate(-3, 2), placeCard.getCoordinate());
+        assertEquals(17, placeCard.getGameCardId());
+        assertTrue(placeCard.isFlipped());
+    }
+
+    @Test
+    @DisplayName("The journal is read up to its last complete record")
+    void tornJournalTail() throws IOException {
+        Path path = Files.createTempFile("journal", ".journal");
+        try {
+            GameJournal journal = new GameJournal(path);
+            for (int i = 1; i <= 3; i++) {
+                journal.append(i, new DrawCardFromResourceDeckClientToServerMessage("game", "player" + i), false);
+            }
+            journal.close();
+            assertEquals(3, GameJournal.read(path, "game").size());
+
+            byte[] content = Files.readAllBytes(path);
+            Files.write(path, Arrays.copyOf(content, content.length - 3));
+            List<GameJournal.Entry> entries = GameJournal.read(path, "game");
+            assertEquals(2, entries.size());
+            assertEquals("player2", entries.getLast().action().getPlayerName());
+
+            content[content.length - 10] ^= 0x55;
+            Files.write(path, content);
+            assertEquals(2, GameJournal.read(path, "game").size());
+
+            journal.reset(false);
+            assertTrue(GameJournal.read(path, "game").isEmpty());
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    @DisplayName("A journal too large to be read at once is memory-mapped and read to its last record")
+    void mappedJournal() throws IOException {
+        Path path = saveDirectory.resolve("mapped.journal");
+        GameJournal journal = new GameJournal(path);
+        int records = 0;
+        do {
+            records++;
+            journal.append(records, new PlaceCardClientToServerMessage("game", "player", new Coordinate(records, -records), records % 80, true), false);
+        } while (Files.size(path) <= GameJournal.MAP_THRESHOLD);
+        journal.close();
+        List<GameJournal.Entry> entries = GameJournal.read(path, "game");
+        assertEquals(records, entries.size());
+        assertEquals(records, entries.getLast().sequence());
+        assertEquals(new Coordinate(records, -records), entries.getLast().action().getCoordinate());
+    }
+
+    @Test
+    @DisplayName("A game is restored from its snapshot and the actions journaled after it")
+    void restoreFromJournal() throws InterruptedException {
+        restoreAfterTurns("persistence-test-journal", options(FsyncPolicy.BATCH, PersistenceOptions.DEFAULT_SNAPSHOT_INTERVAL, 0, 0, false));
+    }
+
+    @Test
+    @DisplayName("A game is restored when some of its actions were compacted into snapshots")
+    void restoreAfterCompaction() throws InterruptedException {
+        restoreAfterTurns("persistence-test-compaction", options(FsyncPolicy.NEVER, 3, 0, 0, false));
+    }
+
+    @Test
+    @DisplayName("A game saved with compressed snapshots is restored")
+    void restoreCompressed() throws InterruptedException, IOException {
+        restoreAfterTurns("persistence-test-compressed", options(FsyncPolicy.NEVER, 3, 0, 0, true));
+        byte[] content = Files.readAllBytes(getSnapshotPath("persistence-test-compressed"));
+        assertEquals((byte) 0x1f, content[0]);
+        assertEquals((byte) 0x8b, content[1]);
+    }
+
+    @Test
+    @DisplayName("The plain demo games are still loaded")
+    void loadDemoGame() {
+        MainController mainController = new MainController();
+        Persistence persistence = new Persistence(mainController, new ServerNetworkControllerMapper(mainController), options(FsyncPolicy.NEVER, 3, 0, 0, false));
+        persistence.loadFromFile("savedGames/demoGames/Before 20 points.json");
+        assertEquals(GameStatusEnum.WAIT_FOR_PLAYERS, mainController.getGameController("Before20").getGameStatus());
+    }
+
+    @Test
+    @DisplayName("A game that cannot be restored is neither listed nor joinable")
+    void failedRestoreRemovesGame() throws IOException {
+        // The second player has the name of the first one, so the game is created but cannot be restored
+        String content = Files.readString(Path.of("savedGames/demoGames/Before 20 points.json"));
+        Path file = saveDirectory.resolve("Before20.json");
+        Files.writeString(file, content.replace("\"playerName\": \"Simon\"", "\"playerName\": \"Krema\""));
+        MainController mainController = new MainController();
+        Persistence persistence = new Persistence(mainController, new ServerNetworkControllerMapper(mainController), options(FsyncPolicy.NEVER, 3, 0, 0, false));
+        persistence.loadFromFile(file.toString());
+        assertTrue(mainController.getGameRecords().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> mainController.getGameController("Before20"));
+        assertThrows(IllegalArgumentException.class, () -> mainController.joinGame("Before20", "Simon"));
+    }
+
+    @Test
+    @DisplayName("The snapshots superseded during the debounce window are dropped and the last one is written on close")
+    void restoreAfterCoalescedSnapshots() throws InterruptedException {
+        restoreAfterTurns("persistence-test-coalesced", options(FsyncPolicy.NEVER, 0, 60_000, 0, false));
+    }
+
+    /**
+     * Plays a game, then restores it on a new server and compares the two games.
+     *
+     * @param gameName the name of the game
+     * @param options  the settings of the persistence
+     */
+    private void restoreAfterTurns(String gameName, PersistenceOptions options) throws InterruptedException {
+        Game game = playGame(gameName, options);
+
+        MainController restoredController = new MainController();
+        ServerNetworkControllerMapper restoredMapper = new ServerNetworkControllerMapper(restoredController);
+        Persistence restoredPersistence = new Persistence(restoredController, restoredMapper, options);
+        restoredPersistence.loadFromFile(getSnapshotPath(gameName).toString());
+        Game restored = restoredController.getGameController(gameName).getGame();
+
+        assertEquals(GameStatusEnum.WAIT_FOR_PLAYERS, restoredController.getGameController(gameName).getGameStatus());
+        assertEquals(game.getSeed(), restored.getSeed());
+        assertEquals(game.getCurrentPlayer().getPlayerName(), restored.getCurrentPlayer().getPlayerName());
+        assertEquals(cardIds(game.getGlobalBoard().getFieldResourceCards()), cardIds(restored.getGlobalBoard().getFieldResourceCards()));
+        assertEquals(cardIds(game.getGlobalBoard().getFieldGoldCards()), cardIds(restored.getGlobalBoard().getFieldGoldCards()));
+        assertEquals(cardIds(game.getGlobalBoard().getResourceDeck().getCards()), cardIds(restored.getGlobalBoard().getResourceDeck().getCards()));
+        assertEquals(cardIds(game.getGlobalBoard().getGoldDeck().getCards()), cardIds(restored.getGlobalBoard().getGoldDeck().getCards()));
+        for (Player player : game.getPlayers()) {
+            Player restoredPlayer = restored.getPlayer(player.getPlayerName());
+            assertEquals(new HashSet<>(cardIds(player.getPlayerHand().getCards())), new HashSet<>(cardIds(restoredPlayer.getPlayerHand().getCards())));
+            assertEquals(new HashSet<>(cardIds(player.getPlayerBoard().getGameCards())), new HashSet<>(cardIds(restoredPlayer.getPlayerBoard().getGameCards())));
+            assertEquals(player.getPlayerColor(), restoredPlayer.getPlayerColor());
+            assertEquals(player.getPlayerPos(), restoredPlayer.getPlayerPos());
+            assertFalse(restoredPlayer.isConnected());
+        }
+        restoredPersistence.close();
+    }
+
+    @Test
+    @DisplayName("A recorded game is replayed from its seed to the same state")
+    void replayRecording() throws InterruptedException, IOException {
+        String gameName = "persistence-test-recording";
+        Game game = playGame(gameName, options(FsyncPolicy.NEVER, 3, 0, 0, false, true));
+
+        GameRecording.Recording recording = GameRecording.read(saveDirectory.resolve(Persistence.getGameHash(gameName) + ".record"));
+        assertEquals(gameName, recording.header().gameName());
+        assertEquals(game.getSeed(), recording.header().seed());
+        assertEquals(List.of("first", "second"), recording.header().playerNames());
+        // Starter card, color and objective of each player, then a placement and a draw for each turn
+        assertEquals(2 * 3 + 4 * 2, recording.actions().size());
+
+        Game replayed = Replay.replay(recording).getGame();
+        assertEquals(game.getCurrentPlayer().getPlayerName(), replayed.getCurrentPlayer().getPlayerName());
+        assertEquals(cardIds(game.getGlobalBoard().getFieldGoldCards()), cardIds(replayed.getGlobalBoard().getFieldGoldCards()));
+        assertEquals(cardIds(game.getGlobalBoard().getResourceDeck().getCards()), cardIds(replayed.getGlobalBoard().getResourceDeck().getCards()));
+        for (Player player : game.getPlayers()) {
+            Player replayedPlayer = replayed.getPlayer(player.getPlayerName());
+            assertEquals(cardIds(player.getPlayerHand().getCards()), cardIds(replayedPlayer.getPlayerHand().getCards()));
+            assertEquals(new HashSet<>(cardIds(player.getPlayerBoard().getGameCards())), new HashSet<>(cardIds(replayedPlayer.getPlayerBoard().getGameCards())));
+            assertEquals(player.getPlayerBoard().getAvailablePositions(), replayedPlayer.getPlayerBoard().getAvailablePositions());
+            assertEquals(player.getPlayerPos(), replayedPlayer.getPlayerPos());
+        }
+        assertThrows(IllegalArgumentException.class, () -> GameRecording.read(saveDirectory.resolve("missing.record")));
+
+        // The game did not end, so the recording has no digest, but a replay can be checked against the digest of the game
+        assertNull(recording.finalDigest());
+        long digest = GameRecording.digest(game);
+        assertEquals(digest, GameRecording.digest(replayed));
+        Replay.replay(new GameRecording.Recording(recording.header(), recording.actions(), digest));
+        assertThrows(IllegalStateException.class, () -> Replay.replay(new GameRecording.Recording(recording.header(), recording.actions().subList(0, 12), digest)));
+    }
+
+    @Test
+    @DisplayName("The digest ending a recording is read back after its actions")
+    void recordingDigest() throws IOException {
+        Path path = saveDirectory.resolve("digest.record");
+        GameRecording gameRecording = new GameRecording(path);
+        gameRecording.start(new GameRecording.Header("game", 42, List.of("first", "second")), false);
+        gameRecording.append(1, new DrawCardFromResourceDeckClientToServerMessage("game", "first"), false);
+        gameRecording.finish(-7, false);
+        gameRecording.close();
+
+        GameRecording.Recording recording = GameRecording.read(path);
+        assertEquals(1, recording.actions().size());
+        assertEquals(-7, recording.finalDigest());
+        assertNull(GameRecording.decodeDigest(GameJournal.encode(1, new DrawCardFromResourceDeckClientToServerMessage("game", "first"))));
+    }
+
+    @Test
+    @DisplayName("A game a player left before it started is not recorded")
+    void leftBeforeStartNotRecorded() throws InterruptedException {
+        String gameName = "persistence-test-left-before-start";
+        MainController mainController = new MainController();
+        ServerNetworkControllerMapper mapper = new ServerNetworkControllerMapper(mainController);
+        Persistence persistence = new Persistence(mainController, mapper, options(FsyncPolicy.NEVER, 3, 0, 0, false, true));
+        mapper.addPropertyChangeListener(persistence);
+
+        mapper.createGame(mockMessageHandler(gameName, "first"), gameName, "first", 3);
+        mapper.joinGame(mockMessageHandler(gameName, "leaver"), gameName, "leaver");
+        mapper.handleDisconnection(gameName, "leaver");
+        mapper.joinGame(mockMessageHandler(gameName, "second"), gameName, "second");
+        mapper.joinGame(mockMessageHandler(gameName, "third"), gameName, "third");
+        assertEquals(GameStatusEnum.INIT_PLACE_STARTER_CARD, mainController.getGameController(gameName).getGameStatus());
+        assertTrue(mainController.getGameController(gameName).getGame().hasRemovedPlayers());
+        persistence.close();
+
+        assertFalse(Files.exists(saveDirectory.resolve(Persistence.getGameHash(gameName) + ".record")));
+    }
+
+    @Test
+    @DisplayName("Saved games are listed at once and restored in the background or when a player joins them")
+    void lazyRestore() throws InterruptedException {
+        String gameName = "persistence-test-lazy";
+        PersistenceOptions options = options(FsyncPolicy.NEVER, 3, 0, 1, false);
+        playGame(gameName, options);
+
+        MainController restoredController = new MainController();
+        ServerNetworkControllerMapper restoredMapper = new ServerNetworkControllerMapper(restoredController);
+        Persistence restoredPersistence = new Persistence(restoredController, restoredMapper, options);
+        restoredPersistence.loadAll();
+        assertTrue(restoredController.getGameRecords().stream().anyMatch(gameRecord -> gameRecord.gameName().equals(gameName) && gameRecord.maxAllowedPlayers() == 2));
+
+        restoredMapper.joinGame(mockMessageHandler(gameName, "first"), gameName, "first");
+        assertTrue(restoredController.getGameController(gameName).getGame().getPlayer("first").isConnected());
+        restoredPersistence.close();
+    }
+
+    @Test
+    @DisplayName("All the listed games are restored in the background")
+    void backgroundRestore() throws InterruptedException {
+        PersistenceOptions options = options(FsyncPolicy.NEVER, 3, 0, 2, false);
+        List<String> gameNames = List.of("persistence-test-background-1", "persistence-test-background-2", "persistence-test-background-3");
+        for (String gameName : gameNames) {
+            playGame(gameName, options);
+        }
+
+        MainController restoredController = new MainController();
+        Persistence restoredPersistence = new Persistence(restoredController, new ServerNetworkControllerMapper(restoredController), options);
+        restoredPersistence.loadAll();
+        assertTrue(restoredPersistence.awaitRestores(30, TimeUnit.SECONDS));
+        for (String gameName : gameNames) {
+            assertEquals(GameStatusEnum.WAIT_FOR_PLAYERS, restoredController.getGameController(gameName).getGameStatus());
+        }
+        restoredPersistence.close();
+    }
+
+    @Test
+    @DisplayName("Games whose names have the same hash code are saved to different files")
+    void collisionFreeFileNames() {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        assertNotEquals(Persistence.getGameHash("Aa"), Persistence.getGameHash("BB"));
+        assertEquals(64, Persistence.getGameHash("Aa").length());
+    }
+
+    @Test
+    @DisplayName("A game saved under the hash code of its name is renamed, indexed and restored")
+    void legacyFileMigration() throws InterruptedException, IOException {
+        String gameName = "persistence-test-legacy";
+        playGame(gameName, options(FsyncPolicy.NEVER, 3, 0, 0, false));
+        Path legacySnapshot = saveDirectory.resolve(gameName.hashCode() + ".json");
+        Path legacyJournal = saveDirectory.resolve(gameName.hashCode() + ".journal");
+        Files.move(getSnapshotPath(gameName), legacySnapshot);
+        Files.move(getJournalPath(gameName), legacyJournal);
+
+        MainController restoredController = new MainController();
+        ServerNetworkControllerMapper restoredMapper = new ServerNetworkControllerMapper(restoredController);
+        Persistence restoredPersistence = new Persistence(restoredController, restoredMapper, options(FsyncPolicy.NEVER, 3, 0, 0, false));
+        restoredPersistence.loadAll();
+        restoredPersistence.close();
+
+        assertFalse(Files.exists(legacySnapshot));
+        assertTrue(Files.exists(getSnapshotPath(gameName)));
+        assertEquals(2, restoredController.getGameController(gameName).getGame().getPlayers().size());
+        SavedGameEntry entry = restoredPersistence.listSavedGames().stream().filter(savedGame -> savedGame.gameName().equals(gameName)).findFirst().orElseThrow();
+        assertEquals(Persistence.getGameHash(gameName), entry.file());
+        assertEquals(2, entry.players());
+    }
+
+    /**
+     * Plays a few turns of a game through the mapper, saving it with the given settings.
+     *
+     * @param gameName the name of the game
+     * @param options  the settings of the persistence
+     * @return the played game
+     */
+    private Game playGame(String gameName, PersistenceOptions options) throws InterruptedException {
+        MainController mainController = new MainController();
+        ServerNetworkControllerMapper mapper = new ServerNetworkControllerMapper(mainController);
+        Persistence persistence = new Persistence(mainController, mapper, options);
+        mapper.addPropertyChangeListener(persistence);
+
+        mapper.createGame(mockMessageHandler(gameName, "first"), gameName, "first", 2);
+        mapper.joinGame(mockMessageHandler(gameName, "second"), gameName, "second");
+        Game game = mainController.getGameController(gameName).getGame();
+        List<PlayerColorEnum> colors = List.of(PlayerColorEnum.values());
+        for (int i = 0; i < game.getPlayers().size(); i++) {
+            Player player = game.getPlayers().get(i);
+            mapper.placeCard(gameName, player.getPlayerName(), new Coordinate(0, 0), player.getPlayerBoard().getStarterCard().getCardId(), i == 0);
+            mapper.choosePlayerColor(gameName, player.getPlayerName(), colors.get(i));
+            mapper.setPlayerObjective(gameName, player.getPlayerName(), player.getChoosableObjectives().getFirst().getCardId());
+        }
+        for (int turn = 0; turn < 4; turn++) {
+            Player player = game.getCurrentPlayer();
+            GameCard card = player.getPlayerHand().getCards().getFirst();
+            Coordinate coordinate = player.getPlayerBoard().getAvailablePositions().iterator().next();
+            mapper.placeCard(gameName, player.getPlayerName(), coordinate, card.getCardId(), true);
+            if (turn % 2 == 0) {
+                mapper.drawCardFromResourceDeck(gameName, player.getPlayerName());
+            } else {
+                mapper.drawCardFromField(gameName, player.getPlayerName(), game.getGlobalBoard().getFieldGoldCards().getFirst().getCardId());
+            }
+        }
+        persistence.close();
+        return game;
+    }
+
+    private List<Integer> cardIds(List<GameCard> cards) {
+        return cards.stream().map(GameCard::getCardId).toList();
+    }
+
+    private ServerMessageHandler mockMessageHandler(String gameName, String playerName) {
+        ServerMessageHandler messageHandler = Mockito.mock(ServerMessageHandler.class);
+        when(messageHandler.getGameName()).thenReturn(gameName);
+        when(messageHandler.getPlayerName()).thenReturn(playerName);
+        return messageHandler;
+    }
+
+    private PersistenceOptions options(FsyncPolicy fsyncPolicy, int snapshotInterval, long debounceMillis, int restoreThreads, boolean compressSnapshots) {
+        return options(fsyncPolicy, snapshotInterval, debounceMillis, restoreThreads, compressSnapshots, false);
+    }
+
+    private PersistenceOptions options(FsyncPolicy fsyncPolicy, int snapshotInterval, long debounceMillis, int restoreThreads, boolean compressSnapshots, boolean recordGames) {
+        return new PersistenceOptions(fsyncPolicy, snapshotInterval, 1, debounceMillis, restoreThreads, compressSnapshots, recordGames, saveDirectory);
+    }
+
+    private Path getSnapshotPath(String gameName) {
+        return saveDirectory.resolve(Persistence.getGameHash(gameName) + ".json");
+    }
+
+    private Path getJournalPath(String gameName) {
+        return saveDirectory.resolve(Persistence.getGameHash(gameName) + ".journal");
+    }
+}
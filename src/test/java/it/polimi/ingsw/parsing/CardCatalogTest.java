@@ -0,0 +1,112 @@
+package it.polimi.ingsw.parsing;
+
+import it.polimi.ingsw.model.card.corner.CornerPosition;
+import it.polimi.ingsw.model.card.gameCard.GameCard;
+import it.polimi.ingsw.model.card.objectiveCard.ObjectiveCard;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CardCatalogTest {
+
+    private final CardCatalog cardCatalog = CardCatalog.getInstance();
+
+    @Test
+    @DisplayName("The catalog holds the same cards as a fresh parser")
+    public void catalogMatchesParser() {
+        Parser parser = new Parser();
+        assertEquals(parser.getResourceCards().size(), cardCatalog.getResourceDeck().getCards().size());
+        assertEquals(parser.getGoldCards().size(), cardCatalog.getGoldDeck().getCards().size());
+        assertEquals(parser.getStarterCards().size(), cardCatalog.getStarterDeck().getCards().size());
+        assertEquals(parser.getObjectiveCards().size(), cardCatalog.getObjectiveDeck().getCards().size());
+        for (GameCard card : parser.getResourceCards()) {
+            assertEquals(card, cardCatalog.getGameCard(card.getCardId()));
+        }
+    }
+
+    @Test
+    @DisplayName("Each deck holds its own copies of the game cards")
+    public void gameCardsAreCopied() {
+        ArrayList<GameCard> firstDeck = cardCatalog.getResourceDeck().getCards();
+        ArrayList<GameCard> secondDeck = cardCatalog.getResourceDeck().getCards();
+        GameCard card = firstDeck.getFirst();
+        GameCard otherCard = secondDeck.stream().filter(c -> c.getCardId() == card.getCardId()).findFirst().orElseThrow();
+        assertNotSame(card, otherCard);
+
+        card.setFlipped(true);
+        card.setCornerCovered(CornerPosition.TOP_LEFT);
+        card.setPlacementIndex(3);
+
+        assertTrue(card.getCorner(CornerPosition.TOP_LEFT).orElseThrow().isCovered());
+        assertFalse(otherCard.isFlipped());
+        otherCard.setFlipped(true);
+        assertFalse(otherCard.getCorner(CornerPosition.TOP_LEFT).orElseThrow().isCovered());
+        assertFalse(cardCatalog.getGameCard(card.getCardId()).isFlipped());
+    }
+
+    @Test
+    @DisplayName("Objective cards are shared by all the decks")
+    public void objectiveCardsAreShared() {
+        ObjectiveCard card = cardCatalog.getObjectiveDeck().getCards().getFirst();
+        assertSame(card, cardCatalog.getObjectiveCard(card.getCardId()));
+    }
+
+    @Test
+    @DisplayName("The binary catalog holds the same cards as CardDB.json")
+    public void binaryCatalogRoundTrip() {
+        Parser parser = new Parser();
+        CardCatalogCodec.Cards cards = CardCatalogCodec.decode(CardCatalogCodec.encode(parser, 42), 42);
+        assertEquals(parser.getResourceCards(), cards.resourceCards());
+        assertEquals(parser.getGoldCards(), cards.goldCards());
+        assertEquals(parser.getStarterCards(), cards.starterCards());
+        assertEquals(parser.getObjectiveCards(), cards.objectiveCards());
+        for (int i = 0; i < parser.getGoldCards().size(); i++) {
+            GameCard expected = parser.getGoldCards().get(i);
+            GameCard actual = cards.goldCards().get(i);
+            assertSame(expected.getCurrentSide().getClass(), actual.getCurrentSide().getClass());
+            assertEquals(expected.getMultiplier(), actual.getMultiplier());
+            assertEquals(expected.isGoldPositional(), actual.isGoldPositional());
+        }
+    }
+
+    @Test
+    @DisplayName("A binary catalog generated from another CardDB.json is rejected")
+    public void staleBinaryCatalog() {
+        byte[] catalog = CardCatalogCodec.encode(new Parser(), 42);
+        assertThrows(IllegalArgumentException.class, () -> CardCatalogCodec.decode(catalog, 43));
+        assertThrows(IllegalArgumentException.class, () -> CardCatalogCodec.decode(new byte[]{(byte) (CardCatalogCodec.FORMAT_VERSION + 1)}, 42));
+    }
+
+    @Test
+    @DisplayName("The generated catalog is loaded and matches CardDB.json")
+    public void generatedCatalogMatchesJson() {
+        byte[] catalog = CardCatalog.readResource(CardCatalog.CATALOG_RESOURCE);
+        assertNotNull(catalog, "The build should generate the binary catalog");
+        long checksum = CardCatalogCodec.checksum(CardCatalog.readResource(CardCatalog.JSON_RESOURCE));
+        assertDoesNotThrow(() -> CardCatalogCodec.decode(catalog, checksum));
+        CardCatalog expected = CardCatalog.fromParser(new Parser());
+        CardCatalog loaded = CardCatalog.load();
+        for (GameCard card : expected.getResourceDeck().getCards()) {
+            assertEquals(card, loaded.getGameCard(card.getCardId()));
+        }
+        for (GameCard card : expected.getGoldDeck().getCards()) {
+            assertEquals(card, loaded.getGameCard(card.getCardId()));
+        }
+        for (GameCard card : expected.getStarterDeck().getCards()) {
+            assertEquals(card, loaded.getGameCard(card.getCardId()));
+        }
+        for (ObjectiveCard card : expected.getObjectiveDeck().getCards()) {
+            assertEquals(card, loaded.getObjectiveCard(card.getCardId()));
+        }
+    }
+
+    @Test
+    @DisplayName("Unknown ids are rejected")
+    public void unknownIds() {
+        assertThrows(IllegalArgumentException.class, () -> cardCatalog.getGameCard(-1));
+        assertThrows(IllegalArgumentException.class, () -> cardCatalog.getObjectiveCard(-1));
+    }
+}
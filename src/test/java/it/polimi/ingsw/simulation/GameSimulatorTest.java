@@ -0,0 +1,113 @@
+package it.polimi.ingsw.simulation;
+
+import it.polimi.ingsw.model.player.Player;
+import it.polimi.ingsw.model.utils.Coordinate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameSimulatorTest {
+
+    @Test
+    @DisplayName("A game played again with the same seed has the same outcome")
+    public void sameSeedSameGame() {
+        GameSimulator simulator = simulator(PolicyEnum.RANDOM, PolicyEnum.GREEDY, PolicyEnum.RANDOM);
+        for (long seed = 0; seed < 20; seed++) {
+            GameResult first = simulator.play(seed);
+            GameResult second = simulator.play(seed);
+            assertArrayEquals(first.scores(), second.scores());
+            assertEquals(first.winners(), second.winners());
+            assertEquals(first.turns(), second.turns());
+        }
+    }
+
+    @Test
+    @DisplayName("Every game ends with at least a winner holding the highest score")
+    public void gamesEnd() {
+        GameSimulator simulator = simulator(PolicyEnum.GREEDY, PolicyEnum.RANDOM, PolicyEnum.GREEDY, PolicyEnum.RANDOM);
+        for (long seed = 0; seed < 50; seed++) {
+            GameResult result = simulator.play(GameSimulator.gameSeed(7, seed));
+            assertNotEquals(0, result.winners());
+            int highest = 0;
+            for (int score : result.scores()) {
+                highest = Math.max(highest, score);
+            }
+            for (int seat = 0; seat < 4; seat++) {
+                if (result.isWinner(seat)) {
+                    assertEquals(highest, result.scores()[seat]);
+                }
+            }
+            // Each player plays at least until someone reaches 20 points, one card at a time.
+            assertTrue(result.turns() >= 4, "Too few turns: " + result.turns());
+        }
+    }
+
+    @Test
+    @DisplayName("The statistics of a run do not depend on the number of threads")
+    public void parallelRunsAreReproducible() {
+        GameSimulator simulator = simulator(PolicyEnum.GREEDY, PolicyEnum.RANDOM);
+        long games = SimulationTask.THRESHOLD * 3 + 5;
+        SimulationStatistics sequential = Simulation.run(simulator, 11, games, 1);
+        SimulationStatistics parallel = Simulation.run(simulator, 11, games, 3);
+
+        assertEquals(games, sequential.getGames());
+        assertEquals(games, parallel.getGames());
+        assertEquals(sequential.getTies(), parallel.getTies());
+        assertEquals(sequential.getMeanTurns(), parallel.getMeanTurns());
+        for (int seat = 0; seat < 2; seat++) {
+            assertEquals(sequential.getWins(seat), parallel.getWins(seat));
+            assertEquals(sequential.getMeanScore(seat), parallel.getMeanScore(seat));
+        }
+        // The greedy player wins far more often than the random one.
+        assertTrue(sequential.getWins(0) > 2 * sequential.getWins(1));
+    }
+
+    @Test
+    @DisplayName("A policy placing a card that is not in the hand is reported")
+    public void illegalPlacement() {
+        PlayerPolicy cheater = new RandomPolicy() {
+            @Override
+            public Placement choosePlacement(Player player, List<Coordinate> availablePositions, RandomGenerator random) {
+                return new Placement(-1, false, availablePositions.getFirst());
+            }
+        };
+        GameSimulator simulator = new GameSimulator(List.of(cheater, PolicyEnum.RANDOM.getPolicy()));
+        assertThrows(IllegalStateException.class, () -> simulator.play(0));
+    }
+
+    @Test
+    @DisplayName("Statistics merge and summarize the outcomes of the games")
+    public void statistics() {
+        SimulationStatistics first = new SimulationStatistics(2);
+        first.record(new GameResult(new int[]{20, 10}, 0b01, 30));
+        SimulationStatistics second = new SimulationStatistics(2);
+        second.record(new GameResult(new int[]{24, 24}, 0b11, 40));
+        first.merge(second);
+
+        assertEquals(2, first.getGames());
+        assertEquals(1, first.getTies());
+        assertEquals(35, first.getMeanTurns());
+        assertEquals(2, first.getWins(0));
+        assertEquals(1, first.getWins(1));
+        assertEquals(22, first.getMeanScore(0));
+        assertEquals(2, first.getScoreStandardDeviation(0), 1e-9);
+        assertEquals(20, first.getScorePercentile(0.5));
+        assertEquals(24, first.getScorePercentile(1));
+        assertThrows(IllegalArgumentException.class, () -> first.record(new GameResult(new int[]{1, 2, 3}, 1, 1)));
+        assertThrows(IllegalArgumentException.class, () -> new GameSimulator(List.of(PolicyEnum.RANDOM.getPolicy())));
+    }
+
+    /**
+     * Returns a simulator of games between the given policies.
+     *
+     * @param policies the policies of the seats.
+     * @return the simulator.
+     */
+    private static GameSimulator simulator(PolicyEnum... policies) {
+        return new GameSimulator(List.of(policies).stream().map(PolicyEnum::getPolicy).toList());
+    }
+}
@@ -0,0 +1,64 @@
+package it.polimi.ingsw.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SchedulerServiceTest {
+
+    @Test
+    @DisplayName("A one-shot task runs once and is no longer a live timer")
+    public void oneShotTaskRunsOnce() throws InterruptedException {
+        CountDownLatch executed = new CountDownLatch(1);
+        SchedulerService.ScheduledTask task = SchedulerService.schedule(executed::countDown, 10, TimeUnit.MILLISECONDS);
+
+        assertTrue(executed.await(5, TimeUnit.SECONDS));
+        // The task is marked as finished right after its execution.
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!task.isFinished() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(task.isFinished());
+        assertFalse(task.cancel());
+    }
+
+    @Test
+    @DisplayName("A cancelled task never runs and is no longer a live timer")
+    public void cancelledTaskNeverRuns() throws InterruptedException {
+        AtomicInteger executions = new AtomicInteger();
+        int liveTimers = SchedulerService.getLiveTimersCount();
+        SchedulerService.ScheduledTask task = SchedulerService.schedule(executions::incrementAndGet, 200, TimeUnit.MILLISECONDS);
+        assertEquals(liveTimers + 1, SchedulerService.getLiveTimersCount());
+
+        assertTrue(task.cancel());
+        assertFalse(task.cancel());
+        assertEquals(liveTimers, SchedulerService.getLiveTimersCount());
+
+        Thread.sleep(400);
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    @DisplayName("A periodic task runs until it is cancelled")
+    public void periodicTaskRunsUntilCancelled() throws InterruptedException {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch executed = new CountDownLatch(3);
+        SchedulerService.ScheduledTask task = SchedulerService.scheduleAtFixedRate(() -> {
+            executions.incrementAndGet();
+            executed.countDown();
+        }, 0, 10, TimeUnit.MILLISECONDS);
+
+        assertTrue(executed.await(5, TimeUnit.SECONDS));
+        assertTrue(task.cancel());
+        // Wait for an execution that may have already started.
+        Thread.sleep(50);
+        int executionsAfterCancel = executions.get();
+        Thread.sleep(100);
+        assertEquals(executionsAfterCancel, executions.get());
+    }
+}